@@ -0,0 +1,106 @@
+package org.alveolo.ffm.benchmark;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.alveolo.ffm.benchmark.affm.AffmLibCFFM;
+import org.alveolo.ffm.benchmark.jna.JnaLibC;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.jna.Pointer;
+
+/// Compares `qsort` with a Java comparator called back from native code.
+///
+/// Every invocation copies the same unsorted input over the sorted array, so
+/// the comparator is called the same number of times in each benchmark.
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 2, time = 300, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class QsortBenchmark {
+  private static final AffmLibCFFM affm = AffmLibCFFM.INSTANCE$F;
+  private static final JnaLibC jna = JnaLibC.INSTANCE;
+
+  private static final JnaLibC.IntComparator jnaComparator =
+      (left, right) -> Integer.compare(left.getInt(0), right.getInt(0));
+
+  /// Number of ints to sort
+  @Param({"16", "256"})
+  public int count;
+
+  private Arena arena;
+  private MemorySegment input;
+  private MemorySegment array;
+  private Pointer pointer;
+
+  /// Captured by [#affm_capturing()] so its comparator gets a new stub per
+  /// call
+  private int order = 1;
+
+  @Setup(Level.Trial)
+  public void allocate() {
+    var random = new Random(42);
+
+    arena = Arena.ofConfined();
+    input = arena.allocate(JAVA_INT, count);
+    array = arena.allocate(JAVA_INT, count);
+    pointer = new Pointer(array.address());
+
+    for (int i = 0; i < count; i++) {
+      input.setAtIndex(JAVA_INT, i, random.nextInt());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void close() {
+    arena.close();
+  }
+
+  private static int compare(MemorySegment left, MemorySegment right) {
+    return Integer.compare(
+        left.reinterpret(Integer.BYTES).get(JAVA_INT, 0),
+        right.reinterpret(Integer.BYTES).get(JAVA_INT, 0));
+  }
+
+  /// Stateless method reference, served by one cached upcall stub
+  @Benchmark
+  public MemorySegment affm() {
+    array.copyFrom(input);
+    affm.qsort(array, count, Integer.BYTES, QsortBenchmark::compare);
+    return array;
+  }
+
+  /// Capturing lambda, bound into an upcall stub from the call arena
+  @Benchmark
+  public MemorySegment affm_capturing() {
+    array.copyFrom(input);
+    affm.qsort(array, count, Integer.BYTES,
+        (left, right) -> order * compare(left, right));
+    return array;
+  }
+
+  @Benchmark
+  public MemorySegment jna() {
+    array.copyFrom(input);
+    jna.qsort(pointer, count, Integer.BYTES, jnaComparator);
+    return array;
+  }
+}
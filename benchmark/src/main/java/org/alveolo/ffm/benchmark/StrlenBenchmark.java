@@ -13,7 +13,9 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
@@ -28,7 +30,27 @@ public class StrlenBenchmark {
   private static final JnaLibC jna = JnaLibC.INSTANCE;
   private static final JnrLibC jnr = JnrLibC.INSTANCE;
 
-  private String string = "some arbitrary string to call strlen\0";
+  /// Number of chars before the terminator
+  @Param({"8", "64", "512"})
+  public int length;
+
+  /// ASCII strings take the encoder fast path, others need UTF-8 expansion
+  @Param({"true", "false"})
+  public boolean ascii;
+
+  private String string;
+
+  @Setup
+  public void setup() {
+    var pattern = ascii
+        ? "some arbitrary string to call strlen "
+        : "строка для вызова strlen ";
+    var builder = new StringBuilder(length + 1);
+    while (builder.length() < length) {
+      builder.append(pattern.charAt(builder.length() % pattern.length()));
+    }
+    string = builder.append('\0').toString();
+  }
 
   /// 'unfair' baseline - just searches EOL inside the string internal array
   @Benchmark
@@ -51,6 +73,16 @@ public class StrlenBenchmark {
     return affm.strlen(string);
   }
 
+  @Benchmark
+  public long affm_scratch() {
+    return affm.strlen_scratch(string);
+  }
+
+  @Benchmark
+  public long affm_cached() {
+    return affm.strlen_cached(string);
+  }
+
   @Benchmark
   public long jna() {
     return jna.strlen(string);
@@ -0,0 +1,76 @@
+package org.alveolo.ffm.benchmark;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.alveolo.ffm.benchmark.affm.AffmStruct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/// Compares scans over a native array of structs through per-element
+/// `at$F(array, index)` wrappers and through one reused `Cursor$F`.
+///
+/// Run with `-prof gc` to see the per-element allocation of `at$F`.
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 2, time = 300, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class StructArrayBenchmark {
+  @Param({"1024", "1048576"})
+  public int count;
+
+  private Arena arena;
+  private MemorySegment array;
+
+  @Setup(Level.Trial)
+  public void allocate() {
+    arena = Arena.ofConfined();
+    array = AffmStruct.allocate$F(arena, count);
+
+    var random = new Random(42);
+    var cursor = AffmStruct.cursor$F(array);
+    while (cursor.next$F()) {
+      cursor.i(random.nextInt()).l(random.nextLong());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void close() {
+    arena.close();
+  }
+
+  @Benchmark
+  public long affm_at_sum() {
+    long sum = 0;
+    for (long index = 0; index < count; index++) {
+      var element = AffmStruct.at$F(array, index);
+      sum += element.i() + element.l();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long affm_cursor_sum() {
+    long sum = 0;
+    var cursor = AffmStruct.cursor$F(array);
+    while (cursor.next$F()) {
+      sum += cursor.i() + cursor.l();
+    }
+    return sum;
+  }
+}
@@ -4,6 +4,7 @@ import java.lang.foreign.Arena;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
+import org.alveolo.ffm.benchmark.affm.AffmOffsetStruct;
 import org.alveolo.ffm.benchmark.affm.AffmStruct;
 import org.alveolo.ffm.benchmark.jna.JnaStruct;
 import org.alveolo.ffm.benchmark.jnr.JnrStruct;
@@ -27,6 +28,12 @@ import jnr.ffi.Runtime;
 import jnr.ffi.Struct;
 
 /// Compares field access through AFFM, JNA, and JNR struct wrappers.
+///
+/// AFFM fields are accessed both through var handles and, with
+/// `@Struct(offsetAccessors = true)`, at constant offsets. This class runs
+/// with tiered compilation up to C2; [C1] and [Interpreted] repeat it with
+/// `-XX:TieredStopAtLevel=1` and `-Xint`, where var handle chains are not
+/// folded.
 @BenchmarkMode(Mode.AverageTime)
 @Fork(1)
 @Warmup(iterations = 2, time = 300, timeUnit = TimeUnit.MILLISECONDS)
@@ -38,6 +45,7 @@ public class StructBenchmark {
 
   private Arena arena;
   private AffmStruct affm;
+  private AffmOffsetStruct affmOffset;
   private JnaStruct jna;
   private JnrStruct jnr;
   private int intValue;
@@ -49,6 +57,7 @@ public class StructBenchmark {
   public void allocate() {
     arena = Arena.ofConfined();
     affm = new AffmStruct(arena);
+    affmOffset = new AffmOffsetStruct(arena);
 
     jna = new JnaStruct();
     jna.getPointer();
@@ -66,6 +75,7 @@ public class StructBenchmark {
     jnaCLongValue = new NativeLong(cLongValue);
 
     affm.i(intValue).cLong(cLongValue).l(longValue);
+    affmOffset.i(intValue).cLong(cLongValue).l(longValue);
 
     jna.writeField("i", intValue);
     jna.writeField("cLong", jnaCLongValue);
@@ -111,6 +121,26 @@ public class StructBenchmark {
     affm.l(longValue);
   }
 
+  @Benchmark
+  public int affm_offset_read_int() {
+    return affmOffset.i();
+  }
+
+  @Benchmark
+  public long affm_offset_read_long() {
+    return affmOffset.l();
+  }
+
+  @Benchmark
+  public void affm_offset_write_int() {
+    affmOffset.i(intValue);
+  }
+
+  @Benchmark
+  public void affm_offset_write_long() {
+    affmOffset.l(longValue);
+  }
+
   @Benchmark
   public int jna_read_int() {
     return (int) jna.readField("i");
@@ -170,4 +200,12 @@ public class StructBenchmark {
   public void jnr_write_long() {
     jnr.l.set(longValue);
   }
+
+  /// [StructBenchmark] limited to the C1 compiler.
+  @Fork(value = 1, jvmArgsAppend = "-XX:TieredStopAtLevel=1")
+  public static class C1 extends StructBenchmark {}
+
+  /// [StructBenchmark] in the interpreter only.
+  @Fork(value = 1, jvmArgsAppend = "-Xint")
+  public static class Interpreted extends StructBenchmark {}
 }
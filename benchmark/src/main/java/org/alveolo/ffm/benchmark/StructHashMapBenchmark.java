@@ -0,0 +1,94 @@
+package org.alveolo.ffm.benchmark;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.alveolo.ffm.StructHashMap;
+import org.alveolo.ffm.benchmark.affm.div_t_R;
+import org.alveolo.ffm.benchmark.affm.div_t_RFM;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/// Compares lookups of every key of a table of random pairs in a `HashMap`
+/// of records and in an off-heap [StructHashMap] keyed by `div_t` bytes.
+///
+/// Run with `-prof gc` to compare allocation, and look at the heap after
+/// setup to compare the footprint of the two maps.
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 2, time = 300, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class StructHashMapBenchmark {
+  @Param({"1024", "1048576"})
+  public int count;
+
+  private div_t_R[] keys;
+  private HashMap<div_t_R, Long> heap;
+  private StructHashMap offHeap;
+  private Arena arena;
+  private MemorySegment key;
+
+  @Setup(Level.Trial)
+  public void populate() {
+    var random = new Random(42);
+    keys = new div_t_R[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = new div_t_R(random.nextInt(), random.nextInt());
+    }
+
+    heap = new HashMap<>();
+    offHeap = new StructHashMap(Arena::ofConfined,
+        div_t_RFM.MemoryLayout$F, ValueLayout.JAVA_LONG, count);
+    arena = Arena.ofConfined();
+    key = div_t_RFM.allocate$F(arena);
+
+    for (int i = 0; i < count; i++) {
+      heap.put(keys[i], (long) i);
+      div_t_RFM.setAt$F(key, 0, keys[i]);
+      offHeap.table().set(ValueLayout.JAVA_LONG,
+          offHeap.valueOffset(offHeap.insert(key)), i);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void close() {
+    offHeap.close();
+    arena.close();
+  }
+
+  @Benchmark
+  public long heap_get_sum() {
+    long sum = 0;
+    for (int i = 0; i < count; i++) {
+      sum += heap.get(keys[i]);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long offheap_get_sum() {
+    long sum = 0;
+    for (int i = 0; i < count; i++) {
+      div_t_RFM.setAt$F(key, 0, keys[i]);
+      sum += offHeap.getLong(key, 0, 0L);
+    }
+    return sum;
+  }
+}
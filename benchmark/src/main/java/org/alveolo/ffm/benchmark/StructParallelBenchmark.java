@@ -0,0 +1,79 @@
+package org.alveolo.ffm.benchmark;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.alveolo.ffm.benchmark.affm.div_t_R;
+import org.alveolo.ffm.benchmark.affm.div_t_RFM;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/// Measures how `parallelFill$F`, `parallelTransform$F` and a parallel
+/// `stream$F` reduction over a native array of records scale with the
+/// fork/join parallelism.
+///
+/// Each operation runs inside a pool of `threads` workers, which parallel
+/// streams started from that pool use instead of the common pool.
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 2, time = 300, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class StructParallelBenchmark {
+  @Param({"1", "2", "4", "8"})
+  public int threads;
+
+  @Param({"4194304"})
+  public int count;
+
+  private Arena arena;
+  private MemorySegment array;
+  private ForkJoinPool pool;
+
+  @Setup(Level.Trial)
+  public void allocate() {
+    arena = Arena.ofShared();
+    array = div_t_RFM.allocate$F(arena, count);
+    pool = new ForkJoinPool(threads);
+    div_t_RFM.parallelFill$F(array, index -> new div_t_R((int) index, 1));
+  }
+
+  @TearDown(Level.Trial)
+  public void close() {
+    pool.close();
+    arena.close();
+  }
+
+  @Benchmark
+  public void affm_fill() {
+    pool.submit(() -> div_t_RFM.parallelFill$F(
+        array, index -> new div_t_R((int) index, (int) -index))).join();
+  }
+
+  @Benchmark
+  public void affm_transform() {
+    pool.submit(() -> div_t_RFM.parallelTransform$F(
+        array, value -> new div_t_R(value.rem(), value.quot()))).join();
+  }
+
+  @Benchmark
+  public long affm_stream_sum() {
+    return pool.submit(() -> div_t_RFM.stream$F(array).parallel()
+        .mapToLong(value -> value.quot() + value.rem())
+        .sum()).join();
+  }
+}
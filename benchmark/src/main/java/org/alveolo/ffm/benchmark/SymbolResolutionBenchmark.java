@@ -0,0 +1,79 @@
+package org.alveolo.ffm.benchmark;
+
+import java.io.IOException;
+import java.lang.foreign.SymbolLookup;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.alveolo.ffm.ElfSymbolIndex;
+import org.alveolo.ffm.LibraryRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/// Compares resolving every exported symbol of several unrelated libraries
+/// through a lookup chained with [SymbolLookup#or] and through an
+/// [ElfSymbolIndex], as a binding does once at startup. Linux only.
+///
+/// Each fork measures one cold resolution, including the time to read the
+/// `.gnu.hash` tables for the index. Set `directory` to where the libraries
+/// live on other distributions.
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(5)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class SymbolResolutionBenchmark {
+  private static final List<String> LIBRARIES = List.of(
+      "libz.so.1", "libbz2.so.1.0", "liblzma.so.5", "libsqlite3.so.0",
+      "libxml2.so.2", "libgmp.so.10");
+
+  @Param("/usr/lib/x86_64-linux-gnu")
+  public String directory;
+
+  private List<SymbolLookup> libraries;
+  private List<String> symbols;
+
+  @Setup(Level.Trial)
+  public void load() throws IOException {
+    libraries = new ArrayList<>();
+    symbols = new ArrayList<>();
+
+    for (var library : LIBRARIES) {
+      var file = Path.of(directory, library);
+      libraries.add(LibraryRegistry.path(file));
+      symbols.addAll(ElfSymbolIndex.dynamicSymbols(file));
+    }
+  }
+
+  @Benchmark
+  public void chained(Blackhole blackhole) {
+    var lookup = libraries.stream().reduce(SymbolLookup::or).orElseThrow();
+
+    for (var symbol : symbols) {
+      blackhole.consume(lookup.find(symbol));
+    }
+  }
+
+  @Benchmark
+  public void indexed(Blackhole blackhole) {
+    var lookup = ElfSymbolIndex.of(libraries);
+
+    for (var symbol : symbols) {
+      blackhole.consume(lookup.find(symbol));
+    }
+  }
+}
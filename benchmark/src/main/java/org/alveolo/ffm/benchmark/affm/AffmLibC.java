@@ -1,9 +1,12 @@
 package org.alveolo.ffm.benchmark.affm;
 
+import java.lang.foreign.MemorySegment;
 import java.lang.foreign.SegmentAllocator;
 
+import org.alveolo.ffm.Cached;
 import org.alveolo.ffm.ForeignInterface;
 import org.alveolo.ffm.SLong;
+import org.alveolo.ffm.Scratch;
 import org.alveolo.ffm.SizeT;
 import org.alveolo.ffm.Symbol;
 import org.alveolo.ffm.Value;
@@ -60,5 +63,17 @@ public interface AffmLibC {
   @SizeT
   long strlen(String str);
 
+  @Scratch
+  @Symbol("strlen")
+  @SizeT
+  long strlen_scratch(String str);
+
+  @Symbol("strlen")
+  @SizeT
+  long strlen_cached(@Cached String str);
+
+  void qsort(MemorySegment base, @SizeT long count, @SizeT long size,
+      IntComparator comparator);
+
   // String l64a(long n);
 }
@@ -0,0 +1,14 @@
+package org.alveolo.ffm.benchmark.affm;
+
+import org.alveolo.ffm.SLong;
+import org.alveolo.ffm.Struct;
+
+@Struct(offsetAccessors = true)
+public interface AffmOffsetStructSpec {
+  int i();
+
+  @SLong
+  long cLong();
+
+  long l();
+}
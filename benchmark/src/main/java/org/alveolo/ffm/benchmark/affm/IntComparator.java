@@ -0,0 +1,10 @@
+package org.alveolo.ffm.benchmark.affm;
+
+import java.lang.foreign.MemorySegment;
+
+import org.alveolo.ffm.Callback;
+
+@Callback
+public interface IntComparator {
+  int compare(MemorySegment left, MemorySegment right);
+}
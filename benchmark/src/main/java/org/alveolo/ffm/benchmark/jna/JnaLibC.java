@@ -2,10 +2,12 @@ package org.alveolo.ffm.benchmark.jna;
 
 import static com.sun.jna.Platform.isWindows;
 
+import com.sun.jna.Callback;
 import com.sun.jna.Library;
 import com.sun.jna.Native;
 import com.sun.jna.NativeLong;
 import com.sun.jna.Platform;
+import com.sun.jna.Pointer;
 
 public interface JnaLibC extends Library {
   public static final JnaLibC INSTANCE = Native.load(
@@ -30,4 +32,10 @@ public interface JnaLibC extends Library {
   lldiv_t lldiv(long numerator, long denominator);
 
   long strlen(String str);
+
+  void qsort(Pointer base, long count, long size, IntComparator comparator);
+
+  interface IntComparator extends Callback {
+    int invoke(Pointer left, Pointer right);
+  }
 }
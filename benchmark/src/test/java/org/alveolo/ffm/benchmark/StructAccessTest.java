@@ -1,10 +1,15 @@
 package org.alveolo.ffm.benchmark;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.lang.foreign.Arena;
 
+import org.alveolo.ffm.benchmark.affm.AffmOffsetStruct;
 import org.alveolo.ffm.benchmark.affm.AffmStruct;
+import org.alveolo.ffm.benchmark.affm.div_t_R;
+import org.alveolo.ffm.benchmark.affm.div_t_RFM;
 import org.alveolo.ffm.benchmark.jna.JnaStruct;
 import org.alveolo.ffm.benchmark.jnr.JnrStruct;
 import org.junit.jupiter.api.Test;
@@ -28,6 +33,13 @@ class StructAccessTest {
       assertEquals(cLong, affm.cLong());
       assertEquals(l, affm.l());
 
+      var offset = new AffmOffsetStruct(arena).i(i).cLong(cLong).l(l);
+      assertEquals(i, offset.i());
+      assertEquals(cLong, offset.cLong());
+      assertEquals(l, offset.l());
+      assertEquals(affm.MemorySegment$F.byteSize(),
+          offset.MemorySegment$F.byteSize());
+
       var jna = new JnaStruct();
       jna.writeField("i", i);
       jna.writeField("cLong", new NativeLong(cLong));
@@ -50,4 +62,93 @@ class StructAccessTest {
       assertEquals(AffmStruct.MemoryLayout$F.byteSize(), Struct.size(jnr));
     }
   }
+
+  @Test
+  void cursorAccessesArrayElementsInPlace() {
+    try (var arena = Arena.ofConfined()) {
+      var array = AffmStruct.allocate$F(arena, 3);
+      var cursor = AffmStruct.cursor$F(array);
+      assertEquals(3, cursor.Count$F);
+
+      while (cursor.next$F()) {
+        var index = cursor.index$F();
+        cursor.i((int) index).cLong(-index).l(index << 40);
+      }
+      assertFalse(cursor.next$F());
+
+      for (var index = 0; index < 3; index++) {
+        var element = AffmStruct.at$F(array, index);
+        assertEquals(index, element.i());
+        assertEquals(-index, element.cLong());
+        assertEquals((long) index << 40, element.l());
+      }
+
+      cursor.moveTo$F(1).l(7);
+      assertEquals(7, AffmStruct.at$F(array, 1).l());
+      assertEquals(7, cursor.get$F().l());
+      assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo$F(3));
+    }
+  }
+
+  @Test
+  void parallelHelpersVisitEveryElement() {
+    var count = 10_000;
+    try (var arena = Arena.ofShared()) {
+      var records = div_t_RFM.allocate$F(arena, count);
+      div_t_RFM.parallelFill$F(records, index -> new div_t_R((int) index, 1));
+      div_t_RFM.parallelTransform$F(records,
+          value -> new div_t_R(value.quot() * 2, value.rem()));
+      assertEquals(new div_t_R(42, 1), div_t_RFM.at$F(records, 21));
+      assertEquals((long) count * (count - 1) + count,
+          div_t_RFM.stream$F(records).parallel()
+              .mapToLong(value -> value.quot() + value.rem())
+              .sum());
+
+      var structs = AffmStruct.allocate$F(arena, count);
+      AffmStruct.parallelFill$F(structs, (element, index) -> element.l(index));
+      assertEquals((long) count * (count - 1) / 2,
+          AffmStruct.stream$F(structs).parallel()
+              .mapToLong(AffmStruct::l)
+              .sum());
+    }
+  }
+
+  @Test
+  void confinedArraysAreFilledSequentially() {
+    try (var arena = Arena.ofConfined()) {
+      var records = div_t_RFM.allocate$F(arena, 1_000);
+      div_t_RFM.fill$F(records, index -> new div_t_R((int) index, 1));
+      div_t_RFM.transform$F(records,
+          value -> new div_t_R(value.quot() * 2, value.rem()));
+      assertEquals(new div_t_R(42, 1), div_t_RFM.at$F(records, 21));
+
+      assertThrows(WrongThreadException.class, () -> div_t_RFM.parallelFill$F(
+          records, index -> new div_t_R(-1, -1)));
+      assertEquals(new div_t_R(0, 1), div_t_RFM.at$F(records, 0));
+    }
+  }
+
+  @Test
+  void copyHelpersMoveWholeElements() {
+    try (var arena = Arena.ofConfined()) {
+      var records = div_t_RFM.allocate$F(arena, 5);
+      div_t_RFM.fill$F(records, 4, new div_t_R(1, 2));
+      div_t_RFM.setAt$F(records, 4, new div_t_R(3, 4));
+      div_t_RFM.swap$F(records, 0, 4);
+      div_t_RFM.copy$F(records, 0, records, 1, 2);
+      assertEquals(new div_t_R(3, 4), div_t_RFM.at$F(records, 0));
+      assertEquals(new div_t_R(3, 4), div_t_RFM.at$F(records, 1));
+      assertEquals(new div_t_R(1, 2), div_t_RFM.at$F(records, 2));
+      assertEquals(new div_t_R(1, 2), div_t_RFM.at$F(records, 4));
+
+      var structs = AffmStruct.allocate$F(arena, 3);
+      var prototype = new AffmStruct(arena).i(1).cLong(2).l(3);
+      AffmStruct.fill$F(structs, 3, prototype);
+      prototype.l(4).copyTo$F(structs, 1);
+      var copy = new AffmStruct(arena).copyFrom$F(AffmStruct.at$F(structs, 1));
+      assertEquals(3, AffmStruct.at$F(structs, 2).l());
+      assertEquals(4, copy.l());
+      assertEquals(2, copy.cLong());
+    }
+  }
 }
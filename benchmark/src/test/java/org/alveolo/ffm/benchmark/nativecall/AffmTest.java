@@ -5,12 +5,16 @@ import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 
 import org.alveolo.ffm.Address;
+import org.alveolo.ffm.Blocking;
 import org.alveolo.ffm.CountedBy;
+import org.alveolo.ffm.Critical;
 import org.alveolo.ffm.FirstVariadicArg;
 import org.alveolo.ffm.ForeignInterface;
 import org.alveolo.ffm.In;
 import org.alveolo.ffm.Library;
+import org.alveolo.ffm.MaxLength;
 import org.alveolo.ffm.Out;
+import org.alveolo.ffm.Scratch;
 import org.alveolo.ffm.Sequence;
 import org.alveolo.ffm.SLong;
 import org.alveolo.ffm.SizeT;
@@ -24,6 +28,10 @@ import org.alveolo.ffm.WCharT;
 public interface AffmTest {
   int add_ints(int left, int right);
 
+  @Blocking
+  @Symbol("add_ints")
+  int add_ints_blocking(int left, int right);
+
   @SLong long echo_slong(@SLong long value);
 
   @ULong long echo_ulong(@ULong long value);
@@ -45,6 +53,21 @@ public interface AffmTest {
 
   long utf8_bytes(String value);
 
+  @Scratch
+  @Symbol("utf8_bytes")
+  long utf8_bytes_scratch(String value);
+
+  String greeting();
+
+  @MaxLength(5)
+  @Symbol("greeting")
+  String greeting_prefix();
+
+  @Symbol("greeting")
+  CharSequence greeting_view();
+
+  int apply_twice(IntOperator operator, int value);
+
   int set_errno_and_return(ErrnoSpec capture, int value, int error);
 
   default int checked_errno_return(
@@ -115,6 +138,16 @@ public interface AffmTest {
   void scale_int_buffer(
       @CountedBy("count") IntBuffer values, int count, int factor);
 
+  @Critical
+  @Symbol("scale_ints")
+  void scale_ints_critical(
+      @CountedBy("count") int[] values, int count, int factor);
+
+  @Critical
+  @Symbol("scale_ints")
+  void scale_int_buffer_critical(
+      @CountedBy("count") IntBuffer values, int count, int factor);
+
   @Symbol("sum_three_and_clobber")
   int sum_three_int_buffer(@In @Sequence(3) IntBuffer values);
 
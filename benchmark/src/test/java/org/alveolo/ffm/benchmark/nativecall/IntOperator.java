@@ -0,0 +1,8 @@
+package org.alveolo.ffm.benchmark.nativecall;
+
+import org.alveolo.ffm.Callback;
+
+@Callback
+public interface IntOperator {
+  int apply(int value);
+}
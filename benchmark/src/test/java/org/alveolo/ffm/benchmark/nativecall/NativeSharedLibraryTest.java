@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
@@ -20,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
+import org.alveolo.ffm.NativeCharSequence;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -61,6 +63,19 @@ class NativeSharedLibraryTest {
     assertEquals(42, AffmTestFFM.INSTANCE$F.add_ints(19, 23));
   }
 
+  @Test
+  void offloadsBlockingCallFromVirtualThread() throws Exception {
+    var result = new int[1];
+
+    Thread.ofVirtual().start(() ->
+        result[0] = AffmTestFFM.INSTANCE$F.add_ints_blocking(19, 23)).join();
+
+    assertEquals(42, result[0]);
+    assertEquals(42, AffmTestFFM.INSTANCE$F.add_ints_blocking(19, 23));
+    assertEquals(42, AffmTestFFM.INSTANCE$F.add_ints_blocking$Async$F(19, 23)
+        .get(5, SECONDS));
+  }
+
   @Test
   void adaptsCanonicalCScalarsWithoutChangingJavaCarriers() {
     assertEquals(-123L, AffmTestFFM.INSTANCE$F.echo_slong(-123L));
@@ -90,6 +105,45 @@ class NativeSharedLibraryTest {
     assertEquals(12L, AffmTestFFM.INSTANCE$F.utf8_bytes("Юникод"));
   }
 
+  @Test
+  void passesUtf8StringThroughScratchFrame() {
+    assertEquals(6L, AffmTestFFM.INSTANCE$F.utf8_bytes_scratch("ASCII!"));
+    assertEquals(12L, AffmTestFFM.INSTANCE$F.utf8_bytes_scratch("Юникод"));
+    assertEquals(40_000L,
+        AffmTestFFM.INSTANCE$F.utf8_bytes_scratch("x".repeat(40_000)));
+  }
+
+  @Test
+  void decodesReturnedStringsWithinBounds() {
+    assertEquals("hello, native мир", AffmTestFFM.INSTANCE$F.greeting());
+    assertEquals("hello", AffmTestFFM.INSTANCE$F.greeting_prefix());
+
+    var view = (NativeCharSequence) AffmTestFFM.INSTANCE$F.greeting_view();
+    assertTrue(view.startsWith("hello"));
+    assertEquals(20L, view.segment().byteSize());
+    assertEquals("hello, native мир", view.toString());
+    assertEquals("hello, native мир".hashCode(), view.hashCode());
+  }
+
+  @Test
+  void passesCallbacksAsFunctionPointers() {
+    assertEquals(12,
+        AffmTestFFM.INSTANCE$F.apply_twice(Math::incrementExact, 10));
+
+    int step = 5;
+    assertEquals(20, AffmTestFFM.INSTANCE$F.apply_twice(v -> v + step, 10));
+  }
+
+  @Test
+  void reusesStubForStatelessCallback() {
+    IntOperator negate = Math::negateExact;
+
+    try (var arena = Arena.ofConfined()) {
+      assertEquals(IntOperatorFC.upcallStub$F(arena, negate),
+          IntOperatorFC.upcallStub$F(arena, negate));
+    }
+  }
+
   @Test
   void capturesErrnoAndAppliesApiSpecificFailureCondition() {
     try (var arena = Arena.ofConfined()) {
@@ -370,6 +424,28 @@ class NativeSharedLibraryTest {
     assertEquals(20, values.get(1));
   }
 
+  @Test
+  void passesCriticalArrayStorageDirectly() {
+    var values = new int[] {1, 2, 3, 4};
+
+    AffmTestFFM.INSTANCE$F.scale_ints_critical(values, 3, 10);
+
+    assertArrayEquals(new int[] {10, 20, 30, 4}, values);
+    assertThrows(IllegalArgumentException.class,
+        () -> AffmTestFFM.INSTANCE$F.scale_ints_critical(values, 5, 10));
+  }
+
+  @Test
+  void passesCriticalHeapBufferFromPosition() {
+    var values = IntBuffer.wrap(new int[] {1, 2, 3, 4});
+    values.position(1);
+
+    AffmTestFFM.INSTANCE$F.scale_int_buffer_critical(values, 2, 10);
+
+    assertArrayEquals(new int[] {1, 20, 30, 4}, values.array());
+    assertEquals(1, values.position());
+  }
+
   @Test
   void passesOnlyCountedPrefixOfDirectTypedBuffer() {
     var values = ByteBuffer.allocateDirect(4 * Integer.BYTES)
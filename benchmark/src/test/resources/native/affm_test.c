@@ -75,6 +75,10 @@ EXPORT int variadic_sum(int count, ...) {
   return result;
 }
 
+EXPORT int apply_twice(int (*operator)(int), int value) {
+  return operator(operator(value));
+}
+
 EXPORT int set_errno_and_return(int value, int error) {
   errno = error;
   return value;
@@ -88,6 +92,10 @@ EXPORT int64_t utf8_bytes(const char* value) {
   return count;
 }
 
+EXPORT const char* greeting(void) {
+  return "hello, native \xd0\xbc\xd0\xb8\xd1\x80";
+}
+
 EXPORT pair make_pair(int left, int right) {
   pair result = {left, right};
   return result;
@@ -1,4 +1,7 @@
 module org.alveolo.ffm {
+    requires static java.management;
+    requires static jdk.jfr;
+
     exports org.alveolo.ffm;
     exports org.alveolo.ffm.macos;
 }
@@ -0,0 +1,125 @@
+package org.alveolo.ffm;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/// Links generated `@ForeignInterface` bindings ahead of their first call.
+///
+/// Every generated class has a `preload$F()` method that links all of its
+/// downcall handles, and with them the layouts and var handles they use.
+/// Calling it from a training run lets a JDK AOT cache
+/// (`-XX:AOTCacheOutput`) or a CDS archive capture the linked forms, so that
+/// later starts do not spin them again. Generated struct and union companions
+/// and dispatch tables build their layouts, var handles and downcall handles
+/// in their static initializers, so initializing them is enough.
+///
+/// Compile with `-Aaffm.preload.index` to list the generated classes in the
+/// [#INDEX], [#MEMORY_INDEX] and [#DISPATCH_TABLE_INDEX] resources, then
+/// preload them all with [#preloadAll(ClassLoader)] or as a training run of
+/// its own:
+///
+/// ```shell
+/// java -XX:AOTCacheOutput=app.aot -cp app.jar org.alveolo.ffm.Bindings
+/// ```
+public final class Bindings {
+  /// Resource listing generated binding classes, one binary name per line.
+  public static final String INDEX = "META-INF/affm/bindings";
+
+  /// Resource listing generated `@Struct` and `@Union` companions and their
+  /// `Offsets$F` classes, one binary name per line.
+  public static final String MEMORY_INDEX = "META-INF/affm/memory";
+
+  /// Resource listing generated `@DispatchTable` classes, one binary name per
+  /// line.
+  public static final String DISPATCH_TABLE_INDEX =
+      "META-INF/affm/dispatch-tables";
+
+  private Bindings() {/* Utility class */}
+
+  /// Initializes `binding`, a generated class, and calls its `preload$F()`.
+  ///
+  /// @throws IllegalArgumentException if `binding` has no accessible
+  ///   `preload$F()` method
+  public static void preload(Class<?> binding) {
+    try {
+      binding.getMethod("preload$F").invoke(null);
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+      if (e.getCause() instanceof Error error) throw error;
+      throw new IllegalStateException(e.getCause());
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException(
+          "Not a generated binding: " + binding.getName(), e);
+    }
+  }
+
+  /// Preloads every binding listed by [#INDEX] resources of `loader`, and
+  /// initializes every class listed by its [#MEMORY_INDEX] and
+  /// [#DISPATCH_TABLE_INDEX] resources.
+  ///
+  /// @return names of the preloaded and initialized classes
+  /// @throws IllegalArgumentException if a listed class cannot be loaded
+  /// @throws UncheckedIOException if an index cannot be read
+  public static List<String> preloadAll(ClassLoader loader) {
+    var preloaded = new ArrayList<String>();
+
+    for (var name : read(loader, INDEX)) {
+      preload(load(loader, INDEX, name));
+      preloaded.add(name);
+    }
+
+    for (var index : List.of(MEMORY_INDEX, DISPATCH_TABLE_INDEX)) {
+      for (var name : read(loader, index)) {
+        load(loader, index, name);
+        preloaded.add(name);
+      }
+    }
+
+    return Collections.unmodifiableList(preloaded);
+  }
+
+  private static Set<String> read(ClassLoader loader, String index) {
+    var names = new LinkedHashSet<String>();
+
+    try {
+      var indexes = loader.getResources(index);
+      while (indexes.hasMoreElements()) {
+        try (var in = new BufferedReader(new InputStreamReader(
+            indexes.nextElement().openStream(), StandardCharsets.UTF_8))) {
+          in.lines()
+              .map(String::strip)
+              .filter(line -> !line.isEmpty())
+              .forEach(names::add);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read " + index, e);
+    }
+
+    return names;
+  }
+
+  private static Class<?> load(ClassLoader loader, String index, String name) {
+    try {
+      return Class.forName(name, true, loader);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalArgumentException(
+          "Class listed in " + index + " not found: " + name, e);
+    }
+  }
+
+  /// Preloads every indexed binding of the class path, as a training run.
+  public static void main(String[] args) {
+    var preloaded = preloadAll(ClassLoader.getSystemClassLoader());
+    System.out.println("Preloaded " + preloaded.size() + " classes");
+  }
+}
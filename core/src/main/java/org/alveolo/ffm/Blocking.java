@@ -0,0 +1,33 @@
+package org.alveolo.ffm;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/// Marks a native function which may block, such as `read`, `poll`, or
+/// `getaddrinfo`.
+///
+/// A downcall pins a virtual thread to its carrier for the whole call. When
+/// called on a virtual thread, the generated method runs the downcall on the
+/// bounded platform-thread pool of [BlockingCalls] and parks until it
+/// completes; platform threads call inline as usual. The generated class also
+/// gets a `<method>$Async$F` variant with the same parameters which always
+/// submits to the pool and returns a `CompletableFuture`.
+///
+/// Parameters are captured by the pooled task, so arrays and buffers must not
+/// be modified by the caller until the call completes. `MemorySegment`
+/// arguments are accessed from the pooled thread and must come from a shared,
+/// automatic, or global arena; a confined segment fails with
+/// `WrongThreadException`. For the same reason, `@Blocking` methods cannot
+/// take a `SegmentAllocator`.
+///
+/// Native state is captured into the pool thread's own [CallState] instance
+/// and copied into the caller's [Captures] instance, or into a `@CallState`
+/// argument, which must come from a shared, automatic, or global arena as
+/// well, before the call completes. The [CallStateException] of a
+/// [Captures#failure()] is thrown as is.
+@Target(METHOD)
+@Retention(SOURCE)
+public @interface Blocking {}
@@ -0,0 +1,82 @@
+package org.alveolo.ffm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/// JFR events of [BlockingCalls], kept apart so that the pool does not load
+/// `jdk.jfr` classes when the module is absent.
+final class BlockingCallEvents {
+  /// Whether the thread that submitted the [Blocking] call running on the
+  /// current pool thread is virtual.
+  static final ScopedValue<Boolean> VIRTUAL_CALLER = ScopedValue.newInstance();
+
+  private BlockingCallEvents() {/* Utility class */}
+
+  /// Samples the pool every second.
+  static void register() {
+    FlightRecorder.addPeriodicEvent(PoolEvent.class, () -> {
+      var event = new PoolEvent();
+      event.queueDepth = BlockingCalls.queueDepth();
+      event.activeThreads = BlockingCalls.activeCount();
+      event.poolSize = BlockingCalls.poolSize();
+      event.commit();
+    });
+  }
+
+  /// Wraps a pooled `task` to record its queue time and the thread kind of
+  /// its submitter. Call on the submitting thread.
+  static Runnable recorded(Runnable task) {
+    var event = new CallEvent();
+    var queued = System.nanoTime();
+    var virtualCaller = Thread.currentThread().isVirtual();
+
+    if (event.isEnabled()) {
+      event.queueDepth = BlockingCalls.queueDepth();
+      event.begin();
+    }
+
+    return () -> {
+      event.queueTime = System.nanoTime() - queued;
+      ScopedValue.where(VIRTUAL_CALLER, virtualCaller).run(task);
+      event.commit();
+    };
+  }
+
+  @Name("org.alveolo.ffm.BlockingCall")
+  @Label("Blocking Native Call")
+  @Category({"Alveolo FFM", "Native Calls"})
+  @Description("Blocking downcall offloaded to the platform-thread pool")
+  @StackTrace(false)
+  static final class CallEvent extends Event {
+    @Label("Queue Depth")
+    @Description("Calls already waiting when this call was submitted")
+    int queueDepth;
+
+    @Label("Queue Time")
+    @Timespan
+    long queueTime;
+  }
+
+  @Name("org.alveolo.ffm.BlockingPool")
+  @Label("Blocking Call Pool")
+  @Category({"Alveolo FFM", "Native Calls"})
+  @Period("1 s")
+  @StackTrace(false)
+  static final class PoolEvent extends Event {
+    @Label("Queue Depth")
+    int queueDepth;
+
+    @Label("Active Threads")
+    int activeThreads;
+
+    @Label("Pool Size")
+    int poolSize;
+  }
+}
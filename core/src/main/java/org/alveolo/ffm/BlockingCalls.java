@@ -0,0 +1,100 @@
+package org.alveolo.ffm;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/// Bounded platform-thread pool for [Blocking] downcalls.
+///
+/// The pool has `affm.blocking.threads` threads (default: the number of
+/// available processors, at least 4) and a queue of `affm.blocking.queue`
+/// tasks (default 1024). Idle threads exit after a minute. When the queue is
+/// full, the submitting thread runs the call itself, which pins a virtual
+/// caller but keeps the system making progress instead of failing.
+///
+/// When the `jdk.jfr` module is present, each pooled call is recorded as an
+/// `org.alveolo.ffm.BlockingCall` JFR event with the queue depth seen at
+/// submission and the time spent queued, and the
+/// `org.alveolo.ffm.BlockingPool` event samples the pool every second. The
+/// same numbers are available from [#queueDepth()], [#activeCount()], and
+/// [#completedCount()].
+public final class BlockingCalls {
+  static final int THREADS = Integer.getInteger("affm.blocking.threads",
+      Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+  static final int QUEUE = Integer.getInteger("affm.blocking.queue", 1024);
+
+  private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(
+      THREADS, THREADS, 1L, TimeUnit.MINUTES,
+      new ArrayBlockingQueue<>(QUEUE),
+      Thread.ofPlatform().name("affm-blocking-", 0).daemon().factory(),
+      new ThreadPoolExecutor.CallerRunsPolicy());
+
+  /// Whether JFR events are recorded. Event classes are only loaded if so.
+  private static final boolean RECORDED = ForeignUtils.canRead("jdk.jfr");
+
+  static {
+    POOL.allowCoreThreadTimeOut(true);
+    if (RECORDED) BlockingCallEvents.register();
+  }
+
+  private BlockingCalls() {/* Utility class */}
+
+  /// Runs `call` on the pool.
+  public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+    var future = new CompletableFuture<T>();
+    Runnable task = () -> {
+      try {
+        future.complete(call.get());
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    };
+
+    POOL.execute(RECORDED ? BlockingCallEvents.recorded(task) : task);
+    return future;
+  }
+
+  /// Runs `call` on the pool.
+  public static CompletableFuture<Void> run(Runnable call) {
+    return supply(() -> {
+      call.run();
+      return null;
+    });
+  }
+
+  /// Waits for `future` and rethrows the unchecked exception of a failed
+  /// call as is. A waiting virtual thread releases its carrier.
+  public static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) throw cause;
+      if (e.getCause() instanceof Error cause) throw cause;
+      throw e;
+    }
+  }
+
+  /// Number of calls waiting for a pool thread.
+  public static int queueDepth() {
+    return POOL.getQueue().size();
+  }
+
+  /// Number of pool threads currently running a call.
+  public static int activeCount() {
+    return POOL.getActiveCount();
+  }
+
+  /// Number of threads in the pool.
+  static int poolSize() {
+    return POOL.getPoolSize();
+  }
+
+  /// Approximate number of calls completed by the pool.
+  public static long completedCount() {
+    return POOL.getCompletedTaskCount();
+  }
+}
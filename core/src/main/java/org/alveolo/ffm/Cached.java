@@ -0,0 +1,19 @@
+package org.alveolo.ffm;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/// Passes a `String` parameter through the process-wide [NativeStringCache]
+/// instead of encoding it into call-scoped memory.
+///
+/// Use it for a small, repeating set of values such as metric names, keys, or
+/// locale names. The cached segment is shared between threads, so native code
+/// must treat it as read-only. It may also be freed once evicted, so native
+/// code must not keep the pointer after the call returns; do not use it for
+/// functions such as `putenv` that retain their argument.
+@Target(PARAMETER)
+@Retention(SOURCE)
+public @interface Cached {}
@@ -0,0 +1,217 @@
+package org.alveolo.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/// Call counters of one generated native method.
+///
+/// Bindings generated with the `affm.metrics` processor option register one
+/// instance per `@ForeignInterface` or `@DispatchTable` method and update it
+/// on every call. When the `java.management` module is present, each instance
+/// is also registered as a platform MXBean named
+/// `org.alveolo.ffm:type=CallMetrics,interface=<class>,method=<method>`.
+///
+/// Counters are [LongAdder] stripes, so concurrent callers do not contend on
+/// one cache line. Latency is measured for roughly one call in
+/// `affm.metrics.sample` (default 64, rounded up to a power of two), chosen
+/// per thread, which keeps `System.nanoTime()` off most calls.
+public final class CallMetrics {
+  static final int SAMPLE_INTERVAL =
+      Integer.highestOneBit(
+          Math.max(1, Integer.getInteger("affm.metrics.sample", 64) * 2 - 1));
+
+  private static final ConcurrentHashMap<String, CallMetrics> REGISTRY =
+      new ConcurrentHashMap<>();
+
+  /// Whether instances are registered as MXBeans. JMX classes are only
+  /// loaded if so.
+  private static final boolean MANAGED =
+      ForeignUtils.canRead("java.management");
+
+  private final String owner;
+  private final String method;
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder bytes = new LongAdder();
+  private final LongAdder samples = new LongAdder();
+  private final LongAdder sampledNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+  private CallMetrics(String owner, String method) {
+    this.owner = owner;
+    this.method = method;
+  }
+
+  /// Returns the metrics of `method` declared by `owner`, registering them on
+  /// first use. A failed MXBean registration, for example when the same
+  /// binding is loaded by two class loaders, leaves the counters usable
+  /// through [#registered()].
+  public static CallMetrics register(Class<?> owner, String method) {
+    return REGISTRY.computeIfAbsent(owner.getName() + "#" + method, _ -> {
+      var metrics = new CallMetrics(owner.getName(), method);
+      if (MANAGED) Management.register(metrics);
+      return metrics;
+    });
+  }
+
+  /// All registered metrics, in no particular order.
+  public static List<CallMetrics> registered() {
+    return List.copyOf(REGISTRY.values());
+  }
+
+  /// Counts a call and returns its start time if its latency is sampled, or
+  /// `0L` otherwise.
+  public long start() {
+    calls.increment();
+
+    if ((ThreadLocalRandom.current().nextInt() & SAMPLE_INTERVAL - 1) != 0)
+      return 0L;
+
+    return System.nanoTime();
+  }
+
+  /// Records the latency of a call started by [#start()]. Unsampled calls are
+  /// ignored.
+  public void stop(long start) {
+    if (start == 0L) return;
+
+    var nanos = System.nanoTime() - start;
+    samples.increment();
+    sampledNanos.add(nanos);
+    maxNanos.accumulate(nanos);
+  }
+
+  /// Wraps the temporary arena of a call to count the bytes it allocates.
+  public Arena arena(Arena arena) {
+    return new MeteredArena(this, arena);
+  }
+
+  /// Interface class name.
+  public String owner() {
+    return owner;
+  }
+
+  /// Method name and erased parameter types.
+  public String method() {
+    return method;
+  }
+
+  /// Number of calls.
+  public long calls() {
+    return calls.sum();
+  }
+
+  /// Native bytes allocated to marshal arguments and results.
+  public long bytes() {
+    return bytes.sum();
+  }
+
+  /// Number of calls whose latency was measured.
+  public long samples() {
+    return samples.sum();
+  }
+
+  /// Mean latency of sampled calls, in nanoseconds.
+  public long meanNanos() {
+    var count = samples.sum();
+    return count == 0L ? 0L : sampledNanos.sum() / count;
+  }
+
+  /// Maximum latency of sampled calls, in nanoseconds.
+  public long maxNanos() {
+    return maxNanos.get();
+  }
+
+  /// Clears all counters. Calls running concurrently may be partly counted.
+  public void reset() {
+    calls.reset();
+    bytes.reset();
+    samples.reset();
+    sampledNanos.reset();
+    maxNanos.reset();
+  }
+
+  /// Management interface of [CallMetrics].
+  public interface MXBean {
+    long getCalls();
+
+    long getBytes();
+
+    long getSampledCalls();
+
+    long getMeanLatencyNanos();
+
+    long getMaxLatencyNanos();
+
+    void reset();
+  }
+
+  private final class View implements MXBean {
+    @Override
+    public long getCalls() {
+      return calls();
+    }
+
+    @Override
+    public long getBytes() {
+      return bytes();
+    }
+
+    @Override
+    public long getSampledCalls() {
+      return samples();
+    }
+
+    @Override
+    public long getMeanLatencyNanos() {
+      return meanNanos();
+    }
+
+    @Override
+    public long getMaxLatencyNanos() {
+      return maxNanos();
+    }
+
+    @Override
+    public void reset() {
+      CallMetrics.this.reset();
+    }
+  }
+
+  /// Platform MXBean registration, kept apart so that [CallMetrics] does not
+  /// load `java.management` classes when the module is absent.
+  private static final class Management {
+    static void register(CallMetrics metrics) {
+      try {
+        var name = new ObjectName("org.alveolo.ffm:type=CallMetrics,interface="
+            + metrics.owner + ",method=" + ObjectName.quote(metrics.method));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(
+            new StandardMBean(metrics.new View(), MXBean.class, true), name);
+      } catch (JMException | SecurityException e) {
+        // Counting does not depend on JMX.
+      }
+    }
+  }
+
+  private static final class MeteredArena extends CountingArena {
+    private final CallMetrics metrics;
+
+    MeteredArena(CallMetrics metrics, Arena arena) {
+      super(arena);
+      this.metrics = metrics;
+    }
+
+    @Override
+    void allocated(long bytes) {
+      if (bytes != 0L) metrics.bytes.add(bytes);
+    }
+  }
+}
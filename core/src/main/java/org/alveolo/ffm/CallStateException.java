@@ -0,0 +1,30 @@
+package org.alveolo.ffm;
+
+/// Thrown by a [Captures] method whose failure predicate matched its result.
+public class CallStateException extends RuntimeException {
+  private final String call;
+  private final String state;
+  private final int value;
+
+  public CallStateException(String call, String state, int value) {
+    super(call + " failed: " + state + " " + value);
+    this.call = call;
+    this.state = state;
+    this.value = value;
+  }
+
+  /// Name of the native function.
+  public String call() {
+    return call;
+  }
+
+  /// Captured state name, such as `errno` or `GetLastError`.
+  public String state() {
+    return state;
+  }
+
+  /// Captured state value.
+  public int value() {
+    return value;
+  }
+}
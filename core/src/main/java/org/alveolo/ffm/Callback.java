@@ -0,0 +1,34 @@
+package org.alveolo.ffm;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/// Declares a functional interface which native code can call through a C
+/// function pointer.
+///
+/// The interface must declare exactly one abstract method whose parameters
+/// and result are primitives or `MemorySegment`. The processor generates a
+/// class with its `FunctionDescriptor$F`, a shared [UpcallStubs] instance, and
+/// `upcallStub$F(Arena, callback)`.
+///
+/// A `@ForeignInterface` method may take the annotated interface as a
+/// parameter; it is passed as a function pointer. Stateless implementations,
+/// such as non-capturing lambdas and method references, use one cached stub
+/// per implementation class. Other implementations get a stub from the call's
+/// arena, so native code must not keep the pointer after returning. For
+/// callbacks retained by native code, the method takes an `Arena` parameter
+/// which outlives every native invocation; the stubs of its callbacks are
+/// allocated from it.
+///
+/// An exception thrown by the callback terminates the JVM, as for any upcall.
+@Target(TYPE)
+@Retention(SOURCE)
+public @interface Callback {
+  /// Override the generated simple class name. By default, a trailing `Spec`
+  /// is removed from an interface name; otherwise the type name is suffixed
+  /// with `FC`.
+  String name() default "";
+}
@@ -0,0 +1,39 @@
+package org.alveolo.ffm;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/// Captures native state, such as `errno`, into a per-thread instance of a
+/// [CallState] type instead of a caller-supplied parameter.
+///
+/// The generated method passes the capture segment of
+/// `<CallState class>.current$F()`, which is allocated once per thread and
+/// reused by every later capturing call on that thread. Read the last value
+/// with that instance's accessor before the next capturing call:
+///
+/// ```java
+/// @Captures(NativeErrorSpec.class)
+/// int close(int descriptor);
+///
+/// if (api.close(descriptor) == -1)
+///   System.err.println("errno " + NativeError.current$F().error());
+/// ```
+///
+/// With [#failure()], the generated method instead checks each result and
+/// throws a [CallStateException] holding the captured value. Calls cannot also
+/// take a [CallState] parameter or be [Critical]. A [Blocking] call captures
+/// on the pool thread and copies the value into the caller's instance.
+@Target(METHOD)
+@Retention(SOURCE)
+public @interface Captures {
+  /// The [CallState] interface, or its generated class, to capture into.
+  Class<?> value();
+
+  /// Name of a static method of the declaring interface which accepts the
+  /// native result and returns `true` if the call failed. Supported for
+  /// primitive and `MemorySegment` results.
+  String failure() default "";
+}
@@ -0,0 +1,35 @@
+package org.alveolo.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+/// Arena that counts the bytes allocated from it and reports them on close.
+abstract class CountingArena implements Arena {
+  private final Arena arena;
+  private long allocated;
+
+  CountingArena(Arena arena) {
+    this.arena = arena;
+  }
+
+  /// Called on close with the number of bytes allocated.
+  abstract void allocated(long bytes);
+
+  @Override
+  public MemorySegment allocate(long byteSize, long byteAlignment) {
+    var segment = arena.allocate(byteSize, byteAlignment);
+    allocated += byteSize;
+    return segment;
+  }
+
+  @Override
+  public MemorySegment.Scope scope() {
+    return arena.scope();
+  }
+
+  @Override
+  public void close() {
+    allocated(allocated);
+    arena.close();
+  }
+}
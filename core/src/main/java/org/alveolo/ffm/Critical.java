@@ -0,0 +1,28 @@
+package org.alveolo.ffm;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.lang.foreign.Linker;
+
+/// Links a native call with [Linker.Option#critical(boolean)].
+///
+/// Use it only for short leaf functions that do not block, do not call back
+/// into Java, and do not keep pointers to their arguments after returning. On
+/// an interface, the annotation applies to every generated method unless the
+/// method declares its own `@Critical`.
+///
+/// With [allowHeapAccess()][#allowHeapAccess()], primitive arrays and heap
+/// buffers are passed as heap segments over their Java storage instead of
+/// being copied through a temporary native allocation. Native writes are seen
+/// directly by the Java carrier, so `@In` and `@Out` have no copying effect
+/// on such parameters.
+@Target({METHOD, TYPE})
+@Retention(SOURCE)
+public @interface Critical {
+  /// Pass primitive arrays and heap buffers without native copies.
+  boolean allowHeapAccess() default true;
+}
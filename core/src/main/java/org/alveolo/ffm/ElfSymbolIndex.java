@@ -0,0 +1,423 @@
+package org.alveolo.ffm;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// Symbol lookup over several Linux shared libraries that skips the libraries
+/// which cannot define a symbol.
+///
+/// A lookup chained with [SymbolLookup#or] calls `dlsym` on every library in
+/// turn until one finds the symbol, and each call searches the library and
+/// all of its dependencies. This index instead reads the `.gnu.hash` table of
+/// every library and dependency file, once per process, and calls `dlsym`
+/// only on the libraries whose dependency tree may define the symbol.
+///
+/// The tables are only used to rule libraries out, so the result always
+/// matches the chained lookup. A library is probed with `dlsym` whenever it
+/// may define the symbol, and when its file, or that of any dependency,
+/// cannot be read, is not a 64-bit ELF object with a `.gnu.hash` section, or
+/// is a filter for another library. A symbol found in no table is still
+/// looked up with `dlsym` in every library before the lookup gives up.
+public final class ElfSymbolIndex implements SymbolLookup {
+  private static final int SHT_DYNAMIC = 6;
+  private static final int SHT_GNU_HASH = 0x6FFFFFF6;
+  private static final int SHN_UNDEF = 0;
+
+  private static final long DT_NULL = 0;
+  private static final long DT_NEEDED = 1;
+  private static final long DT_AUXILIARY = 0x7FFFFFFD;
+  private static final long DT_FILTER = 0x7FFFFFFF;
+
+  private static final Path MAPS = Path.of("/proc/self/maps");
+
+  /// Tables by file, shared by all indexes; empty if the file has none.
+  private static final ConcurrentHashMap<Path, Optional<HashTable>> TABLES =
+      new ConcurrentHashMap<>();
+
+  private final List<SymbolLookup> libraries;
+  private final List<List<HashTable>> scopes;
+
+  private ElfSymbolIndex(List<SymbolLookup> libraries) {
+    this.libraries = List.copyOf(libraries);
+
+    var mapped = mappedFiles();
+    scopes = new ArrayList<>(libraries.size());
+    for (var library : libraries) {
+      scopes.add(scope(LibraryRegistry.library(library), mapped));
+    }
+  }
+
+  /// Indexes `libraries`, which were opened through [LibraryRegistry], in
+  /// lookup order.
+  public static ElfSymbolIndex of(List<SymbolLookup> libraries) {
+    if (libraries.isEmpty())
+      throw new IllegalArgumentException("No libraries to index");
+
+    return new ElfSymbolIndex(libraries);
+  }
+
+  @Override
+  public Optional<MemorySegment> find(String name) {
+    var hash = hash(name.getBytes(StandardCharsets.UTF_8));
+
+    for (var i = 0; i < libraries.size(); i++) {
+      var scope = scopes.get(i);
+      if (scope != null && !mayDefine(scope, hash)) continue;
+
+      var symbol = libraries.get(i).find(name);
+      if (symbol.isPresent()) return symbol;
+    }
+
+    // Ask the libraries ruled out as well, as the chained lookup would.
+    for (var i = 0; i < libraries.size(); i++) {
+      var scope = scopes.get(i);
+      if (scope == null || mayDefine(scope, hash)) continue;
+
+      var symbol = libraries.get(i).find(name);
+      if (symbol.isPresent()) return symbol;
+    }
+
+    return Optional.empty();
+  }
+
+  /// Whether every library of this index has its symbols ruled in or out
+  /// through `.gnu.hash`, rather than always being probed.
+  public boolean isIndexed() {
+    return !scopes.contains(null);
+  }
+
+  /// Reads the names of the symbols a 64-bit ELF shared object defines in
+  /// its `.dynsym` section.
+  ///
+  /// @throws IOException if the file cannot be read or is not a 64-bit ELF
+  ///   object with a `.gnu.hash` section
+  public static Set<String> dynamicSymbols(Path file) throws IOException {
+    var names = HashTable.names(file);
+    if (names == null)
+      throw new IOException("Not a 64-bit ELF object with .gnu.hash: " + file);
+
+    return names;
+  }
+
+  private static boolean mayDefine(List<HashTable> scope, int hash) {
+    for (var table : scope) {
+      try {
+        if (table.mayDefine(hash)) return true;
+      } catch (IndexOutOfBoundsException e) {
+        // A malformed table rules nothing out.
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /// Tables of a library and every library it depends on, which `dlsym` on
+  /// its handle searches.
+  ///
+  /// @return `null` if any of them cannot be read
+  private static List<HashTable> scope(String library, List<Path> mapped) {
+    var file = file(library, mapped);
+    if (file == null) return null;
+
+    var scope = new ArrayList<HashTable>();
+    var seen = new HashSet<Path>();
+    var pending = new ArrayDeque<Path>();
+    pending.add(file);
+
+    while (!pending.isEmpty()) {
+      var next = pending.remove();
+      if (!seen.add(next)) continue;
+
+      var table = table(next);
+      if (table == null || table.isFilter()) return null;
+
+      scope.add(table);
+      for (var needed : table.needed()) {
+        var dependency = file(needed, mapped);
+        if (dependency == null) return null;
+
+        pending.add(dependency);
+      }
+    }
+
+    return List.copyOf(scope);
+  }
+
+  private static HashTable table(Path file) {
+    var table = TABLES.get(file);
+    if (table == null) {
+      try {
+        table = Optional.ofNullable(HashTable.read(file));
+      } catch (IOException | RuntimeException e) {
+        table = Optional.empty();
+      }
+
+      TABLES.putIfAbsent(file, table);
+    }
+
+    return table.orElse(null);
+  }
+
+  /// File of a library as `dlopen` takes it. A name without a slash is
+  /// looked up among the files mapped into the process, where it must be
+  /// loaded already.
+  ///
+  /// @return `null` if the file is unknown or the name is ambiguous
+  private static Path file(String library, List<Path> mapped) {
+    if (library == null) return null;
+
+    try {
+      if (library.indexOf('/') >= 0) return Path.of(library);
+
+      Path named = null;
+      for (var file : mapped) {
+        if (!file.getFileName().toString().equals(library)) continue;
+        if (named != null) return null;
+
+        named = file;
+      }
+
+      if (named != null) return named;
+
+      // A name may be a link to a versioned file, such as libz.so.
+      for (var file : mapped) {
+        if (isSameFile(file.resolveSibling(library), file)) return file;
+      }
+
+      return null;
+    } catch (InvalidPathException e) {
+      return null;
+    }
+  }
+
+  private static List<Path> mappedFiles() {
+    if (!Files.isReadable(MAPS)) return List.of();
+
+    try {
+      var files = new LinkedHashSet<Path>();
+      for (var line : Files.readAllLines(MAPS)) {
+        var start = line.indexOf('/');
+        if (start >= 0 && !line.endsWith(" (deleted)"))
+          files.add(Path.of(line.substring(start)));
+      }
+
+      return List.copyOf(files);
+    } catch (IOException | InvalidPathException e) {
+      return List.of();
+    }
+  }
+
+  private static boolean isSameFile(Path path, Path file) {
+    try {
+      return Files.isSameFile(path, file);
+    } catch (IOException | RuntimeException e) {
+      return false;
+    }
+  }
+
+  /// The GNU hash of a symbol name, as stored in `.gnu.hash`.
+  static int hash(byte[] name) {
+    var hash = 5381;
+    for (var b : name) {
+      hash = hash * 33 + (b & 0xFF);
+    }
+
+    return hash;
+  }
+
+  /// Heap copy of the `.gnu.hash` table of a library file, with the names
+  /// of the libraries it needs. Every defined symbol is hashed into it, so a
+  /// symbol whose hash is missing is not defined by the file. A matching hash
+  /// is only likely to be the symbol, which `dlsym` then confirms, so the
+  /// much larger symbol and string tables are never read.
+  ///
+  /// The table is probed while startup code still runs in the interpreter,
+  /// where heap arrays are much faster than segment access.
+  private record HashTable(long[] bloom, int bloomShift, int[] buckets,
+      int[] chains, int symbolOffset, List<String> needed, boolean isFilter) {
+
+    /// @return `null` if the file is not a 64-bit ELF object with a
+    ///   `.gnu.hash` section
+    static HashTable read(Path file) throws IOException {
+      try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        var sections = Sections.read(channel);
+        if (sections == null) return null;
+
+        var hash = sections.find(SHT_GNU_HASH);
+        var dynamic = sections.find(SHT_DYNAMIC);
+        if (hash < 0 || dynamic < 0) return null;
+
+        var table = sections.read(hash);
+        var bucketCount = table.getInt(0);
+        var symbolOffset = table.getInt(4);
+        var bloomWords = table.getInt(8);
+        var bloomShift = table.getInt(12);
+        if (bucketCount <= 0 || bloomWords <= 0) return null;
+
+        var bloom = new long[bloomWords];
+        var buckets = new int[bucketCount];
+        table.position(16).asLongBuffer().get(bloom);
+        table.position(16 + 8 * bloomWords).asIntBuffer().get(buckets);
+        var chainTable = table.position(16 + 8 * bloomWords + 4 * bucketCount)
+            .asIntBuffer();
+        var chains = new int[chainTable.remaining()];
+        chainTable.get(chains);
+
+        var needed = new ArrayList<String>();
+        var isFilter = false;
+        var strings = sections.link(dynamic);
+        var entries = sections.read(dynamic);
+        for (var entry = 0; entry + 16 <= entries.limit(); entry += 16) {
+          var tag = entries.getLong(entry);
+          if (tag == DT_NULL) break;
+
+          if (tag == DT_NEEDED) {
+            needed.add(sections.string(strings, entries.getLong(entry + 8)));
+          } else if (tag == DT_FILTER || tag == DT_AUXILIARY) {
+            isFilter = true;
+          }
+        }
+
+        return new HashTable(bloom, bloomShift, buckets, chains,
+            symbolOffset, List.copyOf(needed), isFilter);
+      }
+    }
+
+    /// Reads the names of the symbols defined in `.dynsym`, which are those
+    /// past the undefined ones that `.gnu.hash` skips.
+    static Set<String> names(Path file) throws IOException {
+      try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        var sections = Sections.read(channel);
+        var hash = sections == null ? -1 : sections.find(SHT_GNU_HASH);
+        if (hash < 0) return null;
+
+        var dynsym = sections.link(hash);
+        var symbols = sections.read(dynsym);
+        var symbolSize = Math.toIntExact(sections.entrySize(dynsym));
+        var strings = sections.read(sections.link(dynsym)).array();
+
+        var names = new TreeSet<String>();
+        var first = sections.read(hash).getInt(4) * symbolSize;
+        for (var symbol = first; symbol + symbolSize <= symbols.limit();
+            symbol += symbolSize) {
+          if (symbols.getShort(symbol + 6) != SHN_UNDEF)
+            names.add(string(strings, symbols.getInt(symbol)));
+        }
+
+        return names;
+      }
+    }
+
+    /// Whether the file may define a symbol with the GNU hash `hash`.
+    boolean mayDefine(int hash) {
+      var word = bloom[Integer.remainderUnsigned(hash >>> 6, bloom.length)];
+      var mask = 1L << (hash & 63) | 1L << (hash >>> bloomShift & 63);
+      if ((word & mask) != mask) return false;
+
+      var index = buckets[Integer.remainderUnsigned(hash, buckets.length)];
+      if (Integer.compareUnsigned(index, symbolOffset) < 0) return false;
+
+      for (var i = index - symbolOffset;; i++) {
+        if ((chains[i] | 1) == (hash | 1)) return true;
+        if ((chains[i] & 1) != 0) return false;
+      }
+    }
+  }
+
+  /// Section headers of a 64-bit ELF file, read in the file's byte order.
+  private record Sections(FileChannel channel, ByteBuffer headers, int size) {
+    /// @return `null` if the file is not a 64-bit ELF object
+    static Sections read(FileChannel channel) throws IOException {
+      var header = ElfSymbolIndex.read(channel, 0L, 64L);
+      if (header.getInt(0) != 0x7F454C46 || header.get(4) != 2) return null;
+
+      var order = switch (header.get(5)) {
+        case 1 -> ByteOrder.LITTLE_ENDIAN;
+        case 2 -> ByteOrder.BIG_ENDIAN;
+        default -> null;
+      };
+      if (order == null) return null;
+
+      header.order(order);
+      var size = Short.toUnsignedInt(header.getShort(0x3A));
+      var count = Short.toUnsignedInt(header.getShort(0x3C));
+      var headers = ElfSymbolIndex.read(
+          channel, header.getLong(0x28), (long) size * count);
+
+      return new Sections(channel, headers.order(order), size);
+    }
+
+    /// @return index of the first section of `type`, or `-1`
+    int find(int type) {
+      for (var i = 0; (i + 1) * size <= headers.limit(); i++) {
+        if (headers.getInt(i * size + 4) == type) return i;
+      }
+
+      return -1;
+    }
+
+    int link(int section) {
+      return headers.getInt(section * size + 40);
+    }
+
+    long entrySize(int section) {
+      return headers.getLong(section * size + 56);
+    }
+
+    ByteBuffer read(int section) throws IOException {
+      return ElfSymbolIndex.read(channel, headers.getLong(section * size + 24),
+          headers.getLong(section * size + 32)).order(headers.order());
+    }
+
+    /// Reads the string at `offset` in a string table section, in chunks
+    /// rather than reading the whole table.
+    String string(int section, long offset) throws IOException {
+      var start = headers.getLong(section * size + 24) + offset;
+      var bytes = new byte[0];
+      for (var chunk = 64;; chunk *= 2) {
+        bytes = ElfSymbolIndex.read(channel, start, chunk).array();
+        for (var end = 0; end < chunk; end++) {
+          if (bytes[end] == 0)
+            return new String(bytes, 0, end, StandardCharsets.UTF_8);
+        }
+      }
+    }
+  }
+
+  private static ByteBuffer read(FileChannel channel, long position, long size)
+      throws IOException {
+    var buffer = ByteBuffer.allocate(Math.toIntExact(size));
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0)
+        throw new IOException("Truncated ELF object");
+    }
+
+    return buffer.clear();
+  }
+
+  private static String string(byte[] strings, int offset) {
+    var end = offset;
+    while (strings[end] != 0) end++;
+
+    return new String(strings, offset, end - offset, StandardCharsets.UTF_8);
+  }
+}
@@ -18,6 +18,9 @@ import java.lang.foreign.Linker;
 /// Use the native type after C default argument promotion for every argument at
 /// or after this index: `int` instead of `boolean`, `byte`, `char`, or `short`,
 /// and `double` instead of `float`.
+///
+/// A trailing `Object...` parameter implies this index and links each
+/// argument shape at run time through [VariadicHandles].
 @Target(METHOD)
 @Retention(SOURCE)
 public @interface FirstVariadicArg {
@@ -14,4 +14,19 @@ public @interface ForeignInterface {
   /// removed from an interface name; otherwise the type name is suffixed with
   /// `FFM`.
   String name() default "";
+
+  /// When the generated class links its downcall handles.
+  Linking linking() default Linking.EAGER;
+
+  enum Linking {
+    /// Resolve every symbol and link every handle when the generated class is
+    /// initialized, so a missing symbol fails before the first call.
+    EAGER,
+
+    /// Resolve each symbol and link its handle on the first call of the
+    /// method. The handle is kept in a static final field of a per-method
+    /// holder class, so it is a JIT constant after initialization. A missing
+    /// symbol fails that method's calls only.
+    LAZY,
+  }
 }
@@ -3,14 +3,21 @@ package org.alveolo.ffm;
 import static java.lang.foreign.MemoryLayout.paddingLayout;
 
 import java.io.File;
-import java.lang.foreign.Arena;
+import java.lang.foreign.GroupLayout;
 import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.PaddingLayout;
+import java.lang.foreign.SequenceLayout;
 import java.lang.foreign.SymbolLookup;
+import java.lang.foreign.UnionLayout;
+import java.lang.foreign.ValueLayout;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.regex.Pattern;
@@ -43,11 +50,30 @@ public class ForeignUtils {
 
   public static SymbolLookup libraryLookup(Class<?> sourceClass,
       SymbolLookup defaultLookup, LibrarySpec... libraries) {
-    return Stream.of(libraries)
+    var lookups = Stream.of(libraries)
         .map(lib -> loadPlatformLibrary(sourceClass, defaultLookup, lib))
         .filter(Objects::nonNull)
-        .reduce(SymbolLookup::or)
-        .orElse(defaultLookup);
+        .toList();
+
+    if (lookups.isEmpty()) return defaultLookup;
+    if (lookups.size() > 1 && isSymbolIndexEnabled())
+      return ElfSymbolIndex.of(lookups);
+
+    return lookups.stream().reduce(SymbolLookup::or).orElseThrow();
+  }
+
+  /// Several Linux libraries are resolved through an [ElfSymbolIndex] when
+  /// `affm.symbol.index` is `true`.
+  private static boolean isSymbolIndexEnabled() {
+    return os() == Library.OS.LINUX && Boolean.getBoolean("affm.symbol.index");
+  }
+
+  /// Whether the module `name` is in the boot layer and readable by this
+  /// one, for the optional `jdk.jfr` and `java.management` dependencies.
+  static boolean canRead(String name) {
+    return ModuleLayer.boot().findModule(name)
+        .filter(ForeignUtils.class.getModule()::canRead)
+        .isPresent();
   }
 
   private static SymbolLookup loadPlatformLibrary(
@@ -140,6 +166,18 @@ public class ForeignUtils {
       }
     }
 
+    if (!Path.of(library).isAbsolute()) {
+      try {
+        var extracted = LibraryCache.extract(sourceClass, os(), library);
+        if (extracted != null) return loadPathDirect(extracted);
+      } catch (RuntimeException e) {
+        if (lastError != null) {
+          e.addSuppressed(lastError);
+        }
+        lastError = e;
+      }
+    }
+
     try {
       return path
           ? loadPathDirect(Path.of(library))
@@ -153,11 +191,11 @@ public class ForeignUtils {
   }
 
   private static SymbolLookup loadNameDirect(String name) {
-    return SymbolLookup.libraryLookup(name, Arena.global());
+    return LibraryRegistry.name(name);
   }
 
   private static SymbolLookup loadPathDirect(Path path) {
-    return SymbolLookup.libraryLookup(path, Arena.global());
+    return LibraryRegistry.path(path);
   }
 
   private static Path jarDirectory(Class<?> sourceClass) {
@@ -269,4 +307,163 @@ public class ForeignUtils {
         paddingLayout(maxSize + maxAlignment - misAlignment);
     return result;
   }
+
+  /// Never started, so no confined segment is accessible by it.
+  private static final Thread OTHER_THREAD =
+      Thread.ofVirtual().unstarted(() -> {});
+
+  /// Checks that threads other than the caller can access `segment`, as
+  /// generated `parallelFill$F` and `parallelTransform$F` need before writing
+  /// any element from fork/join workers.
+  ///
+  /// @throws WrongThreadException if `segment` belongs to a confined arena
+  public static void checkSharedAccess(MemorySegment segment) {
+    if (!segment.isAccessibleBy(OTHER_THREAD))
+      throw new WrongThreadException(
+          "Parallel access needs a segment of a shared, global or automatic "
+              + "arena: " + segment);
+  }
+
+  /// Returns the byte ranges of `layout` that hold field data as sorted,
+  /// merged `offset, length` pairs. Padding layouts are left out, including
+  /// those of nested structs and inline arrays. Union members overlap from
+  /// offset zero, so a union covers its largest member.
+  public static long[] contentRanges(MemoryLayout layout) {
+    var ranges = new ArrayList<long[]>();
+    addContentRanges(ranges, layout, 0);
+    ranges.sort(Comparator.comparingLong(range -> range[0]));
+
+    var merged = new ArrayList<long[]>(ranges.size());
+    for (var range : ranges) {
+      var last = merged.isEmpty() ? null : merged.getLast();
+      if (last != null && range[0] <= last[1]) {
+        last[1] = Math.max(last[1], range[1]);
+      } else {
+        merged.add(range);
+      }
+    }
+
+    var result = new long[merged.size() * 2];
+    for (int i = 0; i < merged.size(); i++) {
+      var range = merged.get(i);
+      result[i * 2] = range[0];
+      result[i * 2 + 1] = range[1] - range[0];
+    }
+    return result;
+  }
+
+  private static void addContentRanges(
+      List<long[]> ranges, MemoryLayout layout, long offset) {
+    switch (layout) {
+      case PaddingLayout _ -> {}
+      case UnionLayout union -> {
+        for (var member : union.memberLayouts()) {
+          addContentRanges(ranges, member, offset);
+        }
+      }
+      case GroupLayout struct -> {
+        var memberOffset = offset;
+        for (var member : struct.memberLayouts()) {
+          addContentRanges(ranges, member, memberOffset);
+          memberOffset += member.byteSize();
+        }
+      }
+      case SequenceLayout sequence -> {
+        var element = sequence.elementLayout();
+        var elementRanges = contentRanges(element);
+        if (elementRanges.length == 2 && elementRanges[0] == 0
+            && elementRanges[1] == element.byteSize()) {
+          if (sequence.byteSize() > 0)
+            ranges.add(new long[] {offset, offset + sequence.byteSize()});
+          return;
+        }
+
+        for (long i = 0; i < sequence.elementCount(); i++) {
+          var elementOffset = offset + i * element.byteSize();
+          for (int j = 0; j < elementRanges.length; j += 2) {
+            var start = elementOffset + elementRanges[j];
+            ranges.add(new long[] {start, start + elementRanges[j + 1]});
+          }
+        }
+      }
+      default -> {
+        if (layout.byteSize() > 0)
+          ranges.add(new long[] {offset, offset + layout.byteSize()});
+      }
+    }
+  }
+
+  /// Compares the bytes of two struct segments within `ranges`, as returned
+  /// by [#contentRanges].
+  public static boolean contentEquals(
+      MemorySegment segment, MemorySegment other, long[] ranges) {
+    for (int i = 0; i < ranges.length; i += 2) {
+      var start = ranges[i];
+      var end = start + ranges[i + 1];
+      if (MemorySegment.mismatch(
+          segment, start, end, other, start, end) != -1) return false;
+    }
+    return true;
+  }
+
+  /// Hashes the bytes of a struct segment within `ranges`, consistently with
+  /// [#contentEquals].
+  ///
+  /// Each range is read as native-order 8-byte words, with the remaining
+  /// bytes of a range packed big-endian into one last word. Every word goes
+  /// through an xxHash64 round, and the total length and a murmur3 `fmix64`
+  /// avalanche finish the hash, whose low 32 bits are returned. Unlike
+  /// [Long#hashCode], symmetric fields such as `(i, i)` or `(i, ~i)` do not
+  /// cancel out.
+  public static int contentHashCode(MemorySegment segment, long[] ranges) {
+    long hash = 0;
+    long length = 0;
+    for (int i = 0; i < ranges.length; i += 2) {
+      var offset = ranges[i];
+      var end = offset + ranges[i + 1];
+      for (; offset + Long.BYTES <= end; offset += Long.BYTES) {
+        hash = hashRound(hash,
+            segment.get(ValueLayout.JAVA_LONG_UNALIGNED, offset));
+      }
+      if (offset < end) {
+        long tail = 0;
+        for (; offset < end; offset++) {
+          tail = tail << 8 | segment.get(ValueLayout.JAVA_BYTE, offset) & 0xFF;
+        }
+        hash = hashRound(hash, tail);
+      }
+      length += ranges[i + 1];
+    }
+    return (int) hashAvalanche(hash ^ length);
+  }
+
+  private static long hashRound(long hash, long word) {
+    return Long.rotateLeft(hash + word * 0xC2B2AE3D27D4EB4FL, 31)
+        * 0x9E3779B185EBCA87L;
+  }
+
+  private static long hashAvalanche(long hash) {
+    hash = (hash ^ hash >>> 33) * 0xFF51AFD7ED558CCDL;
+    hash = (hash ^ hash >>> 33) * 0xC4CEB9FE1A85EC53L;
+    return hash ^ hash >>> 33;
+  }
+
+  /// Orders two struct segments by their first differing byte within
+  /// `ranges`, compared as unsigned. This is memory order, not the numeric
+  /// order of the fields, and is consistent with [#contentEquals].
+  public static int contentCompare(
+      MemorySegment segment, MemorySegment other, long[] ranges) {
+    for (int i = 0; i < ranges.length; i += 2) {
+      var start = ranges[i];
+      var end = start + ranges[i + 1];
+      var mismatch =
+          MemorySegment.mismatch(segment, start, end, other, start, end);
+      if (mismatch != -1) {
+        return Byte.compareUnsigned(
+            segment.get(ValueLayout.JAVA_BYTE, start + mismatch),
+            other.get(ValueLayout.JAVA_BYTE, start + mismatch));
+      }
+    }
+    return 0;
+  }
 }
@@ -0,0 +1,221 @@
+package org.alveolo.ffm;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/// Extracts native libraries bundled as classpath resources into a cache
+/// directory that is reused across JVM starts.
+///
+/// A library `libz.so` for Linux on `amd64` is looked up as the resource
+/// `META-INF/native/linux-amd64/libz.so`, where the platform is the
+/// [Library.OS] name and `os.arch`. It is extracted to
+/// `<cache>/<sha-256>/libz.so`, where the cache is `affm.library.cache` or
+/// `~/.cache/affm`. Once extracted, a library is found again with a stat call.
+///
+/// The SHA-256 of the content names the directory, so different versions of a
+/// library never collide. It is read from a `libz.so.sha256` resource when one
+/// is bundled, as `sha256sum` prints it. Otherwise it is computed from the
+/// resource once and recorded under `<cache>/stamps/`, keyed by the resource
+/// URL with the size and modification time of the file or jar entry and jar
+/// behind it, so later starts skip reading the resource unless it changed.
+/// Resources not backed by a local file or jar are hashed on every start.
+/// Extraction writes a temporary file and renames it into place atomically,
+/// so concurrent JVM starts never load a partially written library.
+///
+/// An existing `<cache>/<sha-256>/libz.so` is trusted as is: its content is
+/// only checked when it is extracted, not when it is found again, so the
+/// cache directory must not be writable by other users.
+final class LibraryCache {
+  static final String RESOURCE_DIRECTORY = "META-INF/native/";
+
+  private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+
+  private LibraryCache() {/* Utility class */}
+
+  /// @return the extracted library, or `null` if it is not bundled for the
+  ///   current platform
+  /// @throws UncheckedIOException if extraction fails
+  static Path extract(Class<?> sourceClass, Library.OS os, String library) {
+    var loader = sourceClass.getClassLoader();
+    if (loader == null) loader = ClassLoader.getSystemClassLoader();
+
+    var resource = RESOURCE_DIRECTORY + platform(os) + "/" + library;
+
+    try {
+      return extract(loader, resource, directory());
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Cannot extract native library " + resource, e);
+    }
+  }
+
+  static String platform(Library.OS os) {
+    return os.name().toLowerCase(Locale.ROOT) + "-"
+        + System.getProperty("os.arch").toLowerCase(Locale.ROOT);
+  }
+
+  private static Path directory() {
+    var cache = System.getProperty("affm.library.cache");
+    if (cache != null && !cache.isBlank()) return Path.of(cache);
+
+    return Path.of(System.getProperty("user.home"), ".cache", "affm");
+  }
+
+  static Path extract(ClassLoader loader, String resource, Path cache)
+      throws IOException {
+    var url = loader.getResource(resource);
+    if (url == null) return null;
+
+    var name = Path.of(resource).getFileName().toString();
+    var hash = bundledHash(loader, resource);
+    Path stamp = null;
+    if (hash == null) {
+      stamp = stamp(url, cache);
+      var stamped = stamp == null ? null : stampedHash(stamp);
+      if (stamped != null) {
+        var target = cache.resolve(stamped).resolve(name);
+        if (Files.isRegularFile(target)) return target;
+      }
+
+      try (var in = digest(url.openStream())) {
+        in.transferTo(OutputStream.nullOutputStream());
+        hash = HexFormat.of().formatHex(in.getMessageDigest().digest());
+      }
+    }
+
+    var target = cache.resolve(hash).resolve(name);
+    if (!Files.isRegularFile(target)) extract(url, resource, hash, target);
+    if (stamp != null) write(stamp, hash);
+
+    return target;
+  }
+
+  private static void extract(URL url, String resource, String hash,
+      Path target) throws IOException {
+    var name = target.getFileName().toString();
+    Files.createDirectories(target.getParent());
+    var temporary = Files.createTempFile(target.getParent(), name, ".tmp");
+    try {
+      try (var in = digest(url.openStream())) {
+        Files.copy(in, temporary, StandardCopyOption.REPLACE_EXISTING);
+
+        var actual = HexFormat.of().formatHex(in.getMessageDigest().digest());
+        if (!actual.equals(hash))
+          throw new IOException("SHA-256 of " + resource + " is " + actual
+              + ", expected " + hash);
+      }
+
+      move(temporary, target);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /// @return the file recording the content hash of `url` as it is now, or
+  ///   `null` if the resource is not a local file or jar entry
+  private static Path stamp(URL url, Path cache) throws IOException {
+    String key;
+    if (url.openConnection() instanceof JarURLConnection jar) {
+      var archive = file(jar.getJarFileURL());
+      if (archive == null) return null;
+
+      var entry = jar.getJarEntry();
+      key = url + " " + entry.getSize() + " " + entry.getTime() + " "
+          + Files.size(archive) + " " + Files.getLastModifiedTime(archive);
+    } else {
+      var file = file(url);
+      if (file == null) return null;
+
+      key = url + " " + Files.size(file) + " "
+          + Files.getLastModifiedTime(file);
+    }
+
+    var digest = sha256().digest(key.getBytes(StandardCharsets.UTF_8));
+    return cache.resolve("stamps").resolve(HexFormat.of().formatHex(digest));
+  }
+
+  private static Path file(URL url) {
+    if (!"file".equals(url.getProtocol())) return null;
+
+    try {
+      return Path.of(url.toURI());
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static String stampedHash(Path stamp) throws IOException {
+    try {
+      var hash = Files.readString(stamp, StandardCharsets.US_ASCII);
+      return SHA_256.matcher(hash).matches() ? hash : null;
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  private static void write(Path stamp, String hash) throws IOException {
+    Files.createDirectories(stamp.getParent());
+    var temporary = Files.createTempFile(stamp.getParent(),
+        stamp.getFileName().toString(), ".tmp");
+    try {
+      Files.writeString(temporary, hash, StandardCharsets.US_ASCII);
+      move(temporary, stamp);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  private static String bundledHash(ClassLoader loader, String resource)
+      throws IOException {
+    try (var in = loader.getResourceAsStream(resource + ".sha256")) {
+      if (in == null) return null;
+
+      var text = new String(in.readAllBytes(), StandardCharsets.US_ASCII)
+          .strip();
+      var hash = text.split("\\s+", 2)[0].toLowerCase(Locale.ROOT);
+      if (!SHA_256.matcher(hash).matches())
+        throw new IOException("Malformed " + resource + ".sha256: " + text);
+
+      return hash;
+    }
+  }
+
+  /// Renames a fully written library into place. Another JVM may have done
+  /// the same first, which is fine since the content is the same. Windows
+  /// refuses to replace a library another process has loaded.
+  private static void move(Path temporary, Path target) throws IOException {
+    try {
+      Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      if (!Files.isRegularFile(target)) throw e;
+    }
+  }
+
+  private static DigestInputStream digest(InputStream in) {
+    return new DigestInputStream(in, sha256());
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package org.alveolo.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.SymbolLookup;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/// Process-wide cache of native libraries opened by generated lookups.
+///
+/// Every `@ForeignInterface` naming the same library shares one
+/// [SymbolLookup], so each resolved library is opened once into the global
+/// arena however many interfaces bind it. A path whose file does not exist is
+/// remembered with its diagnostics until the file appears, so later searches
+/// through `affm.library.path` skip directories without the library with one
+/// file check. Other failures, such as a missing dependency, are retried.
+public final class LibraryRegistry {
+  private static final ConcurrentHashMap<String, Loaded> LIBRARIES =
+      new ConcurrentHashMap<>();
+
+  private LibraryRegistry() {/* Utility class */}
+
+  /// @param library name or absolute path the library was opened with
+  private record Loaded(
+      SymbolLookup lookup, String library, String failure) {}
+
+  /// Opens a library by name through the platform library search, such as
+  /// `libc.so.6`.
+  ///
+  /// @throws IllegalArgumentException if the library cannot be loaded; a
+  ///   later call tries again
+  public static SymbolLookup name(String name) {
+    return load("name:" + name, name, null,
+        () -> SymbolLookup.libraryLookup(name, Arena.global()));
+  }
+
+  /// Opens a library by file path, normalized to an absolute path so that
+  /// relative and absolute spellings share one entry.
+  ///
+  /// @throws IllegalArgumentException if the library cannot be loaded; a
+  ///   later call tries again once the file exists
+  public static SymbolLookup path(Path path) {
+    var absolute = path.toAbsolutePath().normalize();
+
+    return load("path:" + absolute, absolute.toString(), absolute,
+        () -> SymbolLookup.libraryLookup(absolute, Arena.global()));
+  }
+
+  /// Keys of the libraries loaded so far, such as `name:libc.so.6` or
+  /// `path:/opt/app/lib/libz.so`. Failed attempts are not included.
+  public static Set<String> loaded() {
+    return LIBRARIES.entrySet().stream()
+        .filter(entry -> entry.getValue().lookup() != null)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  /// Name or absolute path a library was opened with through this registry,
+  /// as `dlopen` takes it: a name without a slash is searched for.
+  ///
+  /// @return `null` if `lookup` was not opened through this registry
+  static String library(SymbolLookup lookup) {
+    for (var loaded : LIBRARIES.values()) {
+      if (loaded.lookup() == lookup) return loaded.library();
+    }
+
+    return null;
+  }
+
+  /// @param file library file whose absence is remembered as a failure, or
+  ///   `null` to retry every failure
+  private static SymbolLookup load(String key, String library, Path file,
+      Supplier<SymbolLookup> loader) {
+    var loaded = LIBRARIES.get(key);
+    if (loaded == null || loaded.failure() != null && !isMissing(file)) {
+      loaded = LIBRARIES.compute(key, (_, previous) ->
+          previous != null && (previous.lookup() != null || isMissing(file))
+              ? previous : open(library, loader));
+
+      if (loaded.failure() != null && !isMissing(file))
+        LIBRARIES.remove(key, loaded);
+    }
+
+    // A fresh exception per call, since callers attach suppressed attempts.
+    if (loaded.failure() != null)
+      throw new IllegalArgumentException(loaded.failure());
+
+    return loaded.lookup();
+  }
+
+  private static Loaded open(String library, Supplier<SymbolLookup> loader) {
+    try {
+      return new Loaded(loader.get(), library, null);
+    } catch (IllegalArgumentException e) {
+      return new Loaded(null, library, e.getMessage());
+    }
+  }
+
+  private static boolean isMissing(Path file) {
+    return file != null && Files.notExists(file);
+  }
+}
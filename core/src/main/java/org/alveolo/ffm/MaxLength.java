@@ -0,0 +1,20 @@
+package org.alveolo.ffm;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/// Limits how many bytes of a returned `char*` are read.
+///
+/// Applies to `String` and `CharSequence` results. Like C `strnlen`, the
+/// result ends at the first NUL byte or after `value` bytes, whichever comes
+/// first, so an unterminated or very long native string is never scanned past
+/// the bound.
+@Target(METHOD)
+@Retention(SOURCE)
+public @interface MaxLength {
+  /// Maximum number of bytes, excluding the terminator.
+  long value();
+}
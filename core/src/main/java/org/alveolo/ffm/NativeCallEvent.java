@@ -0,0 +1,99 @@
+package org.alveolo.ffm;
+
+import java.lang.foreign.Arena;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/// JFR event of one generated downcall.
+///
+/// Bindings generated with the `affm.jfr` processor option record this
+/// event, `org.alveolo.ffm.NativeCall`, around each downcall and its argument
+/// marshalling. Calls shorter than the event threshold, 1 ms by default, are
+/// not recorded; the threshold is configured like that of any JFR event, for
+/// example with
+/// `-XX:StartFlightRecording:org.alveolo.ffm.NativeCall#threshold=100us` or
+/// in a `.jfc` settings file.
+///
+/// While no recording enables the event, the generated code only allocates
+/// an event object that escape analysis normally removes, and uses the call
+/// arena as is.
+@Name("org.alveolo.ffm.NativeCall")
+@Label("Native Call")
+@Category({"Alveolo FFM", "Native Calls"})
+@Description("Downcall through a generated binding, including marshalling")
+@Threshold("1 ms")
+@StackTrace(true)
+public final class NativeCallEvent extends Event {
+  @Label("Interface")
+  @Description("Interface declaring the binding method")
+  Class<?> declaringClass;
+
+  @Label("Method")
+  String method;
+
+  @Label("Symbol")
+  @Description("Native symbol, empty for function pointers")
+  String symbol;
+
+  @Label("Bytes In")
+  @Description("Bytes copied from Java arrays and buffers to native memory")
+  @DataAmount
+  long bytesIn;
+
+  @Label("Bytes Out")
+  @Description("Bytes copied from native memory back to Java arrays and buffers")
+  @DataAmount
+  long bytesOut;
+
+  @Label("Arena Allocation")
+  @Description("Bytes allocated from the temporary arena of the call")
+  @DataAmount
+  long arenaBytes;
+
+  @Label("Virtual Thread")
+  @Description("Whether the call was made from a virtual thread")
+  boolean virtualThread;
+
+  /// Wraps the temporary arena of the call to count its allocations while
+  /// the event is enabled.
+  public Arena arena(Arena arena) {
+    if (!isEnabled()) return arena;
+
+    return new CountingArena(arena) {
+      @Override
+      void allocated(long bytes) {
+        arenaBytes += bytes;
+      }
+    };
+  }
+
+  /// Adds bytes copied from Java memory before the call.
+  public void copiedIn(long bytes) {
+    bytesIn += bytes;
+  }
+
+  /// Adds bytes copied back to Java memory after the call.
+  public void copiedOut(long bytes) {
+    bytesOut += bytes;
+  }
+
+  /// Ends the event and commits it if the call exceeded the threshold.
+  public void commit(Class<?> declaringClass, String method, String symbol) {
+    end();
+    if (!shouldCommit()) return;
+
+    this.declaringClass = declaringClass;
+    this.method = method;
+    this.symbol = symbol;
+    this.virtualThread =
+        BlockingCallEvents.VIRTUAL_CALLER.orElse(Thread.currentThread().isVirtual());
+    commit();
+  }
+}
@@ -0,0 +1,141 @@
+package org.alveolo.ffm;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+import java.lang.foreign.MemorySegment;
+
+/// Zero-copy view of a NUL-terminated UTF-8 string in native memory.
+///
+/// Generated bindings return it for `CharSequence` results. Creating a view
+/// only finds the terminator. ASCII content is read byte by byte without ever
+/// creating a `String`; other content is decoded on first char access and the
+/// result is kept. [#startsWith(String)], [#equals(Object)], and
+/// [#hashCode()] never decode.
+///
+/// The view reads the native memory it was created over, so it is valid only
+/// as long as the native API keeps that memory alive and unchanged.
+public final class NativeCharSequence implements CharSequence {
+  private static final byte UNKNOWN = 0;
+  private static final byte ASCII = 1;
+  private static final byte NON_ASCII = 2;
+
+  private final MemorySegment bytes;
+  private byte content = UNKNOWN;
+  private String decoded;
+
+  private NativeCharSequence(MemorySegment bytes) {
+    this.bytes = bytes;
+  }
+
+  /// Returns a view of the bytes before the first NUL byte in `segment`, or
+  /// of the whole segment when it has no terminator.
+  public static NativeCharSequence of(MemorySegment segment) {
+    return new NativeCharSequence(
+        segment.asSlice(0L, NativeString.strnlen(segment)));
+  }
+
+  /// UTF-8 bytes of the string, without the terminator.
+  public MemorySegment segment() {
+    return bytes;
+  }
+
+  @Override
+  public int length() {
+    return isAscii() ? Math.toIntExact(bytes.byteSize()) : string().length();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return bytes.byteSize() == 0L;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (!isAscii()) return string().charAt(index);
+
+    return (char) bytes.get(JAVA_BYTE, index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (!isAscii()) return string().subSequence(start, end);
+
+    if (start < 0 || start > end || end > bytes.byteSize())
+      throw new IndexOutOfBoundsException(
+          "start " + start + ", end " + end + ", length " + bytes.byteSize());
+
+    var view = new NativeCharSequence(bytes.asSlice(start, end - start));
+    view.content = ASCII;
+    return view;
+  }
+
+  /// Whether the string starts with `prefix`, compared as UTF-8 bytes.
+  public boolean startsWith(String prefix) {
+    var length = NativeString.utf8Length(prefix);
+    if (length > bytes.byteSize()) return false;
+
+    if (length == prefix.length()) {
+      for (int i = 0; i < length; i++) {
+        if (bytes.get(JAVA_BYTE, i) != (byte) prefix.charAt(i)) return false;
+      }
+      return true;
+    }
+
+    var encoded = MemorySegment.ofArray(new byte[(int) length + 1]);
+    NativeString.encode(prefix, encoded);
+    return MemorySegment.mismatch(
+        bytes, 0L, length, encoded, 0L, length) == -1L;
+  }
+
+  /// Same value as `toString().hashCode()`.
+  @Override
+  public int hashCode() {
+    if (!isAscii()) return string().hashCode();
+
+    var size = bytes.byteSize();
+    int hash = 0;
+    for (long i = 0L; i < size; i++) {
+      hash = 31 * hash + bytes.get(JAVA_BYTE, i);
+    }
+    return hash;
+  }
+
+  /// Compares the native bytes of two views.
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof NativeCharSequence other
+        && bytes.byteSize() == other.bytes.byteSize()
+        && bytes.mismatch(other.bytes) == -1L;
+  }
+
+  /// Decodes the string once and returns the cached result afterwards.
+  @Override
+  public String toString() {
+    return string();
+  }
+
+  private String string() {
+    if (decoded == null) decoded = NativeString.decode(bytes);
+    return decoded;
+  }
+
+  private boolean isAscii() {
+    var scanned = content;
+    if (scanned == UNKNOWN) {
+      scanned = ASCII;
+
+      var size = bytes.byteSize();
+      for (long i = 0L; i < size; i++) {
+        if (bytes.get(JAVA_BYTE, i) < 0) {
+          scanned = NON_ASCII;
+          break;
+        }
+      }
+
+      // Published once, so a racing reader never sees ASCII before the scan
+      content = scanned;
+    }
+
+    return scanned == ASCII;
+  }
+}
@@ -0,0 +1,146 @@
+package org.alveolo.ffm;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+
+/// Encodes Java strings as NUL-terminated UTF-8 directly into native memory.
+///
+/// ASCII strings, the common case for C APIs, are handed to
+/// `SegmentAllocator.allocateFrom(String)` and `MemorySegment.setString`,
+/// which bulk-copy the bytes of such strings. Other strings are encoded char
+/// by char, without the intermediate `byte[]` those methods create for them,
+/// into the same bytes as `String.getBytes(StandardCharsets.UTF_8)`,
+/// including `?` for unpaired surrogates. Generated bindings use this class
+/// for `String` parameters and for length-limited `String` results.
+public final class NativeString {
+  private NativeString() {/* Utility class */}
+
+  /// Returns the UTF-8 byte length of `value`, without the terminator.
+  public static long utf8Length(String value) {
+    var ascii = asciiLength(value);
+    return ascii == value.length() ? ascii : utf8Length(value, ascii);
+  }
+
+  /// Returns the index of the first non-ASCII char of `value`, or its length.
+  private static int asciiLength(String value) {
+    var length = value.length();
+
+    for (int i = 0; i < length; i++) {
+      if (value.charAt(i) >= 0x80) return i;
+    }
+
+    return length;
+  }
+
+  private static long utf8Length(String value, int start) {
+    var length = value.length();
+    long bytes = start;
+
+    for (int i = start; i < length; i++) {
+      var c = value.charAt(i);
+
+      if (c < 0x80) {
+        bytes += 1;
+      } else if (c < 0x800) {
+        bytes += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        bytes += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        bytes += 1;
+      } else {
+        bytes += 3;
+      }
+    }
+
+    return bytes;
+  }
+
+  /// Allocates `utf8Length(value) + 1` bytes from `allocator` and encodes
+  /// `value` with its terminator.
+  public static MemorySegment allocateFrom(
+      SegmentAllocator allocator, String value) {
+    var ascii = asciiLength(value);
+    if (ascii == value.length()) return allocator.allocateFrom(value);
+
+    var segment =
+        allocator.allocate(Math.addExact(utf8Length(value, ascii), 1L));
+    encode(value, ascii, segment);
+    return segment;
+  }
+
+  /// Writes `value` and a NUL terminator at the start of `target`.
+  ///
+  /// @throws IndexOutOfBoundsException if `target` is shorter than
+  ///   `utf8Length(value) + 1` bytes.
+  public static void encode(String value, MemorySegment target) {
+    var ascii = asciiLength(value);
+    if (ascii == value.length()) {
+      target.setString(0L, value);
+    } else {
+      encode(value, ascii, target);
+    }
+  }
+
+  /// Encodes `value`, whose first non-ASCII char is at `ascii`.
+  private static void encode(String value, int ascii, MemorySegment target) {
+    var length = value.length();
+    long offset = 0L;
+
+    for (int i = 0; i < ascii; i++) {
+      target.set(JAVA_BYTE, offset++, (byte) value.charAt(i));
+    }
+
+    for (int i = ascii; i < length; i++) {
+      var c = value.charAt(i);
+
+      if (c < 0x80) {
+        target.set(JAVA_BYTE, offset++, (byte) c);
+      } else if (c < 0x800) {
+        target.set(JAVA_BYTE, offset++, (byte) (0xc0 | c >> 6));
+        target.set(JAVA_BYTE, offset++, (byte) (0x80 | c & 0x3f));
+      } else if (Character.isHighSurrogate(c) && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        var codePoint = Character.toCodePoint(c, value.charAt(++i));
+        target.set(JAVA_BYTE, offset++, (byte) (0xf0 | codePoint >> 18));
+        target.set(JAVA_BYTE, offset++,
+            (byte) (0x80 | codePoint >> 12 & 0x3f));
+        target.set(JAVA_BYTE, offset++, (byte) (0x80 | codePoint >> 6 & 0x3f));
+        target.set(JAVA_BYTE, offset++, (byte) (0x80 | codePoint & 0x3f));
+      } else if (Character.isSurrogate(c)) {
+        target.set(JAVA_BYTE, offset++, (byte) '?');
+      } else {
+        target.set(JAVA_BYTE, offset++, (byte) (0xe0 | c >> 12));
+        target.set(JAVA_BYTE, offset++, (byte) (0x80 | c >> 6 & 0x3f));
+        target.set(JAVA_BYTE, offset++, (byte) (0x80 | c & 0x3f));
+      }
+    }
+
+    target.set(JAVA_BYTE, offset, (byte) 0);
+  }
+
+  /// Returns the offset of the first NUL byte in `segment`, or its size when
+  /// there is none, like C `strnlen`.
+  public static long strnlen(MemorySegment segment) {
+    var size = segment.byteSize();
+
+    for (long i = 0L; i < size; i++) {
+      if (segment.get(JAVA_BYTE, i) == 0) return i;
+    }
+
+    return size;
+  }
+
+  /// Decodes UTF-8 bytes up to the first NUL byte or the end of `segment`.
+  ///
+  /// Callers bound the read by sizing the segment, for example with
+  /// `reinterpret(maxLength)` on a returned `char*`.
+  public static String decode(MemorySegment segment) {
+    var bytes = segment.asSlice(0L, strnlen(segment)).toArray(JAVA_BYTE);
+    return new String(bytes, UTF_8);
+  }
+}
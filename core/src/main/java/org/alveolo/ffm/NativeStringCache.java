@@ -0,0 +1,117 @@
+package org.alveolo.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Process-wide cache of NUL-terminated UTF-8 encodings of Java strings.
+///
+/// Generated bindings use it for [Cached] parameters. A hit is a single
+/// concurrent map lookup; a miss encodes the string with [NativeString] into
+/// its own automatic arena. The number of entries is bounded by the
+/// `affm.string.cache.size` system property (default 1024). Above the bound,
+/// entries are evicted in clock order, which approximates least recently used
+/// without writing shared state on every hit.
+///
+/// Evicted segments stay valid for as long as they are reachable, so a caller
+/// still passing one to native code is never affected. Their memory is
+/// released by the garbage collector afterwards, even if native code kept a
+/// pointer to it: a cached segment must not be retained by the callee beyond
+/// the call, as `putenv` or a stored callback context would.
+public final class NativeStringCache {
+  static final int CAPACITY =
+      Integer.getInteger("affm.string.cache.size", 1024);
+
+  private static final ConcurrentHashMap<String, Entry> ENTRIES =
+      new ConcurrentHashMap<>();
+
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+  private static final LongAdder EVICTIONS = new LongAdder();
+
+  private static final Object EVICTION_LOCK = new Object();
+  private static Iterator<Entry> hand;
+
+  private NativeStringCache() {/* Utility class */}
+
+  /// Returns the shared encoding of `value`, encoding it on a miss.
+  ///
+  /// The segment is shared by every caller and must not be written to.
+  public static MemorySegment get(String value) {
+    var entry = ENTRIES.get(value);
+    if (entry != null) {
+      HITS.increment();
+      if (!entry.referenced) entry.referenced = true;
+      return entry.segment;
+    }
+
+    MISSES.increment();
+    var created = new Entry(value,
+        NativeString.allocateFrom(Arena.ofAuto(), value));
+
+    var existing = ENTRIES.putIfAbsent(value, created);
+    if (existing != null) return existing.segment;
+
+    if (ENTRIES.size() > CAPACITY) evict();
+    return created.segment;
+  }
+
+  private static void evict() {
+    synchronized (EVICTION_LOCK) {
+      while (ENTRIES.size() > CAPACITY) {
+        if (hand == null || !hand.hasNext()) {
+          hand = ENTRIES.values().iterator();
+          if (!hand.hasNext()) return;
+        }
+
+        var entry = hand.next();
+        if (entry.referenced) {
+          entry.referenced = false;
+        } else if (ENTRIES.remove(entry.value, entry)) {
+          EVICTIONS.increment();
+        }
+      }
+    }
+  }
+
+  /// Number of lookups served from the cache.
+  public static long hits() {
+    return HITS.sum();
+  }
+
+  /// Number of lookups which had to encode the string.
+  public static long misses() {
+    return MISSES.sum();
+  }
+
+  /// Number of entries removed to stay within the capacity.
+  public static long evictions() {
+    return EVICTIONS.sum();
+  }
+
+  /// Current number of cached strings.
+  public static int size() {
+    return ENTRIES.size();
+  }
+
+  /// Removes all entries. Counters are not reset.
+  public static void clear() {
+    ENTRIES.clear();
+  }
+
+  private static final class Entry {
+    final String value;
+    final MemorySegment segment;
+
+    /// Set on hits and cleared by the eviction hand. A lost update only
+    /// affects which entry is evicted next.
+    volatile boolean referenced;
+
+    Entry(String value, MemorySegment segment) {
+      this.value = value;
+      this.segment = segment;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package org.alveolo.ffm;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/// Allocates temporary call memory from the calling thread's [ScratchArena]
+/// instead of a fresh confined arena.
+///
+/// On an interface, the annotation applies to every generated method. Native
+/// code must not retain argument pointers: the memory is reused by the next
+/// call on the same thread.
+@Target({METHOD, TYPE})
+@Retention(SOURCE)
+public @interface Scratch {}
@@ -0,0 +1,154 @@
+package org.alveolo.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+
+/// Per-thread bump allocator for call-scoped native memory.
+///
+/// Each platform thread lazily owns one fixed native block. [#push()] opens a
+/// frame which records the current bump offset; allocations from the frame
+/// advance the offset and closing the frame resets it, so nested frames behave
+/// like a stack. Every frame that allocates opens a confined arena, which
+/// owns no memory of its own unless a request does not fit the rest of the
+/// block. Segments from the block are bound to that arena, so they become
+/// inaccessible when the frame closes, exactly like memory of a closed arena.
+///
+/// Generated bindings use it for [Scratch] methods. Frames must be closed in
+/// reverse order of opening on the thread that opened them, which
+/// try-with-resources guarantees.
+///
+/// The block size is read once from the `affm.scratch.size` system property
+/// (bytes, default 16 KiB). Blocks are released when their thread becomes
+/// unreachable. Virtual threads get no block: their frames allocate from the
+/// confined arena, as calls without [Scratch] do, rather than a block per
+/// virtual thread.
+public final class ScratchArena {
+  static final long BLOCK_SIZE =
+      Long.getLong("affm.scratch.size", 16 * 1024L);
+
+  private static final long BLOCK_ALIGNMENT = 16L;
+
+  private static final ThreadLocal<ScratchArena> THREAD =
+      ThreadLocal.withInitial(ScratchArena::new);
+
+  private final Thread owner = Thread.currentThread();
+  private final MemorySegment block =
+      Arena.ofAuto().allocate(BLOCK_SIZE, BLOCK_ALIGNMENT);
+  private Frame[] frames = new Frame[4];
+  private int depth;
+  private long offset;
+
+  private ScratchArena() {}
+
+  /// Opens a frame on the current thread's scratch block, or a frame without
+  /// a block on a virtual thread.
+  public static Frame push() {
+    if (Thread.currentThread().isVirtual()) return new Frame(null).open();
+
+    return THREAD.get().open();
+  }
+
+  private Frame open() {
+    if (depth == frames.length) {
+      frames = Arrays.copyOf(frames, depth * 2);
+    }
+
+    var frame = frames[depth];
+    if (frame == null) {
+      frame = frames[depth] = new Frame(this);
+    }
+
+    depth++;
+    frame.mark = offset;
+    return frame.open();
+  }
+
+  /// One call scope of a [ScratchArena].
+  ///
+  /// Frame objects are reused by later [ScratchArena#push()] calls at the same
+  /// nesting depth, so a closed frame must not be kept.
+  public static final class Frame implements Arena {
+    /// `null` for a frame of a virtual thread
+    private final ScratchArena scratch;
+    private long mark;
+    private boolean open;
+    private Arena arena;
+
+    private Frame(ScratchArena scratch) {
+      this.scratch = scratch;
+    }
+
+    private Frame open() {
+      open = true;
+      return this;
+    }
+
+    /// Returns zeroed memory from the scratch block, or from the frame's
+    /// confined arena when the block has too little space left.
+    @Override
+    public MemorySegment allocate(long byteSize, long byteAlignment) {
+      checkOpen();
+      if (scratch == null) return arena().allocate(byteSize, byteAlignment);
+
+      if (byteSize < 0L)
+        throw new IllegalArgumentException("Invalid size: " + byteSize);
+      if (byteAlignment <= 0L || (byteAlignment & byteAlignment - 1) != 0L)
+        throw new IllegalArgumentException(
+            "Invalid alignment: " + byteAlignment);
+
+      var block = scratch.block;
+      var address = block.address() + scratch.offset;
+      var start = scratch.offset
+          + (((address + byteAlignment - 1) & -byteAlignment) - address);
+
+      if (start > block.byteSize() - byteSize)
+        return arena().allocate(byteSize, byteAlignment);
+
+      scratch.offset = start + byteSize;
+      return block.asSlice(start, byteSize)
+          .reinterpret(arena(), null)
+          .fill((byte) 0);
+    }
+
+    /// Scope of the frame's confined arena, alive until the frame closes.
+    @Override
+    public MemorySegment.Scope scope() {
+      checkOpen();
+      return arena().scope();
+    }
+
+    /// Releases everything allocated since [ScratchArena#push()].
+    @Override
+    public void close() {
+      checkOpen();
+      if (scratch != null) {
+        if (scratch.frames[scratch.depth - 1] != this)
+          throw new IllegalStateException(
+              "Scratch frames closed out of order");
+
+        scratch.depth--;
+        scratch.offset = mark;
+      }
+
+      open = false;
+      if (arena != null) {
+        var closed = arena;
+        arena = null;
+        closed.close();
+      }
+    }
+
+    private Arena arena() {
+      if (arena == null) arena = Arena.ofConfined();
+      return arena;
+    }
+
+    private void checkOpen() {
+      if (scratch != null && Thread.currentThread() != scratch.owner)
+        throw new WrongThreadException("Scratch frame used by another thread");
+      if (!open)
+        throw new IllegalStateException("Scratch frame is closed");
+    }
+  }
+}
@@ -25,4 +25,19 @@ public @interface Struct {
 
   /// Foreign interface that owns direct native symbols used by this struct.
   Class<?> symbols() default Void.class;
+
+  /// Generate field accessors that read and write at constant offsets with
+  /// `MemorySegment.get` and `set` instead of through per-field var handles.
+  /// They stay fast in the interpreter, C1 and at polymorphic call sites.
+  /// `-Aaffm.offset.accessors` enables this for every type of a compilation.
+  boolean offsetAccessors() default false;
+
+  /// Also generate `Columns$F`, a struct-of-arrays container with one
+  /// contiguous segment per component, for records of Java primitives.
+  boolean columns() default false;
+
+  /// Generate `equals`, `hashCode` and `compareTo` of a memory-backed
+  /// interface over the bytes of its fields, skipping padding, so wrappers can
+  /// be compared and used as keys without decoding them.
+  boolean contentEquality() default false;
 }
@@ -0,0 +1,326 @@
+package org.alveolo.ffm;
+
+import static java.lang.foreign.MemoryLayout.structLayout;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static org.alveolo.ffm.ForeignUtils.structPad;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemoryLayout.PathElement;
+import java.lang.foreign.MemorySegment;
+import java.util.function.Supplier;
+
+/// Off-heap hash map with fixed-layout keys and values, usually the
+/// `MemoryLayout$F` of generated struct companions.
+///
+/// Entries live in one native table of slots, each laid out as the C struct
+/// `struct { int32_t hash; K key; V value; }` with natural alignment, see
+/// [#slotLayout()]. A zero `hash` marks an empty slot. The table has a power of
+/// two [#capacity()] and is probed linearly from the home slot
+/// `(uint32_t) (hash * 0x9E3779B9) >> (32 - log2(capacity))`, wrapping around.
+/// Native code given [#table()] can iterate over or probe the entries with
+/// the same rules.
+///
+/// Keys are hashed with [ForeignUtils#contentHashCode] and compared with
+/// `MemorySegment.mismatch` over [ForeignUtils#contentRanges], so the padding
+/// of a key never matters. A hash of zero is stored as one. Removal shifts the
+/// following entries back instead of leaving tombstones.
+///
+/// Every table is allocated zeroed from its own arena, obtained from the
+/// supplier given to the constructor. When the map grows past three quarters
+/// of its capacity, the entries are rehashed into a table twice the size and
+/// the old arena is closed, so segments returned from an earlier table stop
+/// being accessible. Slot indexes also change with a resize or a removal.
+/// The map is not thread-safe.
+///
+/// ```java
+/// try (var map = new StructHashMap(PairFM.MemoryLayout$F, JAVA_LONG);
+///      var arena = Arena.ofConfined()) {
+///   var key = PairFM.allocate$F(arena);
+///   PairFM.setAt$F(key, 0, new Pair(1, 2));
+///   long slot = map.insert(key);
+///   map.table().set(JAVA_LONG, map.valueOffset(slot), 42L);
+///   long value = map.getLong(key, 0, -1L);
+/// }
+/// ```
+public final class StructHashMap implements AutoCloseable {
+  private static final int MIN_CAPACITY = 16;
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  private final Supplier<? extends Arena> arenas;
+  private final MemoryLayout keyLayout;
+  private final MemoryLayout valueLayout;
+  private final MemoryLayout slotLayout;
+  private final long[] keyRanges;
+  private final long slotSize;
+  private final long keyOffset;
+  private final long valueOffset;
+
+  private Arena arena;
+  private MemorySegment table;
+  private int capacity;
+  private int shift;
+  private long size;
+
+  /// Creates an empty map whose tables are allocated from confined arenas.
+  public StructHashMap(MemoryLayout keyLayout, MemoryLayout valueLayout) {
+    this(Arena::ofConfined, keyLayout, valueLayout, 0);
+  }
+
+  /// Creates an empty map sized for `expectedSize` entries whose tables are
+  /// allocated from arenas of `arenas`, such as `Arena::ofShared`.
+  public StructHashMap(Supplier<? extends Arena> arenas,
+      MemoryLayout keyLayout, MemoryLayout valueLayout, long expectedSize) {
+    if (expectedSize < 0)
+      throw new IllegalArgumentException(
+          "Invalid expected size: " + expectedSize);
+    if (keyLayout.byteSize() == 0)
+      throw new IllegalArgumentException("Empty key layout: " + keyLayout);
+
+    this.arenas = arenas;
+    this.keyLayout = keyLayout;
+    this.valueLayout = valueLayout;
+    this.slotLayout = structLayout(structPad(
+        JAVA_INT.withName("hash"),
+        keyLayout.withName("key"),
+        valueLayout.withName("value")));
+    this.keyRanges = ForeignUtils.contentRanges(keyLayout);
+    this.slotSize = slotLayout.byteSize();
+    this.keyOffset = slotLayout.byteOffset(PathElement.groupElement("key"));
+    this.valueOffset =
+        slotLayout.byteOffset(PathElement.groupElement("value"));
+
+    allocate(capacityFor(expectedSize));
+  }
+
+  public MemoryLayout keyLayout() {
+    return keyLayout;
+  }
+
+  public MemoryLayout valueLayout() {
+    return valueLayout;
+  }
+
+  /// Layout of one slot of [#table()].
+  public MemoryLayout slotLayout() {
+    return slotLayout;
+  }
+
+  /// The current table of [#capacity()] slots. It is replaced when the map
+  /// grows and closed when the map is closed.
+  public MemorySegment table() {
+    return table;
+  }
+
+  public long capacity() {
+    return capacity;
+  }
+
+  public long size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /// Returns the slot index of `key`, or `-1` when it is absent.
+  public long find(MemorySegment key) {
+    var hash = hash(key);
+    var mask = capacity - 1;
+    for (int slot = home(hash); ; slot = slot + 1 & mask) {
+      var stored = table.get(JAVA_INT, slot * slotSize);
+      if (stored == 0) return -1;
+      if (stored == hash && keyEquals(slot, key)) return slot;
+    }
+  }
+
+  public boolean containsKey(MemorySegment key) {
+    return find(key) != -1;
+  }
+
+  /// Reads an `int` at `offset` within the value of `key`, or returns
+  /// `absent` when the key is not in the map.
+  public int getInt(MemorySegment key, long offset, int absent) {
+    var slot = find(key);
+    return slot == -1
+        ? absent : table.get(JAVA_INT, valueOffset(slot) + offset);
+  }
+
+  /// Reads a `long` at `offset` within the value of `key`, or returns
+  /// `absent` when the key is not in the map.
+  public long getLong(MemorySegment key, long offset, long absent) {
+    var slot = find(key);
+    return slot == -1
+        ? absent : table.get(JAVA_LONG, valueOffset(slot) + offset);
+  }
+
+  /// Reads a `double` at `offset` within the value of `key`, or returns
+  /// `absent` when the key is not in the map.
+  public double getDouble(MemorySegment key, long offset, double absent) {
+    var slot = find(key);
+    return slot == -1
+        ? absent : table.get(JAVA_DOUBLE, valueOffset(slot) + offset);
+  }
+
+  /// Returns the slot index of `key`, first adding it with a zeroed value
+  /// when it is absent.
+  public long insert(MemorySegment key) {
+    var hash = hash(key);
+    var mask = capacity - 1;
+    for (int slot = home(hash); ; slot = slot + 1 & mask) {
+      var stored = table.get(JAVA_INT, slot * slotSize);
+      if (stored == hash && keyEquals(slot, key)) return slot;
+      if (stored != 0) continue;
+
+      if ((size + 1) * 4 > capacity * 3L) {
+        grow();
+        return insert(key);
+      }
+
+      table.set(JAVA_INT, slot * slotSize, hash);
+      MemorySegment.copy(key, 0, table, slot * slotSize + keyOffset,
+          keyLayout.byteSize());
+      size++;
+      return slot;
+    }
+  }
+
+  /// Associates the bytes of `value` with `key`. Returns `true` when the key
+  /// was not in the map before.
+  public boolean put(MemorySegment key, MemorySegment value) {
+    var before = size;
+    var slot = insert(key);
+    MemorySegment.copy(value, 0, table, valueOffset(slot),
+        valueLayout.byteSize());
+    return size != before;
+  }
+
+  /// Removes `key` and returns `true` when it was in the map.
+  public boolean remove(MemorySegment key) {
+    var found = find(key);
+    if (found == -1) return false;
+
+    var mask = capacity - 1;
+    var hole = (int) found;
+    for (int slot = hole + 1 & mask; ; slot = slot + 1 & mask) {
+      var stored = table.get(JAVA_INT, slot * slotSize);
+      if (stored == 0) break;
+
+      // Move back entries whose home is not cyclically in (hole, slot]
+      var home = home(stored);
+      if ((slot - home & mask) >= (slot - hole & mask)) {
+        MemorySegment.copy(table, slot * slotSize,
+            table, hole * slotSize, slotSize);
+        hole = slot;
+      }
+    }
+
+    table.asSlice(hole * slotSize, slotSize).fill((byte) 0);
+    size--;
+    return true;
+  }
+
+  /// Returns whether `slot` holds an entry.
+  public boolean occupied(long slot) {
+    return table.get(JAVA_INT, Math.multiplyExact(slot, slotSize)) != 0;
+  }
+
+  /// Byte offset of the key of `slot` in [#table()].
+  public long keyOffset(long slot) {
+    return Math.multiplyExact(slot, slotSize) + keyOffset;
+  }
+
+  /// Byte offset of the value of `slot` in [#table()].
+  public long valueOffset(long slot) {
+    return Math.multiplyExact(slot, slotSize) + valueOffset;
+  }
+
+  /// The key of `slot`, aliasing the table.
+  public MemorySegment key(long slot) {
+    return table.asSlice(keyOffset(slot), keyLayout);
+  }
+
+  /// The value of `slot`, aliasing the table.
+  public MemorySegment value(long slot) {
+    return table.asSlice(valueOffset(slot), valueLayout);
+  }
+
+  /// Removes every entry, keeping the current table.
+  public void clear() {
+    table.fill((byte) 0);
+    size = 0;
+  }
+
+  /// Closes the arena of the current table.
+  @Override
+  public void close() {
+    arena.close();
+  }
+
+  private int hash(MemorySegment key) {
+    var hash = ForeignUtils.contentHashCode(key, keyRanges);
+    return hash == 0 ? 1 : hash;
+  }
+
+  private int home(int hash) {
+    return hash * 0x9E3779B9 >>> shift;
+  }
+
+  private boolean keyEquals(int slot, MemorySegment key) {
+    var base = slot * slotSize + keyOffset;
+    for (int i = 0; i < keyRanges.length; i += 2) {
+      var start = keyRanges[i];
+      var end = start + keyRanges[i + 1];
+      if (MemorySegment.mismatch(table, base + start, base + end,
+          key, start, end) != -1) return false;
+    }
+    return true;
+  }
+
+  private void grow() {
+    if (capacity == MAX_CAPACITY)
+      throw new IllegalStateException("Map is full: " + size + " entries");
+
+    var oldArena = arena;
+    var oldTable = table;
+    allocate(capacity * 2);
+
+    var mask = capacity - 1;
+    for (long offset = 0; offset < oldTable.byteSize(); offset += slotSize) {
+      var hash = oldTable.get(JAVA_INT, offset);
+      if (hash == 0) continue;
+
+      var slot = home(hash);
+      while (table.get(JAVA_INT, slot * slotSize) != 0) {
+        slot = slot + 1 & mask;
+      }
+      MemorySegment.copy(oldTable, offset, table, slot * slotSize, slotSize);
+    }
+
+    oldArena.close();
+  }
+
+  private void allocate(int capacity) {
+    var arena = arenas.get();
+    try {
+      table = arena.allocate(slotLayout, capacity);
+    } catch (RuntimeException | Error e) {
+      arena.close();
+      throw e;
+    }
+    this.arena = arena;
+    this.capacity = capacity;
+    this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+  }
+
+  private static int capacityFor(long expectedSize) {
+    var minimum = Math.max(MIN_CAPACITY, (expectedSize * 4 + 2) / 3);
+    if (minimum > MAX_CAPACITY)
+      throw new IllegalArgumentException(
+          "Invalid expected size: " + expectedSize);
+    return Integer.highestOneBit((int) minimum - 1) << 1;
+  }
+}
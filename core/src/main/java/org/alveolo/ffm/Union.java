@@ -18,4 +18,15 @@ public @interface Union {
   /// same package as the annotated type. By default, a trailing `Spec` is removed
   /// from an interface name; otherwise the type name is suffixed with `FM`.
   String name() default "";
+
+  /// Generate field accessors that read and write at constant offsets with
+  /// `MemorySegment.get` and `set` instead of through per-field var handles.
+  /// They stay fast in the interpreter, C1 and at polymorphic call sites.
+  /// `-Aaffm.offset.accessors` enables this for every type of a compilation.
+  boolean offsetAccessors() default false;
+
+  /// Generate `equals`, `hashCode` and `compareTo` of a memory-backed
+  /// interface over the bytes of its fields, skipping padding, so wrappers can
+  /// be compared and used as keys without decoding them.
+  boolean contentEquality() default false;
 }
@@ -0,0 +1,98 @@
+package org.alveolo.ffm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicReference;
+
+/// Creates upcall stubs for one [Callback] interface.
+///
+/// A stub for a stateless implementation, whose class and superclasses have no
+/// instance fields, is created once per implementation class and kept for as
+/// long as the class is loaded. Non-capturing lambdas and method references
+/// are such classes, so passing them costs no upcall stub allocation after
+/// the first call. Any other implementation is bound into a new stub
+/// allocated from the given arena.
+public final class UpcallStubs {
+  private static final Linker LINKER = Linker.nativeLinker();
+
+  private static final ClassValue<Boolean> STATELESS = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      for (var c = type; c != Object.class; c = c.getSuperclass()) {
+        for (var field : c.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers())) return false;
+        }
+      }
+      return true;
+    }
+  };
+
+  private final MethodHandle target;
+  private final FunctionDescriptor descriptor;
+
+  private final ClassValue<AtomicReference<MemorySegment>> cached =
+      new ClassValue<>() {
+        @Override
+        protected AtomicReference<MemorySegment> computeValue(Class<?> type) {
+          return new AtomicReference<>();
+        }
+      };
+
+  /// @param lookup lookup with access to `type`
+  /// @param type callback interface
+  /// @param method name of its abstract method, whose signature must match
+  ///   `descriptor.toMethodType()`
+  public UpcallStubs(MethodHandles.Lookup lookup, Class<?> type,
+      String method, FunctionDescriptor descriptor) {
+    try {
+      this.target = lookup.findVirtual(
+          type, method, descriptor.toMethodType());
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException(
+          "Cannot find callback method " + type.getName() + "." + method, e);
+    }
+
+    this.descriptor = descriptor;
+  }
+
+  /// Callback function descriptor.
+  public FunctionDescriptor descriptor() {
+    return descriptor;
+  }
+
+  /// Whether [#stub] allocates the stub for `callback` from its arena, which
+  /// it does unless `callback` is `null` or stateless.
+  public boolean needsArena(Object callback) {
+    return callback != null && !STATELESS.get(callback.getClass());
+  }
+
+  /// Returns a function pointer which calls `callback`, or
+  /// `MemorySegment.NULL` for a `null` callback.
+  ///
+  /// A cached stub is returned for a stateless callback; otherwise a new stub
+  /// is allocated from `arena` and is valid until `arena` is closed. `arena`
+  /// may be `null` when [#needsArena] is `false`.
+  public MemorySegment stub(Arena arena, Object callback) {
+    if (callback == null) return MemorySegment.NULL;
+
+    var type = callback.getClass();
+    if (!STATELESS.get(type)) return create(arena, callback);
+
+    var cell = cached.get(type);
+    var stub = cell.get();
+    if (stub != null) return stub;
+
+    // A racing thread may create a second stub; the loser is reclaimed by GC.
+    stub = create(Arena.ofAuto(), callback);
+    return cell.compareAndSet(null, stub) ? stub : cell.get();
+  }
+
+  private MemorySegment create(Arena arena, Object callback) {
+    return LINKER.upcallStub(target.bindTo(callback), descriptor, arena);
+  }
+}
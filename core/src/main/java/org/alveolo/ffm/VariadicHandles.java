@@ -0,0 +1,175 @@
+package org.alveolo.ffm;
+
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/// Downcall handles of one C variadic function bound with a trailing
+/// `Object...` parameter, linked on demand for each argument shape.
+///
+/// Every variadic argument is passed after C default argument promotion:
+/// `Integer`, `Short`, `Byte`, `Character`, and `Boolean` as `int`, `Long` as
+/// `long`, `Double` and `Float` as `double`, and `MemorySegment` as a pointer.
+/// The shape of a call, the promoted type of each argument, is packed into a
+/// `long` key. The handle of a new shape is linked once and cached, so a
+/// repeated shape costs a comparison with the last shape or a hash lookup.
+public final class VariadicHandles {
+  /// Maximum number of variadic arguments of one call.
+  public static final int MAX_ARGUMENTS = 28;
+
+  private static final int INT = 0;
+  private static final int LONG = 1;
+  private static final int DOUBLE = 2;
+  private static final int ADDRESS = 3;
+
+  private static final ValueLayout[] LAYOUTS = {
+      ValueLayout.JAVA_INT,
+      ValueLayout.JAVA_LONG,
+      ValueLayout.JAVA_DOUBLE,
+      ValueLayout.ADDRESS,
+  };
+
+  private static final MethodHandle[] PROMOTIONS = {
+      promotion("promoteInt", int.class),
+      promotion("promoteLong", long.class),
+      promotion("promoteDouble", double.class),
+      promotion("promoteAddress", MemorySegment.class),
+  };
+
+  private final FunctionDescriptor descriptor;
+  private final Function<FunctionDescriptor, MethodHandle> linker;
+  private final UnaryOperator<MethodHandle> adapter;
+  private final ConcurrentHashMap<Long, MethodHandle> handles =
+      new ConcurrentHashMap<>();
+
+  private volatile Linked last = new Linked(-1L, null);
+
+  private record Linked(long shape, MethodHandle handle) {}
+
+  /// @param descriptor descriptor of the fixed arguments
+  /// @param linker links the downcall for a descriptor extended with the
+  ///   promoted variadic layouts
+  public VariadicHandles(FunctionDescriptor descriptor,
+      Function<FunctionDescriptor, MethodHandle> linker) {
+    this(descriptor, linker, UnaryOperator.identity());
+  }
+
+  /// @param adapter adapts each linked handle after the variadic arguments
+  ///   were collected into one trailing `Object[]`
+  public VariadicHandles(FunctionDescriptor descriptor,
+      Function<FunctionDescriptor, MethodHandle> linker,
+      UnaryOperator<MethodHandle> adapter) {
+    this.descriptor = descriptor;
+    this.linker = linker;
+    this.adapter = adapter;
+  }
+
+  /// Returns the downcall handle for the shape of `arguments`. It takes the
+  /// fixed arguments followed by `arguments` itself as an `Object[]`.
+  ///
+  /// @throws IllegalArgumentException if there are more than
+  ///   [#MAX_ARGUMENTS] arguments, or one has no C variadic type
+  /// @throws NullPointerException if an argument is `null`; pass
+  ///   `MemorySegment.NULL` for a null pointer
+  public MethodHandle handle(Object[] arguments) {
+    var shape = shape(arguments);
+
+    var linked = last;
+    if (linked.shape == shape) return linked.handle;
+
+    var handle = handles.get(shape);
+    if (handle == null)
+      handle = handles.computeIfAbsent(shape, _ -> link(arguments));
+
+    last = new Linked(shape, handle);
+    return handle;
+  }
+
+  /// Number of linked shapes.
+  public int size() {
+    return handles.size();
+  }
+
+  static long shape(Object[] arguments) {
+    if (arguments.length > MAX_ARGUMENTS)
+      throw new IllegalArgumentException("At most " + MAX_ARGUMENTS
+          + " variadic arguments are supported, got " + arguments.length);
+
+    long shape = arguments.length;
+    for (var index = 0; index < arguments.length; index++) {
+      shape |= (long) kind(arguments[index]) << (8 + 2 * index);
+    }
+
+    return shape;
+  }
+
+  private static int kind(Object argument) {
+    return switch (argument) {
+      case null -> throw new NullPointerException(
+          "Variadic argument is null, pass MemorySegment.NULL instead");
+      case Integer _, Short _, Byte _, Character _, Boolean _ -> INT;
+      case Long _ -> LONG;
+      case Double _, Float _ -> DOUBLE;
+      case MemorySegment _ -> ADDRESS;
+      default -> throw new IllegalArgumentException(
+          "Unsupported variadic argument type: "
+              + argument.getClass().getName());
+    };
+  }
+
+  private MethodHandle link(Object[] arguments) {
+    var layouts = new MemoryLayout[arguments.length];
+    for (var index = 0; index < arguments.length; index++) {
+      layouts[index] = LAYOUTS[kind(arguments[index])];
+    }
+
+    var handle = linker.apply(descriptor.appendArgumentLayouts(layouts));
+
+    // Leading Java-only parameters, such as a capture-state segment, precede
+    // the fixed native arguments.
+    var first = handle.type().parameterCount() - arguments.length;
+    for (var index = 0; index < arguments.length; index++) {
+      handle = MethodHandles.filterArguments(handle, first + index,
+          PROMOTIONS[kind(arguments[index])]);
+    }
+
+    return adapter.apply(
+        handle.asSpreader(Object[].class, arguments.length));
+  }
+
+  private static MethodHandle promotion(String name, Class<?> carrier) {
+    try {
+      return MethodHandles.lookup().findStatic(VariadicHandles.class, name,
+          MethodType.methodType(carrier, Object.class));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private static int promoteInt(Object argument) {
+    return switch (argument) {
+      case Character character -> character;
+      case Boolean bool -> bool ? 1 : 0;
+      default -> ((Number) argument).intValue();
+    };
+  }
+
+  private static long promoteLong(Object argument) {
+    return (Long) argument;
+  }
+
+  private static double promoteDouble(Object argument) {
+    return ((Number) argument).doubleValue();
+  }
+
+  private static MemorySegment promoteAddress(Object argument) {
+    return (MemorySegment) argument;
+  }
+}
@@ -0,0 +1,94 @@
+package org.alveolo.ffm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class BindingsTest {
+  /// Stands in for a generated binding.
+  public static final class Binding {
+    static int preloads;
+
+    public static void preload$F() {
+      preloads++;
+    }
+  }
+
+  static volatile boolean companionInitialized;
+
+  /// Stands in for a generated struct companion.
+  public static final class Companion {
+    static {
+      companionInitialized = true;
+    }
+  }
+
+  @Test
+  void preloadsBinding() {
+    var before = Binding.preloads;
+
+    Bindings.preload(Binding.class);
+
+    assertEquals(before + 1, Binding.preloads);
+  }
+
+  @Test
+  void rejectsOtherClasses() {
+    assertThrows(IllegalArgumentException.class,
+        () -> Bindings.preload(String.class));
+  }
+
+  @Test
+  void preloadsIndexedBindings() throws Exception {
+    var classpath = Files.createTempDirectory("affm-classpath");
+    var index = classpath.resolve(Bindings.INDEX);
+    Files.createDirectories(index.getParent());
+    Files.writeString(index, Binding.class.getName() + "\n\n");
+    var before = Binding.preloads;
+
+    try (var loader = new URLClassLoader(new URL[] {classpath.toUri().toURL()},
+        BindingsTest.class.getClassLoader())) {
+      assertEquals(List.of(Binding.class.getName()),
+          Bindings.preloadAll(loader));
+    }
+
+    assertEquals(before + 1, Binding.preloads);
+  }
+
+  @Test
+  void initializesIndexedCompanions() throws Exception {
+    var classpath = Files.createTempDirectory("affm-classpath");
+    var index = classpath.resolve(Bindings.MEMORY_INDEX);
+    Files.createDirectories(index.getParent());
+    Files.writeString(index, Companion.class.getName() + "\n");
+
+    try (var loader = new URLClassLoader(new URL[] {classpath.toUri().toURL()},
+        BindingsTest.class.getClassLoader())) {
+      assertEquals(List.of(Companion.class.getName()),
+          Bindings.preloadAll(loader));
+    }
+
+    assertTrue(companionInitialized);
+  }
+
+  @Test
+  void rejectsMissingIndexedBinding() throws Exception {
+    var classpath = Files.createTempDirectory("affm-classpath");
+    var index = classpath.resolve(Bindings.INDEX);
+    Files.createDirectories(index.getParent());
+    Files.writeString(index, "pkg.MissingFFM\n");
+
+    try (var loader = new URLClassLoader(new URL[] {classpath.toUri().toURL()},
+        BindingsTest.class.getClassLoader())) {
+      assertThrows(IllegalArgumentException.class,
+          () -> Bindings.preloadAll(loader));
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package org.alveolo.ffm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BlockingCallsTest {
+  @Test
+  void runsOnPlatformPoolThread() throws Exception {
+    var thread = new Thread[1];
+
+    Thread.ofVirtual().start(() -> thread[0] = BlockingCalls.await(
+        BlockingCalls.supply(Thread::currentThread))).join();
+
+    assertFalse(thread[0].isVirtual());
+    assertTrue(thread[0].getName().startsWith("affm-blocking-"));
+  }
+
+  @Test
+  void rethrowsUncheckedFailure() {
+    var failure = new IllegalStateException("failed");
+
+    var thrown = assertThrows(IllegalStateException.class,
+        () -> BlockingCalls.await(BlockingCalls.run(() -> {
+          throw failure;
+        })));
+
+    assertSame(failure, thrown);
+  }
+
+  @Test
+  void returnsValue() {
+    assertEquals(42, BlockingCalls.await(BlockingCalls.supply(() -> 42)));
+  }
+}
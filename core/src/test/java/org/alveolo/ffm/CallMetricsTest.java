@@ -0,0 +1,65 @@
+package org.alveolo.ffm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.foreign.Arena;
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+class CallMetricsTest {
+  @Test
+  void registersOneInstancePerMethod() {
+    var metrics = CallMetrics.register(CallMetricsTest.class, "same(int)");
+
+    assertSame(metrics,
+        CallMetrics.register(CallMetricsTest.class, "same(int)"));
+    assertTrue(CallMetrics.registered().contains(metrics));
+  }
+
+  @Test
+  void countsCallsAndSamples() {
+    var metrics = CallMetrics.register(CallMetricsTest.class, "count()");
+
+    for (int i = 0; i < 10_000; i++) {
+      metrics.stop(metrics.start());
+    }
+
+    assertEquals(10_000L, metrics.calls());
+    assertTrue(metrics.samples() > 0L);
+    assertTrue(metrics.samples() < metrics.calls());
+    assertTrue(metrics.maxNanos() >= metrics.meanNanos());
+  }
+
+  @Test
+  void countsArenaAllocations() {
+    var metrics = CallMetrics.register(CallMetricsTest.class, "bytes()");
+
+    try (var arena = metrics.arena(Arena.ofConfined())) {
+      arena.allocate(16L);
+      arena.allocate(8L, 8L);
+    }
+
+    assertEquals(24L, metrics.bytes());
+  }
+
+  @Test
+  void exposesMXBean() throws Exception {
+    var metrics = CallMetrics.register(CallMetricsTest.class, "jmx(long)");
+    metrics.start();
+
+    var name = new ObjectName("org.alveolo.ffm:type=CallMetrics,interface="
+        + CallMetricsTest.class.getName() + ",method="
+        + ObjectName.quote("jmx(long)"));
+    var server = ManagementFactory.getPlatformMBeanServer();
+
+    assertEquals(1L, server.getAttribute(name, "Calls"));
+
+    server.invoke(name, "reset", null, null);
+    assertEquals(0L, metrics.calls());
+  }
+}
@@ -0,0 +1,83 @@
+package org.alveolo.ffm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+@EnabledOnOs(OS.LINUX)
+class ElfSymbolIndexTest {
+  @Test
+  void hashesLikeTheDynamicLinker() {
+    assertEquals(0x1505, ElfSymbolIndex.hash(new byte[0]));
+    assertEquals(0x156B2BB8,
+        ElfSymbolIndex.hash("printf".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void readsDefinedSymbols() throws IOException {
+    var symbols = ElfSymbolIndex.dynamicSymbols(javaLibrary("java"));
+
+    assertTrue(symbols.contains("JNU_ThrowNullPointerException"));
+    // Imported from libc, so undefined in libjava.
+    assertFalse(symbols.contains("malloc"));
+  }
+
+  @Test
+  void rejectsOtherFiles() throws IOException {
+    var file = Files.createTempFile("affm", ".so");
+    try {
+      Files.writeString(file, "not an ELF object");
+
+      assertThrows(IOException.class,
+          () -> ElfSymbolIndex.dynamicSymbols(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void resolvesLikeChainedLookup() {
+    var net = LibraryRegistry.path(javaLibrary("net"));
+    var java = LibraryRegistry.path(javaLibrary("java"));
+    var chain = net.or(java);
+
+    var index = ElfSymbolIndex.of(List.of(net, java));
+
+    assertTrue(index.isIndexed());
+    // malloc is defined by libc, which both libraries depend on.
+    for (var name : List.of("JNU_ThrowNullPointerException",
+        "Java_java_net_InetAddress_init", "malloc", "affm_missing")) {
+      assertEquals(chain.find(name), index.find(name));
+    }
+  }
+
+  @Test
+  void indexesLibrariesLoadedByName() {
+    var libm = LibraryRegistry.name("libm.so.6");
+    var libc = LibraryRegistry.name("libc.so.6");
+    var chain = libm.or(libc);
+
+    var index = ElfSymbolIndex.of(List.of(libm, libc));
+
+    assertTrue(index.isIndexed());
+    for (var name : List.of("cos", "strlen", "affm_missing")) {
+      assertEquals(chain.find(name), index.find(name));
+    }
+  }
+
+  private static Path javaLibrary(String name) {
+    return Path.of(System.getProperty("java.home"), "lib",
+        System.mapLibraryName(name)).toAbsolutePath().normalize();
+  }
+}
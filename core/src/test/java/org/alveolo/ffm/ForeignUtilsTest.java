@@ -0,0 +1,111 @@
+package org.alveolo.ffm;
+
+import static java.lang.foreign.MemoryLayout.sequenceLayout;
+import static java.lang.foreign.MemoryLayout.structLayout;
+import static java.lang.foreign.MemoryLayout.unionLayout;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static java.lang.foreign.ValueLayout.JAVA_SHORT;
+import static org.alveolo.ffm.ForeignUtils.checkSharedAccess;
+import static org.alveolo.ffm.ForeignUtils.contentCompare;
+import static org.alveolo.ffm.ForeignUtils.contentEquals;
+import static org.alveolo.ffm.ForeignUtils.contentHashCode;
+import static org.alveolo.ffm.ForeignUtils.contentRanges;
+import static org.alveolo.ffm.ForeignUtils.structPad;
+import static org.alveolo.ffm.ForeignUtils.unionPad;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.foreign.Arena;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+
+class ForeignUtilsTest {
+  @Test
+  void contentRangesSkipPadding() {
+    // struct { char c; long l; short s; } -> 1 + 7 pad + 8 + 2 + 6 pad
+    var struct = structLayout(structPad(JAVA_BYTE, JAVA_LONG, JAVA_SHORT));
+    assertArrayEquals(new long[] {0, 1, 8, 10}, contentRanges(struct));
+
+    var nested = structLayout(structPad(
+        JAVA_INT, sequenceLayout(2, struct), JAVA_INT));
+    assertArrayEquals(
+        new long[] {0, 4, 8, 1, 16, 10, 32, 1, 40, 10, 56, 4},
+        contentRanges(nested));
+
+    var scalars = structLayout(sequenceLayout(4, JAVA_INT), JAVA_INT);
+    assertArrayEquals(new long[] {0, 20}, contentRanges(scalars));
+
+    // union { int i; char c[5]; } -> 5 bytes of data, 3 of tail padding
+    var union = unionLayout(unionPad(JAVA_INT, sequenceLayout(5, JAVA_BYTE)));
+    assertEquals(8, union.byteSize());
+    assertArrayEquals(new long[] {0, 5}, contentRanges(union));
+  }
+
+  @Test
+  void contentComparisonIgnoresPadding() {
+    var layout = structLayout(structPad(JAVA_BYTE, JAVA_LONG, JAVA_SHORT));
+    var ranges = contentRanges(layout);
+
+    try (var arena = Arena.ofConfined()) {
+      var left = arena.allocate(layout);
+      var right = arena.allocate(layout);
+      left.set(JAVA_BYTE, 0, (byte) 1);
+      right.set(JAVA_BYTE, 0, (byte) 1);
+      left.set(JAVA_LONG, 8, 42);
+      right.set(JAVA_LONG, 8, 42);
+      left.set(JAVA_BYTE, 3, (byte) 0x55);
+      right.set(JAVA_BYTE, 20, (byte) 0x66);
+
+      assertTrue(contentEquals(left, right, ranges));
+      assertEquals(contentHashCode(left, ranges),
+          contentHashCode(right, ranges));
+      assertEquals(0, contentCompare(left, right, ranges));
+
+      right.set(JAVA_SHORT, 16, (short) -1);
+      assertFalse(contentEquals(left, right, ranges));
+      assertTrue(contentCompare(left, right, ranges) < 0);
+      assertTrue(contentCompare(right, left, ranges) > 0);
+    }
+  }
+
+  @Test
+  void contentHashSpreadsSymmetricFields() {
+    var layout = structLayout(JAVA_INT, JAVA_INT);
+    var ranges = contentRanges(layout);
+    var count = 100_000;
+
+    try (var arena = Arena.ofConfined()) {
+      var pair = arena.allocate(layout);
+      var same = new HashSet<Integer>();
+      var complement = new HashSet<Integer>();
+      for (int i = 0; i < count; i++) {
+        pair.set(JAVA_INT, 0, i);
+        pair.set(JAVA_INT, 4, i);
+        same.add(contentHashCode(pair, ranges));
+        pair.set(JAVA_INT, 4, ~i);
+        complement.add(contentHashCode(pair, ranges));
+      }
+
+      // A few 32-bit collisions are expected by chance, not thousands
+      assertTrue(same.size() > count - 10, "distinct: " + same.size());
+      assertTrue(complement.size() > count - 10,
+          "distinct: " + complement.size());
+    }
+  }
+
+  @Test
+  void sharedAccessRejectsConfinedSegments() {
+    try (var confined = Arena.ofConfined(); var shared = Arena.ofShared()) {
+      assertThrows(WrongThreadException.class,
+          () -> checkSharedAccess(confined.allocate(8)));
+      checkSharedAccess(shared.allocate(8));
+      checkSharedAccess(Arena.global().allocate(8));
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package org.alveolo.ffm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+class LibraryCacheTest {
+  private static final String RESOURCE =
+      LibraryCache.RESOURCE_DIRECTORY + "linux-amd64/libbundled.so";
+
+  private static final byte[] CONTENT =
+      "not really a library".getBytes(StandardCharsets.US_ASCII);
+
+  @Test
+  void extractsOnceIntoContentHashDirectory() throws Exception {
+    var classpath = Files.createTempDirectory("affm-classpath");
+    var cache = Files.createTempDirectory("affm-cache");
+    bundle(classpath, RESOURCE, CONTENT);
+
+    try (var loader = loader(classpath)) {
+      var extracted = LibraryCache.extract(loader, RESOURCE, cache);
+
+      assertEquals(cache.resolve(sha256(CONTENT)).resolve("libbundled.so"),
+          extracted);
+      assertArrayEquals(CONTENT, Files.readAllBytes(extracted));
+
+      // A cached library is used as is, without copying it again.
+      Files.writeString(extracted, "cached");
+      assertEquals(extracted, LibraryCache.extract(loader, RESOURCE, cache));
+      assertEquals("cached", Files.readString(extracted));
+      assertEquals(List.of(extracted), files(extracted.getParent()));
+    }
+  }
+
+  @Test
+  void reusesHashUntilResourceChanges() throws Exception {
+    var classpath = Files.createTempDirectory("affm-classpath");
+    var cache = Files.createTempDirectory("affm-cache");
+    var file = bundle(classpath, RESOURCE, CONTENT);
+
+    try (var loader = loader(classpath)) {
+      var extracted = LibraryCache.extract(loader, RESOURCE, cache);
+      assertEquals(1, files(cache.resolve("stamps")).size());
+
+      // Same size and time: the recorded hash is used without reading.
+      var time = Files.getLastModifiedTime(file);
+      Files.write(file, "NOT REALLY A LIBRARY".getBytes(
+          StandardCharsets.US_ASCII));
+      Files.setLastModifiedTime(file, time);
+      assertEquals(extracted, LibraryCache.extract(loader, RESOURCE, cache));
+
+      var changed = "a newer library".getBytes(StandardCharsets.US_ASCII);
+      Files.write(file, changed);
+      assertEquals(cache.resolve(sha256(changed)).resolve("libbundled.so"),
+          LibraryCache.extract(loader, RESOURCE, cache));
+    }
+  }
+
+  @Test
+  void recordsHashOfJarEntry() throws Exception {
+    var jar = Files.createTempFile("affm-classpath", ".jar");
+    var cache = Files.createTempDirectory("affm-cache");
+    try (var out = new JarOutputStream(Files.newOutputStream(jar))) {
+      out.putNextEntry(new JarEntry(RESOURCE));
+      out.write(CONTENT);
+    }
+
+    try (var loader = loader(jar)) {
+      var extracted = LibraryCache.extract(loader, RESOURCE, cache);
+
+      assertEquals(cache.resolve(sha256(CONTENT)).resolve("libbundled.so"),
+          extracted);
+      assertEquals(1, files(cache.resolve("stamps")).size());
+      assertEquals(extracted, LibraryCache.extract(loader, RESOURCE, cache));
+    }
+  }
+
+  @Test
+  void usesBundledHash() throws Exception {
+    var classpath = Files.createTempDirectory("affm-classpath");
+    var cache = Files.createTempDirectory("affm-cache");
+    var hash = sha256(CONTENT);
+    bundle(classpath, RESOURCE, CONTENT);
+    bundle(classpath, RESOURCE + ".sha256",
+        (hash + "  libbundled.so\n").getBytes(StandardCharsets.US_ASCII));
+
+    try (var loader = loader(classpath)) {
+      assertEquals(cache.resolve(hash).resolve("libbundled.so"),
+          LibraryCache.extract(loader, RESOURCE, cache));
+    }
+  }
+
+  @Test
+  void rejectsWrongBundledHash() throws Exception {
+    var classpath = Files.createTempDirectory("affm-classpath");
+    var cache = Files.createTempDirectory("affm-cache");
+    var wrong = sha256(new byte[0]);
+    bundle(classpath, RESOURCE, CONTENT);
+    bundle(classpath, RESOURCE + ".sha256",
+        wrong.getBytes(StandardCharsets.US_ASCII));
+
+    try (var loader = loader(classpath)) {
+      assertThrows(IOException.class,
+          () -> LibraryCache.extract(loader, RESOURCE, cache));
+      assertEquals(List.of(), files(cache.resolve(wrong)));
+    }
+  }
+
+  @Test
+  void skipsMissingResource() throws Exception {
+    var classpath = Files.createTempDirectory("affm-classpath");
+    var cache = Files.createTempDirectory("affm-cache");
+
+    try (var loader = loader(classpath)) {
+      assertNull(LibraryCache.extract(loader, RESOURCE, cache));
+    }
+  }
+
+  private static Path bundle(Path classpath, String resource, byte[] content)
+      throws IOException {
+    var file = classpath.resolve(resource);
+    Files.createDirectories(file.getParent());
+    return Files.write(file, content);
+  }
+
+  private static URLClassLoader loader(Path classpath) throws IOException {
+    return new URLClassLoader(new URL[] {classpath.toUri().toURL()}, null);
+  }
+
+  private static List<Path> files(Path directory) throws IOException {
+    try (var files = Files.list(directory)) {
+      return files.toList();
+    }
+  }
+
+  private static String sha256(byte[] content) throws Exception {
+    return HexFormat.of().formatHex(
+        MessageDigest.getInstance("SHA-256").digest(content));
+  }
+}
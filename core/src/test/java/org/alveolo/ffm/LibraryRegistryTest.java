@@ -0,0 +1,59 @@
+package org.alveolo.ffm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+class LibraryRegistryTest {
+  @Test
+  void sharesLoadedLibrary() {
+    var library = javaLibrary();
+    var relative = Path.of("").toAbsolutePath().relativize(library);
+
+    var lookup = LibraryRegistry.path(library);
+
+    assertSame(lookup, LibraryRegistry.path(relative));
+    assertTrue(LibraryRegistry.loaded().contains("path:" + library));
+  }
+
+  @Test
+  void remembersMissingFilesUntilTheyAppear() throws IOException {
+    var directory = Files.createTempDirectory("affm");
+    var file = directory.resolve(System.mapLibraryName("affm_late"));
+    // Registered in reverse, since a loaded library cannot go before exit
+    directory.toFile().deleteOnExit();
+    file.toFile().deleteOnExit();
+
+    var first = assertThrows(IllegalArgumentException.class,
+        () -> LibraryRegistry.path(file));
+    var second = assertThrows(IllegalArgumentException.class,
+        () -> LibraryRegistry.path(file));
+
+    assertNotSame(first, second);
+    assertEquals(first.getMessage(), second.getMessage());
+    assertTrue(LibraryRegistry.loaded().stream()
+        .noneMatch(key -> key.contains("affm_late")));
+
+    Files.copy(javaLibrary(), file);
+    assertNotNull(LibraryRegistry.path(file));
+    assertTrue(LibraryRegistry.loaded().contains("path:" + file));
+  }
+
+  private static Path javaLibrary() {
+    var windows = System.getProperty("os.name").toLowerCase(Locale.ROOT)
+        .contains("win");
+
+    return Path.of(System.getProperty("java.home"), windows ? "bin" : "lib",
+        System.mapLibraryName("java")).toAbsolutePath().normalize();
+  }
+}
@@ -0,0 +1,101 @@
+package org.alveolo.ffm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.foreign.Arena;
+import java.nio.file.Files;
+import java.time.Duration;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+
+class NativeCallEventTest {
+  @Test
+  void usesArenaAsIsWhileDisabled() {
+    try (var arena = Arena.ofConfined()) {
+      assertSame(arena, new NativeCallEvent().arena(arena));
+    }
+  }
+
+  @Test
+  void recordsCall() throws Exception {
+    var file = Files.createTempFile("native-call", ".jfr");
+
+    try (var recording = new Recording()) {
+      recording.enable(NativeCallEvent.class).withThreshold(Duration.ZERO);
+      recording.start();
+
+      var event = new NativeCallEvent();
+      event.begin();
+      try (var arena = event.arena(Arena.ofConfined())) {
+        arena.allocate(16L);
+        event.copiedIn(12L);
+        event.copiedOut(4L);
+      } finally {
+        event.commit(NativeCallEventTest.class, "call", "native_call");
+      }
+
+      recording.stop();
+      recording.dump(file);
+    }
+
+    try {
+      var events = RecordingFile.readAllEvents(file);
+      assertEquals(1, events.size());
+
+      var event = events.getFirst();
+      assertEquals("org.alveolo.ffm.NativeCall",
+          event.getEventType().getName());
+      assertEquals(NativeCallEventTest.class.getName(),
+          event.getClass("declaringClass").getName());
+      assertEquals("call", event.getString("method"));
+      assertEquals("native_call", event.getString("symbol"));
+      assertEquals(12L, event.getLong("bytesIn"));
+      assertEquals(4L, event.getLong("bytesOut"));
+      assertEquals(16L, event.getLong("arenaBytes"));
+      assertFalse(event.getBoolean("virtualThread"));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void recordsVirtualCallerOfPooledCall() throws Exception {
+    var file = Files.createTempFile("native-call", ".jfr");
+
+    try (var recording = new Recording()) {
+      recording.enable(NativeCallEvent.class).withThreshold(Duration.ZERO);
+      recording.start();
+
+      // As generated for a @Blocking call made on a virtual thread
+      Thread.ofVirtual().start(() -> BlockingCalls.await(
+          BlockingCalls.run(() -> {
+            var event = new NativeCallEvent();
+            event.begin();
+            event.commit(NativeCallEventTest.class, "sleep", "sleep");
+          }))).join();
+
+      recording.stop();
+      recording.dump(file);
+    }
+
+    try {
+      var events = RecordingFile.readAllEvents(file).stream()
+          .filter(event -> event.getEventType().getName()
+              .equals("org.alveolo.ffm.NativeCall"))
+          .toList();
+      assertEquals(1, events.size());
+
+      var event = events.getFirst();
+      assertTrue(event.getThread().getJavaName().startsWith("affm-blocking-"));
+      assertTrue(event.getBoolean("virtualThread"));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package org.alveolo.ffm;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.foreign.MemorySegment;
+
+import org.junit.jupiter.api.Test;
+
+class NativeCharSequenceTest {
+  private static MemorySegment cString(String value) {
+    return MemorySegment.ofArray((value + "\0trailing").getBytes(UTF_8));
+  }
+
+  @Test
+  void stopsAtTerminator() {
+    var view = NativeCharSequence.of(cString("hello"));
+
+    assertEquals(5L, view.segment().byteSize());
+    assertEquals(5, view.length());
+    assertEquals('e', view.charAt(1));
+    assertEquals("ell", view.subSequence(1, 4).toString());
+    assertEquals("hello", view.toString());
+    assertEquals("hello".hashCode(), view.hashCode());
+  }
+
+  @Test
+  void stopsAtSegmentEndWithoutTerminator() {
+    var view = NativeCharSequence.of(cString("hello").asSlice(0L, 3L));
+
+    assertEquals("hel", view.toString());
+    assertEquals("hel", NativeString.decode(cString("hello").asSlice(0L, 3L)));
+  }
+
+  @Test
+  void decodesNonAsciiOnDemand() {
+    var view = NativeCharSequence.of(cString("мир 😀"));
+
+    assertEquals(11L, view.segment().byteSize());
+    assertEquals("мир 😀".length(), view.length());
+    assertEquals('и', view.charAt(1));
+    assertEquals("мир 😀".hashCode(), view.hashCode());
+  }
+
+  @Test
+  void comparesPrefixAndContentAsBytes() {
+    var view = NativeCharSequence.of(cString("мир 😀"));
+
+    assertTrue(view.startsWith(""));
+    assertTrue(view.startsWith("ми"));
+    assertTrue(view.startsWith("мир 😀"));
+    assertFalse(view.startsWith("мир 😀!"));
+    assertFalse(view.startsWith("мы"));
+    assertEquals(NativeCharSequence.of(cString("мир 😀")), view);
+    assertFalse(view.equals(NativeCharSequence.of(cString("мир"))));
+  }
+}
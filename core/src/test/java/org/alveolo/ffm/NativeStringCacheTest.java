@@ -0,0 +1,45 @@
+package org.alveolo.ffm;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class NativeStringCacheTest {
+  @Test
+  void returnsSameSegmentOnHit() {
+    var misses = NativeStringCache.misses();
+    var hits = NativeStringCache.hits();
+
+    var first = NativeStringCache.get("cache-hit-test");
+    var second = NativeStringCache.get("cache-hit-test");
+
+    assertSame(first, second);
+    assertEquals(misses + 1, NativeStringCache.misses());
+    assertEquals(hits + 1, NativeStringCache.hits());
+    assertEquals("cache-hit-test", first.getString(0L));
+    assertEquals(0, first.get(JAVA_BYTE, first.byteSize() - 1));
+  }
+
+  @Test
+  void staysWithinCapacity() {
+    var evictions = NativeStringCache.evictions();
+
+    for (int i = 0; i < NativeStringCache.CAPACITY * 2; i++) {
+      NativeStringCache.get("cache-capacity-test-" + i);
+    }
+
+    assertTrue(NativeStringCache.size() <= NativeStringCache.CAPACITY);
+    assertTrue(NativeStringCache.evictions() > evictions);
+  }
+
+  @Test
+  void keepsEvictedSegmentsUsable() {
+    var segment = NativeStringCache.get("cache-evicted-test");
+    NativeStringCache.clear();
+
+    assertEquals("cache-evicted-test", segment.getString(0L));
+  }
+}
@@ -0,0 +1,49 @@
+package org.alveolo.ffm;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.foreign.Arena;
+
+import org.junit.jupiter.api.Test;
+
+class NativeStringTest {
+  @Test
+  void encodesLikeGetBytes() {
+    var values = new String[] {
+        "",
+        "strlen",
+        "café",
+        "ÿĀ߿ࠀ￿",
+        "emoji 😀 end",
+        "unpaired \ud83d end",
+        "unpaired \ude00 end",
+        "trailing \ud83d",
+    };
+
+    try (var arena = Arena.ofConfined()) {
+      for (var value : values) {
+        var expected = value.getBytes(UTF_8);
+        assertEquals(expected.length, NativeString.utf8Length(value), value);
+
+        var segment = NativeString.allocateFrom(arena, value);
+        assertEquals(expected.length + 1L, segment.byteSize(), value);
+        assertArrayEquals(expected,
+            segment.asSlice(0, expected.length).toArray(JAVA_BYTE), value);
+        assertEquals(0, segment.get(JAVA_BYTE, expected.length), value);
+      }
+    }
+  }
+
+  @Test
+  void rejectsShortTarget() {
+    try (var arena = Arena.ofConfined()) {
+      var target = arena.allocate(3);
+      assertThrows(IndexOutOfBoundsException.class,
+          () -> NativeString.encode("abc", target));
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package org.alveolo.ffm;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+class ScratchArenaTest {
+  @Test
+  void reusesMemoryAfterFrameCloses() {
+    long first;
+    try (var frame = ScratchArena.push()) {
+      var segment = frame.allocate(JAVA_LONG, 2);
+      segment.setAtIndex(JAVA_LONG, 0, 42L);
+      first = segment.address();
+      assertEquals(0L, segment.address() % JAVA_LONG.byteAlignment());
+    }
+
+    try (var frame = ScratchArena.push()) {
+      var segment = frame.allocate(JAVA_LONG, 2);
+      assertEquals(first, segment.address());
+      assertEquals(0L, segment.getAtIndex(JAVA_LONG, 0));
+    }
+  }
+
+  @Test
+  void nestedFramesBehaveLikeAStack() {
+    try (var outer = ScratchArena.push()) {
+      var a = outer.allocate(JAVA_BYTE, 3);
+      long inner;
+      try (var frame = ScratchArena.push()) {
+        var b = frame.allocate(JAVA_LONG);
+        inner = b.address();
+        assertTrue(inner >= a.address() + a.byteSize());
+        assertEquals(0L, inner % JAVA_LONG.byteAlignment());
+      }
+
+      assertEquals(inner, outer.allocate(JAVA_LONG).address());
+    }
+  }
+
+  @Test
+  void overflowsIntoAConfinedArena() {
+    var frame = ScratchArena.push();
+    var large = frame.allocate(ScratchArena.BLOCK_SIZE + 1, 1L);
+    assertEquals(ScratchArena.BLOCK_SIZE + 1, large.byteSize());
+    assertTrue(large.scope().isAlive());
+    frame.close();
+    assertFalse(large.scope().isAlive());
+  }
+
+  @Test
+  void invalidatesSegmentsOnClose() {
+    var frame = ScratchArena.push();
+    var segment = frame.allocate(JAVA_LONG);
+    assertEquals(frame.scope(), segment.scope());
+    frame.close();
+
+    assertFalse(segment.scope().isAlive());
+    assertThrows(IllegalStateException.class,
+        () -> segment.get(JAVA_LONG, 0L));
+  }
+
+  @Test
+  void virtualThreadsAllocateWithoutABlock() throws Exception {
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      executor.submit(() -> {
+        MemorySegment segment;
+        try (var frame = ScratchArena.push()) {
+          segment = frame.allocate(JAVA_LONG, 2);
+          assertEquals(0L, segment.getAtIndex(JAVA_LONG, 1));
+          assertEquals(frame.scope(), segment.scope());
+        }
+        assertFalse(segment.scope().isAlive());
+        return null;
+      }).get();
+    }
+  }
+
+  @Test
+  void rejectsMisuse() throws Exception {
+    var outer = ScratchArena.push();
+    var inner = ScratchArena.push();
+    assertThrows(IllegalStateException.class, outer::close);
+    inner.close();
+    outer.close();
+    assertThrows(IllegalStateException.class, () -> outer.allocate(8L));
+
+    try (var frame = ScratchArena.push();
+        var executor = Executors.newSingleThreadExecutor()) {
+      var failure = executor.submit(() -> frame.allocate(8L));
+      var cause = assertThrows(Exception.class, failure::get).getCause();
+      assertEquals(WrongThreadException.class, cause.getClass());
+    }
+  }
+}
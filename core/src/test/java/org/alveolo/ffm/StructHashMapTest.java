@@ -0,0 +1,161 @@
+package org.alveolo.ffm;
+
+import static java.lang.foreign.MemoryLayout.structLayout;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static org.alveolo.ffm.ForeignUtils.structPad;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class StructHashMapTest {
+  // struct { int left; int right; }
+  private static final MemoryLayout PAIR =
+      structLayout(JAVA_INT.withName("left"), JAVA_INT.withName("right"));
+
+  @Test
+  void slotsAreLaidOutAsC() {
+    // struct { char tag; long id; } has 7 bytes of padding after the tag
+    var key = structLayout(structPad(JAVA_BYTE, JAVA_LONG));
+    try (var map = new StructHashMap(key, JAVA_INT)) {
+      // struct { int32_t hash; <pad 4>; key; int32_t value; <pad 4> }
+      assertEquals(32, map.slotLayout().byteSize());
+      assertEquals(8, map.keyOffset(0));
+      assertEquals(24, map.valueOffset(0));
+      assertEquals(16, map.capacity());
+      assertEquals(16 * 32, map.table().byteSize());
+    }
+  }
+
+  @Test
+  void keysIgnorePadding() {
+    var key = structLayout(structPad(JAVA_BYTE, JAVA_LONG));
+    try (var map = new StructHashMap(key, JAVA_INT);
+        var arena = Arena.ofConfined()) {
+      var first = arena.allocate(key);
+      first.set(JAVA_BYTE, 0, (byte) 1);
+      first.set(JAVA_LONG, 8, 42L);
+      var second = arena.allocate(key);
+      MemorySegment.copy(first, 0, second, 0, key.byteSize());
+      second.set(JAVA_BYTE, 5, (byte) 0x7f);
+
+      map.table().set(JAVA_INT, map.valueOffset(map.insert(first)), 7);
+      assertEquals(7, map.getInt(second, 0, -1));
+      assertEquals(1, map.size());
+    }
+  }
+
+  @Test
+  void matchesHashMapAcrossGrowthAndRemoval() {
+    var expected = new HashMap<Long, Long>();
+    var random = new Random(42);
+
+    try (var map = new StructHashMap(PAIR, JAVA_LONG);
+        var arena = Arena.ofConfined()) {
+      var key = arena.allocate(PAIR);
+      var value = arena.allocate(JAVA_LONG);
+
+      for (int i = 0; i < 20_000; i++) {
+        int left = random.nextInt(64);
+        int right = random.nextInt(64);
+        key.set(JAVA_INT, 0, left);
+        key.set(JAVA_INT, 4, right);
+        var packed = (long) left << 32 | right;
+
+        if (random.nextInt(3) == 0) {
+          assertEquals(expected.remove(packed) != null, map.remove(key));
+        } else {
+          value.set(JAVA_LONG, 0, i);
+          assertEquals(expected.put(packed, (long) i) == null,
+              map.put(key, value));
+        }
+      }
+
+      assertEquals(expected.size(), map.size());
+      assertTrue(map.capacity() > 16);
+
+      for (int left = 0; left < 64; left++) {
+        for (int right = 0; right < 64; right++) {
+          key.set(JAVA_INT, 0, left);
+          key.set(JAVA_INT, 4, right);
+          var packed = (long) left << 32 | right;
+          assertEquals(expected.getOrDefault(packed, -1L),
+              map.getLong(key, 0, -1L));
+        }
+      }
+
+      long occupied = 0;
+      for (long slot = 0; slot < map.capacity(); slot++) {
+        if (map.occupied(slot)) occupied++;
+      }
+      assertEquals(map.size(), occupied);
+
+      map.clear();
+      assertTrue(map.isEmpty());
+      assertFalse(map.containsKey(key));
+    }
+  }
+
+  @Test
+  void growthClosesPreviousTable() {
+    try (var map = new StructHashMap(PAIR, JAVA_LONG);
+        var arena = Arena.ofConfined()) {
+      var table = map.table();
+      var key = arena.allocate(PAIR);
+      for (int i = 0; i < 13; i++) {
+        key.set(JAVA_INT, 0, i);
+        map.insert(key);
+      }
+
+      assertEquals(32, map.capacity());
+      assertFalse(table.scope().isAlive());
+      assertThrows(IllegalStateException.class,
+          () -> table.get(JAVA_INT, 0));
+    }
+  }
+
+  @Test
+  void structuredKeysKeepProbesShort() {
+    var count = 100_000;
+    try (var map = new StructHashMap(PAIR, JAVA_LONG);
+        var arena = Arena.ofConfined()) {
+      var key = arena.allocate(PAIR);
+      for (int i = 0; i < count; i++) {
+        key.set(JAVA_INT, 0, i);
+        key.set(JAVA_INT, 4, i);
+        map.insert(key);
+        key.set(JAVA_INT, 4, ~i);
+        map.insert(key);
+      }
+      assertEquals(2L * count, map.size());
+
+      // Distance of every entry from its documented home slot
+      var mask = map.capacity() - 1;
+      var shift = 32 - Long.numberOfTrailingZeros(map.capacity());
+      var slotSize = map.slotLayout().byteSize();
+      long total = 0;
+      long longest = 0;
+      for (long slot = 0; slot < map.capacity(); slot++) {
+        if (!map.occupied(slot)) continue;
+        var hash = map.table().get(JAVA_INT, slot * slotSize);
+        var home = hash * 0x9E3779B9 >>> shift;
+        var distance = slot - home & mask;
+        total += distance;
+        longest = Math.max(longest, distance);
+      }
+
+      assertTrue(total < 2L * map.size(), "total distance: " + total);
+      assertTrue(longest < 100, "longest distance: " + longest);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package org.alveolo.ffm;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandles;
+import java.util.function.IntUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+class UpcallStubsTest {
+  private static final FunctionDescriptor DESCRIPTOR =
+      FunctionDescriptor.of(JAVA_INT, JAVA_INT);
+
+  private static final UpcallStubs STUBS = new UpcallStubs(
+      MethodHandles.lookup(), IntUnaryOperator.class, "applyAsInt",
+      DESCRIPTOR);
+
+  @Test
+  void callsImplementationThroughStub() throws Throwable {
+    int step = 3;
+
+    try (var arena = Arena.ofConfined()) {
+      var stub = STUBS.stub(arena, v -> v + step);
+      var call = Linker.nativeLinker().downcallHandle(stub, DESCRIPTOR);
+
+      assertEquals(10, (int) call.invokeExact(7));
+    }
+  }
+
+  @Test
+  void reusesStubForStatelessImplementation() {
+    IntUnaryOperator negate = Math::negateExact;
+
+    try (var first = Arena.ofConfined(); var second = Arena.ofConfined()) {
+      assertEquals(STUBS.stub(first, negate), STUBS.stub(second, negate));
+    }
+  }
+
+  @Test
+  void createsStubForEachCapturingImplementation() {
+    int step = 3;
+    IntUnaryOperator add = v -> v + step;
+
+    try (var arena = Arena.ofConfined()) {
+      assertNotEquals(STUBS.stub(arena, add), STUBS.stub(arena, add));
+    }
+  }
+
+  @Test
+  void passesNullCallbackAsNullPointer() {
+    try (var arena = Arena.ofConfined()) {
+      assertEquals(MemorySegment.NULL, STUBS.stub(arena, null));
+    }
+  }
+
+  @Test
+  void rejectsMismatchedMethod() {
+    assertThrows(IllegalArgumentException.class, () -> new UpcallStubs(
+        MethodHandles.lookup(), IntUnaryOperator.class, "andThen",
+        DESCRIPTOR));
+  }
+}
@@ -0,0 +1,85 @@
+package org.alveolo.ffm;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class VariadicHandlesTest {
+  private final List<FunctionDescriptor> linked = new ArrayList<>();
+  private final List<Object> received = new ArrayList<>();
+
+  private final VariadicHandles handles = new VariadicHandles(
+      FunctionDescriptor.ofVoid(JAVA_INT), this::link);
+
+  /// Stands in for the native linker: records the descriptor and returns a
+  /// handle that records the native arguments.
+  private MethodHandle link(FunctionDescriptor descriptor) {
+    linked.add(descriptor);
+
+    try {
+      var type = descriptor.toMethodType();
+      return MethodHandles.lookup()
+          .findVirtual(VariadicHandlesTest.class, "receive",
+              MethodType.methodType(void.class, Object[].class))
+          .bindTo(this)
+          .asCollector(Object[].class, type.parameterCount())
+          .asType(type);
+    } catch (ReflectiveOperationException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private void receive(Object[] arguments) {
+    received.addAll(List.of(arguments));
+  }
+
+  @Test
+  void linksPromotedShape() throws Throwable {
+    Object[] arguments = {(byte) 1, 'x', true, 2L, 1.5f, MemorySegment.NULL};
+
+    handles.handle(arguments).invokeExact(7, arguments);
+
+    assertEquals(List.of(FunctionDescriptor.ofVoid(JAVA_INT,
+        JAVA_INT, JAVA_INT, JAVA_INT, JAVA_LONG, JAVA_DOUBLE, ADDRESS)),
+        linked);
+    assertEquals(List.of(7, 1, (int) 'x', 1, 2L, 1.5d, MemorySegment.NULL),
+        received);
+  }
+
+  @Test
+  void linksEachShapeOnce() {
+    var ints = handles.handle(new Object[] {1, 2});
+
+    assertSame(ints, handles.handle(new Object[] {3, (short) 4}));
+    handles.handle(new Object[] {1L});
+    handles.handle(new Object[0]);
+    assertSame(ints, handles.handle(new Object[] {5, 6}));
+
+    assertEquals(3, linked.size());
+    assertEquals(3, handles.size());
+  }
+
+  @Test
+  void rejectsUnsupportedArguments() {
+    assertThrows(IllegalArgumentException.class,
+        () -> handles.handle(new Object[] {"text"}));
+    assertThrows(NullPointerException.class,
+        () -> handles.handle(new Object[] {null}));
+    assertThrows(IllegalArgumentException.class, () -> handles.handle(
+        new Object[VariadicHandles.MAX_ARGUMENTS + 1]));
+  }
+}
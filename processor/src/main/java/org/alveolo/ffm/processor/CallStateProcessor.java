@@ -190,6 +190,20 @@ public class CallStateProcessor extends AbstractProcessor {
                 public int <accessor>() {
                   return (int) <accessor>$VarHandle$F.get(MemorySegment$F);
                 }
+
+                private static final java.lang.ThreadLocal<<class>> Current$F =
+                    java.lang.ThreadLocal.withInitial(
+                        () -> new <class>(java.lang.foreign.Arena.ofAuto()));
+
+                public static <class> current$F() {
+                  return Current$F.get();
+                }
+
+                public static org.alveolo.ffm.CallStateException exception$F(
+                    String call) {
+                  return new org.alveolo.ffm.CallStateException(
+                      call, StateName$F, current$F().<accessor>());
+                }
               }
               """
               .replace("<generator>", getClass().getCanonicalName())
@@ -0,0 +1,234 @@
+package org.alveolo.ffm.processor;
+
+import static java.util.stream.Collectors.joining;
+import static javax.lang.model.SourceVersion.RELEASE_25;
+import static org.alveolo.ffm.processor.ProcessorUtils.callbackClassName;
+import static org.alveolo.ffm.processor.ProcessorUtils.callbackSimpleClassName;
+import static org.alveolo.ffm.processor.ProcessorUtils.packageName;
+import static org.alveolo.ffm.processor.ProcessorUtils.quote;
+import static org.alveolo.ffm.processor.ProcessorUtils.validateGeneratedClassName;
+import static org.alveolo.ffm.processor.ProcessorUtils.validateSimpleClassName;
+import static org.alveolo.ffm.processor.ProcessorUtils.validateTopLevelType;
+import static org.alveolo.ffm.processor.ProcessorUtils.validateUserIdentifiers;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.tools.Diagnostic;
+
+import org.alveolo.ffm.Callback;
+
+@SupportedAnnotationTypes("org.alveolo.ffm.Callback")
+@SupportedOptions(ProcessorUtils.NATIVE_IMAGE_OPTION)
+@SupportedSourceVersion(RELEASE_25)
+public class CallbackProcessor extends AbstractProcessor {
+  private NativeImageMetadata nativeImage;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    nativeImage = new NativeImageMetadata(processingEnv);
+  }
+
+  @Override
+  public boolean process(
+      Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      nativeImage.write("callbacks");
+      return true;
+    }
+
+    var generatedTypes = GeneratedTypeRegistry.create(processingEnv, roundEnv);
+
+    roundEnv.getElementsAnnotatedWith(Callback.class)
+        .forEach(element -> {
+          if (element instanceof TypeElement type) {
+            processType(type, generatedTypes);
+          }
+        });
+
+    return true;
+  }
+
+  private void processType(
+      TypeElement type, GeneratedTypeRegistry generatedTypes) {
+    var messager = processingEnv.getMessager();
+
+    try {
+      var annotation = type.getAnnotation(Callback.class);
+      if (annotation == null) return;
+
+      if (type.getKind() != ElementKind.INTERFACE) {
+        messager.printError(
+            "@Callback can only be applied to an interface, not "
+                + type.getKind(),
+            type);
+        return;
+      }
+
+      validateSimpleClassName(type, annotation, annotation.name());
+      validateGeneratedClassName(type, annotation,
+          callbackSimpleClassName(type));
+      validateUserIdentifiers(type);
+      validateTopLevelType(type, annotation);
+
+      var method = validate(type, generatedTypes);
+      if (method != null) {
+        write(type, method, generatedTypes);
+      }
+    } catch (ProcessorError e) {
+      messager.printMessage(Diagnostic.Kind.ERROR,
+          e.getMessage(), e.element);
+    } catch (Throwable e) {
+      var sw = new StringWriter();
+      e.printStackTrace(new PrintWriter(sw));
+      messager.printError(sw.toString(), type);
+    }
+  }
+
+  private ExecutableElement validate(
+      TypeElement type, GeneratedTypeRegistry generatedTypes) {
+    var messager = processingEnv.getMessager();
+
+    if (!type.getTypeParameters().isEmpty()) {
+      messager.printError("@Callback interface must not be generic", type);
+      return null;
+    }
+
+    var methods = type.getEnclosedElements().stream()
+        .filter(ExecutableElement.class::isInstance)
+        .map(ExecutableElement.class::cast)
+        .filter(method -> method.getKind() == ElementKind.METHOD)
+        .filter(method -> method.getModifiers().contains(Modifier.ABSTRACT))
+        .toList();
+
+    if (methods.size() != 1) {
+      messager.printError(
+          "@Callback interface must declare exactly one abstract method",
+          type);
+      return null;
+    }
+
+    var method = methods.getFirst();
+    var valid = method.getReturnType().getKind() == TypeKind.VOID
+        || isUpcallType(returnGenerator(method, generatedTypes));
+
+    for (var parameter : parameterGenerators(method, generatedTypes)) {
+      valid &= isUpcallType(parameter);
+    }
+
+    if (!valid) {
+      messager.printError(
+          "@Callback method parameters and result must be primitives or "
+              + "MemorySegment",
+          method);
+    }
+
+    return valid ? method : null;
+  }
+
+  /// Plain primitives and pointers map to one upcall carrier on every
+  /// platform; C scalar annotations may change the carrier and are rejected.
+  private static boolean isUpcallType(TypeGenerator type) {
+    return type.isMemorySegment()
+        || type.isPrimitive() && !type.isPrimitiveAddress()
+            && !type.hasCanonicalScalar() && !type.unsupported();
+  }
+
+  private void write(TypeElement type, ExecutableElement method,
+      GeneratedTypeRegistry generatedTypes) throws IOException {
+    var elements = processingEnv.getElementUtils();
+    var packageName = packageName(type, elements);
+    var className = callbackClassName(type, elements);
+    var simpleClassName = callbackSimpleClassName(type);
+    var sourceName = type.getSimpleName().toString();
+
+    var file = processingEnv.getFiler().createSourceFile(className, type);
+    try (var out = new PlatformWriter(file.openWriter())) {
+      if (!packageName.isEmpty()) {
+        out.write("package " + packageName + ";\n\n");
+      }
+
+      out.write(
+          """
+              @javax.annotation.processing.Generated(
+                  "<generator>")
+              public final class <class> {
+                private <class>() {}
+
+                public static final java.lang.foreign.FunctionDescriptor
+                    FunctionDescriptor$F = <descriptor>;
+
+                public static final org.alveolo.ffm.UpcallStubs UpcallStubs$F =
+                    new org.alveolo.ffm.UpcallStubs(
+                        java.lang.invoke.MethodHandles.lookup(),
+                        <source>.class, <method>, FunctionDescriptor$F);
+
+                public static java.lang.foreign.MemorySegment upcallStub$F(
+                    java.lang.foreign.Arena arena, <source> callback) {
+                  return UpcallStubs$F.stub(arena, callback);
+                }
+              }
+              """
+              .replace("<generator>", getClass().getCanonicalName())
+              .replace("<class>", simpleClassName)
+              .replace("<source>", sourceName)
+              .replace("<descriptor>", descriptor(method, generatedTypes))
+              .replace("<method>", quote(method.getSimpleName().toString())));
+    }
+
+    var isVoid = method.getReturnType().getKind() == TypeKind.VOID;
+    nativeImage.upcall(type,
+        isVoid ? null : returnGenerator(method, generatedTypes).layout(),
+        parameterGenerators(method, generatedTypes).stream()
+            .map(TypeGenerator::layout)
+            .toList());
+  }
+
+  private String descriptor(
+      ExecutableElement method, GeneratedTypeRegistry generatedTypes) {
+    var isVoid = method.getReturnType().getKind() == TypeKind.VOID;
+
+    var layouts = Stream.concat(
+        isVoid ? Stream.<String> empty()
+            : Stream.of(returnGenerator(method, generatedTypes).layout()),
+        parameterGenerators(method, generatedTypes).stream()
+            .map(TypeGenerator::layout));
+
+    var prefix = isVoid
+        ? "java.lang.foreign.FunctionDescriptor.ofVoid("
+        : "java.lang.foreign.FunctionDescriptor.of(";
+    var newLine = "\n          ";
+
+    return layouts.collect(joining("," + newLine, prefix + newLine, ")"));
+  }
+
+  private TypeGenerator returnGenerator(
+      ExecutableElement method, GeneratedTypeRegistry generatedTypes) {
+    return new TypeGenerator(
+        processingEnv, generatedTypes, method.getReturnType(), method);
+  }
+
+  private List<VariableGenerator> parameterGenerators(
+      ExecutableElement method, GeneratedTypeRegistry generatedTypes) {
+    return method.getParameters().stream()
+        .map(parameter -> new VariableGenerator(
+            processingEnv, generatedTypes, parameter))
+        .toList();
+  }
+}
@@ -3,11 +3,13 @@ package org.alveolo.ffm.processor;
 import static javax.lang.model.SourceVersion.RELEASE_25;
 import static org.alveolo.ffm.processor.ProcessorUtils.dispatchTableClassName;
 import static org.alveolo.ffm.processor.ProcessorUtils.dispatchTableSimpleClassName;
+import static org.alveolo.ffm.processor.ProcessorUtils.isOptionEnabled;
 import static org.alveolo.ffm.processor.ProcessorUtils.packageName;
 import static org.alveolo.ffm.processor.ProcessorUtils.validateGeneratedClassName;
 import static org.alveolo.ffm.processor.ProcessorUtils.validateSimpleClassName;
 import static org.alveolo.ffm.processor.ProcessorUtils.validateTopLevelType;
 import static org.alveolo.ffm.processor.ProcessorUtils.validateUserIdentifiers;
+import static org.alveolo.ffm.processor.ProcessorUtils.writeIndex;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -16,11 +18,14 @@ import java.io.Writer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.IntStream;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
@@ -28,16 +33,41 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 
+import org.alveolo.ffm.Bindings;
 import org.alveolo.ffm.DispatchTable;
 import org.alveolo.ffm.Slot;
 
 @SupportedAnnotationTypes("org.alveolo.ffm.DispatchTable")
+@SupportedOptions({
+  ProcessorUtils.JFR_OPTION,
+  ProcessorUtils.METRICS_OPTION,
+  ProcessorUtils.PRELOAD_INDEX_OPTION,
+  ProcessorUtils.NATIVE_IMAGE_OPTION,
+})
 @SupportedSourceVersion(RELEASE_25)
 public class DispatchTableProcessor extends AbstractProcessor {
+  /// Generated classes of all rounds, for the preload index.
+  private final Set<String> tables = new TreeSet<>();
+
+  private NativeImageMetadata nativeImage;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    nativeImage = new NativeImageMetadata(processingEnv);
+  }
+
   @Override
   public boolean process(
       Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-    if (roundEnv.processingOver()) return true;
+    if (roundEnv.processingOver()) {
+      if (isOptionEnabled(processingEnv, ProcessorUtils.PRELOAD_INDEX_OPTION)
+          && !tables.isEmpty()) {
+        writeIndex(processingEnv, Bindings.DISPATCH_TABLE_INDEX, tables);
+      }
+      nativeImage.write("dispatch-tables");
+      return true;
+    }
 
     var generatedTypes = GeneratedTypeRegistry.create(processingEnv, roundEnv);
 
@@ -93,6 +123,7 @@ public class DispatchTableProcessor extends AbstractProcessor {
     String simpleClassName = dispatchTableSimpleClassName(iface);
 
     var file = processingEnv.getFiler().createSourceFile(className, iface);
+    tables.add(className);
 
     try (var out = new PlatformWriter(file.openWriter())) {
       if (!packageName.isEmpty()) {
@@ -131,6 +162,7 @@ public class DispatchTableProcessor extends AbstractProcessor {
         var generator = generators.get(i);
         if (!generator.hasErrors) {
           writeMethodDescriptor(out, generator, i);
+          generator.registerDowncall(nativeImage);
         }
         out.write(generator.methodWithHandle());
       }
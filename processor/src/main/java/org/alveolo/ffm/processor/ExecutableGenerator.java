@@ -3,17 +3,36 @@ package org.alveolo.ffm.processor;
 import static java.util.function.Function.identity;
 import static java.util.function.Predicate.not;
 import static java.util.stream.Collectors.joining;
+import static org.alveolo.ffm.processor.ProcessorUtils.JFR_OPTION;
+import static org.alveolo.ffm.processor.ProcessorUtils.METRICS_OPTION;
+import static org.alveolo.ffm.processor.ProcessorUtils.isOptionEnabled;
+import static org.alveolo.ffm.processor.ProcessorUtils.quote;
+import static org.alveolo.ffm.processor.ProcessorUtils.typeValue;
 
+import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
 
+import org.alveolo.ffm.Blocking;
+import org.alveolo.ffm.Captures;
+import org.alveolo.ffm.Critical;
 import org.alveolo.ffm.FirstVariadicArg;
+import org.alveolo.ffm.MaxLength;
+import org.alveolo.ffm.Scratch;
 import org.alveolo.ffm.Symbol;
 
 class ExecutableGenerator {
@@ -25,9 +44,19 @@ class ExecutableGenerator {
   final List<NativeArgument> leadingNativeArguments;
   final String linkerExpression;
   final String lookupExpression;
+  final Critical critical;
+  final boolean scratch;
+  final boolean blocking;
+  final boolean metrics;
+  final boolean jfr;
   final TypeGenerator returnGenerator;
   final List<VariableGenerator> parameterGenerators;
+  final TypeGenerator captures;
+  final String failure;
+  final VariableGenerator variadicArguments;
+  final VariableGenerator stubArena;
   final ForeignMemoryAnalyzer memoryAnalyzer;
+  private final Types types;
 
   record NativeArgument(String layout, String expression) {}
   record LocalAllocation(
@@ -60,6 +89,12 @@ class ExecutableGenerator {
     this.leadingNativeArguments = leadingNativeArguments;
     this.linkerExpression = linkerExpression;
     this.lookupExpression = lookupExpression;
+    critical = methodOrTypeAnnotation(element, Critical.class);
+    scratch = methodOrTypeAnnotation(element, Scratch.class) != null;
+    blocking = element.getAnnotation(Blocking.class) != null;
+    metrics = isOptionEnabled(processingEnv, METRICS_OPTION);
+    jfr = isOptionEnabled(processingEnv, JFR_OPTION);
+    types = processingEnv.getTypeUtils();
     memoryAnalyzer = new ForeignMemoryAnalyzer(
         processingEnv, generatedTypes);
 
@@ -68,22 +103,67 @@ class ExecutableGenerator {
 
     parameterGenerators = element.getParameters().stream()
         .map(param -> new VariableGenerator(
-            processingEnv, generatedTypes, param))
+            processingEnv, generatedTypes, param,
+            critical != null && critical.allowHeapAccess()))
         .toList();
 
+    var capturesAnnotation = element.getAnnotation(Captures.class);
+    captures = capturesAnnotation == null ? null : new TypeGenerator(
+        processingEnv, generatedTypes,
+        typeValue(capturesAnnotation::value), element);
+    failure = capturesAnnotation == null
+        || capturesAnnotation.failure().isBlank()
+            ? null : capturesAnnotation.failure();
+
+    variadicArguments = parameterGenerators.stream()
+        .filter(VariableGenerator::isVariadicArguments)
+        .findFirst()
+        .orElse(null);
+
+    stubArena = parameterGenerators.stream()
+        .filter(TypeGenerator::isArena)
+        .findFirst()
+        .orElse(null);
+
     hasErrors = checkParameterTypes();
   }
 
   String methodWithHandle() {
     if (hasErrors) return throwingMethodPlaceholder();
 
-    return methodHandleDeclaration() + methodImpl(methodHandleName);
+    if (!metrics)
+      return methodHandleDeclaration() + methodImpl(methodHandleName, null);
+
+    return methodHandleDeclaration() + metricsDeclaration()
+        + methodImpl(methodHandleName, metricsName());
   }
 
   String methodOnly(String methodHandleExpression) {
     if (hasErrors) return throwingMethodPlaceholder();
 
-    return methodImpl(methodHandleExpression);
+    return methodImpl(methodHandleExpression, null);
+  }
+
+  /// Method whose handle is linked on first use by a holder class named
+  /// `holderName`.
+  String methodWithHolder(String holderName) {
+    if (hasErrors) return throwingMethodPlaceholder();
+
+    return methodHandleHolder(holderName)
+        + methodImpl(holderName + "." + methodHandleName,
+            metrics ? holderName + "." + metricsName() : null);
+  }
+
+  /// Statement of `preload$F()` that links the handle of
+  /// [#methodWithHolder(String)] ahead of the first call.
+  String preloadStatement(String holderName) {
+    if (hasErrors) return "";
+
+    return """
+            java.util.Objects.requireNonNull(<holder>.<handle>);
+        """
+        .replace("<holder>", holderName)
+        .replace("<handle>", methodHandleName);
   }
 
   private String throwingMethodPlaceholder() {
@@ -96,7 +176,236 @@ class ExecutableGenerator {
         .replace("<signature>", signature());
   }
 
-  private String methodImpl(String methodHandleExpression) {
+  /// Downcall method, wrapped by [Blocking] and call metrics methods when
+  /// needed. `metricsExpression` is `null` when calls are not measured.
+  private String methodImpl(
+      String methodHandleExpression, String metricsExpression) {
+    if (metricsExpression == null) {
+      if (!blocking)
+        return downcallImpl(signature(), methodHandleExpression, null);
+
+      return blockingImpl(downcallMethodName()) + downcallImpl(
+          signature("private", downcallMethodName()),
+          methodHandleExpression, null);
+    }
+
+    var downcall = downcallImpl(signature("private", downcallMethodName()),
+        methodHandleExpression, metricsExpression);
+
+    if (!blocking)
+      return meteredImpl(signature(), metricsExpression) + downcall;
+
+    return blockingImpl(meteredMethodName())
+        + meteredImpl(signature("private", meteredMethodName()),
+            metricsExpression)
+        + downcall;
+  }
+
+  /// Counts calls to the private downcall method and samples their latency.
+  private String meteredImpl(String signature, String metricsExpression) {
+    var isVoid = element.getReturnType().getKind() == TypeKind.VOID;
+
+    return """
+
+          <signature> {
+            var start$f = <metrics>.start();
+            try {
+              <return><downcall>;
+            } finally {
+              <metrics>.stop(start$f);
+            }
+          }
+        """
+        .replace("<signature>", signature)
+        .replace("<metrics>", metricsExpression)
+        .replace("<return>", isVoid ? "" : "return ")
+        .replace("<downcall>", call(downcallMethodName()));
+  }
+
+  /// Public method and its `$Async$F` variant for a [Blocking] call. Both
+  /// delegate to the private `target` method, inline on platform threads and
+  /// through `BlockingCalls` otherwise.
+  private String blockingImpl(String target) {
+    var isVoid = element.getReturnType().getKind() == TypeKind.VOID;
+    var returnPrefix = isVoid ? "" : "return ";
+    var arguments = parameterGenerators.stream()
+        .map(VariableGenerator::name)
+        .collect(joining(", "));
+
+    return """
+
+          <signature> {
+            if (java.lang.Thread.currentThread().isVirtual())
+              <return>org.alveolo.ffm.BlockingCalls.await(
+                  <name>$Async$F(<arguments>));
+            else
+              <return><downcall>;
+          }
+
+          public java.util.concurrent.CompletableFuture<<boxed>> <asyncSignature> {
+            <submit>
+          }
+        """
+        .replace("<signature>", signature())
+        .replace("<return>", returnPrefix)
+        .replace("<downcall>", call(target))
+        .replace("<name>", element.getSimpleName())
+        .replace("<arguments>", arguments)
+        .replace("<boxed>", boxedReturnTypeName())
+        .replace("<asyncSignature>", parameterList(
+            element.getSimpleName() + "$Async$F("))
+        .replace("<submit>", blockingSubmit(target, returnPrefix)
+            .replace("\n", "\n    "));
+  }
+
+  /// Submits the [Blocking] call to the pool. Native state is captured on
+  /// the pool thread, into its own instance, and copied into the caller's
+  /// `@CallState` argument or `@Captures` instance before the future
+  /// completes. A `@Captures` failure is thrown by the pooled call instead.
+  private String blockingSubmit(String target, String returnPrefix) {
+    var submit = element.getReturnType().getKind() == TypeKind.VOID
+        ? "run" : "supply";
+
+    var callState = parameterGenerators.stream()
+        .filter(TypeGenerator::isCallState)
+        .findFirst()
+        .orElse(null);
+
+    if (callState == null && (captures == null || failure != null)) {
+      return """
+          return org.alveolo.ffm.BlockingCalls.<submit>(
+              () -> <downcall>);"""
+          .replace("<submit>", submit)
+          .replace("<downcall>", call(target));
+    }
+
+    String outer;
+    String inner;
+    String downcall;
+    String copy;
+    if (callState != null) {
+      outer = "";
+      inner = "var state$f = " + callState.foreignMemoryClassName()
+          + ".current$F();\n  ";
+      downcall = target + parameterGenerators.stream()
+          .map(parameter -> parameter == callState
+              ? "state$f" : parameter.name())
+          .collect(joining(", ", "(", ")"));
+      copy = callState.invoke() + ".copyFrom(\n        state$f.MemorySegment$F)";
+    } else {
+      outer = "var state$f = " + captures.foreignMemoryClassName()
+          + ".current$F();\n";
+      inner = "";
+      downcall = call(target);
+      copy = "state$f.MemorySegment$F.copyFrom(\n        "
+          + captures.foreignMemoryClassName() + ".current$F().MemorySegment$F)";
+    }
+
+    return """
+        <outer>return org.alveolo.ffm.BlockingCalls.<submit>(() -> {
+          <inner>try {
+            <return><downcall>;
+          } finally {
+            <copy>;
+          }
+        });"""
+        .replace("<outer>", outer)
+        .replace("<submit>", submit)
+        .replace("<inner>", inner)
+        .replace("<return>", returnPrefix)
+        .replace("<downcall>", downcall)
+        .replace("<copy>", copy);
+  }
+
+  private String call(String method) {
+    return method + parameterGenerators.stream()
+        .map(VariableGenerator::name)
+        .collect(joining(", ", "(", ")"));
+  }
+
+  private String downcallMethodName() {
+    return element.getSimpleName() + "$Downcall$F";
+  }
+
+  private String meteredMethodName() {
+    return element.getSimpleName() + "$Metered$F";
+  }
+
+  /// Declaring interface, method name, and symbol of the JFR event. Function
+  /// pointers bound at run time have no symbol.
+  private String eventArguments() {
+    var owner = (TypeElement) element.getEnclosingElement();
+
+    return owner.getQualifiedName() + ".class, "
+        + quote(element.getSimpleName().toString()) + ", "
+        + quote(instanceMethodHandle ? "" : name(element));
+  }
+
+  private String metricsName() {
+    return methodHandleName.replace("MethodHandle$", "CallMetrics$");
+  }
+
+  private String metricsDeclaration() {
+    return """
+
+          private static final org.alveolo.ffm.CallMetrics <metrics> =
+              <initializer>;
+        """
+        .replace("<metrics>", metricsName())
+        .replace("<initializer>", metricsInitializer()
+            .replace("\n", "\n      "));
+  }
+
+  /// Registers the method under its interface and erased parameter types,
+  /// which tell overloads apart.
+  private String metricsInitializer() {
+    var owner = (TypeElement) element.getEnclosingElement();
+    var method = element.getSimpleName() + element.getParameters().stream()
+        .map(parameter -> erasedName(parameter.asType()))
+        .collect(joining(",", "(", ")"));
+
+    return """
+        org.alveolo.ffm.CallMetrics.register(
+            <owner>.class, <method>)
+        """
+        .replace("<owner>", owner.getQualifiedName())
+        .replace("<method>", quote(method))
+        .stripTrailing();
+  }
+
+  /// Erased type name without type annotations such as `@SLong`.
+  private String erasedName(TypeMirror type) {
+    var erased = types.erasure(type);
+
+    return switch (erased.getKind()) {
+      case ARRAY -> erasedName(((ArrayType) erased).getComponentType()) + "[]";
+      case DECLARED ->
+          ((TypeElement) types.asElement(erased)).getQualifiedName().toString();
+      default -> erased.getKind().name().toLowerCase(Locale.ROOT);
+    };
+  }
+
+  private String boxedReturnTypeName() {
+    var kind = element.getReturnType().getKind();
+    if (kind == TypeKind.VOID) return "java.lang.Void";
+    if (!kind.isPrimitive()) return returnTypeName();
+
+    return switch (kind) {
+      case BOOLEAN -> "java.lang.Boolean";
+      case BYTE -> "java.lang.Byte";
+      case CHAR -> "java.lang.Character";
+      case SHORT -> "java.lang.Short";
+      case INT -> "java.lang.Integer";
+      case LONG -> "java.lang.Long";
+      case FLOAT -> "java.lang.Float";
+      case DOUBLE -> "java.lang.Double";
+      default -> throw new IllegalStateException(
+          "Unexpected primitive type: " + kind);
+    };
+  }
+
+  private String downcallImpl(String signature,
+      String methodHandleExpression, String metricsExpression) {
     return """
 
           <signature> {
@@ -110,9 +419,9 @@ class ExecutableGenerator {
             }<finallyBlock>
           }
         """
-        .replace("<signature>", signature())
+        .replace("<signature>", signature)
         .replace("    <declarations>\n", declarations())
-        .replace("<confinedArena>", confinedArena())
+        .replace("<confinedArena>", confinedArena(metricsExpression))
         .replace("<body>", methodBody(methodHandleExpression))
         .replace("<finallyBlock>", finallyBlock());
   }
@@ -125,6 +434,53 @@ class ExecutableGenerator {
           """
           .replace("<mh>", methodHandleName);
 
+    return """
+
+          private static final <type> <mh> =
+              <initializer>;
+        """
+        .replace("<type>", methodHandleType())
+        .replace("<mh>", methodHandleName)
+        .replace("<initializer>", methodHandleInitializer()
+            .replace("\n", "\n      "));
+  }
+
+  private String methodHandleHolder(String holderName) {
+    var metricsField = !metrics ? "" : """
+
+
+            static final org.alveolo.ffm.CallMetrics <metrics> =
+                <initializer>;
+        """
+        .replace("<metrics>", metricsName())
+        .replace("<initializer>", metricsInitializer()
+            .replace("\n", "\n        "))
+        .stripTrailing();
+
+    return """
+
+          private static final class <holder> {
+            static final <type> <mh> =
+                <initializer>;<metricsField>
+          }
+        """
+        .replace("<metricsField>", metricsField)
+        .replace("<type>", methodHandleType())
+        .replace("<holder>", holderName)
+        .replace("<mh>", methodHandleName)
+        .replace("<initializer>", methodHandleInitializer()
+            .replace("\n", "\n        "));
+  }
+
+  private String methodHandleType() {
+    return variadicArguments != null
+        ? "org.alveolo.ffm.VariadicHandles"
+        : "java.lang.invoke.MethodHandle";
+  }
+
+  private String methodHandleInitializer() {
+    if (variadicArguments != null) return variadicHandlesInitializer();
+
     var rawHandle = """
         <linker>.downcallHandle(
             <lookup>.findOrThrow("<name>"),
@@ -137,14 +493,29 @@ class ExecutableGenerator {
         .replace("<options>", downcallOptions())
         .stripTrailing();
 
-    return """
+    return adaptDowncall(rawHandle, false);
+  }
 
-          private static final java.lang.invoke.MethodHandle <mh> =
-              <initializer>;
+  /// Handles linked per shape of the trailing `Object...` arguments. The
+  /// linker receives the fixed descriptor extended with promoted layouts.
+  private String variadicHandlesInitializer() {
+    var adapter = !needsDowncallAdaptation() ? "" : ",\n    handle$f -> "
+        + adaptDowncall("handle$f", false).replace("\n", "\n    ");
+
+    return """
+        new org.alveolo.ffm.VariadicHandles(
+            <descriptor>,
+            descriptor$f -> <linker>.downcallHandle(
+                <lookup>.findOrThrow("<name>"),
+                descriptor$f<options>)<adapter>)
         """
-        .replace("<mh>", methodHandleName)
-        .replace("<initializer>", adaptDowncall(rawHandle, false)
-            .replace("\n", "\n      "));
+        .replace("<descriptor>", downcallDescriptor())
+        .replace("<linker>", linkerExpression)
+        .replace("<lookup>", lookupExpression)
+        .replace("<name>", name(element))
+        .replace("<options>", downcallOptions().replace("\n", "\n    "))
+        .replace("<adapter>", adapter)
+        .stripTrailing();
   }
 
   String adaptDowncall(String rawHandle, boolean unbound) {
@@ -160,10 +531,12 @@ class ExecutableGenerator {
         parameterGenerators.stream()
             .filter(TypeGenerator::isCallState)
             .map(_ -> "null"),
+        Stream.ofNullable(captures).map(_ -> "null"),
         leadingNativeArguments.stream().map(_ -> "null"),
         parameterGenerators.stream()
             .filter(not(TypeGenerator::isSegmentAllocator))
             .filter(not(TypeGenerator::isCallState))
+            .filter(not(TypeGenerator::isArena))
             .map(parameter -> parameter.needsDowncallAdaptation()
                 ? parameter.canonicalRuntimeType() : "null"))
         .flatMap(identity())
@@ -199,6 +572,7 @@ class ExecutableGenerator {
   private String methodBody(String methodHandleExpression) {
     if (!canPlanAllocations())
       return Stream.of(paramInitializers(),
+          copiedBytes(true),
           invoke(methodHandleExpression, false))
           .flatMap(identity())
           .collect(joining("\n      ", "", ""));
@@ -207,11 +581,20 @@ class ExecutableGenerator {
         plannedPreparations(),
         allocationPlan().lines(),
         plannedInitializers(),
+        copiedBytes(true),
         invoke(methodHandleExpression, true))
         .flatMap(identity())
         .collect(joining("\n      ", "", ""));
   }
 
+  private static <A extends Annotation> A methodOrTypeAnnotation(
+      ExecutableElement method, Class<A> type) {
+    var annotation = method.getAnnotation(type);
+
+    return annotation != null ? annotation
+        : method.getEnclosingElement().getAnnotation(type);
+  }
+
   private String name(ExecutableElement method) {
     var name = method.getAnnotation(Symbol.class);
 
@@ -224,14 +607,9 @@ class ExecutableGenerator {
     var returnType = element.getReturnType();
     boolean isVoid = returnType.getKind() == TypeKind.VOID;
 
-    var layouts = Stream.of(
+    var layouts = Stream.concat(
         isVoid ? Stream.<String> empty() : Stream.of(returnGenerator.layout()),
-        leadingNativeArguments.stream().map(NativeArgument::layout),
-        parameterGenerators.stream()
-            .filter(not(TypeGenerator::isSegmentAllocator))
-            .filter(not(TypeGenerator::isCallState))
-            .map(VariableGenerator::argumentLayout))
-        .flatMap(identity());
+        argumentLayouts().stream());
 
     String prefix = isVoid
         ? "java.lang.foreign.FunctionDescriptor.ofVoid("
@@ -243,6 +621,54 @@ class ExecutableGenerator {
         .collect(joining("," + newLine, prefix + newLine, ")"));
   }
 
+  private List<String> argumentLayouts() {
+    return Stream.concat(
+        leadingNativeArguments.stream().map(NativeArgument::layout),
+        parameterGenerators.stream()
+            .filter(not(TypeGenerator::isSegmentAllocator))
+            .filter(not(TypeGenerator::isCallState))
+            .filter(not(TypeGenerator::isArena))
+            .filter(not(VariableGenerator::isVariadicArguments))
+            .map(VariableGenerator::argumentLayout))
+        .toList();
+  }
+
+  /// Registers the downcall descriptor and linker options for native-image.
+  /// `Object...` methods are linked per call shape and cannot be registered.
+  void registerDowncall(NativeImageMetadata metadata) {
+    if (hasErrors) return;
+
+    if (variadicArguments != null) {
+      metadata.note(element, "Downcall with Object... arguments");
+      return;
+    }
+
+    var isVoid = element.getReturnType().getKind() == TypeKind.VOID;
+    metadata.downcall(element, isVoid ? null : returnGenerator.layout(),
+        argumentLayouts(), nativeImageOptions());
+  }
+
+  private List<String> nativeImageOptions() {
+    var variadic = Stream.ofNullable(firstVariadicIndex())
+        .map(index -> "\"firstVariadicArg\": "
+            + (index + leadingNativeArguments.size()));
+
+    var callState = Stream.concat(
+        parameterGenerators.stream().filter(TypeGenerator::isCallState),
+        Stream.ofNullable(captures))
+        .findFirst()
+        .stream()
+        .map(_ -> "\"captureCallState\": true");
+
+    var criticalOption = Stream.ofNullable(critical)
+        .map(annotation -> "\"critical\": {\"allowHeapAccess\": "
+            + annotation.allowHeapAccess() + "}");
+
+    return Stream.of(variadic, callState, criticalOption)
+        .flatMap(identity())
+        .toList();
+  }
+
   String downcallDescriptor() {
     return descriptor().replace("\n          ", "\n        ");
   }
@@ -252,9 +678,15 @@ class ExecutableGenerator {
   }
 
   String signature() {
-    String prefix = "public "
-        + returnTypeName() + " " + element.getSimpleName() + "(";
+    return signature("public", element.getSimpleName().toString());
+  }
+
+  private String signature(String visibility, String name) {
+    return parameterList(
+        visibility + " " + returnTypeName() + " " + name + "(");
+  }
 
+  private String parameterList(String prefix) {
     String newLine = "\n      ";
 
     return parameterGenerators.stream()
@@ -280,33 +712,77 @@ class ExecutableGenerator {
   }
 
   String linkerOptions() {
-    var variadic = Stream.ofNullable(
-        element.getAnnotation(FirstVariadicArg.class))
-        .map(annotation -> "java.lang.foreign.Linker.Option"
+    var variadic = Stream.ofNullable(firstVariadicIndex())
+        .map(index -> "java.lang.foreign.Linker.Option"
             + ".firstVariadicArg("
-            + (annotation.value() + leadingNativeArguments.size()) + ")");
+            + (index + leadingNativeArguments.size()) + ")");
 
-    var callState = parameterGenerators.stream()
-        .filter(TypeGenerator::isCallState)
+    var callState = Stream.concat(
+        parameterGenerators.stream().filter(TypeGenerator::isCallState),
+        Stream.ofNullable(captures))
         .findFirst()
         .stream()
-        .map(parameter -> parameter.foreignMemoryClassName()
-            + ".LinkerOption$F");
+        .map(state -> state.foreignMemoryClassName() + ".LinkerOption$F");
 
-    return Stream.concat(variadic, callState)
+    var criticalOption = Stream.ofNullable(critical)
+        .map(annotation -> "java.lang.foreign.Linker.Option.critical("
+            + annotation.allowHeapAccess() + ")");
+
+    return Stream.of(variadic, callState, criticalOption)
+        .flatMap(identity())
         .map(option -> ",\n          " + option)
         .collect(joining());
   }
 
-  private String confinedArena() {
-    return needsConfinedArena()
-        ? "(var arena$f = java.lang.foreign.Arena.ofConfined()) " : "";
+  /// Index of the first variadic argument among the declared native
+  /// parameters, given by `@FirstVariadicArg` or implied by a trailing
+  /// `Object...` parameter.
+  private Integer firstVariadicIndex() {
+    var annotation = element.getAnnotation(FirstVariadicArg.class);
+    if (annotation != null) return annotation.value();
+    if (variadicArguments == null) return null;
+
+    return nativeParameterCount() - 1;
+  }
+
+  private int nativeParameterCount() {
+    return (int) parameterGenerators.stream()
+        .filter(not(TypeGenerator::isSegmentAllocator))
+        .filter(not(TypeGenerator::isCallState))
+        .filter(not(TypeGenerator::isArena))
+        .count();
+  }
+
+  private String confinedArena(String metricsExpression) {
+    if (!needsConfinedArena()) return "";
+
+    // Stateless callbacks have cached stubs, so a call which needs the arena
+    // for nothing else only opens it for the others.
+    if (!needsMarshallingArena())
+      return parameterGenerators.stream()
+          .filter(TypeGenerator::isCallback)
+          .map(VariableGenerator::upcallStubNeedsArena)
+          .collect(joining("\n        || ", "(var arena$f = ",
+              "\n        ? java.lang.foreign.Arena.ofConfined() : null) "));
+
+    var arena = scratch
+        ? "org.alveolo.ffm.ScratchArena.push()"
+        : "java.lang.foreign.Arena.ofConfined()";
+
+    // Metered and recorded calls count the bytes allocated for marshalling.
+    if (metricsExpression != null)
+      arena = metricsExpression + ".arena(" + arena + ")";
+
+    if (jfr) arena = "event$f.arena(" + arena + ")";
+
+    return "(var arena$f = " + arena + ") ";
   }
 
   private Stream<String> invoke(
       String methodHandleExpression, boolean plannedAllocations) {
-    var call = methodHandleExpression + ".invokeExact("
-        + params(plannedAllocations) + ")";
+    var handle = variadicArguments == null ? methodHandleExpression
+        : methodHandleExpression + ".handle(" + variadicArguments.name() + ")";
+    var call = handle + ".invokeExact(" + params(plannedAllocations) + ")";
     var copyOut = copyOut().toList();
 
     if (returnGenerator.isPrimitiveAddress())
@@ -326,7 +802,7 @@ class ExecutableGenerator {
     if (returnGenerator.isCFString())
       return cfStringInvoke(call, copyOut);
 
-    if (returnGenerator.isString())
+    if (returnGenerator.isString() || returnGenerator.isCharSequence())
       return stringInvoke(call, copyOut);
 
     if (returnGenerator.isForeignMemoryImplementation())
@@ -362,31 +838,61 @@ class ExecutableGenerator {
         parameterGenerators.stream()
             .filter(TypeGenerator::isCallState)
             .map(VariableGenerator::invoke),
+        Stream.ofNullable(captures)
+            .map(state -> state.foreignMemoryClassName()
+                + ".current$F().MemorySegment$F"),
         leadingNativeArguments.stream().map(NativeArgument::expression),
         parameterGenerators.stream()
             .filter(not(TypeGenerator::isSegmentAllocator))
             .filter(not(TypeGenerator::isCallState))
-            .map(plannedAllocations
-                ? VariableGenerator::plannedInvoke
-                : VariableGenerator::invoke))
+            .filter(not(TypeGenerator::isArena))
+            .map(parameter -> argument(parameter, plannedAllocations)))
         .flatMap(identity());
 
     return paramsList.collect(joining("," + newLine, newLine, ""));
   }
 
+  private String argument(
+      VariableGenerator parameter, boolean plannedAllocations) {
+    if (parameter.isCallback() && stubArena != null)
+      return parameter.upcallStub(stubArena.name());
+
+    return plannedAllocations ? parameter.plannedInvoke() : parameter.invoke();
+  }
+
   private Stream<String> returnWithCopyOut(
       String expression, List<String> copyOut) {
-    if (copyOut.isEmpty())
+    if (copyOut.isEmpty() && failure == null)
       return ("return " + expression + ";").lines();
 
     var all = Stream.of(
         ("var result$f = " + expression + ";").lines(),
         copyOut.stream(),
+        failureCheck(),
         Stream.of("return result$f;"));
 
     return all.flatMap(identity());
   }
 
+  /// Throws the captured state when the `@Captures` failure predicate
+  /// matches the result.
+  private Stream<String> failureCheck() {
+    if (failure == null) return Stream.empty();
+
+    var owner = (TypeElement) element.getEnclosingElement();
+
+    return """
+        if (<owner>.<failure>(result$f))
+          throw <state>.exception$F(<call>);
+        """
+        .replace("<owner>", owner.getQualifiedName())
+        .replace("<failure>", failure)
+        .replace("<state>", captures.foreignMemoryClassName())
+        .replace("<call>", quote(instanceMethodHandle
+            ? element.getSimpleName().toString() : name(element)))
+        .lines();
+  }
+
   private Stream<String> statementWithCopyOut(
       String statement, List<String> copyOut) {
     var base = (statement + ";").lines();
@@ -413,14 +919,35 @@ class ExecutableGenerator {
         copyOut.stream(),
         """
             return stringResult$f.address() == 0L ? null
-                : stringResult$f.reinterpret(Long.MAX_VALUE).getString(0L);
+                : <decode>;
             """
+            .replace("<decode>", stringDecode("stringResult$f"))
             .stripTrailing()
             .lines());
 
     return all.flatMap(identity());
   }
 
+  /// Decodes a non-null `char*` result. Without [MaxLength], a `String` is
+  /// decoded by the JDK up to the terminator. A length limit bounds the
+  /// segment before the terminator is searched, and `CharSequence` results
+  /// wrap the native bytes without decoding them.
+  private String stringDecode(String result) {
+    var maxLength = element.getAnnotation(MaxLength.class);
+    var bound = maxLength == null
+        ? "Long.MAX_VALUE" : maxLength.value() + "L";
+
+    if (returnGenerator.isCharSequence())
+      return "org.alveolo.ffm.NativeCharSequence.of(" + result
+          + ".reinterpret(" + bound + "))";
+
+    if (maxLength == null)
+      return result + ".reinterpret(Long.MAX_VALUE).getString(0L)";
+
+    return "org.alveolo.ffm.NativeString.decode(" + result
+        + ".reinterpret(" + bound + "))";
+  }
+
   private Stream<String> cfStringInvoke(String call, List<String> copyOut) {
     var result = "(java.lang.foreign.MemorySegment) " + call;
 
@@ -486,16 +1013,32 @@ class ExecutableGenerator {
   }
 
   boolean needsConfinedArena() {
+    return needsMarshallingArena() || needsCallbackArena();
+  }
+
+  /// Whether arguments or the result are marshalled through call-scoped
+  /// memory.
+  private boolean needsMarshallingArena() {
     return returnGenerator.isRecord() && returnGenerator.isValue()
         || parameterGenerators.stream()
             .anyMatch(VariableGenerator::needsConfinedArena);
   }
 
+  /// Whether upcall stubs of `@Callback` arguments are scoped to the call,
+  /// because no `Arena` parameter supplies them.
+  private boolean needsCallbackArena() {
+    return stubArena == null
+        && parameterGenerators.stream().anyMatch(TypeGenerator::isCallback);
+  }
+
   private String declarations() {
-    var declarations = parameterGenerators.stream()
+    var event = !jfr ? Stream.<String> empty() : Stream.of(
+        "var event$f = new org.alveolo.ffm.NativeCallEvent();",
+        "event$f.begin();");
+    var declarations = Stream.concat(event, parameterGenerators.stream()
         .filter(VariableGenerator::isCFString)
         .map(p -> "java.lang.foreign.MemorySegment " + p.cfStringName()
-            + " = java.lang.foreign.MemorySegment.NULL;")
+            + " = java.lang.foreign.MemorySegment.NULL;"))
         .toList();
 
     if (declarations.isEmpty()) return "";
@@ -656,17 +1199,34 @@ class ExecutableGenerator {
   }
 
   private Stream<String> copyOut() {
+    return Stream.concat(
+        parameterGenerators.stream()
+            .filter(VariableGenerator::isCallArrayOrBuffer)
+            .map(VariableGenerator::arrayOrBufferCopyOut)
+            .flatMap(String::lines),
+        copiedBytes(false));
+  }
+
+  /// Statements adding the bytes copied between Java arrays or buffers and
+  /// native memory to the JFR event.
+  private Stream<String> copiedBytes(boolean in) {
+    if (!jfr) return Stream.empty();
+
     return parameterGenerators.stream()
-        .filter(VariableGenerator::isCallArrayOrBuffer)
-        .map(VariableGenerator::arrayOrBufferCopyOut)
-        .flatMap(String::lines);
+        .map(parameter -> parameter.copiedBytes(in))
+        .filter(Objects::nonNull)
+        .map(bytes -> "event$f.copied" + (in ? "In" : "Out")
+            + "(" + bytes + ");");
   }
 
   private String finallyBlock() {
-    var releases = parameterGenerators.stream()
+    var commit = !jfr ? Stream.<String> empty() : Stream.of(
+        "event$f.commit(" + eventArguments() + ");");
+    var releases = Stream.concat(parameterGenerators.stream()
         .filter(VariableGenerator::isCFString)
-        .map(p -> "      org.alveolo.ffm.macos.CFStringSupport.release("
-            + p.cfStringName() + ");")
+        .map(p -> "org.alveolo.ffm.macos.CFStringSupport.release("
+            + p.cfStringName() + ");"), commit)
+        .map(statement -> "      " + statement)
         .collect(joining("\n"));
 
     if (releases.isEmpty()) return "";
@@ -684,13 +1244,13 @@ class ExecutableGenerator {
       hasUnsupported = true;
     }
 
+    if (variadicArguments != null && !checkVariadicArguments())
+      hasUnsupported = true;
+
     var firstVariadicArg = element.getAnnotation(FirstVariadicArg.class);
     if (firstVariadicArg != null) {
       var index = firstVariadicArg.value();
-      var nativeParameterCount = (int) parameterGenerators.stream()
-          .filter(not(TypeGenerator::isSegmentAllocator))
-          .filter(not(TypeGenerator::isCallState))
-          .count();
+      var nativeParameterCount = nativeParameterCount();
 
       if (index < 0 || index > nativeParameterCount) {
         messager.printError(
@@ -702,7 +1262,8 @@ class ExecutableGenerator {
       } else {
         var nativeIndex = 0;
         for (var parameter : parameterGenerators) {
-          if (parameter.isSegmentAllocator() || parameter.isCallState()) {
+          if (parameter.isSegmentAllocator() || parameter.isCallState()
+              || parameter.isArena()) {
             continue;
           }
 
@@ -723,6 +1284,45 @@ class ExecutableGenerator {
       }
     }
 
+    var maxLength = element.getAnnotation(MaxLength.class);
+    if (maxLength != null) {
+      if (returnGenerator.isCFString() || !returnGenerator.isString()
+          && !returnGenerator.isCharSequence()) {
+        messager.printError(
+            "@MaxLength is only supported on String or CharSequence results",
+            element);
+        hasUnsupported = true;
+      } else if (maxLength.value() < 0L) {
+        messager.printError("@MaxLength value must not be negative", element);
+        hasUnsupported = true;
+      }
+    }
+
+    if (returnGenerator.isCallback()) {
+      messager.printError(
+          "@Callback types are only supported as parameters", element);
+      hasUnsupported = true;
+    }
+
+    var callbacks = parameterGenerators.stream()
+        .filter(TypeGenerator::isCallback)
+        .toList();
+    for (var callback : callbacks) {
+      if (critical != null) {
+        messager.printError(
+            "@Critical calls cannot take @Callback parameters",
+            callback.element);
+        hasUnsupported = true;
+      }
+
+      if (scratch) {
+        messager.printError(
+            "@Scratch calls cannot take @Callback parameters",
+            callback.element);
+        hasUnsupported = true;
+      }
+    }
+
     if (returnGenerator.isCallState()) {
       messager.printError(
           "@CallState types are only supported as parameters", element);
@@ -740,6 +1340,32 @@ class ExecutableGenerator {
       hasUnsupported = true;
     }
 
+    if (captures != null && !checkCaptures(callStates))
+      hasUnsupported = true;
+
+    if (critical != null && blocking) {
+      messager.printError(
+          "@Critical calls cannot be @Blocking", element);
+      hasUnsupported = true;
+    }
+
+    if (critical != null) {
+      for (var callState : callStates) {
+        messager.printError(
+            "@Critical calls cannot capture @CallState", callState.element);
+        hasUnsupported = true;
+      }
+
+      if (returnsPointer() && parameterGenerators.stream()
+          .anyMatch(VariableGenerator::passesHeapSegment)) {
+        messager.printError(
+            "@Critical(allowHeapAccess = true) cannot return a pointer when "
+                + "arrays or buffers are passed as heap segments",
+            element);
+        hasUnsupported = true;
+      }
+    }
+
     boolean needsExternalAllocator = (returnGenerator.isForeignMemory()
         || returnGenerator.isForeignMemoryImplementation())
         && !returnGenerator.isRecord() && returnGenerator.isValue();
@@ -751,6 +1377,14 @@ class ExecutableGenerator {
             "SegmentAllocator is expected as first parameter", element);
         return true;
       }
+
+      // A confined arena of the caller cannot allocate on the pooled thread.
+      if (blocking) {
+        messager.printError(
+            "@Blocking calls cannot take a SegmentAllocator",
+            parameterGenerators.get(0).element);
+        hasUnsupported = true;
+      }
     }
 
     boolean skipExternalAllocator = needsExternalAllocator;
@@ -768,6 +1402,15 @@ class ExecutableGenerator {
         continue;
       }
 
+      if (paramGen.isArena()) {
+        var error = checkStubArena(paramGen);
+        if (error != null) {
+          hasUnsupported = true;
+          messager.printError(error, paramGen.element);
+        }
+        continue;
+      }
+
       var canonicalError = paramGen.canonicalScalarError();
       if (canonicalError != null) {
         hasUnsupported = true;
@@ -784,6 +1427,24 @@ class ExecutableGenerator {
         continue;
       }
 
+      if (paramGen.isCharSequence()) {
+        hasUnsupported = true;
+
+        messager.printError(
+            "CharSequence is only supported as a return type",
+            paramGen.element);
+        continue;
+      }
+
+      if (paramGen.hasCachedAnnotation() && !paramGen.isCachedString()) {
+        hasUnsupported = true;
+
+        messager.printError(
+            "@Cached is only supported on java.lang.String without @CFString",
+            paramGen.element);
+        continue;
+      }
+
       if (paramGen.isOwnedCFString()) {
         hasUnsupported = true;
 
@@ -915,6 +1576,7 @@ class ExecutableGenerator {
           element);
     } else if (returnCanonicalError == null
         && element.getReturnType().getKind() != TypeKind.VOID
+        && !returnGenerator.isCallback()
         && returnGenerator.unsupported()) {
       hasUnsupported = true;
 
@@ -932,6 +1594,111 @@ class ExecutableGenerator {
     return hasUnsupported;
   }
 
+  /// A pointer result may alias an argument, and heap segments do not outlive
+  /// a critical call.
+  private boolean returnsPointer() {
+    return returnGenerator.isMemorySegment()
+        || returnGenerator.isString()
+        || returnGenerator.isCharSequence()
+        || returnGenerator.isPrimitiveAddress()
+        || returnGenerator.isForeignMemory() && returnGenerator.isAddress();
+  }
+
+  private boolean checkCaptures(List<VariableGenerator> callStates) {
+    var valid = true;
+
+    if (!captures.isCallState()) {
+      messager.printError("@Captures value must be a @CallState type",
+          element);
+      valid = false;
+    }
+
+    if (!callStates.isEmpty()) {
+      messager.printError(
+          "@Captures calls cannot also take a @CallState parameter", element);
+      valid = false;
+    }
+
+    if (critical != null) {
+      messager.printError("@Critical calls cannot capture @CallState",
+          element);
+      valid = false;
+    }
+
+    return failure == null ? valid : checkFailure() && valid;
+  }
+
+  /// An `Arena` parameter scopes the upcall stubs of `@Callback` arguments,
+  /// for functions which keep a callback after they return.
+  ///
+  /// @return the error, or `null` if `parameter` is valid
+  private String checkStubArena(VariableGenerator parameter) {
+    if (parameter != stubArena)
+      return "Only one Arena parameter is allowed";
+
+    if (parameterGenerators.stream().noneMatch(TypeGenerator::isCallback))
+      return "Arena is only expected with @Callback parameters";
+
+    // A confined arena of the caller cannot allocate on the pooled thread.
+    if (blocking) return "@Blocking calls cannot take an Arena";
+
+    return null;
+  }
+
+  private boolean checkFailure() {
+    if (!returnGenerator.isMemorySegment() && (!returnGenerator.isPrimitive()
+        || returnGenerator.isPrimitiveAddress())) {
+      messager.printError(
+          "@Captures failure requires a primitive or MemorySegment result",
+          element);
+      return false;
+    }
+
+    var owner = element.getEnclosingElement();
+    var predicate = owner.getEnclosedElements().stream()
+        .filter(method -> method.getKind() == ElementKind.METHOD)
+        .filter(method -> method.getSimpleName().contentEquals(failure))
+        .map(ExecutableElement.class::cast)
+        .filter(method -> method.getModifiers().contains(Modifier.STATIC)
+            && !method.getModifiers().contains(Modifier.PRIVATE))
+        .filter(method -> method.getReturnType().getKind() == TypeKind.BOOLEAN)
+        .filter(method -> method.getParameters().size() == 1
+            && types.isAssignable(element.getReturnType(),
+                method.getParameters().getFirst().asType()))
+        .findFirst();
+
+    if (predicate.isEmpty()) {
+      messager.printError("@Captures failure must name a static boolean "
+          + "method of " + owner.getSimpleName()
+          + " accepting the result: " + failure, element);
+      return false;
+    }
+
+    return true;
+  }
+
+  private boolean checkVariadicArguments() {
+    var valid = true;
+
+    // Function pointers have no symbol to link each shape against.
+    if (instanceMethodHandle) {
+      messager.printError(
+          "Object... arguments are only supported for native symbols",
+          variadicArguments.element);
+      valid = false;
+    }
+
+    var firstVariadicArg = element.getAnnotation(FirstVariadicArg.class);
+    if (firstVariadicArg != null
+        && firstVariadicArg.value() != nativeParameterCount() - 1) {
+      messager.printError(
+          "@FirstVariadicArg must select the Object... parameter", element);
+      valid = false;
+    }
+
+    return valid;
+  }
+
   private boolean isUnpromotedVariadicType(VariableGenerator parameter) {
     if (parameter.isPrimitiveAddress()) return false;
     if (parameter.isWCharT()) return true;
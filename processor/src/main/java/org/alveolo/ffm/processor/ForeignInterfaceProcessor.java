@@ -4,6 +4,7 @@ import static java.util.stream.Collectors.joining;
 import static javax.lang.model.SourceVersion.RELEASE_25;
 import static org.alveolo.ffm.processor.ProcessorUtils.foreignInterfaceClassName;
 import static org.alveolo.ffm.processor.ProcessorUtils.foreignInterfaceSimpleClassName;
+import static org.alveolo.ffm.processor.ProcessorUtils.isOptionEnabled;
 import static org.alveolo.ffm.processor.ProcessorUtils.osArray;
 import static org.alveolo.ffm.processor.ProcessorUtils.packageName;
 import static org.alveolo.ffm.processor.ProcessorUtils.quote;
@@ -11,6 +12,7 @@ import static org.alveolo.ffm.processor.ProcessorUtils.validateGeneratedClassNam
 import static org.alveolo.ffm.processor.ProcessorUtils.validateSimpleClassName;
 import static org.alveolo.ffm.processor.ProcessorUtils.validateTopLevelType;
 import static org.alveolo.ffm.processor.ProcessorUtils.validateUserIdentifiers;
+import static org.alveolo.ffm.processor.ProcessorUtils.writeIndex;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -19,10 +21,13 @@ import java.io.Writer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
@@ -30,16 +35,42 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 
+import org.alveolo.ffm.Bindings;
 import org.alveolo.ffm.ForeignInterface;
 import org.alveolo.ffm.Library;
 
 @SupportedAnnotationTypes("org.alveolo.ffm.ForeignInterface")
+@SupportedOptions({
+  ProcessorUtils.JFR_OPTION,
+  ProcessorUtils.METRICS_OPTION,
+  ProcessorUtils.PRELOAD_INDEX_OPTION,
+  ProcessorUtils.NATIVE_IMAGE_OPTION,
+})
 @SupportedSourceVersion(RELEASE_25)
 public class ForeignInterfaceProcessor extends AbstractProcessor {
+  /// Generated classes of all rounds, for the preload index.
+  private final Set<String> bindings = new TreeSet<>();
+
+  private NativeImageMetadata nativeImage;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    nativeImage = new NativeImageMetadata(processingEnv);
+  }
+
   @Override
   public boolean process(
       Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-    if (roundEnv.processingOver()) return true;
+    if (roundEnv.processingOver()) {
+      if (isOptionEnabled(processingEnv, ProcessorUtils.PRELOAD_INDEX_OPTION)
+          && !bindings.isEmpty()) {
+        writeIndex(processingEnv, Bindings.INDEX, bindings);
+      }
+      nativeImage.write("foreign-interfaces");
+
+      return true;
+    }
 
     var generatedTypes = GeneratedTypeRegistry.create(processingEnv, roundEnv);
 
@@ -96,6 +127,7 @@ public class ForeignInterfaceProcessor extends AbstractProcessor {
     if (!validateLibraries(iface, libraries)) return;
 
     var file = processingEnv.getFiler().createSourceFile(className, iface);
+    bindings.add(className);
 
     try (var out = new PlatformWriter(file.openWriter())) {
       if (!packageName.isEmpty()) {
@@ -135,6 +167,11 @@ public class ForeignInterfaceProcessor extends AbstractProcessor {
         writeLookupInitializer(out, ifaceSimpleName, libraries);
       }
 
+      var lazy = iface.getAnnotation(ForeignInterface.class).linking()
+          == ForeignInterface.Linking.LAZY;
+
+      var preload = new StringBuilder();
+
       int index = 0;
       for (var member : iface.getEnclosedElements()) {
         if (member instanceof ExecutableElement method) {
@@ -144,16 +181,47 @@ public class ForeignInterfaceProcessor extends AbstractProcessor {
           }
 
           var generator = new ExecutableGenerator(processingEnv,
-              generatedTypes, method, "MethodHandle$" + index++ + "$F");
+              generatedTypes, method, "MethodHandle$" + index + "$F");
+
+          generator.registerDowncall(nativeImage);
 
-          out.write(generator.methodWithHandle());
+          var holderName = "Holder$" + index + "$F";
+          if (lazy) {
+            out.write(generator.methodWithHolder(holderName));
+            preload.append(generator.preloadStatement(holderName));
+          } else {
+            out.write(generator.methodWithHandle());
+          }
+          index++;
         }
       }
 
+      writePreload(out, preload.toString());
       out.write("}\n");
     }
   }
 
+  /// Writes `preload$F()`, which links every downcall handle so that an AOT
+  /// cache or CDS training run captures them. Eagerly linked handles are
+  /// linked by the static initializer that calling it runs.
+  private void writePreload(Writer out, String statements)
+      throws IOException {
+    if (statements.isEmpty()) {
+      out.write("""
+
+            public static void preload$F() {}
+          """);
+      return;
+    }
+
+    out.write("""
+
+          public static void preload$F() {
+        <statements>  }
+        """
+        .replace("<statements>", statements));
+  }
+
   private boolean validateLibraries(TypeElement type, List<Library> libraries) {
     var valid = true;
 
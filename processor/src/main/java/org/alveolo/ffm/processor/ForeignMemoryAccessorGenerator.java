@@ -29,8 +29,9 @@ final class ForeignMemoryAccessorGenerator {
   }
 
   void writeInterfaceFields(Writer out, String className,
-      ForeignMemoryAnalyzer.Fields fields) throws IOException {
-    var target = AccessorTarget.fluent(className);
+      ForeignMemoryAnalyzer.Fields fields, boolean offsetAccessors)
+      throws IOException {
+    var target = AccessorTarget.fluent(className, offsetAccessors);
     for (var field : fields.fields()) {
       var indexed = fields.indexedFields().get(field.name());
       if (indexed != null) {
@@ -42,7 +43,7 @@ final class ForeignMemoryAccessorGenerator {
       }
 
       writeMetadata(out, field);
-      writeVarHandle(out, field);
+      writeVarHandle(out, target, field);
       if (field.isNioBuffer()) {
         writeThrowingFieldAccessors(out, className, field, false);
       } else {
@@ -53,8 +54,9 @@ final class ForeignMemoryAccessorGenerator {
     writeUnsupportedMethods(out, fields);
   }
 
-  void writeRecordFields(Writer out, ForeignMemoryAnalyzer.Fields fields)
-      throws IOException {
+  void writeRecordFields(Writer out, ForeignMemoryAnalyzer.Fields fields,
+      boolean offsetAccessors) throws IOException {
+    var target = AccessorTarget.statics(offsetAccessors);
     for (var field : fields.fields()) {
       var indexed = fields.indexedFields().get(field.name());
       if (indexed != null) {
@@ -65,8 +67,8 @@ final class ForeignMemoryAccessorGenerator {
       }
 
       writeMetadata(out, field);
-      writeVarHandle(out, field);
-      writeAccessors(out, AccessorTarget.STATIC, field);
+      writeVarHandle(out, target, field);
+      writeAccessors(out, target, field);
     }
   }
 
@@ -143,10 +145,11 @@ final class ForeignMemoryAccessorGenerator {
 
   }
 
-  private void writeVarHandle(Writer out, VariableGenerator field)
-      throws IOException {
+  private void writeVarHandle(Writer out, AccessorTarget target,
+      VariableGenerator field) throws IOException {
     if (field.isNioBuffer()
-        || (field.isForeignMemory() && field.isValue()))
+        || (field.isForeignMemory() && field.isValue())
+        || usesOffset(target, field))
       return;
 
     var initializer = field.sequence > 1
@@ -215,11 +218,14 @@ final class ForeignMemoryAccessorGenerator {
   /// Receiver style for generated field accessors: records use static accessors
   /// over an explicit MemorySegment parameter; memory-backed interfaces use
   /// instance accessors over `this.MemorySegment$F` with fluent setters.
-  private record AccessorTarget(boolean isStatic, String className) {
-    static final AccessorTarget STATIC = new AccessorTarget(true, null);
+  private record AccessorTarget(
+      boolean isStatic, String className, boolean offsetAccessors) {
+    static AccessorTarget statics(boolean offsetAccessors) {
+      return new AccessorTarget(true, null, offsetAccessors);
+    }
 
-    static AccessorTarget fluent(String className) {
-      return new AccessorTarget(false, className);
+    static AccessorTarget fluent(String className, boolean offsetAccessors) {
+      return new AccessorTarget(false, className, offsetAccessors);
     }
 
     String getterHead(VariableGenerator field) {
@@ -302,7 +308,7 @@ final class ForeignMemoryAccessorGenerator {
       if (typeElement.getKind() == ElementKind.RECORD) {
         writeGetter(out, target, field, """
             <foreignClassName>.fromMemorySegment$F(<segment>.asSlice(
-                MemoryLayout$F.byteOffset(<name>$PathElement$F),
+                Offsets$F.<name>,
                 MemoryLayout$F.select(<name>$PathElement$F).byteSize()))
             """
             .stripTrailing()
@@ -316,7 +322,7 @@ final class ForeignMemoryAccessorGenerator {
             var memoryLayout =
                 MemoryLayout$F.select(<name>$PathElement$F);
             var slice = <segment>.asSlice(
-                MemoryLayout$F.byteOffset(<name>$PathElement$F),
+                Offsets$F.<name>,
                 memoryLayout.byteSize());
             <foreignClassName>.toMemorySegment$F(
                 value, slice<allocator>);
@@ -329,7 +335,7 @@ final class ForeignMemoryAccessorGenerator {
       } else {
         writeGetter(out, target, field, """
             new <foreignClassName>(<segment>.asSlice(
-                MemoryLayout$F.byteOffset(<name>$PathElement$F),
+                Offsets$F.<name>,
                 MemoryLayout$F.select(<name>$PathElement$F).byteSize()))
             """
             .stripTrailing()
@@ -341,7 +347,7 @@ final class ForeignMemoryAccessorGenerator {
             var memoryLayout =
                 MemoryLayout$F.select(<name>$PathElement$F);
             var slice = <segment>.asSlice(
-                MemoryLayout$F.byteOffset(<name>$PathElement$F),
+                Offsets$F.<name>,
                 memoryLayout.byteSize());
             java.lang.foreign.MemorySegment.copy(
                 <sourceSegment>, 0,
@@ -390,6 +396,20 @@ final class ForeignMemoryAccessorGenerator {
       return;
     }
 
+    if (usesOffset(target, field)) {
+      writeGetter(out, target, field,
+          "<segment>.get(\n    <layout>, Offsets$F.<name>)"
+              .replace("<layout>", field.layout())
+              .replace("<segment>", segment)
+              .replace("<name>", name));
+      writeSetter(out, target, field, false,
+          "<segment>.set(\n    <layout>, Offsets$F.<name>, value);"
+              .replace("<layout>", field.layout())
+              .replace("<segment>", segment)
+              .replace("<name>", name));
+      return;
+    }
+
     writeGetter(out, target, field,
         "(<type>) <name>$VarHandle$F.get(<segment>)"
             .replace("<type>", field.typeName())
@@ -527,6 +547,18 @@ final class ForeignMemoryAccessorGenerator {
         .replace("<type>", type));
   }
 
+  /// Whether `field` is a plain Java scalar or `MemorySegment` that the
+  /// target accesses at its constant offset rather than through a var handle.
+  private boolean usesOffset(AccessorTarget target, VariableGenerator field) {
+    return target.offsetAccessors()
+        && field.sequence == 1
+        && !field.hasCanonicalScalar()
+        && !field.isPrimitiveAddress()
+        && !field.isForeignMemory()
+        && (field.isPrimitive() || field.isMemorySegment())
+        && !fieldAccessorsShouldThrow(target, field);
+  }
+
   private boolean fieldAccessorsShouldThrow(
       AccessorTarget target, VariableGenerator field) {
     return field.isString()
@@ -5,30 +5,46 @@ import static org.alveolo.ffm.processor.ProcessorUtils.packageName;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Set;
+import java.util.function.ToLongFunction;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.TypeElement;
 
+import org.alveolo.ffm.Struct;
+
 /// Coordinates generation of one foreign-memory companion class.
 final class ForeignMemoryGenerator {
   private final ProcessingEnvironment processingEnv;
   private final ForeignMemoryAnalyzer analyzer;
   private final ObjectMethodsGenerator objectGenerator;
   private final ForeignMemoryAccessorGenerator accessorGenerator;
+  private final StructColumnsGenerator columnsGenerator;
+  private final StructCursorGenerator cursorGenerator;
+  private final StructCopyGenerator copyGenerator;
+  private final Set<String> generatedClasses;
 
+  /// Binary names of the generated companions, and of their `Offsets$F`
+  /// classes, are added to `generatedClasses`.
   ForeignMemoryGenerator(ProcessingEnvironment processingEnv,
-      GeneratedTypeRegistry generatedTypes) {
+      GeneratedTypeRegistry generatedTypes, NativeImageMetadata nativeImage,
+      Set<String> generatedClasses) {
     this.processingEnv = processingEnv;
+    this.generatedClasses = generatedClasses;
     analyzer = new ForeignMemoryAnalyzer(processingEnv, generatedTypes);
-    objectGenerator = new ObjectMethodsGenerator(processingEnv, generatedTypes);
+    objectGenerator = new ObjectMethodsGenerator(
+        processingEnv, generatedTypes, nativeImage);
     var indexedFieldGenerator = new IndexedFieldGenerator(analyzer);
     accessorGenerator = new ForeignMemoryAccessorGenerator(
         processingEnv, analyzer, indexedFieldGenerator);
+    columnsGenerator = new StructColumnsGenerator(processingEnv);
+    cursorGenerator = new StructCursorGenerator();
+    copyGenerator = new StructCopyGenerator();
   }
 
-  void write(TypeElement source, String kind, boolean vtable)
-      throws IOException {
+  void write(TypeElement source, String kind, boolean vtable,
+      boolean offsetAccessors, boolean contentEquality) throws IOException {
     analyzer.validateRecordComponents(source);
 
     var isStructInterface = kind.equals("struct")
@@ -49,10 +65,12 @@ final class ForeignMemoryGenerator {
     var fields = analyzer.inferFields(source, isStructInterface);
     analyzer.validateFields(fields);
 
-    writeSource(source, kind, vtable, fields, preparedObjectMethods);
+    writeSource(source, kind, vtable, offsetAccessors, contentEquality,
+        fields, preparedObjectMethods);
   }
 
   private void writeSource(TypeElement source, String kind, boolean vtable,
+      boolean offsetAccessors, boolean contentEquality,
       ForeignMemoryAnalyzer.Fields fields,
       ObjectMethodsGenerator.Prepared objectMethods)
       throws IOException {
@@ -65,6 +83,11 @@ final class ForeignMemoryGenerator {
         ProcessorUtils.vtableImplementationSimpleClassName(source);
 
     var file = processingEnv.getFiler().createSourceFile(className, source);
+    generatedClasses.add(className);
+    if (!fields.fields().isEmpty()) {
+      generatedClasses.add(className + "$Offsets$F");
+    }
+
     try (var out = new PlatformWriter(file.openWriter())) {
       if (!packageName.isEmpty()) {
         out.append("package ").append(packageName).append(";\n\n");
@@ -72,7 +95,8 @@ final class ForeignMemoryGenerator {
 
       var declaration = switch (source.getKind()) {
         case INTERFACE -> simpleClassName + " implements "
-            + sourceSimpleName;
+            + sourceSimpleName + (contentEquality
+                ? ", java.lang.Comparable<" + simpleClassName + ">" : "");
         case RECORD -> simpleClassName;
         case ElementKind unexpected -> throw new IllegalArgumentException(
             "Unexpected value: " + unexpected);
@@ -94,20 +118,35 @@ final class ForeignMemoryGenerator {
       writeAllocators(out);
       writeReinterprets(out, source, simpleClassName);
       writeArrayElementHelpers(out, source, simpleClassName);
+      writeArrayStreams(out, source, simpleClassName);
+      writeArrayCopies(out, source, simpleClassName, fields);
 
       switch (source.getKind()) {
         case INTERFACE -> {
           writeConstructors(out, simpleClassName, vtableSimpleName,
               objectMethods.hasUsableVirtualMethods());
+          // The copied vtable pointer would not update Vtable$F
+          copyGenerator.writeInstanceCopies(out, simpleClassName,
+              !objectMethods.hasUsableVirtualMethods());
           accessorGenerator.writeInterfaceFields(
-              out, simpleClassName, fields);
+              out, simpleClassName, fields, offsetAccessors);
           objectGenerator.writeSymbolHolder(out, objectMethods);
           objectGenerator.writeObjectMethods(out, objectMethods);
+          if (contentEquality) {
+            writeContentEquality(out, simpleClassName);
+          }
+          cursorGenerator.write(out, simpleClassName, fields);
         }
         case RECORD -> {
           accessorGenerator.writeRecordConverters(
               out, sourceSimpleName, fields);
-          accessorGenerator.writeRecordFields(out, fields);
+          accessorGenerator.writeRecordFields(out, fields, offsetAccessors);
+
+          var struct = source.getAnnotation(Struct.class);
+          if (struct != null && struct.columns()
+              && columnsGenerator.validate(fields.fields())) {
+            columnsGenerator.write(out, source, fields.fields());
+          }
         }
         case ElementKind unexpected -> throw new IllegalArgumentException(
             "Unexpected value: " + unexpected);
@@ -119,19 +158,6 @@ final class ForeignMemoryGenerator {
 
   private void writeLayout(Writer out, ForeignMemoryAnalyzer.Fields fields,
       String kind, boolean vtable) throws IOException {
-    out.write("""
-          public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
-              java.lang.foreign.MemoryLayout.<kind>Layout(
-                  org.alveolo.ffm.ForeignUtils.<kind>Pad(
-                      new java.lang.foreign.MemoryLayout [] {
-        """
-        .replace("<kind>", kind));
-
-    if (vtable) {
-      out.write("        java.lang.foreign.ValueLayout.ADDRESS.withName(\""
-          + ObjectMethodsGenerator.VTABLE_FIELD + "\"),\n");
-    }
-
     var layoutFields = fields.fields().stream()
         .map(field -> {
           var indexed = fields.indexedFields().get(field.name());
@@ -142,8 +168,133 @@ final class ForeignMemoryGenerator {
         })
         .toList();
 
-    out.write(new MemoryLayoutGenerator(processingEnv, layoutFields).layout());
-    out.write("      }));\n");
+    var layouts = layoutFields.stream()
+        .map(MemoryLayoutGenerator.LayoutField::layout)
+        .toList();
+
+    // A vtable pointer is as platform dependent as any other address
+    var staticLayout = vtable ? null : StaticLayout.of(kind, layouts);
+    var layout64Bit = vtable || staticLayout != null
+        || layoutFields.stream()
+            .anyMatch(MemoryLayoutGenerator.LayoutField::unsupported)
+        ? null : StaticLayout.of64Bit(kind, layouts);
+
+    var generator = new MemoryLayoutGenerator(processingEnv, layoutFields);
+
+    if (staticLayout != null) {
+      out.write("""
+            public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
+                java.lang.foreign.MemoryLayout.<kind>Layout(
+                    new java.lang.foreign.MemoryLayout [] {
+          """
+          .replace("<kind>", kind));
+      out.write(generator.layout(staticLayout));
+      out.write("      });\n");
+    } else if (layout64Bit != null) {
+      // The explicit 64-bit layout skips the padding computation of
+      // structPad, which remains the fallback for 32-bit platforms
+      out.write("""
+            private static final boolean Is64Bit$F =
+                java.lang.foreign.ValueLayout.ADDRESS.byteSize() == 8L;
+
+            public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
+                Is64Bit$F ? java.lang.foreign.MemoryLayout.<kind>Layout(
+                    new java.lang.foreign.MemoryLayout [] {
+          """
+          .replace("<kind>", kind));
+      out.write(generator.layout(layout64Bit));
+      out.write("""
+                })
+                : java.lang.foreign.MemoryLayout.<kind>Layout(
+                    org.alveolo.ffm.ForeignUtils.<kind>Pad(
+                        new java.lang.foreign.MemoryLayout [] {
+          """
+          .replace("<kind>", kind));
+      out.write(generator.layout(null));
+      out.write("      }));\n");
+    } else {
+      out.write("""
+            public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
+                java.lang.foreign.MemoryLayout.<kind>Layout(
+                    org.alveolo.ffm.ForeignUtils.<kind>Pad(
+                        new java.lang.foreign.MemoryLayout [] {
+          """
+          .replace("<kind>", kind));
+
+      if (vtable) {
+        out.write("        java.lang.foreign.ValueLayout.ADDRESS.withName(\""
+            + ObjectMethodsGenerator.VTABLE_FIELD + "\"),\n");
+      }
+
+      out.write(generator.layout(null));
+      out.write("      }));\n");
+    }
+
+    writeLayoutConstants(out, fields, staticLayout, layout64Bit);
+  }
+
+  /// Writes size and alignment as `static final long` constants, and field
+  /// offsets as constants of the nested `Offsets$F` class: compile-time
+  /// literals for a static layout, literals behind the `Is64Bit$F` check for
+  /// a 64-bit layout, or otherwise values taken from `MemoryLayout$F`.
+  /// Keeping the offsets in their own class defers their computation to the
+  /// first use, off the class initialization of the companion.
+  private void writeLayoutConstants(Writer out,
+      ForeignMemoryAnalyzer.Fields fields, StaticLayout staticLayout,
+      StaticLayout layout64Bit) throws IOException {
+    out.write("""
+
+          public static final long ByteSize$F = <byteSize>;
+
+          public static final long ByteAlignment$F = <byteAlignment>;
+        """
+        .replace("<byteSize>", constant(staticLayout, layout64Bit,
+            StaticLayout::byteSize, "MemoryLayout$F.byteSize()"))
+        .replace("<byteAlignment>", constant(staticLayout, layout64Bit,
+            StaticLayout::byteAlignment, "MemoryLayout$F.byteAlignment()"))
+        .replace("<indent>", "      "));
+
+    var variables = fields.fields();
+    if (variables.isEmpty()) return;
+
+    out.write("""
+
+          public static final class Offsets$F {
+            private Offsets$F() {}
+        """);
+
+    for (var i = 0; i < variables.size(); i++) {
+      var name = variables.get(i).name();
+      var index = i;
+      var offset = constant(staticLayout, layout64Bit,
+          layout -> layout.offsets().get(index),
+          "MemoryLayout$F.byteOffset("
+              + "java.lang.foreign.MemoryLayout.PathElement"
+              + "\n            .groupElement(\"" + name + "\"))");
+
+      out.write("""
+
+              public static final long <name> =<offset>;
+          """
+          .replace("<name>", name)
+          .replace("<offset>", offset.startsWith("MemoryLayout$F.")
+              ? "\n        " + offset : " " + offset)
+          .replace("<indent>", "        "));
+    }
+
+    out.write("  }\n");
+  }
+
+  /// A literal of `staticLayout`, a literal of `layout64Bit` behind the
+  /// `Is64Bit$F` check with `dynamic` on its `<indent>` line, or `dynamic`.
+  private static String constant(StaticLayout staticLayout,
+      StaticLayout layout64Bit, ToLongFunction<StaticLayout> value,
+      String dynamic) {
+    if (staticLayout != null) return value.applyAsLong(staticLayout) + "L";
+    if (layout64Bit == null) return dynamic;
+
+    return "Is64Bit$F ? " + value.applyAsLong(layout64Bit) + "L\n<indent>: "
+        + dynamic;
   }
 
   private void writeAllocators(Writer out) throws IOException {
@@ -151,8 +302,7 @@ final class ForeignMemoryGenerator {
 
           public static java.lang.foreign.MemorySegment allocate$F(
               java.lang.foreign.SegmentAllocator allocator) {
-            return allocator.allocate(
-              MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+            return allocator.allocate(ByteSize$F, ByteAlignment$F);
           }
 
           public static java.lang.foreign.MemorySegment allocate$F(
@@ -172,10 +322,8 @@ final class ForeignMemoryGenerator {
     var returnType = isRecord
         ? source.getSimpleName().toString() : simpleClassName;
     var expression = isRecord
-        ? "fromMemorySegment$F(memorySegment.reinterpret("
-            + "MemoryLayout$F.byteSize()))"
-        : "new " + simpleClassName + "(memorySegment.reinterpret("
-            + "MemoryLayout$F.byteSize()))";
+        ? "fromMemorySegment$F(memorySegment.reinterpret(ByteSize$F))"
+        : "new " + simpleClassName + "(memorySegment.reinterpret(ByteSize$F))";
 
     out.write("""
 
@@ -189,8 +337,8 @@ final class ForeignMemoryGenerator {
             if (count < 0) {
               throw new IllegalArgumentException("count must be non-negative");
             }
-            return memorySegment.reinterpret(Math.multiplyExact(
-                MemoryLayout$F.byteSize(), count));
+            return memorySegment.reinterpret(
+                Math.multiplyExact(ByteSize$F, count));
           }
         """
         .replace("<type>", returnType)
@@ -207,8 +355,8 @@ final class ForeignMemoryGenerator {
             if (index < 0) {
               throw new IndexOutOfBoundsException(index);
             }
-            return array.asSlice(Math.multiplyExact(
-                index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+            return array.asSlice(
+                Math.multiplyExact(index, ByteSize$F), ByteSize$F);
           }
         """);
 
@@ -234,6 +382,175 @@ final class ForeignMemoryGenerator {
         .replace("<class>", simpleClassName));
   }
 
+  /// Writes `stream$F`, whose spliterator splits the array by element index
+  /// ranges, `fill$F`/`transform$F`, which write elements in order on the
+  /// calling thread, and `parallelFill$F`/`parallelTransform$F`, which write
+  /// them from fork/join workers. Like `stream$F`, the writing helpers reject
+  /// a segment whose size is not a multiple of the element size, and the
+  /// parallel ones also a segment other threads cannot access, before
+  /// writing anything. Records that need an allocator to be written get only
+  /// `stream$F`, since the allocator would be shared by the workers.
+  private void writeArrayStreams(
+      Writer out, TypeElement source, String simpleClassName)
+      throws IOException {
+    if (source.getKind() != ElementKind.RECORD) {
+      out.write("""
+
+            public static java.util.stream.Stream<<class>> stream$F(
+                java.lang.foreign.MemorySegment array) {
+              return array.elements(MemoryLayout$F)
+                  .map(<class>::new);
+            }
+
+            private static long elementCount$F(
+                java.lang.foreign.MemorySegment array) {
+              if (array.byteSize() % ByteSize$F != 0) {
+                throw new IllegalArgumentException("Segment size "
+                    + array.byteSize() + " is not a multiple of " + ByteSize$F);
+              }
+              return array.byteSize() / ByteSize$F;
+            }
+
+            public static void fill$F(
+                java.lang.foreign.MemorySegment array,
+                java.util.function.ObjLongConsumer<? super <class>> initializer) {
+              for (long index = 0, count = elementCount$F(array);
+                  index < count; index++) {
+                initializer.accept(at$F(array, index), index);
+              }
+            }
+
+            public static void parallelFill$F(
+                java.lang.foreign.MemorySegment array,
+                java.util.function.ObjLongConsumer<? super <class>> initializer) {
+              org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+              java.util.stream.LongStream.range(0, elementCount$F(array))
+                  .parallel()
+                  .forEach(index -> initializer.accept(
+                      at$F(array, index), index));
+            }
+          """
+          .replace("<class>", simpleClassName));
+      return;
+    }
+
+    out.write("""
+
+          public static java.util.stream.Stream<<source>> stream$F(
+              java.lang.foreign.MemorySegment array) {
+            return array.elements(MemoryLayout$F)
+                .map(<class>::fromMemorySegment$F);
+          }
+        """
+        .replace("<source>", source.getSimpleName().toString())
+        .replace("<class>", simpleClassName));
+
+    if (analyzer.recordConverterNeedsAllocator(source)) return;
+
+    out.write("""
+
+          private static long elementCount$F(
+              java.lang.foreign.MemorySegment array) {
+            if (array.byteSize() % ByteSize$F != 0) {
+              throw new IllegalArgumentException("Segment size "
+                  + array.byteSize() + " is not a multiple of " + ByteSize$F);
+            }
+            return array.byteSize() / ByteSize$F;
+          }
+
+          public static void fill$F(
+              java.lang.foreign.MemorySegment array,
+              java.util.function.LongFunction<? extends <source>> generator) {
+            for (long index = 0, count = elementCount$F(array);
+                index < count; index++) {
+              toMemorySegment$F(
+                  generator.apply(index), elementAt$F(array, index));
+            }
+          }
+
+          public static void transform$F(
+              java.lang.foreign.MemorySegment array,
+              java.util.function.UnaryOperator<<source>> operator) {
+            for (long index = 0, count = elementCount$F(array);
+                index < count; index++) {
+              var element = elementAt$F(array, index);
+              toMemorySegment$F(
+                  operator.apply(fromMemorySegment$F(element)), element);
+            }
+          }
+
+          public static void parallelFill$F(
+              java.lang.foreign.MemorySegment array,
+              java.util.function.LongFunction<? extends <source>> generator) {
+            org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+            java.util.stream.LongStream.range(0, elementCount$F(array))
+                .parallel()
+                .forEach(index -> toMemorySegment$F(
+                    generator.apply(index), elementAt$F(array, index)));
+          }
+
+          public static void parallelTransform$F(
+              java.lang.foreign.MemorySegment array,
+              java.util.function.UnaryOperator<<source>> operator) {
+            org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+            java.util.stream.LongStream.range(0, elementCount$F(array))
+                .parallel()
+                .forEach(index -> {
+                  var element = elementAt$F(array, index);
+                  toMemorySegment$F(
+                      operator.apply(fromMemorySegment$F(element)), element);
+                });
+          }
+        """
+        .replace("<source>", source.getSimpleName().toString()));
+  }
+
+  private void writeArrayCopies(Writer out, TypeElement source,
+      String simpleClassName, ForeignMemoryAnalyzer.Fields fields)
+      throws IOException {
+    copyGenerator.writeArrayCopies(out);
+
+    if (source.getKind() != ElementKind.RECORD) {
+      copyGenerator.writeArrayFill(out, simpleClassName, false);
+      return;
+    }
+
+    if (analyzer.recordConverterNeedsAllocator(source)) return;
+
+    var sourceSimpleName = source.getSimpleName().toString();
+    copyGenerator.writeRecordElementWrite(out, sourceSimpleName, fields);
+    copyGenerator.writeArrayFill(out, sourceSimpleName, true);
+  }
+
+  /// Writes `equals`, `hashCode` and `compareTo` over the bytes of
+  /// `ContentRanges$F`, the non-padding ranges of `MemoryLayout$F`.
+  private void writeContentEquality(Writer out, String className)
+      throws IOException {
+    out.write("""
+
+          private static final long[] ContentRanges$F =
+              org.alveolo.ffm.ForeignUtils.contentRanges(MemoryLayout$F);
+
+          public boolean equals(java.lang.Object other) {
+            return this == other
+                || other instanceof <class> that
+                    && org.alveolo.ffm.ForeignUtils.contentEquals(
+                        MemorySegment$F, that.MemorySegment$F, ContentRanges$F);
+          }
+
+          public int hashCode() {
+            return org.alveolo.ffm.ForeignUtils.contentHashCode(
+                MemorySegment$F, ContentRanges$F);
+          }
+
+          public int compareTo(<class> other) {
+            return org.alveolo.ffm.ForeignUtils.contentCompare(
+                MemorySegment$F, other.MemorySegment$F, ContentRanges$F);
+          }
+        """
+        .replace("<class>", className));
+  }
+
   private void writeConstructors(Writer out, String className,
       String vtableTypeName, boolean hasVirtualMethods)
       throws IOException {
@@ -4,19 +4,25 @@ import static javax.lang.model.SourceVersion.RELEASE_25;
 import static javax.lang.model.element.Modifier.ABSTRACT;
 import static javax.lang.model.element.Modifier.DEFAULT;
 import static javax.lang.model.element.Modifier.STATIC;
+import static org.alveolo.ffm.processor.ProcessorUtils.OFFSET_ACCESSORS_OPTION;
 import static org.alveolo.ffm.processor.ProcessorUtils.foreignMemorySimpleClassName;
+import static org.alveolo.ffm.processor.ProcessorUtils.isOptionEnabled;
 import static org.alveolo.ffm.processor.ProcessorUtils.validateGeneratedClassName;
 import static org.alveolo.ffm.processor.ProcessorUtils.validateSimpleClassName;
 import static org.alveolo.ffm.processor.ProcessorUtils.validateTopLevelType;
 import static org.alveolo.ffm.processor.ProcessorUtils.validateUserIdentifiers;
+import static org.alveolo.ffm.processor.ProcessorUtils.writeIndex;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Set;
+import java.util.TreeSet;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
@@ -24,6 +30,7 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 
+import org.alveolo.ffm.Bindings;
 import org.alveolo.ffm.Struct;
 import org.alveolo.ffm.Union;
 import org.alveolo.ffm.Virtual;
@@ -33,15 +40,42 @@ import org.alveolo.ffm.Virtual;
   "org.alveolo.ffm.Union",
   "org.alveolo.ffm.Virtual",
 })
+@SupportedOptions({
+  ProcessorUtils.JFR_OPTION,
+  ProcessorUtils.NATIVE_IMAGE_OPTION,
+  ProcessorUtils.OFFSET_ACCESSORS_OPTION,
+  ProcessorUtils.PRELOAD_INDEX_OPTION,
+})
 @SupportedSourceVersion(RELEASE_25)
 public class ForeignMemoryProcessor extends AbstractProcessor {
+  /// Generated classes of all rounds, for the preload index.
+  private final Set<String> companions = new TreeSet<>();
+
+  private NativeImageMetadata nativeImage;
+  private boolean offsetAccessors;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    nativeImage = new NativeImageMetadata(processingEnv);
+    offsetAccessors = isOptionEnabled(processingEnv, OFFSET_ACCESSORS_OPTION);
+  }
+
   @Override
   public boolean process(
       Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-    if (roundEnv.processingOver()) return true;
+    if (roundEnv.processingOver()) {
+      if (isOptionEnabled(processingEnv, ProcessorUtils.PRELOAD_INDEX_OPTION)
+          && !companions.isEmpty()) {
+        writeIndex(processingEnv, Bindings.MEMORY_INDEX, companions);
+      }
+      nativeImage.write("foreign-memory");
+      return true;
+    }
 
     var generatedTypes = GeneratedTypeRegistry.create(processingEnv, roundEnv);
-    var generator = new ForeignMemoryGenerator(processingEnv, generatedTypes);
+    var generator = new ForeignMemoryGenerator(
+        processingEnv, generatedTypes, nativeImage, companions);
 
     for (var annotation : annotations) {
       if (annotation.getQualifiedName().contentEquals(
@@ -80,8 +114,22 @@ public class ForeignMemoryProcessor extends AbstractProcessor {
                   "@Struct(vtable = true) can only be applied to an "
                       + "interface, not RECORD",
                   type);
+            } else if (struct.columns()
+                && type.getKind() != ElementKind.RECORD) {
+              messager.printError(
+                  "@Struct(columns = true) can only be applied to a "
+                      + "record, not " + type.getKind(),
+                  type);
+            } else if (struct.contentEquality()
+                && type.getKind() == ElementKind.RECORD) {
+              messager.printError(
+                  "@Struct(contentEquality = true) can only be applied to "
+                      + "an interface, not RECORD",
+                  type);
             } else {
-              generator.write(type, "struct", struct.vtable());
+              generator.write(type, "struct", struct.vtable(),
+                  struct.offsetAccessors() || offsetAccessors,
+                  struct.contentEquality());
             }
           }
 
@@ -97,7 +145,9 @@ public class ForeignMemoryProcessor extends AbstractProcessor {
                   + " can only be applied to an interface, not "
                   + ElementKind.RECORD, type);
             } else {
-              generator.write(type, "union", false);
+              generator.write(type, "union", false,
+                  union.offsetAccessors() || offsetAccessors,
+                  union.contentEquality());
             }
           }
         } catch (ProcessorError e) {
@@ -218,7 +218,7 @@ final class IndexedFieldGenerator {
                   <name>AsMemorySegment$F(
                       java.lang.foreign.MemorySegment memorySegment) {
                 return memorySegment.asSlice(
-                    MemoryLayout$F.byteOffset(<name>$PathElement$F),
+                    Offsets$F.<name>,
                     <name>$MemoryLayout$F.byteSize());
               }
             """
@@ -227,7 +227,7 @@ final class IndexedFieldGenerator {
               public java.lang.foreign.MemorySegment
                   <name>AsMemorySegment$F() {
                 return MemorySegment$F.asSlice(
-                    MemoryLayout$F.byteOffset(<name>$PathElement$F),
+                    Offsets$F.<name>,
                     <name>$MemoryLayout$F.byteSize());
               }
             """;
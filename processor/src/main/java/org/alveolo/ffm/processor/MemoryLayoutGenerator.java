@@ -23,20 +23,41 @@ class MemoryLayoutGenerator {
   }
 
   String layout() {
+    return layout(null);
+  }
+
+  /// Layout expressions with the explicit padding of `staticLayout`, or
+  /// without padding if it is `null`.
+  String layout(StaticLayout staticLayout) {
     var buf = new StringBuilder();
 
-    for (var field : fields) {
+    for (var i = 0; i < fields.size(); i++) {
+      var field = fields.get(i);
       if (field.unsupported()) {
         processingEnv.getMessager().printError(
             "Type is not supported: " + field.typeName(), field.errorElement());
       }
 
+      if (staticLayout != null) {
+        buf.append(paddingLayout(staticLayout.padding().get(i)));
+      }
       buf.append(namedLayout(field));
     }
 
+    if (staticLayout != null) {
+      buf.append(paddingLayout(staticLayout.padding().getLast()));
+    }
+
     return buf.toString();
   }
 
+  private static String paddingLayout(long byteSize) {
+    if (byteSize == 0) return "";
+
+    return ("java.lang.foreign.MemoryLayout.paddingLayout(" + byteSize + "L),")
+        .indent(8);
+  }
+
   private String namedLayout(LayoutField field) {
     return (field.layout()
         + ".withName(\"" + field.name() + "\"),")
@@ -0,0 +1,180 @@
+package org.alveolo.ffm.processor;
+
+import static java.util.stream.Collectors.joining;
+import static org.alveolo.ffm.processor.ProcessorUtils.NATIVE_IMAGE_OPTION;
+import static org.alveolo.ffm.processor.ProcessorUtils.isOptionEnabled;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.tools.StandardLocation;
+
+/// Foreign function registrations for GraalVM native-image, collected while a
+/// processor generates downcall and upcall descriptors and written as
+/// `META-INF/native-image/<package>/<kind>/reachability-metadata.json`, one
+/// file for each package that registers descriptors.
+///
+/// Only descriptors made of scalar and pointer layouts are registered. Others,
+/// such as those passing a struct by value, are reported as notes to be
+/// registered by hand. Nothing is collected without `-Aaffm.native.image`.
+final class NativeImageMetadata {
+  private static final Map<String, String> TYPES = Map.ofEntries(
+      Map.entry("java.lang.foreign.ValueLayout.JAVA_BOOLEAN", "jboolean"),
+      Map.entry("java.lang.foreign.ValueLayout.JAVA_BYTE", "jbyte"),
+      Map.entry("java.lang.foreign.ValueLayout.JAVA_CHAR", "jchar"),
+      Map.entry("java.lang.foreign.ValueLayout.JAVA_SHORT", "jshort"),
+      Map.entry("java.lang.foreign.ValueLayout.JAVA_INT", "jint"),
+      Map.entry("java.lang.foreign.ValueLayout.JAVA_LONG", "jlong"),
+      Map.entry("java.lang.foreign.ValueLayout.JAVA_FLOAT", "jfloat"),
+      Map.entry("java.lang.foreign.ValueLayout.JAVA_DOUBLE", "jdouble"),
+      Map.entry("java.lang.foreign.ValueLayout.ADDRESS", "void*"),
+      Map.entry("org.alveolo.ffm.CanonicalLayout.LONG", "long"),
+      Map.entry("org.alveolo.ffm.CanonicalLayout.SIZE_T", "size_t"),
+      Map.entry("org.alveolo.ffm.CanonicalLayout.WCHAR_T", "wchar_t"));
+
+  /// Descriptors registered by the elements of one package.
+  private record Registrations(Set<String> downcalls, Set<String> upcalls) {
+    Registrations() {
+      this(new LinkedHashSet<>(), new LinkedHashSet<>());
+    }
+  }
+
+  private final ProcessingEnvironment processingEnv;
+  private final boolean enabled;
+  private final Map<String, Registrations> packages = new TreeMap<>();
+
+  NativeImageMetadata(ProcessingEnvironment processingEnv) {
+    this.processingEnv = processingEnv;
+    enabled = isOptionEnabled(processingEnv, NATIVE_IMAGE_OPTION);
+  }
+
+  /// Registers a downcall descriptor.
+  ///
+  /// @param returnLayout layout expression of the result, or `null` for void
+  /// @param options JSON members of the linker options, such as
+  ///   `"captureCallState": true`
+  void downcall(Element owner, String returnLayout,
+      List<String> parameterLayouts, List<String> options) {
+    if (!enabled) return;
+
+    var function = function(returnLayout, parameterLayouts, options);
+    if (function == null) {
+      note(owner, "Downcall passing a struct or union by value");
+      return;
+    }
+
+    registrations(owner).downcalls().add(function);
+  }
+
+  /// Registers an upcall descriptor.
+  void upcall(Element owner, String returnLayout,
+      List<String> parameterLayouts) {
+    if (!enabled) return;
+
+    var function = function(returnLayout, parameterLayouts, List.of());
+    if (function == null) {
+      note(owner, "Upcall passing a struct or union by value");
+      return;
+    }
+
+    registrations(owner).upcalls().add(function);
+  }
+
+  /// Reports a descriptor that cannot be registered ahead of time.
+  void note(Element owner, String what) {
+    if (!enabled) return;
+
+    processingEnv.getMessager().printNote(
+        what + " is not registered in native-image reachability metadata;"
+            + " register it by hand",
+        owner);
+  }
+
+  /// Writes the collected registrations, if any, under the package of the
+  /// elements that registered them.
+  void write(String kind) {
+    packages.forEach((packageName, registrations) -> {
+      var path = "META-INF/native-image/" + packageName + "/" + kind
+          + "/reachability-metadata.json";
+
+      try {
+        var file = processingEnv.getFiler().createResource(
+            StandardLocation.CLASS_OUTPUT, "", path);
+
+        try (var out = file.openWriter()) {
+          out.write(json(registrations));
+        }
+      } catch (IOException e) {
+        processingEnv.getMessager().printError(
+            "Cannot write " + path + ": " + e.getMessage());
+      }
+    });
+  }
+
+  private static String json(Registrations registrations) {
+    var downcalls = registrations.downcalls();
+    var upcalls = registrations.upcalls();
+
+    var sections = new LinkedHashSet<String>();
+    if (!downcalls.isEmpty()) sections.add(section("downcalls", downcalls));
+    if (!upcalls.isEmpty()) sections.add(section("upcalls", upcalls));
+
+    return """
+        {
+          "foreign": {
+        <sections>
+          }
+        }
+        """
+        .replace("<sections>", String.join(",\n", sections));
+  }
+
+  private static String section(String name, Set<String> functions) {
+    return """
+            "<name>": [
+        <functions>
+            ]"""
+        .replace("<name>", name)
+        .replace("<functions>", functions.stream()
+            .map(function -> function.indent(6).stripTrailing())
+            .collect(joining(",\n")));
+  }
+
+  private Registrations registrations(Element owner) {
+    var name = processingEnv.getElementUtils().getPackageOf(owner)
+        .getQualifiedName().toString();
+    return packages.computeIfAbsent(name.isEmpty() ? "default" : name,
+        _ -> new Registrations());
+  }
+
+  private static String function(String returnLayout,
+      List<String> parameterLayouts, List<String> options) {
+    var returnType = returnLayout == null ? "void" : TYPES.get(returnLayout);
+    if (returnType == null) return null;
+
+    var parameterTypes = parameterLayouts.stream()
+        .map(TYPES::get)
+        .toList();
+    if (parameterTypes.contains(null)) return null;
+
+    var optionMembers = options.isEmpty() ? "" : options.stream()
+        .collect(joining(", ", ",\n  \"options\": {", "}"));
+
+    return """
+        {
+          "returnType": "<return>",
+          "parameterTypes": [<parameters>]<options>
+        }"""
+        .replace("<return>", returnType)
+        .replace("<parameters>", parameterTypes.stream()
+            .map(type -> "\"" + type + "\"")
+            .collect(joining(", ")))
+        .replace("<options>", optionMembers);
+  }
+}
@@ -80,11 +80,13 @@ final class ObjectMethodsGenerator {
 
   private final ProcessingEnvironment processingEnv;
   private final GeneratedTypeRegistry generatedTypes;
+  private final NativeImageMetadata nativeImage;
 
   ObjectMethodsGenerator(ProcessingEnvironment processingEnv,
-      GeneratedTypeRegistry generatedTypes) {
+      GeneratedTypeRegistry generatedTypes, NativeImageMetadata nativeImage) {
     this.processingEnv = processingEnv;
     this.generatedTypes = generatedTypes;
+    this.nativeImage = nativeImage;
   }
 
   static boolean isObjectMethod(ExecutableElement method) {
@@ -266,6 +268,7 @@ final class ObjectMethodsGenerator {
     for (var generator : prepared.symbolGenerators()) {
       if (!generator.hasErrors) {
         out.write(generator.methodHandleDeclaration());
+        generator.registerDowncall(nativeImage);
       }
     }
   }
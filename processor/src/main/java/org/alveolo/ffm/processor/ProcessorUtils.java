@@ -4,10 +4,14 @@ import static java.util.stream.Collectors.joining;
 import static javax.lang.model.SourceVersion.isIdentifier;
 import static javax.lang.model.SourceVersion.isKeyword;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
@@ -15,9 +19,13 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.NestingKind;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
+import javax.tools.StandardLocation;
 
 import org.alveolo.ffm.CallState;
+import org.alveolo.ffm.Callback;
 import org.alveolo.ffm.DispatchTable;
 import org.alveolo.ffm.ForeignInterface;
 import org.alveolo.ffm.Library;
@@ -25,8 +33,68 @@ import org.alveolo.ffm.Struct;
 import org.alveolo.ffm.Union;
 
 final class ProcessorUtils {
+  /// Processor option that makes generated `@ForeignInterface` and
+  /// `@DispatchTable` methods record `org.alveolo.ffm.CallMetrics`.
+  static final String METRICS_OPTION = "affm.metrics";
+
+  /// Processor option that makes generated downcalls record
+  /// `org.alveolo.ffm.NativeCallEvent`.
+  static final String JFR_OPTION = "affm.jfr";
+
+  /// Processor option that lists generated classes in the
+  /// `org.alveolo.ffm.Bindings` index resources.
+  static final String PRELOAD_INDEX_OPTION = "affm.preload.index";
+
+  /// Processor option that writes GraalVM native-image foreign registrations
+  /// of generated descriptors, see `NativeImageMetadata`.
+  static final String NATIVE_IMAGE_OPTION = "affm.native.image";
+
+  /// Processor option that makes offset-based field accessors the default for
+  /// `@Struct` and `@Union` types.
+  static final String OFFSET_ACCESSORS_OPTION = "affm.offset.accessors";
+
   private ProcessorUtils() {}
 
+  /// Whether a boolean processor option is set, as `-Aname` or `-Aname=true`.
+  static boolean isOptionEnabled(
+      ProcessingEnvironment processingEnv, String name) {
+    var options = processingEnv.getOptions();
+    if (!options.containsKey(name)) return false;
+
+    var value = options.get(name);
+    return value == null || Boolean.parseBoolean(value);
+  }
+
+  /// Writes the `names` of generated classes to the class output `resource`,
+  /// one per line.
+  static void writeIndex(ProcessingEnvironment processingEnv,
+      String resource, Collection<String> names) {
+    try {
+      var file = processingEnv.getFiler().createResource(
+          StandardLocation.CLASS_OUTPUT, "", resource);
+
+      try (var out = file.openWriter()) {
+        for (var name : names) {
+          out.write(name + "\n");
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printError(
+          "Cannot write " + resource + ": " + e.getMessage());
+    }
+  }
+
+  /// Type of a `Class` annotation member, which cannot be loaded while
+  /// processing.
+  static TypeMirror typeValue(Supplier<Class<?>> member) {
+    try {
+      member.get();
+      throw new IllegalStateException("Annotation member class was loaded");
+    } catch (MirroredTypeException e) {
+      return e.getTypeMirror();
+    }
+  }
+
   static <T extends Annotation> void validateSimpleClassName(
       TypeElement element, T annotation, String name) throws ProcessorError {
     if (name.isEmpty()) return;
@@ -116,6 +184,18 @@ final class ProcessorUtils {
     return generatedSimpleClassName(element, override, "FFM");
   }
 
+  static String callbackClassName(TypeElement element, Elements elements) {
+    String simpleName = callbackSimpleClassName(element);
+    return qualifyName(packageName(element, elements), simpleName);
+  }
+
+  static String callbackSimpleClassName(TypeElement element) {
+    var callback = element.getAnnotation(Callback.class);
+    var override = callback == null ? "" : callback.name();
+
+    return generatedSimpleClassName(element, override, "FC");
+  }
+
   static String dispatchTableClassName(TypeElement element, Elements elements) {
     String simpleName = dispatchTableSimpleClassName(element);
     return qualifyName(packageName(element, elements), simpleName);
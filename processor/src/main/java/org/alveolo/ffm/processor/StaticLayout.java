@@ -0,0 +1,131 @@
+package org.alveolo.ffm.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/// Size, alignment and field offsets of a struct or union, computed at compile
+/// time with the padding rules of `ForeignUtils.structPad` and `unionPad`.
+///
+/// [#of] computes only layouts whose size and alignment are the same on every
+/// platform: Java scalars up to four bytes and inline arrays of them. `long`
+/// and `double` are aligned like addresses, to four bytes on 32-bit
+/// platforms, so layouts with them, addresses, or `size_t` are computed for
+/// 64-bit platforms by [#of64Bit], and used only behind an address size check.
+/// Other canonical C scalars such as `@SLong` and nested structs leave the
+/// layout to class initialization.
+///
+/// @param padding padding inserted before each field, and after the last one
+record StaticLayout(
+    long byteSize, long byteAlignment, List<Long> offsets, List<Long> padding
+) {
+  private record Scalar(long byteSize, long byteAlignment) {}
+
+  private static final Map<String, Scalar> SCALARS = Map.of(
+      "java.lang.foreign.ValueLayout.JAVA_BOOLEAN", new Scalar(1, 1),
+      "java.lang.foreign.ValueLayout.JAVA_BYTE", new Scalar(1, 1),
+      "java.lang.foreign.ValueLayout.JAVA_CHAR", new Scalar(2, 2),
+      "java.lang.foreign.ValueLayout.JAVA_SHORT", new Scalar(2, 2),
+      "java.lang.foreign.ValueLayout.JAVA_INT", new Scalar(4, 4),
+      "java.lang.foreign.ValueLayout.JAVA_FLOAT", new Scalar(4, 4));
+
+  /// Scalars whose alignment follows the address size, on 64-bit platforms.
+  private static final Map<String, Scalar> SCALARS_64_BIT = Map.of(
+      "java.lang.foreign.ValueLayout.JAVA_LONG", new Scalar(8, 8),
+      "java.lang.foreign.ValueLayout.JAVA_DOUBLE", new Scalar(8, 8),
+      "java.lang.foreign.ValueLayout.ADDRESS", new Scalar(8, 8),
+      "org.alveolo.ffm.CanonicalLayout.SIZE_T", new Scalar(8, 8));
+
+  private static final Pattern SEQUENCE = Pattern.compile(
+      "java\\.lang\\.foreign\\.MemoryLayout\\.sequenceLayout\\((\\d+)L,\\s*"
+          + "(.+)\\)",
+      Pattern.DOTALL);
+
+  /// Computes the layout of `kind` ("struct" or "union") from field layout
+  /// expressions, or returns `null` if one of them is platform dependent.
+  static StaticLayout of(String kind, List<String> layouts) {
+    return of(kind, layouts, false);
+  }
+
+  /// Computes the layout of `kind` on 64-bit platforms, or returns `null` if
+  /// one of the fields is platform dependent even there.
+  static StaticLayout of64Bit(String kind, List<String> layouts) {
+    return of(kind, layouts, true);
+  }
+
+  private static StaticLayout of(
+      String kind, List<String> layouts, boolean is64Bit) {
+    var scalars = new ArrayList<Scalar>(layouts.size());
+    for (var layout : layouts) {
+      var scalar = scalar(layout.strip(), is64Bit);
+      if (scalar == null) return null;
+      scalars.add(scalar);
+    }
+
+    return kind.equals("union") ? union(scalars) : struct(scalars);
+  }
+
+  private static StaticLayout struct(List<Scalar> fields) {
+    var offsets = new ArrayList<Long>(fields.size());
+    var padding = new ArrayList<Long>(fields.size() + 1);
+
+    long offset = 0;
+    long alignment = 1;
+    for (var field : fields) {
+      var misAlignment = offset % field.byteAlignment();
+      var gap = misAlignment == 0 ? 0 : field.byteAlignment() - misAlignment;
+      padding.add(gap);
+      offset += gap;
+
+      offsets.add(offset);
+      offset += field.byteSize();
+      alignment = Math.max(alignment, field.byteAlignment());
+    }
+
+    var misAlignment = offset % alignment;
+    var tail = misAlignment == 0 ? 0 : alignment - misAlignment;
+    padding.add(tail);
+
+    return new StaticLayout(offset + tail, alignment,
+        List.copyOf(offsets), List.copyOf(padding));
+  }
+
+  private static StaticLayout union(List<Scalar> fields) {
+    var offsets = new ArrayList<Long>(fields.size());
+    var padding = new ArrayList<Long>(fields.size() + 1);
+
+    long size = 0;
+    long alignment = 1;
+    for (var field : fields) {
+      offsets.add(0L);
+      padding.add(0L);
+      size = Math.max(size, field.byteSize());
+      alignment = Math.max(alignment, field.byteAlignment());
+    }
+
+    // unionPad() adds a padding member as large as the whole union
+    var misAlignment = size % alignment;
+    if (misAlignment != 0) size += alignment - misAlignment;
+    padding.add(misAlignment == 0 ? 0 : size);
+
+    return new StaticLayout(size, alignment,
+        List.copyOf(offsets), List.copyOf(padding));
+  }
+
+  private static Scalar scalar(String layout, boolean is64Bit) {
+    var scalar = SCALARS.get(layout);
+    if (scalar == null && is64Bit) scalar = SCALARS_64_BIT.get(layout);
+    if (scalar != null) return scalar;
+
+    var matcher = SEQUENCE.matcher(layout);
+    if (!matcher.matches()) return null;
+
+    var element = scalar(matcher.group(2).strip(), is64Bit);
+    if (element == null) return null;
+
+    var count = Long.parseLong(matcher.group(1));
+    return new Scalar(
+        Math.multiplyExact(count, element.byteSize()), element.byteAlignment());
+  }
+}
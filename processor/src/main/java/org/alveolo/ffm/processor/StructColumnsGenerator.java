@@ -0,0 +1,181 @@
+package org.alveolo.ffm.processor;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+
+/// Generates the `Columns$F` struct-of-arrays container of a
+/// `@Struct(columns = true)` record: one contiguous segment per component,
+/// with element accessors and bulk copies from and to the array-of-structs
+/// layout of `allocate$F(allocator, count)`.
+final class StructColumnsGenerator {
+  private final Messager messager;
+
+  StructColumnsGenerator(ProcessingEnvironment processingEnv) {
+    messager = processingEnv.getMessager();
+  }
+
+  /// Reports components that cannot be stored in a column.
+  boolean validate(List<VariableGenerator> fields) {
+    var valid = true;
+    for (var field : fields) {
+      if (!isColumn(field)) {
+        messager.printError(
+            "@Struct(columns = true) supports only Java primitive record "
+                + "components without @Address or platform C scalar "
+                + "annotations",
+            field.element);
+        valid = false;
+      }
+    }
+    return valid;
+  }
+
+  void write(Writer out, TypeElement source, List<VariableGenerator> fields)
+      throws IOException {
+    var declarations = fields.stream()
+        .map(field -> """
+            public final java.lang.foreign.MemorySegment <name>$Column$F;
+            """
+            .replace("<name>", field.name()))
+        .collect(joining());
+
+    var allocations = fields.stream()
+        .map(field -> """
+            this.<name>$Column$F = allocator.allocate(
+                <layout>, count);
+            """
+            .replace("<layout>", field.layout())
+            .replace("<name>", field.name()))
+        .collect(joining());
+
+    var getters = fields.stream()
+        .map(field -> field.name() + "(index)")
+        .collect(joining(",\n"));
+
+    var setters = fields.stream()
+        .map(field -> "<name>(index, value.<name>());\n"
+            .replace("<name>", field.name()))
+        .collect(joining());
+
+    out.write("""
+
+          public static final class Columns$F {
+            public final long Count$F;
+        <declarations>
+
+            private Columns$F(
+                java.lang.foreign.SegmentAllocator allocator, long count) {
+              this.Count$F = count;
+        <allocations>
+            }
+
+            public static Columns$F allocate$F(
+                java.lang.foreign.SegmentAllocator allocator, long count) {
+              if (count < 0) {
+                throw new IllegalArgumentException("count must be non-negative");
+              }
+              return new Columns$F(allocator, count);
+            }
+
+            public static Columns$F fromArray$F(
+                java.lang.foreign.SegmentAllocator allocator,
+                java.lang.foreign.MemorySegment array, long count) {
+              var columns = allocate$F(allocator, count);
+              columns.copyFromArray$F(array);
+              return columns;
+            }
+
+            private void checkArray$F(java.lang.foreign.MemorySegment array) {
+              if (array.byteSize() < Math.multiplyExact(Count$F, ByteSize$F)) {
+                throw new IndexOutOfBoundsException(
+                    "Array holds fewer than " + Count$F + " elements");
+              }
+            }
+
+            public void copyFromArray$F(java.lang.foreign.MemorySegment array) {
+              checkArray$F(array);
+        <copyFrom>
+            }
+
+            public void copyToArray$F(java.lang.foreign.MemorySegment array) {
+              checkArray$F(array);
+        <copyTo>
+            }
+
+            public <source> get$F(long index) {
+              return new <source>(
+        <getters>);
+            }
+
+            public void set$F(long index, <source> value) {
+        <setters>
+            }
+        """
+        .replace("<declarations>\n", declarations.indent(4))
+        .replace("<allocations>\n", allocations.indent(6))
+        .replace("<copyFrom>\n", copies(fields, true).indent(6))
+        .replace("<copyTo>\n", copies(fields, false).indent(6))
+        .replace("<getters>", getters.indent(10).stripTrailing())
+        .replace("<setters>\n", setters.indent(6))
+        .replace("<source>", source.getSimpleName().toString()));
+
+    for (var field : fields) {
+      out.write("""
+
+              public <type> <name>(long index) {
+                return <name>$Column$F.getAtIndex(
+                    <layout>, index);
+              }
+
+              public void <name>(long index, <type> value) {
+                <name>$Column$F.setAtIndex(
+                    <layout>, index, value);
+              }
+          """
+          .replace("<type>", field.typeName())
+          .replace("<layout>", field.layout())
+          .replace("<name>", field.name()));
+    }
+
+    out.write("  }\n");
+  }
+
+  private static String copies(List<VariableGenerator> fields, boolean from) {
+    var template = from
+        ? """
+            for (long index = 0, offset = Offsets$F.<name>; index < Count$F;
+                index++, offset += ByteSize$F) {
+              <name>$Column$F.setAtIndex(
+                  <layout>, index,
+                  array.get(<layout>, offset));
+            }
+            """
+        : """
+            for (long index = 0, offset = Offsets$F.<name>; index < Count$F;
+                index++, offset += ByteSize$F) {
+              array.set(<layout>, offset,
+                  <name>$Column$F.getAtIndex(
+                      <layout>, index));
+            }
+            """;
+
+    return fields.stream()
+        .map(field -> template
+            .replace("<layout>", field.layout())
+            .replace("<name>", field.name()))
+        .collect(joining());
+  }
+
+  private static boolean isColumn(VariableGenerator field) {
+    return field.isPrimitive()
+        && !field.hasCanonicalScalar()
+        && !field.isPrimitiveAddress();
+  }
+}
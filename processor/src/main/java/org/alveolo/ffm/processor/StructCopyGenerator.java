@@ -0,0 +1,146 @@
+package org.alveolo.ffm.processor;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/// Generates whole-element copy helpers of a foreign-memory companion class.
+///
+/// Every copy is a `MemorySegment.copy` of `ByteSize$F` bytes per element, so
+/// padding is copied along with the fields. `fill$F` copies the prototype
+/// once and then doubles the filled prefix, taking `log2(count)` copies.
+final class StructCopyGenerator {
+  void writeArrayCopies(Writer out) throws IOException {
+    out.write("""
+
+          public static void copy$F(
+              java.lang.foreign.MemorySegment source, long sourceIndex,
+              java.lang.foreign.MemorySegment target, long targetIndex,
+              long count) {
+            if (count < 0) {
+              throw new IllegalArgumentException("count must be non-negative");
+            }
+            java.lang.foreign.MemorySegment.copy(
+                source, Math.multiplyExact(sourceIndex, ByteSize$F),
+                target, Math.multiplyExact(targetIndex, ByteSize$F),
+                Math.multiplyExact(count, ByteSize$F));
+          }
+
+          public static void swap$F(
+              java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+            var element = elementAt$F(array, index);
+            var other = elementAt$F(array, otherIndex);
+            var temporary = java.lang.foreign.MemorySegment.ofArray(
+                new byte[Math.toIntExact(ByteSize$F)]);
+            java.lang.foreign.MemorySegment.copy(
+                element, 0, temporary, 0, ByteSize$F);
+            java.lang.foreign.MemorySegment.copy(
+                other, 0, element, 0, ByteSize$F);
+            java.lang.foreign.MemorySegment.copy(
+                temporary, 0, other, 0, ByteSize$F);
+          }
+        """);
+  }
+
+  /// Writes `fill$F(array, count, prototype)` for a prototype of
+  /// `elementType`: a record, written with `setAt$F`, or a companion
+  /// instance, whose segment is copied.
+  void writeArrayFill(Writer out, String elementType, boolean record)
+      throws IOException {
+    var writePrototype = record
+        ? "setAt$F(target, 0, prototype);"
+        : """
+            java.lang.foreign.MemorySegment.copy(
+                    prototype.MemorySegment$F, 0, target, 0, ByteSize$F);""";
+
+    out.write("""
+
+          public static void fill$F(
+              java.lang.foreign.MemorySegment array, long count,
+              <type> prototype) {
+            if (count < 0) {
+              throw new IllegalArgumentException("count must be non-negative");
+            }
+            if (count == 0) return;
+
+            var size = Math.multiplyExact(count, ByteSize$F);
+            var target = array.asSlice(0, size);
+            <writePrototype>
+            for (long filled = ByteSize$F; filled < size; filled += filled) {
+              java.lang.foreign.MemorySegment.copy(
+                  target, 0, target, filled, Math.min(filled, size - filled));
+            }
+          }
+        """
+        .replace("<writePrototype>", writePrototype)
+        .replace("<type>", elementType));
+  }
+
+  /// Writes `setAt$F`, which stores a record into an array element. Records
+  /// of inline scalars are written field by field at the element offset;
+  /// other records are converted through an element slice.
+  void writeRecordElementWrite(Writer out, String sourceClassName,
+      ForeignMemoryAnalyzer.Fields fields) throws IOException {
+    var direct = fields.fields().stream()
+        .allMatch(field -> field.isInlineScalar()
+            && !fields.indexedFields().containsKey(field.name()));
+
+    var body = direct
+        ? """
+            var offset = Math.multiplyExact(index, ByteSize$F);
+            java.util.Objects.checkFromIndexSize(
+                offset, ByteSize$F, array.byteSize());
+            """
+            + fields.fields().stream()
+                .map(StructCopyGenerator::directWrite)
+                .collect(joining("\n"))
+        : "toMemorySegment$F(value, elementAt$F(array, index));";
+
+    out.write("""
+
+          public static void setAt$F(
+              java.lang.foreign.MemorySegment array, long index,
+              <source> value) {
+            <body>
+          }
+        """
+        .replace("<body>", body.stripTrailing().replace("\n", "\n    "))
+        .replace("<source>", sourceClassName));
+  }
+
+  void writeInstanceCopies(Writer out, String className, boolean copyFrom)
+      throws IOException {
+    if (copyFrom) {
+      out.write("""
+
+            public <class> copyFrom$F(<class> other) {
+              java.lang.foreign.MemorySegment.copy(
+                  other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+              return this;
+            }
+          """
+          .replace("<class>", className));
+    }
+
+    out.write("""
+
+          public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+            java.lang.foreign.MemorySegment.copy(
+                MemorySegment$F, 0,
+                array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+          }
+        """);
+  }
+
+  private static String directWrite(VariableGenerator field) {
+    var offset = "offset + " + "Offsets$F." + field.name();
+    var value = "value." + field.name() + "()";
+    return field.hasCanonicalScalar()
+        ? field.canonicalSet("array", offset, value)
+        : "array.set(<layout>,\n    <offset>, <value>);"
+            .replace("<layout>", field.layout())
+            .replace("<offset>", offset)
+            .replace("<value>", value);
+  }
+}
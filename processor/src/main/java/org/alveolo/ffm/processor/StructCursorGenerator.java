@@ -0,0 +1,110 @@
+package org.alveolo.ffm.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/// Generates the `Cursor$F` flyweight of a memory-backed `@Struct` or `@Union`
+/// interface: one mutable view bound to a native array and repositioned by
+/// index, so that a scan allocates no wrapper or slice per element.
+///
+/// Scalar fields are read and written at `Offset$F + Offsets$F.<name>` in the
+/// array segment. Fields that need a wrapper, an allocator or a var handle
+/// coordinate are left to the element view returned by `get$F()`.
+final class StructCursorGenerator {
+  void write(Writer out, String className,
+      ForeignMemoryAnalyzer.Fields fields) throws IOException {
+    if (fields.fields().isEmpty()) return;
+
+    out.write("""
+
+          public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+            return new Cursor$F(array);
+          }
+
+          public static final class Cursor$F {
+            public final java.lang.foreign.MemorySegment MemorySegment$F;
+            public final long Count$F;
+            private long Index$F = -1L;
+            private long Offset$F = -ByteSize$F;
+
+            public Cursor$F(java.lang.foreign.MemorySegment array) {
+              this.MemorySegment$F = array;
+              this.Count$F = array.byteSize() / ByteSize$F;
+            }
+
+            public long index$F() {
+              return Index$F;
+            }
+
+            public Cursor$F moveTo$F(long index) {
+              Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+              Index$F = index;
+              return this;
+            }
+
+            public boolean next$F() {
+              if (Index$F + 1 >= Count$F) return false;
+              Index$F++;
+              Offset$F += ByteSize$F;
+              return true;
+            }
+
+            public Cursor$F reset$F() {
+              Index$F = -1L;
+              Offset$F = -ByteSize$F;
+              return this;
+            }
+
+            public <class> get$F() {
+              return at$F(MemorySegment$F, Index$F);
+            }
+        """
+        .replace("<class>", className));
+
+    for (var field : fields.fields()) {
+      if (!fields.indexedFields().containsKey(field.name())
+          && field.isInlineScalar()) {
+        writeAccessors(out, field);
+      }
+    }
+
+    out.write("  }\n");
+  }
+
+  private static void writeAccessors(Writer out, VariableGenerator field)
+      throws IOException {
+    var offset = "Offset$F + " + "Offsets$F." + field.name();
+    var get = field.hasCanonicalScalar()
+        ? field.canonicalGet("MemorySegment$F", offset)
+        : """
+            MemorySegment$F.get(
+                <layout>,
+                <offset>)"""
+            .replace("<layout>", field.layout())
+            .replace("<offset>", offset);
+    var set = field.hasCanonicalScalar()
+        ? field.canonicalSet("MemorySegment$F", offset, "value")
+        : """
+            MemorySegment$F.set(
+                <layout>,
+                <offset>, value);"""
+            .replace("<layout>", field.layout())
+            .replace("<offset>", offset);
+
+    out.write("""
+
+              public <type> <name>() {
+                return <get>;
+              }
+
+              public Cursor$F <name>(<type> value) {
+                <set>
+                return this;
+              }
+          """
+          .replace("<get>", get.replace("\n", "\n      "))
+          .replace("<set>", set.replace("\n", "\n      "))
+          .replace("<type>", field.typeName())
+          .replace("<name>", field.name()));
+  }
+}
@@ -1,5 +1,6 @@
 package org.alveolo.ffm.processor;
 
+import java.lang.foreign.Arena;
 import java.lang.foreign.Linker;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.SegmentAllocator;
@@ -21,6 +22,7 @@ import javax.lang.model.util.Types;
 
 import org.alveolo.ffm.Address;
 import org.alveolo.ffm.CallState;
+import org.alveolo.ffm.Callback;
 import org.alveolo.ffm.SLong;
 import org.alveolo.ffm.Sequence;
 import org.alveolo.ffm.SizeT;
@@ -77,12 +79,17 @@ sealed class TypeGenerator permits VariableGenerator {
   public static final String SEGMENT_ALLOCATOR =
       SegmentAllocator.class.getCanonicalName();
 
+  public static final String ARENA = Arena.class.getCanonicalName();
+
   public static final String LINKER_OPTION =
       Linker.Option.class.getCanonicalName();
 
   public static final String STRING =
       String.class.getCanonicalName();
 
+  public static final String CHAR_SEQUENCE =
+      CharSequence.class.getCanonicalName();
+
   final ProcessingEnvironment processingEnv;
   final Elements elements;
   final Types types;
@@ -203,7 +210,7 @@ sealed class TypeGenerator permits VariableGenerator {
       return "java.lang.foreign.MemoryLayout.sequenceLayout("
           + sequence + "L, " + elementLayout + ")";
 
-    if (isString() || isMemorySegment())
+    if (isString() || isCharSequence() || isMemorySegment())
       return "java.lang.foreign.ValueLayout.ADDRESS";
 
     // TODO more custom structures
@@ -373,6 +380,10 @@ sealed class TypeGenerator permits VariableGenerator {
     return typeName().equals(STRING);
   }
 
+  boolean isCharSequence() {
+    return typeName().equals(CHAR_SEQUENCE);
+  }
+
   boolean isCFString() {
     return typeMirror.getAnnotation(CFString.class) != null;
   }
@@ -394,6 +405,10 @@ sealed class TypeGenerator permits VariableGenerator {
     return typeName().equals(SEGMENT_ALLOCATOR);
   }
 
+  boolean isArena() {
+    return typeName().equals(ARENA);
+  }
+
   boolean isAddress() {
     if (isPrimitive()) return isPrimitiveAddress();
 
@@ -444,6 +459,15 @@ sealed class TypeGenerator permits VariableGenerator {
         && annotationSource.getAnnotation(CallState.class) != null;
   }
 
+  boolean isCallback() {
+    return typeElement != null
+        && typeElement.getAnnotation(Callback.class) != null;
+  }
+
+  String callbackClassName() {
+    return ProcessorUtils.callbackClassName(typeElement, elements);
+  }
+
   String foreignMemoryClassName() {
     return isForeignMemoryImplementation() ? typeName()
         : ProcessorUtils.foreignMemoryClassName(typeElement, elements);
@@ -3,10 +3,12 @@ package org.alveolo.ffm.processor;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.RecordComponentElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 
+import org.alveolo.ffm.Cached;
 import org.alveolo.ffm.CountedBy;
 import org.alveolo.ffm.In;
 import org.alveolo.ffm.Out;
@@ -16,13 +18,24 @@ final class VariableGenerator extends TypeGenerator {
   final String name;
   final boolean hasExplicitSequence;
   final String countedBy;
+  final boolean heapAccess;
 
   VariableGenerator(
       ProcessingEnvironment processingEnv,
       GeneratedTypeRegistry generatedTypes,
       VariableElement element) {
+    this(processingEnv, generatedTypes, element, false);
+  }
+
+  /// @param heapAccess pass primitive arrays and heap buffers as heap
+  ///   segments, which is only valid for critical downcalls.
+  VariableGenerator(
+      ProcessingEnvironment processingEnv,
+      GeneratedTypeRegistry generatedTypes,
+      VariableElement element, boolean heapAccess) {
     this(processingEnv, generatedTypes, element.getSimpleName().toString(),
-        element.asType(), sequence(element.asType(), element), element);
+        element.asType(), sequence(element.asType(), element), element,
+        heapAccess);
   }
 
   VariableGenerator(
@@ -37,9 +50,18 @@ final class VariableGenerator extends TypeGenerator {
   VariableGenerator(ProcessingEnvironment processingEnv,
       GeneratedTypeRegistry generatedTypes, String name,
       TypeMirror typeMirror, long sequence, Element element) {
+    this(processingEnv, generatedTypes, name, typeMirror, sequence, element,
+        false);
+  }
+
+  private VariableGenerator(ProcessingEnvironment processingEnv,
+      GeneratedTypeRegistry generatedTypes, String name,
+      TypeMirror typeMirror, long sequence, Element element,
+      boolean heapAccess) {
     super(processingEnv, generatedTypes, typeMirror, element, sequence);
     this.element = element;
     this.name = name;
+    this.heapAccess = heapAccess;
 
     hasExplicitSequence = hasSequence(typeMirror, element);
 
@@ -55,14 +77,29 @@ final class VariableGenerator extends TypeGenerator {
 
   /// Variable signature such as: `int i`
   String signature() {
+    if (isVariadicArguments()) return "java.lang.Object... " + name();
+
     return typeName() + " " + name();
   }
 
   String bridgeSignature() {
+    if (isVariadicArguments()) return "java.lang.Object... " + name();
+
     return bridgeTypeName() + " " + name();
   }
 
+  /// Whether this is the trailing `Object...` parameter of a variadic method,
+  /// whose arguments are linked by shape at run time.
+  boolean isVariadicArguments() {
+    return element.getEnclosingElement() instanceof ExecutableElement method
+        && method.isVarArgs()
+        && method.getParameters().getLast().equals(element)
+        && typeName().equals("java.lang.Object[]");
+  }
+
   String argumentLayout() {
+    if (isCallback()) return "java.lang.foreign.ValueLayout.ADDRESS";
+
     if (!isCallArrayOrBuffer()) return layout();
 
     return isCallArrayOrBufferByValue()
@@ -72,23 +109,59 @@ final class VariableGenerator extends TypeGenerator {
 
   @Override
   boolean unsupported() {
+    if (isVariadicArguments()) return false;
+
     return VALUE_LAYOUT_NOT_SUPPORTED.equals(argumentLayout());
   }
 
   @Override
   boolean needsConfinedArena() {
-    return isCallArrayOrBuffer() || super.needsConfinedArena();
+    if (isCachedString()) return false;
+
+    return isCallArrayOrBuffer() && !passesHeapSegment()
+        || super.needsConfinedArena();
+  }
+
+  /// Whether the parameter is annotated with [Cached]
+  boolean hasCachedAnnotation() {
+    return element.getAnnotation(Cached.class) != null;
+  }
+
+  /// Whether the argument is taken from `NativeStringCache` rather than
+  /// encoded into call-scoped memory.
+  boolean isCachedString() {
+    return hasCachedAnnotation() && isString() && !isCFString();
+  }
+
+  private boolean isEncodedString() {
+    return isString() && !isCFString() && !hasCachedAnnotation();
+  }
+
+  /// Whether the Java array or buffer storage is passed to a critical
+  /// downcall directly. `boolean` elements have no heap segment factory and
+  /// by-value carriers are copied into the argument aggregate anyway.
+  boolean passesHeapSegment() {
+    return heapAccess && isArrayOrBuffer()
+        && !"boolean".equals(elementTypeName())
+        && !isCallArrayOrBufferByValue();
   }
 
   /// Source code for passing an argument to a native function
-  /// * `argX` for primitive types or directly passed `MemorySegment` or
-  ///   `SegmentAllocator`
+  /// * `argX` for primitive types, directly passed `MemorySegment` or
+  ///   `SegmentAllocator`, and trailing `Object...` arguments
   /// * `argX.MemorySegment$F` for a struct/union implementation by reference
   /// * `((StructFM) argX).MemorySegment$F` for an interface by reference
-  /// * `arena$f.allocateFrom(argX)` for Java `String` to C `char*` conversion
+  /// * `NativeString.allocateFrom(arena$f, argX)` for Java `String` to C
+  ///   `char*` conversion
+  /// * `NativeStringCache.get(argX)` for Java `@Cached String`
   /// * `argX$CFString$f` for Java `@CFString String` conversion
   /// * `StructFM.toMemorySegment$F(arena$f, argX)` for records conversion
+  /// * `CallbackFC.upcallStub$F(arena$f, argX)` for `@Callback` function
+  ///   pointers
   String invoke() {
+    if (isVariadicArguments())
+      return name();
+
     if (isPrimitiveAddress())
       return segmentName();
 
@@ -101,8 +174,15 @@ final class VariableGenerator extends TypeGenerator {
     if (isCFString())
       return cfStringName();
 
+    if (isCachedString())
+      return "org.alveolo.ffm.NativeStringCache.get(" + name() + ")";
+
     if (isString())
-      return "arena$f.allocateFrom(" + name() + ")";
+      return "org.alveolo.ffm.NativeString.allocateFrom(arena$f, "
+          + name() + ")";
+
+    if (isCallback())
+      return upcallStub("arena$f");
 
     if (isForeignMemoryImplementation())
       return name() + ".MemorySegment$F";
@@ -119,15 +199,17 @@ final class VariableGenerator extends TypeGenerator {
 
   boolean needsLocalAllocation() {
     return isPrimitiveAddress()
-        || isCallArrayOrBuffer()
+        || isCallArrayOrBuffer() && !passesHeapSegment()
         || isRecord()
-        || isString() && !isCFString();
+        || isEncodedString();
   }
 
   String plannedPreparation() {
-    if (isString() && !isCFString())
-      return "var " + bytesName() + " = " + name()
-          + ".getBytes(java.nio.charset.StandardCharsets.UTF_8);";
+    if (isEncodedString())
+      return "var " + lengthName() + " = "
+          + "org.alveolo.ffm.NativeString.utf8Length(" + name() + ");";
+
+    if (passesHeapSegment()) return heapSegmentInitializer();
 
     if (!isCallArrayOrBuffer()) return "";
 
@@ -176,19 +258,14 @@ final class VariableGenerator extends TypeGenerator {
           .stripTrailing();
     }
 
-    if (isString() && !isCFString())
+    if (isEncodedString())
       return """
           var <segment> = <memorySegment>;
-          java.lang.foreign.MemorySegment.copy(
-              <bytes>, 0, <segment>,
-              java.lang.foreign.ValueLayout.JAVA_BYTE, 0, <bytes>.length);
-          <segment>.set(
-              java.lang.foreign.ValueLayout.JAVA_BYTE, <bytes>.length,
-              (byte) 0);
+          org.alveolo.ffm.NativeString.encode(<name>, <segment>);
           """
           .replace("<segment>", segmentName())
           .replace("<memorySegment>", memorySegment)
-          .replace("<bytes>", bytesName())
+          .replace("<name>", name)
           .stripTrailing();
 
     if (isRecord())
@@ -239,14 +316,27 @@ final class VariableGenerator extends TypeGenerator {
         .stripTrailing();
   }
 
+  /// Source code for the function pointer of a `@Callback` argument, whose
+  /// upcall stub is allocated from `arena` unless it is cached.
+  String upcallStub(String arena) {
+    return callbackClassName() + ".upcallStub$F(" + arena + ", " + name()
+        + ")";
+  }
+
+  /// Source code testing whether a `@Callback` argument needs an arena for
+  /// its upcall stub, which stateless and `null` callbacks do not.
+  String upcallStubNeedsArena() {
+    return callbackClassName() + ".UpcallStubs$F.needsArena(" + name() + ")";
+  }
+
   String plannedInvoke() {
-    return isRecord() || isString() && !isCFString()
+    return isRecord() || isEncodedString()
         ? segmentName() : invoke();
   }
 
   String allocationByteSize() {
-    if (isString() && !isCFString())
-      return "Math.addExact((long) " + bytesName() + ".length, 1L)";
+    if (isEncodedString())
+      return "Math.addExact(" + lengthName() + ", 1L)";
 
     if (isNioBuffer())
       return directName() + " ? 0L : Math.multiplyExact("
@@ -260,7 +350,7 @@ final class VariableGenerator extends TypeGenerator {
   }
 
   String allocationAlignment() {
-    return isString() && !isCFString()
+    return isEncodedString()
         ? "1L" : allocationLayout() + ".byteAlignment()";
   }
 
@@ -322,6 +412,16 @@ final class VariableGenerator extends TypeGenerator {
     };
   }
 
+  /// Whether this field is a single Java scalar or `MemorySegment` that is
+  /// accessed at a constant offset, without a wrapper or an allocator.
+  boolean isInlineScalar() {
+    return sequence == 1
+        && !isPrimitiveAddress()
+        && !isForeignMemory()
+        && !unsupported()
+        && (isPrimitive() || isMemorySegment());
+  }
+
   boolean isCallArrayOrBuffer() {
     return isArrayOrBuffer() || isValueStructRecordArray();
   }
@@ -344,6 +444,8 @@ final class VariableGenerator extends TypeGenerator {
   }
 
   String arrayOrBufferInitializer() {
+    if (passesHeapSegment()) return heapSegmentInitializer();
+
     return isValueStructRecordArray() ? recordArrayInitializer()
         : isArray() ? arrayInitializer()
         : bufferInitializer();
@@ -370,13 +472,25 @@ final class VariableGenerator extends TypeGenerator {
   }
 
   String arrayOrBufferCopyOut() {
-    if (!copyOut()) return "";
+    if (!copyOut() || passesHeapSegment()) return "";
 
     return isValueStructRecordArray() ? recordArrayCopyOut()
         : isArray() ? arrayCopyOut()
         : bufferCopyOut();
   }
 
+  /// Number of bytes copied between this array or buffer and native memory
+  /// before (`in`) or after the call, or `null` if nothing is copied.
+  String copiedBytes(boolean in) {
+    if (!isCallArrayOrBuffer() || passesHeapSegment()) return null;
+    if (in ? !copyIn() : !copyOut()) return null;
+
+    var byteSize = segmentName() + ".byteSize()";
+    if (isValueStructRecordArray() || isArray()) return byteSize;
+
+    return directName() + " ? 0L : " + byteSize;
+  }
+
   private boolean copyIn() {
     return !hasOutAnnotation();
   }
@@ -402,6 +516,46 @@ final class VariableGenerator extends TypeGenerator {
         .stripTrailing();
   }
 
+  private String heapSegmentInitializer() {
+    var available = isArray() ? "length" : "remaining";
+
+    return """
+        <sizeInitializer>
+        <sequenceCheck>
+        <readOnlyCheck>
+        <orderCheck>
+        var <segment> = java.lang.foreign.MemorySegment.<factory>(<name>)<slice>;
+        """
+        .replace("<sizeInitializer>\n",
+            !hasCountedBy() && !hasExplicitSequence ? "" : sizeInitializer(
+                name + (isArray() ? ".length" : ".remaining()"), available))
+        .replace("<sequenceCheck>\n", sequenceCheck(available))
+        .replace("<readOnlyCheck>\n", isArray() ? "" : readOnlyCheck())
+        .replace("<orderCheck>\n", isArray() ? "" : heapOrderCheck())
+        .replace("<segment>", segmentName())
+        .replace("<factory>", isArray() ? "ofArray" : "ofBuffer")
+        .replace("<name>", name)
+        .replace("<slice>", !hasCountedBy() ? "" : """
+            .asSlice(
+                0L, Math.multiplyExact(<layout>.byteSize(), (long) <size>))"""
+            .replace("<layout>", elementLayout())
+            .replace("<size>", sizeName()))
+        .stripTrailing();
+  }
+
+  private String heapOrderCheck() {
+    if ("byte".equals(elementTypeName())) return "";
+
+    // A view of a heap ByteBuffer exposes its byte[] storage unconverted.
+    return """
+        if (!<name>.order().equals(java.nio.ByteOrder.nativeOrder())) {
+          throw new IllegalArgumentException(
+              "<name> must use native byte order");
+        }
+        """
+        .replace("<name>", name);
+  }
+
   private String bufferInitializer() {
     return """
         var <position> = <name>.position();
@@ -696,8 +850,8 @@ final class VariableGenerator extends TypeGenerator {
     return name + "$count$f";
   }
 
-  private String bytesName() {
-    return name + "$bytes$f";
+  private String lengthName() {
+    return name + "$length$f";
   }
 
   String recordForeignMemoryClassName() {
@@ -9,20 +9,27 @@ import java.net.URL;
 import java.security.CodeSource;
 import java.security.ProtectionDomain;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 
 import javax.tools.JavaFileObject;
 
 import org.alveolo.ffm.Address;
+import org.alveolo.ffm.Blocking;
+import org.alveolo.ffm.Cached;
+import org.alveolo.ffm.Callback;
 import org.alveolo.ffm.CallState;
 import org.alveolo.ffm.CountedBy;
+import org.alveolo.ffm.Critical;
 import org.alveolo.ffm.DispatchTable;
 import org.alveolo.ffm.FirstVariadicArg;
 import org.alveolo.ffm.ForeignInterface;
 import org.alveolo.ffm.In;
 import org.alveolo.ffm.Libraries;
 import org.alveolo.ffm.Library;
+import org.alveolo.ffm.MaxLength;
 import org.alveolo.ffm.Out;
+import org.alveolo.ffm.Scratch;
 import org.alveolo.ffm.Sequence;
 import org.alveolo.ffm.SLong;
 import org.alveolo.ffm.SizeT;
@@ -42,8 +49,12 @@ import com.google.testing.compile.Compilation;
 abstract class AbstractProcessorTest {
   private static final Class<?>[] CORE_CLASSES = {
     Address.class,
+    Blocking.class,
+    Cached.class,
+    Callback.class,
     CallState.class,
     CountedBy.class,
+    Critical.class,
     CFString.class,
     CFStringSupport.class,
     DispatchTable.class,
@@ -51,8 +62,10 @@ abstract class AbstractProcessorTest {
     ForeignInterface.class,
     Libraries.class,
     Library.class,
+    MaxLength.class,
     In.class,
     Out.class,
+    Scratch.class,
     Sequence.class,
     SLong.class,
     SizeT.class,
@@ -71,6 +84,11 @@ abstract class AbstractProcessorTest {
   }
 
   protected Compilation compile(JavaFileObject... sources) {
+    return compile(List.of(), sources);
+  }
+
+  protected Compilation compile(
+      List<String> options, JavaFileObject... sources) {
     var files = Arrays.stream(CORE_CLASSES)
         .map(Class::getProtectionDomain)
         .map(ProtectionDomain::getCodeSource)
@@ -80,8 +98,10 @@ abstract class AbstractProcessorTest {
         .toList();
     return javac()
         .withClasspath(files)
+        .withOptions(options)
         .withProcessors(
             new CallStateProcessor(),
+            new CallbackProcessor(),
             new DispatchTableProcessor(),
             new ForeignInterfaceProcessor(),
             new ForeignMemoryProcessor())
@@ -89,7 +109,11 @@ abstract class AbstractProcessorTest {
   }
 
   protected Compilation compile(String... paths) {
-    return compile(Stream.of(paths)
+    return compile(List.of(), paths);
+  }
+
+  protected Compilation compile(List<String> options, String... paths) {
+    return compile(options, Stream.of(paths)
         .map(this::forTestResource)
         .toArray(JavaFileObject[]::new));
   }
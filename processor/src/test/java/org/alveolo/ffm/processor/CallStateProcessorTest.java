@@ -20,6 +20,61 @@ class CallStateProcessorTest extends AbstractProcessorTest {
         "memory/callstate/NativeError.java");
   }
 
+  @Test
+  void generatesImplicitCaptures() {
+    var c = compile("memory/callstate/NativeErrorSpec.java",
+        "interface/captures/CapturingCalls.java");
+
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.CapturingCallsFFM",
+        "interface/captures/CapturingCallsFFM.java");
+  }
+
+  @Test
+  void rejectsInvalidCaptures() {
+    var state = forSourceString("test.ErrnoSpec", """
+        package test;
+        @org.alveolo.ffm.CallState("errno")
+        interface ErrnoSpec {
+          int error();
+        }
+        """);
+    var api = forSourceString("test.NativeApi", """
+        package test;
+        import org.alveolo.ffm.Captures;
+        @org.alveolo.ffm.ForeignInterface
+        interface NativeApi {
+          @Captures(String.class)
+          int plain(int value);
+
+          @Captures(ErrnoSpec.class)
+          int twice(Errno capture, int value);
+
+          @Captures(value = ErrnoSpec.class, failure = "failed")
+          int missing(int value);
+
+          @Captures(value = ErrnoSpec.class, failure = "failed")
+          void none(int value);
+
+          static boolean failed(java.lang.foreign.MemorySegment result) {
+            return result.address() == 0L;
+          }
+        }
+        """);
+
+    var c = compile(state, api);
+
+    assertThat(c).hadErrorContaining(
+        "@Captures value must be a @CallState type");
+    assertThat(c).hadErrorContaining(
+        "@Captures calls cannot also take a @CallState parameter");
+    assertThat(c).hadErrorContaining(
+        "@Captures failure requires a primitive or MemorySegment result");
+    assertThat(c).hadErrorContaining("@Captures failure must name a static "
+        + "boolean method of NativeApi accepting the result: failed");
+    assertThat(c).hadErrorCount(4);
+  }
+
   @Test
   void rejectsNonInterfaceCallState() {
     var source = forSourceString("test.Bad", """
@@ -0,0 +1,167 @@
+package org.alveolo.ffm.processor;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.JavaFileObjects.forSourceString;
+
+import org.junit.jupiter.api.Test;
+
+class CallbackProcessorTest extends AbstractProcessorTest {
+  @Test
+  void generatesCallbackStubs() {
+    var c = compile(
+        "interface/callback/Comparator.java",
+        "interface/callback/SignalHandler.java",
+        "interface/callback/Sorting.java");
+
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.ComparatorFC",
+        "interface/callback/ComparatorFC.java");
+    assertGenerated(c, "pkg.SignalHandlerFC",
+        "interface/callback/SignalHandlerFC.java");
+    assertGenerated(c, "pkg.SortingFFM",
+        "interface/callback/SortingFFM.java");
+  }
+
+  @Test
+  void rejectsNonInterfaceCallback() {
+    var source = forSourceString("test.Bad", """
+        package test;
+        @org.alveolo.ffm.Callback
+        abstract class Bad {
+          abstract void run();
+        }
+        """);
+
+    var c = compile(source);
+
+    assertThat(c).hadErrorContaining(
+        "@Callback can only be applied to an interface, not CLASS");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void rejectsMultipleAbstractMethods() {
+    var source = forSourceString("test.Bad", """
+        package test;
+        @org.alveolo.ffm.Callback
+        interface Bad {
+          void first();
+          void second();
+        }
+        """);
+
+    var c = compile(source);
+
+    assertThat(c).hadErrorContaining(
+        "@Callback interface must declare exactly one abstract method");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void rejectsUnsupportedSignature() {
+    var source = forSourceString("test.Bad", """
+        package test;
+        @org.alveolo.ffm.Callback
+        interface Bad {
+          long log(String message, @org.alveolo.ffm.SizeT long length);
+        }
+        """);
+
+    var c = compile(source);
+
+    assertThat(c).hadErrorContaining(
+        "@Callback method parameters and result must be primitives or "
+            + "MemorySegment");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void rejectsCallbackResult() {
+    var callback = forSourceString("test.Handler", """
+        package test;
+        @org.alveolo.ffm.Callback
+        public interface Handler {
+          void handle(int signal);
+        }
+        """);
+    var lib = forSourceString("test.Lib", """
+        package test;
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          Handler handler();
+        }
+        """);
+
+    var c = compile(callback, lib);
+
+    assertThat(c).hadErrorContaining(
+        "@Callback types are only supported as parameters");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void rejectsCallbackInCriticalCall() {
+    var callback = forSourceString("test.Handler", """
+        package test;
+        @org.alveolo.ffm.Callback
+        public interface Handler {
+          void handle(int signal);
+        }
+        """);
+    var lib = forSourceString("test.Lib", """
+        package test;
+        @org.alveolo.ffm.Critical
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          int install(Handler handler);
+        }
+        """);
+
+    var c = compile(callback, lib);
+
+    assertThat(c).hadErrorContaining(
+        "@Critical calls cannot take @Callback parameters");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void rejectsArenaWithoutCallback() {
+    var lib = forSourceString("test.Lib", """
+        package test;
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          int getpid(java.lang.foreign.Arena arena);
+        }
+        """);
+
+    var c = compile(lib);
+
+    assertThat(c).hadErrorContaining(
+        "Arena is only expected with @Callback parameters");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void rejectsSecondArena() {
+    var callback = forSourceString("test.Handler", """
+        package test;
+        @org.alveolo.ffm.Callback
+        public interface Handler {
+          void handle(int signal);
+        }
+        """);
+    var lib = forSourceString("test.Lib", """
+        package test;
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          int install(Handler handler, java.lang.foreign.Arena arena,
+              java.lang.foreign.Arena other);
+        }
+        """);
+
+    var c = compile(callback, lib);
+
+    assertThat(c).hadErrorContaining("Only one Arena parameter is allowed");
+    assertThat(c).hadErrorCount(1);
+  }
+}
@@ -3,6 +3,11 @@ package org.alveolo.ffm.processor;
 import static com.google.testing.compile.CompilationSubject.assertThat;
 import static com.google.testing.compile.JavaFileObjects.forSourceString;
 
+import java.util.List;
+
+import javax.tools.StandardLocation;
+
+import org.alveolo.ffm.Bindings;
 import org.junit.jupiter.api.Test;
 
 class DispatchTableProcessorTest extends AbstractProcessorTest {
@@ -54,6 +59,25 @@ class DispatchTableProcessorTest extends AbstractProcessorTest {
     assertGenerated(c, "pkg.XyzVtblFD", "dispatch/XyzVtblFD.java");
   }
 
+  @Test
+  void generatesMeteredDispatchTableFD() {
+    var c = compile(List.of("-Aaffm.metrics"), "dispatch/MeteredVtbl.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.MeteredVtblFD", "dispatch/MeteredVtblFD.java");
+  }
+
+  @Test
+  void generatesPreloadIndex() {
+    var c = compile(List.of("-Aaffm.preload.index"),
+        "dispatch/RenamedVtbl.java");
+    assertThat(c).succeeded();
+    assertThat(c)
+        .generatedFile(StandardLocation.CLASS_OUTPUT, "",
+            Bindings.DISPATCH_TABLE_INDEX)
+        .contentsAsUtf8String()
+        .isEqualTo("pkg.RenamedVtblFD\n");
+  }
+
   @Test
   void generatesDispatchTableNameOverrideInSourcePackage() {
     var c = compile("dispatch/RenamedVtbl.java");
@@ -77,6 +101,23 @@ class DispatchTableProcessorTest extends AbstractProcessorTest {
         "@DispatchTable name must be a simple Java class name");
   }
 
+  @Test
+  void failsOnVariadicObjectArguments() {
+    var source = forSourceString("test.Vtbl", """
+        package test;
+        @org.alveolo.ffm.DispatchTable
+        interface Vtbl {
+          @org.alveolo.ffm.Slot(0) int log(int level, Object... arguments);
+        }
+        """);
+
+    var c = compile(source);
+
+    assertThat(c).hadErrorContaining(
+        "Object... arguments are only supported for native symbols");
+    assertThat(c).hadErrorCount(1);
+  }
+
   @Test
   void failsOnNonInterface() {
     var source = forSourceString("test.BadClass", """
@@ -2,10 +2,19 @@ package org.alveolo.ffm.processor;
 
 import static com.google.testing.compile.CompilationSubject.assertThat;
 import static com.google.testing.compile.JavaFileObjects.forSourceString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+
+import javax.tools.StandardLocation;
+
+import org.alveolo.ffm.Bindings;
 import org.junit.jupiter.api.Test;
 
 class ForeignInterfaceProcessorTest extends AbstractProcessorTest {
+  private static final String NATIVE_IMAGE_METADATA =
+      "META-INF/native-image/pkg/foreign-interfaces/reachability-metadata.json";
+
   @Test
   void stripsSpecFromForeignInterfaceNames() {
     var source = forSourceString("test.LibrarySpec", """
@@ -65,6 +74,113 @@ class ForeignInterfaceProcessorTest extends AbstractProcessorTest {
     assertGenerated(c, "pkg.ldiv_tFM", "value/ldiv_tFM.java");
   }
 
+  @Test
+  void generatesLazyLinkingFFM() {
+    var c = compile("interface/LazyLibC.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.LazyLibCFFM", "interface/LazyLibCFFM.java");
+  }
+
+  @Test
+  void generatesPreloadIndex() {
+    var c = compile(List.of("-Aaffm.preload.index"),
+        "interface/LazyLibC.java", "interface/Empty.java");
+    assertThat(c).succeeded();
+    assertThat(c)
+        .generatedFile(StandardLocation.CLASS_OUTPUT, "", Bindings.INDEX)
+        .contentsAsUtf8String()
+        .isEqualTo("pkg.EmptyFFM\npkg.LazyLibCFFM\n");
+  }
+
+  @Test
+  void omitsPreloadIndexByDefault() {
+    var c = compile("interface/Empty.java");
+    assertThat(c).succeeded();
+    assertTrue(c.generatedFile(StandardLocation.CLASS_OUTPUT, "",
+        Bindings.INDEX).isEmpty());
+  }
+
+  @Test
+  void generatesNativeImageMetadata() {
+    var c = compile(List.of("-Aaffm.native.image"),
+        "interface/LazyLibC.java");
+    assertThat(c).succeeded();
+    assertThat(c)
+        .generatedFile(StandardLocation.CLASS_OUTPUT, "", NATIVE_IMAGE_METADATA)
+        .contentsAsUtf8String()
+        .isEqualTo("""
+            {
+              "foreign": {
+                "downcalls": [
+                  {
+                    "returnType": "jint",
+                    "parameterTypes": ["jint"]
+                  },
+                  {
+                    "returnType": "long",
+                    "parameterTypes": ["long"]
+                  },
+                  {
+                    "returnType": "size_t",
+                    "parameterTypes": ["void*"]
+                  }
+                ]
+              }
+            }
+            """);
+  }
+
+  @Test
+  void omitsNativeImageMetadataByDefault() {
+    var c = compile("interface/LazyLibC.java");
+    assertThat(c).succeeded();
+    assertTrue(c.generatedFile(StandardLocation.CLASS_OUTPUT, "",
+        NATIVE_IMAGE_METADATA).isEmpty());
+  }
+
+  @Test
+  void writesNativeImageMetadataPerPackage() {
+    var first = forSourceString("first.Lib", """
+        package first;
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          int abs(int value);
+        }
+        """);
+    var second = forSourceString("second.Lib", """
+        package second;
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          double sqrt(double value);
+        }
+        """);
+
+    var c = compile(List.of("-Aaffm.native.image"), first, second);
+
+    assertThat(c).succeeded();
+    for (var entry : List.of(List.of("first", "jint"),
+        List.of("second", "jdouble"))) {
+      assertThat(c)
+          .generatedFile(StandardLocation.CLASS_OUTPUT, "",
+              "META-INF/native-image/" + entry.get(0)
+                  + "/foreign-interfaces/reachability-metadata.json")
+          .contentsAsUtf8String()
+          .isEqualTo("""
+              {
+                "foreign": {
+                  "downcalls": [
+                    {
+                      "returnType": "<type>",
+                      "parameterTypes": ["<type>"]
+                    }
+                  ]
+                }
+              }
+              """
+              .replace("<type>", entry.get(1)));
+    }
+  }
+
   @Test
   void rejectsFirstVariadicArgOutsideNativeParameterRange() {
     var lib = forSourceString("test.BadVariadic", """
@@ -155,6 +271,241 @@ class ForeignInterfaceProcessorTest extends AbstractProcessorTest {
         "interface/arrays/ArrayParametersFFM.java");
   }
 
+  @Test
+  void generatesCriticalFFM() {
+    var c = compile("interface/critical/CriticalCalls.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.CriticalCallsFFM",
+        "interface/critical/CriticalCallsFFM.java");
+  }
+
+  @Test
+  void generatesScratchFFM() {
+    var c = compile("interface/scratch/ScratchCalls.java", "value/div_t.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.ScratchCallsFFM",
+        "interface/scratch/ScratchCallsFFM.java");
+  }
+
+  @Test
+  void generatesCachedStringFFM() {
+    var c = compile("interface/cached/CachedStrings.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.CachedStringsFFM",
+        "interface/cached/CachedStringsFFM.java");
+  }
+
+  @Test
+  void failsWhenCachedIsNotPlainString() {
+    var lib = forSourceString("test.Lib", """
+        package test;
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          int f(@org.alveolo.ffm.Cached int value);
+
+          long g(@org.alveolo.ffm.Cached String value);
+        }
+        """);
+
+    var c = compile(lib);
+
+    assertThat(c).hadErrorContaining(
+        "@Cached is only supported on java.lang.String");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void generatesReturnedStringsFFM() {
+    var c = compile("interface/strings/ReturnedStrings.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.ReturnedStringsFFM",
+        "interface/strings/ReturnedStringsFFM.java");
+  }
+
+  @Test
+  void failsWhenMaxLengthIsNotOnStringResult() {
+    var lib = forSourceString("test.Lib", """
+        package test;
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          @org.alveolo.ffm.MaxLength(8)
+          long f(String value);
+
+          @org.alveolo.ffm.MaxLength(-1)
+          String g();
+
+          void h(CharSequence value);
+        }
+        """);
+
+    var c = compile(lib);
+
+    assertThat(c).hadErrorContaining(
+        "@MaxLength is only supported on String or CharSequence results");
+    assertThat(c).hadErrorContaining("@MaxLength value must not be negative");
+    assertThat(c).hadErrorContaining(
+        "CharSequence is only supported as a return type");
+    assertThat(c).hadErrorCount(3);
+  }
+
+  @Test
+  void generatesBlockingFFM() {
+    var c = compile("interface/blocking/BlockingCalls.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.BlockingCallsFFM",
+        "interface/blocking/BlockingCallsFFM.java");
+  }
+
+  @Test
+  void generatesMeteredFFM() {
+    var c = compile(List.of("-Aaffm.metrics"),
+        "interface/metrics/MeteredCalls.java",
+        "interface/metrics/LazyMeteredCalls.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.MeteredCallsFFM",
+        "interface/metrics/MeteredCallsFFM.java");
+    assertGenerated(c, "pkg.LazyMeteredCallsFFM",
+        "interface/metrics/LazyMeteredCallsFFM.java");
+  }
+
+  @Test
+  void generatesJfrEventFFM() {
+    var c = compile(List.of("-Aaffm.jfr"),
+        "interface/jfr/RecordedCalls.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.RecordedCallsFFM",
+        "interface/jfr/RecordedCallsFFM.java");
+  }
+
+  @Test
+  void generatesUnmeteredFFMWhenMetricsAreDisabled() {
+    var c = compile(List.of("-Aaffm.metrics=false"),
+        "interface/blocking/BlockingCalls.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.BlockingCallsFFM",
+        "interface/blocking/BlockingCallsFFM.java");
+  }
+
+  @Test
+  void generatesVariadicObjectArgumentsFFM() {
+    var c = compile("interface/variadic/VariadicCalls.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.VariadicCallsFFM",
+        "interface/variadic/VariadicCallsFFM.java");
+  }
+
+  @Test
+  void failsWhenFirstVariadicArgSkipsObjectArguments() {
+    var lib = forSourceString("test.Lib", """
+        package test;
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          @org.alveolo.ffm.FirstVariadicArg(1)
+          int fcntl(int descriptor, int operation, Object... arguments);
+        }
+        """);
+
+    var c = compile(lib);
+
+    assertThat(c).hadErrorContaining(
+        "@FirstVariadicArg must select the Object... parameter");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void failsWhenCriticalCallIsBlocking() {
+    var lib = forSourceString("test.Lib", """
+        package test;
+        @org.alveolo.ffm.Critical
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          @org.alveolo.ffm.Blocking
+          int poll(int timeout);
+        }
+        """);
+
+    var c = compile(lib);
+
+    assertThat(c).hadErrorContaining("@Critical calls cannot be @Blocking");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void failsWhenBlockingCallTakesAllocator() {
+    var struct = forSourceString("test.Div", """
+        package test;
+        @org.alveolo.ffm.Struct
+        public interface Div {
+          int quot();
+          int rem();
+        }
+        """);
+    var lib = forSourceString("test.Lib", """
+        package test;
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          @org.alveolo.ffm.Blocking
+          @org.alveolo.ffm.Symbol("div")
+          @org.alveolo.ffm.Value Div div(
+              java.lang.foreign.SegmentAllocator allocator, int n, int d);
+        }
+        """);
+
+    var c = compile(struct, lib);
+
+    assertThat(c).hadErrorContaining(
+        "@Blocking calls cannot take a SegmentAllocator");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void failsWhenCriticalCallCapturesCallState() {
+    var errno = forSourceString("test.ErrnoSpec", """
+        package test;
+        @org.alveolo.ffm.CallState("errno")
+        public interface ErrnoSpec {
+          int errno();
+        }
+        """);
+    var lib = forSourceString("test.Lib", """
+        package test;
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          @org.alveolo.ffm.Critical
+          int f(ErrnoSpec capture, int value);
+        }
+        """);
+
+    var c = compile(errno, lib);
+
+    assertThat(c).hadErrorContaining(
+        "@Critical calls cannot capture @CallState");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void failsWhenCriticalHeapAccessReturnsPointer() {
+    var lib = forSourceString("test.Lib", """
+        package test;
+        @org.alveolo.ffm.Critical
+        @org.alveolo.ffm.ForeignInterface
+        public interface Lib {
+          java.lang.foreign.MemorySegment find(byte[] values, int value);
+
+          @org.alveolo.ffm.Critical(allowHeapAccess = false)
+          java.lang.foreign.MemorySegment copied(byte[] values, int value);
+
+          java.lang.foreign.MemorySegment plain(int value);
+        }
+        """);
+
+    var c = compile(lib);
+
+    assertThat(c).hadErrorContaining(
+        "@Critical(allowHeapAccess = true) cannot return a pointer");
+    assertThat(c).hadErrorCount(1);
+  }
+
   @Test
   void failsWhenValueArrayOrBufferHasNoFixedSequence() {
     var lib = forSourceString("test.Lib", """
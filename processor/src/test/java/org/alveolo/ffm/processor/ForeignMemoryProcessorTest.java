@@ -5,8 +5,12 @@ import static com.google.testing.compile.JavaFileObjects.forSourceString;
 
 import java.lang.foreign.Linker;
 import java.lang.foreign.MemoryLayout;
+import java.util.List;
 import java.util.Optional;
 
+import javax.tools.StandardLocation;
+
+import org.alveolo.ffm.Bindings;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
@@ -231,6 +235,97 @@ class ForeignMemoryProcessorTest extends AbstractProcessorTest {
     assertGenerated(c, "pkg.UnionFM", "memory/union/UnionFM.java");
   }
 
+  @Test
+  void generatesOffsetAccessors() {
+    var c = compile("memory/offset/OffsetFields.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.CountersFM", "memory/offset/CountersFM.java");
+    assertGenerated(c, "pkg.SampleFM", "memory/offset/SampleFM.java");
+  }
+
+  @Test
+  void generatesOffsetAccessorsByOption() {
+    var c = compile(List.of("-Aaffm.offset.accessors"),
+        "memory/struct/timeval.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.timevalFM", "memory/offset/timevalFM.java");
+  }
+
+  @Test
+  void generatesPreloadIndex() {
+    var c = compile(List.of("-Aaffm.preload.index"),
+        "memory/struct/timeval.java");
+    assertThat(c).succeeded();
+    assertThat(c)
+        .generatedFile(StandardLocation.CLASS_OUTPUT, "", Bindings.MEMORY_INDEX)
+        .contentsAsUtf8String()
+        .isEqualTo("pkg.timevalFM\npkg.timevalFM$Offsets$F\n");
+  }
+
+  @Test
+  void generatesStructColumns() {
+    var c = compile("memory/columns/Quote.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.QuoteFM", "memory/columns/QuoteFM.java");
+  }
+
+  @Test
+  void rejectsStructColumnsOfNonPrimitives() {
+    var iface = forSourceString("test.BadColumns", """
+        package test;
+
+        @org.alveolo.ffm.Struct(columns = true)
+        interface BadColumns {
+          int value();
+        }
+        """);
+    var component = forSourceString("test.BadColumn", """
+        package test;
+
+        @org.alveolo.ffm.Struct(columns = true)
+        record BadColumn(int id, @org.alveolo.ffm.SLong long size) {}
+        """);
+
+    var c = compile(iface, component);
+
+    assertThat(c).hadErrorContaining(
+        "@Struct(columns = true) can only be applied to a record");
+    assertThat(c).hadErrorContaining(
+        "@Struct(columns = true) supports only Java primitive record");
+    assertThat(c).hadErrorCount(2);
+  }
+
+  @Test
+  void generatesContentEquality() {
+    var c = compile("memory/content/Keyed.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.KeyedFM", "memory/content/KeyedFM.java");
+  }
+
+  @Test
+  void rejectsContentEqualityOfRecords() {
+    var c = compile(forSourceString("test.BadKey", """
+        package test;
+
+        @org.alveolo.ffm.Struct(contentEquality = true)
+        record BadKey(int id) {}
+        """));
+
+    assertThat(c).hadErrorContaining(
+        "@Struct(contentEquality = true) can only be applied to an interface");
+    assertThat(c).hadErrorCount(1);
+  }
+
+  @Test
+  void generatesCompileTimeLayout() {
+    var c = compile(
+        "memory/padded/Padded.java", "memory/padded/PaddedUnion.java");
+    assertThat(c).succeeded();
+    assertGenerated(c, "pkg.PaddedFM", "memory/padded/PaddedFM.java");
+    assertGenerated(c,
+        "pkg.PaddedUnionFM", "memory/padded/PaddedUnionFM.java");
+  }
+
   @Test
   void generatesNestedStruct() {
     var c = compile("memory/nested/Inner.java", "memory/nested/Outer.java");
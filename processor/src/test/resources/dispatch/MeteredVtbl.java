@@ -0,0 +1,13 @@
+package pkg;
+
+import org.alveolo.ffm.DispatchTable;
+import org.alveolo.ffm.Slot;
+
+@DispatchTable
+public interface MeteredVtbl {
+  @Slot(0)
+  int add(int a, int b);
+
+  @Slot(1)
+  void release();
+}
@@ -0,0 +1,101 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.DispatchTableProcessor")
+public final class MeteredVtblFD implements MeteredVtbl {
+  private static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
+      java.lang.foreign.MemoryLayout.sequenceLayout(2L,
+          java.lang.foreign.ValueLayout.ADDRESS);
+
+  public static MeteredVtblFD reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment) {
+    return new MeteredVtblFD(memorySegment.reinterpret(
+        MemoryLayout$F.byteSize()));
+  }
+
+  public final java.lang.foreign.MemorySegment MemorySegment$F;
+
+  public MeteredVtblFD(java.lang.foreign.MemorySegment memorySegment) {
+    this.MemorySegment$F = memorySegment;
+    this.MethodHandle$0$F = DowncallHandle$0$F.bindTo(
+        MemorySegment$F.getAtIndex(
+            java.lang.foreign.ValueLayout.ADDRESS, 0L));
+    this.MethodHandle$1$F = DowncallHandle$1$F.bindTo(
+        MemorySegment$F.getAtIndex(
+            java.lang.foreign.ValueLayout.ADDRESS, 1L));
+  }
+
+  private static final java.lang.invoke.MethodHandle DowncallHandle$0$F =
+      Linker$F.downcallHandle(
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  private final java.lang.invoke.MethodHandle MethodHandle$0$F;
+
+  private static final org.alveolo.ffm.CallMetrics CallMetrics$0$F =
+      org.alveolo.ffm.CallMetrics.register(
+          pkg.MeteredVtbl.class, "add(int,int)");
+
+  public int add(
+      int a,
+      int b) {
+    var start$f = CallMetrics$0$F.start();
+    try {
+      return add$Downcall$F(a, b);
+    } finally {
+      CallMetrics$0$F.stop(start$f);
+    }
+  }
+
+  private int add$Downcall$F(
+      int a,
+      int b) {
+    try {
+      return (int) MethodHandle$0$F.invokeExact(
+          a,
+          b);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle DowncallHandle$1$F =
+      Linker$F.downcallHandle(
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              ));
+
+  private final java.lang.invoke.MethodHandle MethodHandle$1$F;
+
+  private static final org.alveolo.ffm.CallMetrics CallMetrics$1$F =
+      org.alveolo.ffm.CallMetrics.register(
+          pkg.MeteredVtbl.class, "release()");
+
+  public void release(
+      ) {
+    var start$f = CallMetrics$1$F.start();
+    try {
+      release$Downcall$F();
+    } finally {
+      CallMetrics$1$F.stop(start$f);
+    }
+  }
+
+  private void release$Downcall$F(
+      ) {
+    try {
+      MethodHandle$1$F.invokeExact(
+          );
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+}
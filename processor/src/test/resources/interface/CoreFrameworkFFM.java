@@ -40,4 +40,6 @@ public final class CoreFrameworkFFM implements CoreFramework {
       throw new AssertionError(throwable$f);
     }
   }
+
+  public static void preload$F() {}
 }
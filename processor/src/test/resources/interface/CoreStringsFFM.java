@@ -94,7 +94,7 @@ public final class CoreStringsFFM implements CoreStrings {
     try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
       var cfStringResult$f = (java.lang.foreign.MemorySegment) MethodHandle$2$F.invokeExact(
           allocator,
-          arena$f.allocateFrom(cString),
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, cString),
           encoding);
       try {
         return org.alveolo.ffm.macos.CFStringSupport
@@ -108,4 +108,6 @@ public final class CoreStringsFFM implements CoreStrings {
       throw new AssertionError(throwable$f);
     }
   }
+
+  public static void preload$F() {}
 }
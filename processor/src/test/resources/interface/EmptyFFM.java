@@ -12,4 +12,6 @@ public final class EmptyFFM implements Empty {
 
   public static final java.lang.foreign.SymbolLookup
       SymbolLookup$F = Linker$F.defaultLookup();
+
+  public static void preload$F() {}
 }
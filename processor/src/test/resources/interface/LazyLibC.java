@@ -0,0 +1,14 @@
+package pkg;
+
+import org.alveolo.ffm.ForeignInterface;
+import org.alveolo.ffm.SLong;
+import org.alveolo.ffm.SizeT;
+
+@ForeignInterface(linking = ForeignInterface.Linking.LAZY)
+public interface LazyLibC {
+  int abs(int i);
+
+  @SLong long labs(@SLong long i);
+
+  @SizeT long strlen(String s);
+}
@@ -0,0 +1,89 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class LazyLibCFFM implements LazyLibC {
+  public static final LazyLibCFFM INSTANCE$F = new LazyLibCFFM();
+
+  private LazyLibCFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final class Holder$0$F {
+    static final java.lang.invoke.MethodHandle MethodHandle$0$F =
+        Linker$F.downcallHandle(
+            SymbolLookup$F.findOrThrow("abs"),
+            java.lang.foreign.FunctionDescriptor.of(
+                java.lang.foreign.ValueLayout.JAVA_INT,
+                java.lang.foreign.ValueLayout.JAVA_INT));
+  }
+
+  public int abs(
+      int i) {
+    try {
+      return (int) Holder$0$F.MethodHandle$0$F.invokeExact(
+          i);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final class Holder$1$F {
+    static final java.lang.invoke.MethodHandle MethodHandle$1$F =
+        org.alveolo.ffm.NativeType.adaptDowncall(
+            Linker$F.downcallHandle(
+                SymbolLookup$F.findOrThrow("labs"),
+                java.lang.foreign.FunctionDescriptor.of(
+                    org.alveolo.ffm.CanonicalLayout.LONG,
+                    org.alveolo.ffm.CanonicalLayout.LONG)),
+            org.alveolo.ffm.NativeType.SLONG,
+            new org.alveolo.ffm.NativeType[] {
+                org.alveolo.ffm.NativeType.SLONG
+            });
+  }
+
+  public long labs(
+      long i) {
+    try {
+      return (long) Holder$1$F.MethodHandle$1$F.invokeExact(
+          i);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final class Holder$2$F {
+    static final java.lang.invoke.MethodHandle MethodHandle$2$F =
+        Linker$F.downcallHandle(
+            SymbolLookup$F.findOrThrow("strlen"),
+            java.lang.foreign.FunctionDescriptor.of(
+                org.alveolo.ffm.CanonicalLayout.SIZE_T,
+                java.lang.foreign.ValueLayout.ADDRESS));
+  }
+
+  public long strlen(
+      java.lang.String s) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      return (long) Holder$2$F.MethodHandle$2$F.invokeExact(
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, s));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static void preload$F() {
+    java.util.Objects.requireNonNull(Holder$0$F.MethodHandle$0$F);
+    java.util.Objects.requireNonNull(Holder$1$F.MethodHandle$1$F);
+    java.util.Objects.requireNonNull(Holder$2$F.MethodHandle$2$F);
+  }
+}
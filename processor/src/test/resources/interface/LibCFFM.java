@@ -116,7 +116,7 @@ public final class LibCFFM implements LibC {
       java.lang.String utf8z) {
     try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
       return (long) MethodHandle$4$F.invokeExact(
-          arena$f.allocateFrom(utf8z));
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, utf8z));
     } catch (RuntimeException|Error exception$f) {
       throw exception$f;
     } catch (Throwable throwable$f) {
@@ -198,4 +198,6 @@ public final class LibCFFM implements LibC {
       throw new AssertionError(throwable$f);
     }
   }
+
+  public static void preload$F() {}
 }
@@ -26,4 +26,6 @@ public final class MultiFrameworkFFM implements MultiFramework {
             new org.alveolo.ffm.Library.OS[] {},
             org.alveolo.ffm.Library.Kind.FRAMEWORK));
   }
+
+  public static void preload$F() {}
 }
@@ -26,4 +26,6 @@ public final class MultiLibraryFFM implements MultiLibrary {
             new org.alveolo.ffm.Library.OS[] {},
             org.alveolo.ffm.Library.Kind.NAME));
   }
+
+  public static void preload$F() {}
 }
@@ -44,4 +44,6 @@ public final class NativeLookupTestFFM implements NativeLookupTest {
       throw new AssertionError(throwable$f);
     }
   }
+
+  public static void preload$F() {}
 }
@@ -44,4 +44,6 @@ public final class NativeTestFFM implements NativeTest {
       throw new AssertionError(throwable$f);
     }
   }
+
+  public static void preload$F() {}
 }
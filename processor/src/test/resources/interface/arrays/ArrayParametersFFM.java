@@ -498,10 +498,10 @@ public final class ArrayParametersFFM implements ArrayParameters {
       java.lang.String text,
       long[] values) {
     try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
-      var text$bytes$f = text.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+      var text$length$f = org.alveolo.ffm.NativeString.utf8Length(text);
       var values$size$f = values.length;
       var text$allocationOffset$f = 0L;
-      var allocationOffset$f = Math.addExact((long) text$bytes$f.length, 1L);
+      var allocationOffset$f = Math.addExact(text$length$f, 1L);
       allocationOffset$f = Math.addExact(
           allocationOffset$f,
           Math.floorMod(-allocationOffset$f, java.lang.foreign.ValueLayout.JAVA_LONG.byteAlignment()));
@@ -511,13 +511,8 @@ public final class ArrayParametersFFM implements ArrayParameters {
       var allocation$MemorySegment$f = arena$f.allocate(
           allocationOffset$f, java.lang.foreign.ValueLayout.JAVA_LONG.byteAlignment());
       var text$MemorySegment$f = allocation$MemorySegment$f.asSlice(
-          text$allocationOffset$f, Math.addExact((long) text$bytes$f.length, 1L));
-      java.lang.foreign.MemorySegment.copy(
-          text$bytes$f, 0, text$MemorySegment$f,
-          java.lang.foreign.ValueLayout.JAVA_BYTE, 0, text$bytes$f.length);
-      text$MemorySegment$f.set(
-          java.lang.foreign.ValueLayout.JAVA_BYTE, text$bytes$f.length,
-          (byte) 0);
+          text$allocationOffset$f, Math.addExact(text$length$f, 1L));
+      org.alveolo.ffm.NativeString.encode(text, text$MemorySegment$f);
       var values$MemorySegment$f = allocation$MemorySegment$f.asSlice(
           values$allocationOffset$f, Math.multiplyExact(java.lang.foreign.ValueLayout.JAVA_LONG.byteSize(), (long) values$size$f));
       java.lang.foreign.MemorySegment.copy(
@@ -533,4 +528,6 @@ public final class ArrayParametersFFM implements ArrayParameters {
       throw new AssertionError(throwable$f);
     }
   }
+
+  public static void preload$F() {}
 }
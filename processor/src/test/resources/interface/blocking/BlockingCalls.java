@@ -0,0 +1,18 @@
+package pkg;
+
+import java.lang.foreign.MemorySegment;
+
+import org.alveolo.ffm.Blocking;
+import org.alveolo.ffm.ForeignInterface;
+import org.alveolo.ffm.SizeT;
+
+@ForeignInterface
+public interface BlockingCalls {
+  @Blocking
+  @SizeT long read(int fd, byte[] buffer, @SizeT long count);
+
+  @Blocking
+  void sleep(int seconds);
+
+  int getpid();
+}
@@ -0,0 +1,119 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class BlockingCallsFFM implements BlockingCalls {
+  public static final BlockingCallsFFM INSTANCE$F = new BlockingCallsFFM();
+
+  private BlockingCallsFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$0$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("read"),
+          java.lang.foreign.FunctionDescriptor.of(
+              org.alveolo.ffm.CanonicalLayout.SIZE_T,
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.ADDRESS,
+              org.alveolo.ffm.CanonicalLayout.SIZE_T));
+
+  public long read(
+      int fd,
+      byte[] buffer,
+      long count) {
+    if (java.lang.Thread.currentThread().isVirtual())
+      return org.alveolo.ffm.BlockingCalls.await(
+          read$Async$F(fd, buffer, count));
+    else
+      return read$Downcall$F(fd, buffer, count);
+  }
+
+  public java.util.concurrent.CompletableFuture<java.lang.Long> read$Async$F(
+      int fd,
+      byte[] buffer,
+      long count) {
+    return org.alveolo.ffm.BlockingCalls.supply(
+        () -> read$Downcall$F(fd, buffer, count));
+  }
+
+  private long read$Downcall$F(
+      int fd,
+      byte[] buffer,
+      long count) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      var buffer$size$f = buffer.length;
+      var buffer$MemorySegment$f = arena$f.allocate(java.lang.foreign.ValueLayout.JAVA_BYTE, buffer$size$f);
+      java.lang.foreign.MemorySegment.copy(
+          buffer, 0, buffer$MemorySegment$f, java.lang.foreign.ValueLayout.JAVA_BYTE, 0, buffer$size$f);
+      var result$f = (long) MethodHandle$0$F.invokeExact(
+          fd,
+          buffer$MemorySegment$f,
+          count);
+      java.lang.foreign.MemorySegment.copy(
+          buffer$MemorySegment$f, java.lang.foreign.ValueLayout.JAVA_BYTE, 0, buffer, 0, buffer$size$f);
+      return result$f;
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$1$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("sleep"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  public void sleep(
+      int seconds) {
+    if (java.lang.Thread.currentThread().isVirtual())
+      org.alveolo.ffm.BlockingCalls.await(
+          sleep$Async$F(seconds));
+    else
+      sleep$Downcall$F(seconds);
+  }
+
+  public java.util.concurrent.CompletableFuture<java.lang.Void> sleep$Async$F(
+      int seconds) {
+    return org.alveolo.ffm.BlockingCalls.run(
+        () -> sleep$Downcall$F(seconds));
+  }
+
+  private void sleep$Downcall$F(
+      int seconds) {
+    try {
+      MethodHandle$1$F.invokeExact(
+          seconds);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$2$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("getpid"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  public int getpid(
+      ) {
+    try {
+      return (int) MethodHandle$2$F.invokeExact(
+          );
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static void preload$F() {}
+}
@@ -0,0 +1,11 @@
+package pkg;
+
+import org.alveolo.ffm.Cached;
+import org.alveolo.ffm.ForeignInterface;
+
+@ForeignInterface
+public interface CachedStrings {
+  long strlen(@Cached String s);
+
+  int setenv(@Cached String name, String value, int overwrite);
+}
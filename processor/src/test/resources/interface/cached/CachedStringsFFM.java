@@ -0,0 +1,61 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class CachedStringsFFM implements CachedStrings {
+  public static final CachedStringsFFM INSTANCE$F = new CachedStringsFFM();
+
+  private CachedStringsFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$0$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("strlen"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_LONG,
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public long strlen(
+      java.lang.String s) {
+    try {
+      return (long) MethodHandle$0$F.invokeExact(
+          org.alveolo.ffm.NativeStringCache.get(s));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$1$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("setenv"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  public int setenv(
+      java.lang.String name,
+      java.lang.String value,
+      int overwrite) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      return (int) MethodHandle$1$F.invokeExact(
+          org.alveolo.ffm.NativeStringCache.get(name),
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, value),
+          overwrite);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static void preload$F() {}
+}
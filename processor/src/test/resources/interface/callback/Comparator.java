@@ -0,0 +1,10 @@
+package pkg;
+
+import java.lang.foreign.MemorySegment;
+
+import org.alveolo.ffm.Callback;
+
+@Callback
+public interface Comparator {
+  int compare(MemorySegment left, MemorySegment right);
+}
@@ -0,0 +1,23 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.CallbackProcessor")
+public final class ComparatorFC {
+  private ComparatorFC() {}
+
+  public static final java.lang.foreign.FunctionDescriptor
+      FunctionDescriptor$F = java.lang.foreign.FunctionDescriptor.of(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          java.lang.foreign.ValueLayout.ADDRESS,
+          java.lang.foreign.ValueLayout.ADDRESS);
+
+  public static final org.alveolo.ffm.UpcallStubs UpcallStubs$F =
+      new org.alveolo.ffm.UpcallStubs(
+          java.lang.invoke.MethodHandles.lookup(),
+          Comparator.class, "compare", FunctionDescriptor$F);
+
+  public static java.lang.foreign.MemorySegment upcallStub$F(
+      java.lang.foreign.Arena arena, Comparator callback) {
+    return UpcallStubs$F.stub(arena, callback);
+  }
+}
@@ -0,0 +1,8 @@
+package pkg;
+
+import org.alveolo.ffm.Callback;
+
+@Callback
+public interface SignalHandler {
+  void handle(int signal);
+}
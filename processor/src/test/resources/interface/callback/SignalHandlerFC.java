@@ -0,0 +1,21 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.CallbackProcessor")
+public final class SignalHandlerFC {
+  private SignalHandlerFC() {}
+
+  public static final java.lang.foreign.FunctionDescriptor
+      FunctionDescriptor$F = java.lang.foreign.FunctionDescriptor.ofVoid(
+          java.lang.foreign.ValueLayout.JAVA_INT);
+
+  public static final org.alveolo.ffm.UpcallStubs UpcallStubs$F =
+      new org.alveolo.ffm.UpcallStubs(
+          java.lang.invoke.MethodHandles.lookup(),
+          SignalHandler.class, "handle", FunctionDescriptor$F);
+
+  public static java.lang.foreign.MemorySegment upcallStub$F(
+      java.lang.foreign.Arena arena, SignalHandler callback) {
+    return UpcallStubs$F.stub(arena, callback);
+  }
+}
@@ -0,0 +1,19 @@
+package pkg;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+import org.alveolo.ffm.ForeignInterface;
+import org.alveolo.ffm.SizeT;
+
+@ForeignInterface
+public interface Sorting {
+  void qsort(MemorySegment base, @SizeT long count, @SizeT long size,
+      Comparator comparator);
+
+  MemorySegment bsearch(MemorySegment key, MemorySegment base,
+      @SizeT long count, @SizeT long size, Comparator comparator);
+
+  // signal() keeps the handler, so its stub comes from the caller's arena
+  MemorySegment signal(int signal, SignalHandler handler, Arena arena);
+}
@@ -0,0 +1,100 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class SortingFFM implements Sorting {
+  public static final SortingFFM INSTANCE$F = new SortingFFM();
+
+  private SortingFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$0$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("qsort"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              org.alveolo.ffm.CanonicalLayout.SIZE_T,
+              org.alveolo.ffm.CanonicalLayout.SIZE_T,
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public void qsort(
+      java.lang.foreign.MemorySegment base,
+      long count,
+      long size,
+      pkg.Comparator comparator) {
+    try (var arena$f = pkg.ComparatorFC.UpcallStubs$F.needsArena(comparator)
+        ? java.lang.foreign.Arena.ofConfined() : null) {
+      MethodHandle$0$F.invokeExact(
+          base,
+          count,
+          size,
+          pkg.ComparatorFC.upcallStub$F(arena$f, comparator));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$1$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("bsearch"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.ADDRESS,
+              org.alveolo.ffm.CanonicalLayout.SIZE_T,
+              org.alveolo.ffm.CanonicalLayout.SIZE_T,
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public java.lang.foreign.MemorySegment bsearch(
+      java.lang.foreign.MemorySegment key,
+      java.lang.foreign.MemorySegment base,
+      long count,
+      long size,
+      pkg.Comparator comparator) {
+    try (var arena$f = pkg.ComparatorFC.UpcallStubs$F.needsArena(comparator)
+        ? java.lang.foreign.Arena.ofConfined() : null) {
+      return (java.lang.foreign.MemorySegment) MethodHandle$1$F.invokeExact(
+          key,
+          base,
+          count,
+          size,
+          pkg.ComparatorFC.upcallStub$F(arena$f, comparator));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$2$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("signal"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public java.lang.foreign.MemorySegment signal(
+      int signal,
+      pkg.SignalHandler handler,
+      java.lang.foreign.Arena arena) {
+    try {
+      return (java.lang.foreign.MemorySegment) MethodHandle$2$F.invokeExact(
+          signal,
+          pkg.SignalHandlerFC.upcallStub$F(arena, handler));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static void preload$F() {}
+}
@@ -0,0 +1,38 @@
+package pkg;
+
+import java.lang.foreign.MemorySegment;
+
+import org.alveolo.ffm.Blocking;
+import org.alveolo.ffm.Captures;
+import org.alveolo.ffm.ForeignInterface;
+import org.alveolo.ffm.SizeT;
+import org.alveolo.ffm.Symbol;
+
+@ForeignInterface
+public interface CapturingCalls {
+  @Captures(NativeErrorSpec.class)
+  int close(int descriptor);
+
+  @Symbol("open")
+  @Captures(value = NativeErrorSpec.class, failure = "failed")
+  int openOrThrow(String path, int flags);
+
+  @Captures(value = NativeError.class, failure = "isNull")
+  MemorySegment getcwd(MemorySegment buffer, @SizeT long size);
+
+  @Blocking
+  @Captures(NativeErrorSpec.class)
+  @SizeT long read(int descriptor, MemorySegment buffer, @SizeT long count);
+
+  @Blocking
+  @SizeT long write(NativeErrorSpec error, int descriptor,
+      MemorySegment buffer, @SizeT long count);
+
+  static boolean failed(int result) {
+    return result == -1;
+  }
+
+  static boolean isNull(MemorySegment result) {
+    return result.equals(MemorySegment.NULL);
+  }
+}
@@ -0,0 +1,201 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class CapturingCallsFFM implements CapturingCalls {
+  public static final CapturingCallsFFM INSTANCE$F = new CapturingCallsFFM();
+
+  private CapturingCallsFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$0$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("close"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.JAVA_INT),
+          pkg.NativeError.LinkerOption$F);
+
+  public int close(
+      int descriptor) {
+    try {
+      return (int) MethodHandle$0$F.invokeExact(
+          pkg.NativeError.current$F().MemorySegment$F,
+          descriptor);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$1$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("open"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.JAVA_INT),
+          pkg.NativeError.LinkerOption$F);
+
+  public int openOrThrow(
+      java.lang.String path,
+      int flags) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      var result$f = (int) MethodHandle$1$F.invokeExact(
+          pkg.NativeError.current$F().MemorySegment$F,
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, path),
+          flags);
+      if (pkg.CapturingCalls.failed(result$f))
+        throw pkg.NativeError.exception$F("open");
+      return result$f;
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$2$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("getcwd"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.ADDRESS,
+              org.alveolo.ffm.CanonicalLayout.SIZE_T),
+          pkg.NativeError.LinkerOption$F);
+
+  public java.lang.foreign.MemorySegment getcwd(
+      java.lang.foreign.MemorySegment buffer,
+      long size) {
+    try {
+      var result$f = (java.lang.foreign.MemorySegment) MethodHandle$2$F.invokeExact(
+          pkg.NativeError.current$F().MemorySegment$F,
+          buffer,
+          size);
+      if (pkg.CapturingCalls.isNull(result$f))
+        throw pkg.NativeError.exception$F("getcwd");
+      return result$f;
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$3$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("read"),
+          java.lang.foreign.FunctionDescriptor.of(
+              org.alveolo.ffm.CanonicalLayout.SIZE_T,
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.ADDRESS,
+              org.alveolo.ffm.CanonicalLayout.SIZE_T),
+          pkg.NativeError.LinkerOption$F);
+
+  public long read(
+      int descriptor,
+      java.lang.foreign.MemorySegment buffer,
+      long count) {
+    if (java.lang.Thread.currentThread().isVirtual())
+      return org.alveolo.ffm.BlockingCalls.await(
+          read$Async$F(descriptor, buffer, count));
+    else
+      return read$Downcall$F(descriptor, buffer, count);
+  }
+
+  public java.util.concurrent.CompletableFuture<java.lang.Long> read$Async$F(
+      int descriptor,
+      java.lang.foreign.MemorySegment buffer,
+      long count) {
+    var state$f = pkg.NativeError.current$F();
+    return org.alveolo.ffm.BlockingCalls.supply(() -> {
+      try {
+        return read$Downcall$F(descriptor, buffer, count);
+      } finally {
+        state$f.MemorySegment$F.copyFrom(
+            pkg.NativeError.current$F().MemorySegment$F);
+      }
+    });
+  }
+
+  private long read$Downcall$F(
+      int descriptor,
+      java.lang.foreign.MemorySegment buffer,
+      long count) {
+    try {
+      return (long) MethodHandle$3$F.invokeExact(
+          pkg.NativeError.current$F().MemorySegment$F,
+          descriptor,
+          buffer,
+          count);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$4$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("write"),
+          java.lang.foreign.FunctionDescriptor.of(
+              org.alveolo.ffm.CanonicalLayout.SIZE_T,
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.ADDRESS,
+              org.alveolo.ffm.CanonicalLayout.SIZE_T),
+          pkg.NativeError.LinkerOption$F);
+
+  public long write(
+      pkg.NativeErrorSpec error,
+      int descriptor,
+      java.lang.foreign.MemorySegment buffer,
+      long count) {
+    if (java.lang.Thread.currentThread().isVirtual())
+      return org.alveolo.ffm.BlockingCalls.await(
+          write$Async$F(error, descriptor, buffer, count));
+    else
+      return write$Downcall$F(error, descriptor, buffer, count);
+  }
+
+  public java.util.concurrent.CompletableFuture<java.lang.Long> write$Async$F(
+      pkg.NativeErrorSpec error,
+      int descriptor,
+      java.lang.foreign.MemorySegment buffer,
+      long count) {
+    return org.alveolo.ffm.BlockingCalls.supply(() -> {
+      var state$f = pkg.NativeError.current$F();
+      try {
+        return write$Downcall$F(state$f, descriptor, buffer, count);
+      } finally {
+        ((pkg.NativeError) error).MemorySegment$F.copyFrom(
+            state$f.MemorySegment$F);
+      }
+    });
+  }
+
+  private long write$Downcall$F(
+      pkg.NativeErrorSpec error,
+      int descriptor,
+      java.lang.foreign.MemorySegment buffer,
+      long count) {
+    try {
+      return (long) MethodHandle$4$F.invokeExact(
+          ((pkg.NativeError) error).MemorySegment$F,
+          descriptor,
+          buffer,
+          count);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static void preload$F() {}
+}
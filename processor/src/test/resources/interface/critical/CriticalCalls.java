@@ -0,0 +1,32 @@
+package pkg;
+
+import java.nio.IntBuffer;
+
+import org.alveolo.ffm.CountedBy;
+import org.alveolo.ffm.Critical;
+import org.alveolo.ffm.ForeignInterface;
+import org.alveolo.ffm.In;
+import org.alveolo.ffm.Sequence;
+import org.alveolo.ffm.Symbol;
+import org.alveolo.ffm.Value;
+
+@Critical
+@ForeignInterface
+public interface CriticalCalls {
+  void scale_ints(@CountedBy("count") int[] values, int count, int factor);
+
+  int sum(@In @Sequence(3) int[] values);
+
+  @Symbol("scale_ints")
+  void scale_int_buffer(
+      @CountedBy("count") IntBuffer values, int count, int factor);
+
+  void flags(boolean[] values);
+
+  int sum_int3_value(@Value @Sequence(3) int[] values);
+
+  void text(String text, byte[] bytes);
+
+  @Critical(allowHeapAccess = false)
+  void copied(int[] values);
+}
@@ -0,0 +1,227 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class CriticalCallsFFM implements CriticalCalls {
+  public static final CriticalCallsFFM INSTANCE$F = new CriticalCallsFFM();
+
+  private CriticalCallsFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$0$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("scale_ints"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.JAVA_INT),
+          java.lang.foreign.Linker.Option.critical(true));
+
+  public void scale_ints(
+      int[] values,
+      int count,
+      int factor) {
+    try {
+      var values$available$f = values.length;
+      var values$count$f = (long) count;
+      if (values$count$f < 0L || values$count$f > values$available$f) {
+        throw new IllegalArgumentException(
+            "values count parameter 'count' must be between 0 and "
+                + values$available$f + " (length): " + values$count$f);
+      }
+      var values$size$f = (int) values$count$f;
+      var values$MemorySegment$f = java.lang.foreign.MemorySegment.ofArray(values).asSlice(
+          0L, Math.multiplyExact(java.lang.foreign.ValueLayout.JAVA_INT.byteSize(), (long) values$size$f));
+      MethodHandle$0$F.invokeExact(
+          values$MemorySegment$f,
+          count,
+          factor);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$1$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("sum"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.ADDRESS),
+          java.lang.foreign.Linker.Option.critical(true));
+
+  public int sum(
+      @org.alveolo.ffm.In @org.alveolo.ffm.Sequence(3L) int[] values) {
+    try {
+      var values$size$f = values.length;
+      if (values$size$f != 3) {
+        throw new IllegalArgumentException(
+            "values length must be 3");
+      }
+      var values$MemorySegment$f = java.lang.foreign.MemorySegment.ofArray(values);
+      return (int) MethodHandle$1$F.invokeExact(
+          values$MemorySegment$f);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$2$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("scale_ints"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.JAVA_INT),
+          java.lang.foreign.Linker.Option.critical(true));
+
+  public void scale_int_buffer(
+      java.nio.IntBuffer values,
+      int count,
+      int factor) {
+    try {
+      var values$available$f = values.remaining();
+      var values$count$f = (long) count;
+      if (values$count$f < 0L || values$count$f > values$available$f) {
+        throw new IllegalArgumentException(
+            "values count parameter 'count' must be between 0 and "
+                + values$available$f + " (remaining): " + values$count$f);
+      }
+      var values$size$f = (int) values$count$f;
+      if (values.isReadOnly()) {
+        throw new IllegalArgumentException(
+            "values must be writable unless annotated @In");
+      }
+      if (!values.order().equals(java.nio.ByteOrder.nativeOrder())) {
+        throw new IllegalArgumentException(
+            "values must use native byte order");
+      }
+      var values$MemorySegment$f = java.lang.foreign.MemorySegment.ofBuffer(values).asSlice(
+          0L, Math.multiplyExact(java.lang.foreign.ValueLayout.JAVA_INT.byteSize(), (long) values$size$f));
+      MethodHandle$2$F.invokeExact(
+          values$MemorySegment$f,
+          count,
+          factor);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$3$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("flags"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.ADDRESS),
+          java.lang.foreign.Linker.Option.critical(true));
+
+  public void flags(
+      boolean[] values) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      var values$size$f = values.length;
+      var values$MemorySegment$f = arena$f.allocate(java.lang.foreign.ValueLayout.JAVA_BOOLEAN, values$size$f);
+      for (var values$index$f = 0; values$index$f < values$size$f; values$index$f++) {
+        values$MemorySegment$f.setAtIndex(
+            java.lang.foreign.ValueLayout.JAVA_BOOLEAN, values$index$f,
+            values[values$index$f]);
+      }
+      MethodHandle$3$F.invokeExact(
+          values$MemorySegment$f);
+      for (var values$index$f = 0; values$index$f < values$size$f; values$index$f++) {
+        values[values$index$f] = values$MemorySegment$f.getAtIndex(
+            java.lang.foreign.ValueLayout.JAVA_BOOLEAN, values$index$f);
+      }
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$4$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("sum_int3_value"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.MemoryLayout.structLayout(java.lang.foreign.MemoryLayout.sequenceLayout(3L, java.lang.foreign.ValueLayout.JAVA_INT))),
+          java.lang.foreign.Linker.Option.critical(true));
+
+  public int sum_int3_value(
+      @org.alveolo.ffm.Value @org.alveolo.ffm.Sequence(3L) int[] values) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      var values$size$f = values.length;
+      if (values$size$f != 3) {
+        throw new IllegalArgumentException(
+            "values length must be 3");
+      }
+      var values$MemorySegment$f = arena$f.allocate(java.lang.foreign.ValueLayout.JAVA_INT, values$size$f);
+      java.lang.foreign.MemorySegment.copy(
+          values, 0, values$MemorySegment$f, java.lang.foreign.ValueLayout.JAVA_INT, 0, values$size$f);
+      return (int) MethodHandle$4$F.invokeExact(
+          values$MemorySegment$f);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$5$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("text"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.ADDRESS),
+          java.lang.foreign.Linker.Option.critical(true));
+
+  public void text(
+      java.lang.String text,
+      byte[] bytes) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      var bytes$MemorySegment$f = java.lang.foreign.MemorySegment.ofArray(bytes);
+      MethodHandle$5$F.invokeExact(
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, text),
+          bytes$MemorySegment$f);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$6$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("copied"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.ADDRESS),
+          java.lang.foreign.Linker.Option.critical(false));
+
+  public void copied(
+      int[] values) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      var values$size$f = values.length;
+      var values$MemorySegment$f = arena$f.allocate(java.lang.foreign.ValueLayout.JAVA_INT, values$size$f);
+      java.lang.foreign.MemorySegment.copy(
+          values, 0, values$MemorySegment$f, java.lang.foreign.ValueLayout.JAVA_INT, 0, values$size$f);
+      MethodHandle$6$F.invokeExact(
+          values$MemorySegment$f);
+      java.lang.foreign.MemorySegment.copy(
+          values$MemorySegment$f, java.lang.foreign.ValueLayout.JAVA_INT, 0, values, 0, values$size$f);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static void preload$F() {}
+}
@@ -0,0 +1,28 @@
+package pkg;
+
+import java.nio.ByteBuffer;
+
+import org.alveolo.ffm.Blocking;
+import org.alveolo.ffm.ForeignInterface;
+import org.alveolo.ffm.In;
+import org.alveolo.ffm.Out;
+import org.alveolo.ffm.Sequence;
+import org.alveolo.ffm.SizeT;
+
+@ForeignInterface
+public interface RecordedCalls {
+  int getpid();
+
+  @SizeT long strlen(String value);
+
+  @Blocking
+  void sleep(int seconds);
+
+  void scale(int[] values);
+
+  int sum(@In @Sequence(3) int[] values);
+
+  void fill(@Out @Sequence(2) int[] values);
+
+  void bytes(ByteBuffer values);
+}
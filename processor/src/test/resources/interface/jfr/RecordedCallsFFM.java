@@ -0,0 +1,239 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class RecordedCallsFFM implements RecordedCalls {
+  public static final RecordedCallsFFM INSTANCE$F = new RecordedCallsFFM();
+
+  private RecordedCallsFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$0$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("getpid"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  public int getpid(
+      ) {
+    var event$f = new org.alveolo.ffm.NativeCallEvent();
+    event$f.begin();
+    try {
+      return (int) MethodHandle$0$F.invokeExact(
+          );
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    } finally {
+      event$f.commit(pkg.RecordedCalls.class, "getpid", "getpid");
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$1$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("strlen"),
+          java.lang.foreign.FunctionDescriptor.of(
+              org.alveolo.ffm.CanonicalLayout.SIZE_T,
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public long strlen(
+      java.lang.String value) {
+    var event$f = new org.alveolo.ffm.NativeCallEvent();
+    event$f.begin();
+    try (var arena$f = event$f.arena(java.lang.foreign.Arena.ofConfined())) {
+      return (long) MethodHandle$1$F.invokeExact(
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, value));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    } finally {
+      event$f.commit(pkg.RecordedCalls.class, "strlen", "strlen");
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$2$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("sleep"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  public void sleep(
+      int seconds) {
+    if (java.lang.Thread.currentThread().isVirtual())
+      org.alveolo.ffm.BlockingCalls.await(
+          sleep$Async$F(seconds));
+    else
+      sleep$Downcall$F(seconds);
+  }
+
+  public java.util.concurrent.CompletableFuture<java.lang.Void> sleep$Async$F(
+      int seconds) {
+    return org.alveolo.ffm.BlockingCalls.run(
+        () -> sleep$Downcall$F(seconds));
+  }
+
+  private void sleep$Downcall$F(
+      int seconds) {
+    var event$f = new org.alveolo.ffm.NativeCallEvent();
+    event$f.begin();
+    try {
+      MethodHandle$2$F.invokeExact(
+          seconds);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    } finally {
+      event$f.commit(pkg.RecordedCalls.class, "sleep", "sleep");
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$3$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("scale"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public void scale(
+      int[] values) {
+    var event$f = new org.alveolo.ffm.NativeCallEvent();
+    event$f.begin();
+    try (var arena$f = event$f.arena(java.lang.foreign.Arena.ofConfined())) {
+      var values$size$f = values.length;
+      var values$MemorySegment$f = arena$f.allocate(java.lang.foreign.ValueLayout.JAVA_INT, values$size$f);
+      java.lang.foreign.MemorySegment.copy(
+          values, 0, values$MemorySegment$f, java.lang.foreign.ValueLayout.JAVA_INT, 0, values$size$f);
+      event$f.copiedIn(values$MemorySegment$f.byteSize());
+      MethodHandle$3$F.invokeExact(
+          values$MemorySegment$f);
+      java.lang.foreign.MemorySegment.copy(
+          values$MemorySegment$f, java.lang.foreign.ValueLayout.JAVA_INT, 0, values, 0, values$size$f);
+      event$f.copiedOut(values$MemorySegment$f.byteSize());
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    } finally {
+      event$f.commit(pkg.RecordedCalls.class, "scale", "scale");
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$4$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("sum"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public int sum(
+      @org.alveolo.ffm.In @org.alveolo.ffm.Sequence(3L) int[] values) {
+    var event$f = new org.alveolo.ffm.NativeCallEvent();
+    event$f.begin();
+    try (var arena$f = event$f.arena(java.lang.foreign.Arena.ofConfined())) {
+      var values$size$f = values.length;
+      if (values$size$f != 3) {
+        throw new IllegalArgumentException(
+            "values length must be 3");
+      }
+      var values$MemorySegment$f = arena$f.allocate(java.lang.foreign.ValueLayout.JAVA_INT, values$size$f);
+      java.lang.foreign.MemorySegment.copy(
+          values, 0, values$MemorySegment$f, java.lang.foreign.ValueLayout.JAVA_INT, 0, values$size$f);
+      event$f.copiedIn(values$MemorySegment$f.byteSize());
+      return (int) MethodHandle$4$F.invokeExact(
+          values$MemorySegment$f);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    } finally {
+      event$f.commit(pkg.RecordedCalls.class, "sum", "sum");
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$5$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("fill"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public void fill(
+      @org.alveolo.ffm.Out @org.alveolo.ffm.Sequence(2L) int[] values) {
+    var event$f = new org.alveolo.ffm.NativeCallEvent();
+    event$f.begin();
+    try (var arena$f = event$f.arena(java.lang.foreign.Arena.ofConfined())) {
+      var values$size$f = values.length;
+      if (values$size$f != 2) {
+        throw new IllegalArgumentException(
+            "values length must be 2");
+      }
+      var values$MemorySegment$f = arena$f.allocate(java.lang.foreign.ValueLayout.JAVA_INT, values$size$f);
+      MethodHandle$5$F.invokeExact(
+          values$MemorySegment$f);
+      java.lang.foreign.MemorySegment.copy(
+          values$MemorySegment$f, java.lang.foreign.ValueLayout.JAVA_INT, 0, values, 0, values$size$f);
+      event$f.copiedOut(values$MemorySegment$f.byteSize());
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    } finally {
+      event$f.commit(pkg.RecordedCalls.class, "fill", "fill");
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$6$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("bytes"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public void bytes(
+      java.nio.ByteBuffer values) {
+    var event$f = new org.alveolo.ffm.NativeCallEvent();
+    event$f.begin();
+    try (var arena$f = event$f.arena(java.lang.foreign.Arena.ofConfined())) {
+      var values$position$f = values.position();
+      var values$size$f = values.remaining();
+      if (values.isReadOnly()) {
+        throw new IllegalArgumentException(
+            "values must be writable unless annotated @In");
+      }
+      var values$direct$f = values.isDirect();
+      var values$MemorySegment$f = values$direct$f
+          ? java.lang.foreign.MemorySegment.ofBuffer(values).asSlice(
+              0L, Math.multiplyExact(java.lang.foreign.ValueLayout.JAVA_BYTE.byteSize(), (long) values$size$f))
+          : arena$f.allocate(java.lang.foreign.ValueLayout.JAVA_BYTE, values$size$f);
+      if (!values$direct$f) {
+        for (var values$index$f = 0; values$index$f < values$size$f; values$index$f++) {
+          values$MemorySegment$f.setAtIndex(java.lang.foreign.ValueLayout.JAVA_BYTE, values$index$f,
+              values.get(values$position$f + values$index$f));
+        }
+      }
+      event$f.copiedIn(values$direct$f ? 0L : values$MemorySegment$f.byteSize());
+      MethodHandle$6$F.invokeExact(
+          values$MemorySegment$f);
+      if (!values$direct$f) {
+        for (var values$index$f = 0; values$index$f < values$size$f; values$index$f++) {
+          values.put(values$position$f + values$index$f,
+              values$MemorySegment$f.getAtIndex(java.lang.foreign.ValueLayout.JAVA_BYTE, values$index$f));
+        }
+      }
+      event$f.copiedOut(values$direct$f ? 0L : values$MemorySegment$f.byteSize());
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    } finally {
+      event$f.commit(pkg.RecordedCalls.class, "bytes", "bytes");
+    }
+  }
+
+  public static void preload$F() {}
+}
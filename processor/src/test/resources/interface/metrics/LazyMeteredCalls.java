@@ -0,0 +1,8 @@
+package pkg;
+
+import org.alveolo.ffm.ForeignInterface;
+
+@ForeignInterface(linking = ForeignInterface.Linking.LAZY)
+public interface LazyMeteredCalls {
+  int getpid();
+}
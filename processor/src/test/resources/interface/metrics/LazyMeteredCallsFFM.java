@@ -0,0 +1,53 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class LazyMeteredCallsFFM implements LazyMeteredCalls {
+  public static final LazyMeteredCallsFFM INSTANCE$F = new LazyMeteredCallsFFM();
+
+  private LazyMeteredCallsFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final class Holder$0$F {
+    static final java.lang.invoke.MethodHandle MethodHandle$0$F =
+        Linker$F.downcallHandle(
+            SymbolLookup$F.findOrThrow("getpid"),
+            java.lang.foreign.FunctionDescriptor.of(
+                java.lang.foreign.ValueLayout.JAVA_INT));
+
+    static final org.alveolo.ffm.CallMetrics CallMetrics$0$F =
+        org.alveolo.ffm.CallMetrics.register(
+            pkg.LazyMeteredCalls.class, "getpid()");
+  }
+
+  public int getpid(
+      ) {
+    var start$f = Holder$0$F.CallMetrics$0$F.start();
+    try {
+      return getpid$Downcall$F();
+    } finally {
+      Holder$0$F.CallMetrics$0$F.stop(start$f);
+    }
+  }
+
+  private int getpid$Downcall$F(
+      ) {
+    try {
+      return (int) Holder$0$F.MethodHandle$0$F.invokeExact(
+          );
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static void preload$F() {
+    java.util.Objects.requireNonNull(Holder$0$F.MethodHandle$0$F);
+  }
+}
@@ -0,0 +1,22 @@
+package pkg;
+
+import java.lang.foreign.MemorySegment;
+
+import org.alveolo.ffm.Blocking;
+import org.alveolo.ffm.ForeignInterface;
+import org.alveolo.ffm.SLong;
+import org.alveolo.ffm.SizeT;
+
+@ForeignInterface
+public interface MeteredCalls {
+  int getpid();
+
+  @SizeT long strlen(String value);
+
+  @Blocking
+  void sleep(int seconds);
+
+  int abs(int value);
+
+  @SLong long abs(@SLong long value);
+}
@@ -0,0 +1,200 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class MeteredCallsFFM implements MeteredCalls {
+  public static final MeteredCallsFFM INSTANCE$F = new MeteredCallsFFM();
+
+  private MeteredCallsFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$0$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("getpid"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  private static final org.alveolo.ffm.CallMetrics CallMetrics$0$F =
+      org.alveolo.ffm.CallMetrics.register(
+          pkg.MeteredCalls.class, "getpid()");
+
+  public int getpid(
+      ) {
+    var start$f = CallMetrics$0$F.start();
+    try {
+      return getpid$Downcall$F();
+    } finally {
+      CallMetrics$0$F.stop(start$f);
+    }
+  }
+
+  private int getpid$Downcall$F(
+      ) {
+    try {
+      return (int) MethodHandle$0$F.invokeExact(
+          );
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$1$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("strlen"),
+          java.lang.foreign.FunctionDescriptor.of(
+              org.alveolo.ffm.CanonicalLayout.SIZE_T,
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  private static final org.alveolo.ffm.CallMetrics CallMetrics$1$F =
+      org.alveolo.ffm.CallMetrics.register(
+          pkg.MeteredCalls.class, "strlen(java.lang.String)");
+
+  public long strlen(
+      java.lang.String value) {
+    var start$f = CallMetrics$1$F.start();
+    try {
+      return strlen$Downcall$F(value);
+    } finally {
+      CallMetrics$1$F.stop(start$f);
+    }
+  }
+
+  private long strlen$Downcall$F(
+      java.lang.String value) {
+    try (var arena$f = CallMetrics$1$F.arena(java.lang.foreign.Arena.ofConfined())) {
+      return (long) MethodHandle$1$F.invokeExact(
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, value));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$2$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("sleep"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  private static final org.alveolo.ffm.CallMetrics CallMetrics$2$F =
+      org.alveolo.ffm.CallMetrics.register(
+          pkg.MeteredCalls.class, "sleep(int)");
+
+  public void sleep(
+      int seconds) {
+    if (java.lang.Thread.currentThread().isVirtual())
+      org.alveolo.ffm.BlockingCalls.await(
+          sleep$Async$F(seconds));
+    else
+      sleep$Metered$F(seconds);
+  }
+
+  public java.util.concurrent.CompletableFuture<java.lang.Void> sleep$Async$F(
+      int seconds) {
+    return org.alveolo.ffm.BlockingCalls.run(
+        () -> sleep$Metered$F(seconds));
+  }
+
+  private void sleep$Metered$F(
+      int seconds) {
+    var start$f = CallMetrics$2$F.start();
+    try {
+      sleep$Downcall$F(seconds);
+    } finally {
+      CallMetrics$2$F.stop(start$f);
+    }
+  }
+
+  private void sleep$Downcall$F(
+      int seconds) {
+    try {
+      MethodHandle$2$F.invokeExact(
+          seconds);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$3$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("abs"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  private static final org.alveolo.ffm.CallMetrics CallMetrics$3$F =
+      org.alveolo.ffm.CallMetrics.register(
+          pkg.MeteredCalls.class, "abs(int)");
+
+  public int abs(
+      int value) {
+    var start$f = CallMetrics$3$F.start();
+    try {
+      return abs$Downcall$F(value);
+    } finally {
+      CallMetrics$3$F.stop(start$f);
+    }
+  }
+
+  private int abs$Downcall$F(
+      int value) {
+    try {
+      return (int) MethodHandle$3$F.invokeExact(
+          value);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$4$F =
+      org.alveolo.ffm.NativeType.adaptDowncall(
+          Linker$F.downcallHandle(
+              SymbolLookup$F.findOrThrow("abs"),
+              java.lang.foreign.FunctionDescriptor.of(
+                  org.alveolo.ffm.CanonicalLayout.LONG,
+                  org.alveolo.ffm.CanonicalLayout.LONG)),
+          org.alveolo.ffm.NativeType.SLONG,
+          new org.alveolo.ffm.NativeType[] {
+              org.alveolo.ffm.NativeType.SLONG
+          });
+
+  private static final org.alveolo.ffm.CallMetrics CallMetrics$4$F =
+      org.alveolo.ffm.CallMetrics.register(
+          pkg.MeteredCalls.class, "abs(long)");
+
+  public long abs(
+      long value) {
+    var start$f = CallMetrics$4$F.start();
+    try {
+      return abs$Downcall$F(value);
+    } finally {
+      CallMetrics$4$F.stop(start$f);
+    }
+  }
+
+  private long abs$Downcall$F(
+      long value) {
+    try {
+      return (long) MethodHandle$4$F.invokeExact(
+          value);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static void preload$F() {}
+}
@@ -0,0 +1,16 @@
+package pkg;
+
+import org.alveolo.ffm.ForeignInterface;
+import org.alveolo.ffm.Scratch;
+
+@Scratch
+@ForeignInterface
+public interface ScratchCalls {
+  long strlen(String s);
+
+  void textAndValues(String text, long[] values);
+
+  div_t div(int numerator, int denominator);
+
+  int abs(int value);
+}
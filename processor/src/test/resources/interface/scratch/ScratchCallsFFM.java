@@ -0,0 +1,120 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class ScratchCallsFFM implements ScratchCalls {
+  public static final ScratchCallsFFM INSTANCE$F = new ScratchCallsFFM();
+
+  private ScratchCallsFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$0$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("strlen"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_LONG,
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public long strlen(
+      java.lang.String s) {
+    try (var arena$f = org.alveolo.ffm.ScratchArena.push()) {
+      return (long) MethodHandle$0$F.invokeExact(
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, s));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$1$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("textAndValues"),
+          java.lang.foreign.FunctionDescriptor.ofVoid(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public void textAndValues(
+      java.lang.String text,
+      long[] values) {
+    try (var arena$f = org.alveolo.ffm.ScratchArena.push()) {
+      var text$length$f = org.alveolo.ffm.NativeString.utf8Length(text);
+      var values$size$f = values.length;
+      var text$allocationOffset$f = 0L;
+      var allocationOffset$f = Math.addExact(text$length$f, 1L);
+      allocationOffset$f = Math.addExact(
+          allocationOffset$f,
+          Math.floorMod(-allocationOffset$f, java.lang.foreign.ValueLayout.JAVA_LONG.byteAlignment()));
+      var values$allocationOffset$f = allocationOffset$f;
+      allocationOffset$f = Math.addExact(
+          allocationOffset$f, Math.multiplyExact(java.lang.foreign.ValueLayout.JAVA_LONG.byteSize(), (long) values$size$f));
+      var allocation$MemorySegment$f = arena$f.allocate(
+          allocationOffset$f, java.lang.foreign.ValueLayout.JAVA_LONG.byteAlignment());
+      var text$MemorySegment$f = allocation$MemorySegment$f.asSlice(
+          text$allocationOffset$f, Math.addExact(text$length$f, 1L));
+      org.alveolo.ffm.NativeString.encode(text, text$MemorySegment$f);
+      var values$MemorySegment$f = allocation$MemorySegment$f.asSlice(
+          values$allocationOffset$f, Math.multiplyExact(java.lang.foreign.ValueLayout.JAVA_LONG.byteSize(), (long) values$size$f));
+      java.lang.foreign.MemorySegment.copy(
+          values, 0, values$MemorySegment$f, java.lang.foreign.ValueLayout.JAVA_LONG, 0, values$size$f);
+      MethodHandle$1$F.invokeExact(
+          text$MemorySegment$f,
+          values$MemorySegment$f);
+      java.lang.foreign.MemorySegment.copy(
+          values$MemorySegment$f, java.lang.foreign.ValueLayout.JAVA_LONG, 0, values, 0, values$size$f);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$2$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("div"),
+          java.lang.foreign.FunctionDescriptor.of(
+              pkg.div_tFM.MemoryLayout$F,
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  public pkg.div_t div(
+      int numerator,
+      int denominator) {
+    try (var arena$f = org.alveolo.ffm.ScratchArena.push()) {
+      return pkg.div_tFM.fromMemorySegment$F((java.lang.foreign.MemorySegment) MethodHandle$2$F.invokeExact(
+          (java.lang.foreign.SegmentAllocator) arena$f,
+          numerator,
+          denominator));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$3$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("abs"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  public int abs(
+      int value) {
+    try {
+      return (int) MethodHandle$3$F.invokeExact(
+          value);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static void preload$F() {}
+}
@@ -0,0 +1,17 @@
+package pkg;
+
+import org.alveolo.ffm.ForeignInterface;
+import org.alveolo.ffm.MaxLength;
+
+@ForeignInterface
+public interface ReturnedStrings {
+  String getenv(String name);
+
+  @MaxLength(255)
+  String setlocale(int category, String locale);
+
+  CharSequence strerror(int errnum);
+
+  @MaxLength(64)
+  CharSequence nl_langinfo(int item);
+}
@@ -0,0 +1,104 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class ReturnedStringsFFM implements ReturnedStrings {
+  public static final ReturnedStringsFFM INSTANCE$F = new ReturnedStringsFFM();
+
+  private ReturnedStringsFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$0$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("getenv"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public java.lang.String getenv(
+      java.lang.String name) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      var stringResult$f = (java.lang.foreign.MemorySegment) MethodHandle$0$F.invokeExact(
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, name));
+      return stringResult$f.address() == 0L ? null
+          : stringResult$f.reinterpret(Long.MAX_VALUE).getString(0L);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$1$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("setlocale"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.ADDRESS));
+
+  public java.lang.String setlocale(
+      int category,
+      java.lang.String locale) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      var stringResult$f = (java.lang.foreign.MemorySegment) MethodHandle$1$F.invokeExact(
+          category,
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, locale));
+      return stringResult$f.address() == 0L ? null
+          : org.alveolo.ffm.NativeString.decode(stringResult$f.reinterpret(255L));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$2$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("strerror"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  public java.lang.CharSequence strerror(
+      int errnum) {
+    try {
+      var stringResult$f = (java.lang.foreign.MemorySegment) MethodHandle$2$F.invokeExact(
+          errnum);
+      return stringResult$f.address() == 0L ? null
+          : org.alveolo.ffm.NativeCharSequence.of(stringResult$f.reinterpret(Long.MAX_VALUE));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final java.lang.invoke.MethodHandle MethodHandle$3$F =
+      Linker$F.downcallHandle(
+          SymbolLookup$F.findOrThrow("nl_langinfo"),
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.ADDRESS,
+              java.lang.foreign.ValueLayout.JAVA_INT));
+
+  public java.lang.CharSequence nl_langinfo(
+      int item) {
+    try {
+      var stringResult$f = (java.lang.foreign.MemorySegment) MethodHandle$3$F.invokeExact(
+          item);
+      return stringResult$f.address() == 0L ? null
+          : org.alveolo.ffm.NativeCharSequence.of(stringResult$f.reinterpret(64L));
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static void preload$F() {}
+}
@@ -0,0 +1,19 @@
+package pkg;
+
+import java.lang.foreign.MemorySegment;
+
+import org.alveolo.ffm.ForeignInterface;
+import org.alveolo.ffm.SLong;
+import org.alveolo.ffm.SizeT;
+
+@ForeignInterface
+public interface VariadicCalls {
+  int printf(String format, Object... arguments);
+
+  int fcntl(int descriptor, int operation, Object... arguments);
+
+  int snprintf(MemorySegment buffer, @SizeT long size, String format,
+      Object... arguments);
+
+  @SLong long syscall(@SLong long number, Object... arguments);
+}
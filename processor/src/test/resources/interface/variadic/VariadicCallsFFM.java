@@ -0,0 +1,129 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignInterfaceProcessor")
+public final class VariadicCallsFFM implements VariadicCalls {
+  public static final VariadicCallsFFM INSTANCE$F = new VariadicCallsFFM();
+
+  private VariadicCallsFFM() {}
+
+  public static final java.lang.foreign.Linker Linker$F =
+      java.lang.foreign.Linker.nativeLinker();
+
+  public static final java.lang.foreign.SymbolLookup
+      SymbolLookup$F = Linker$F.defaultLookup();
+
+  private static final org.alveolo.ffm.VariadicHandles MethodHandle$0$F =
+      new org.alveolo.ffm.VariadicHandles(
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.ADDRESS),
+          descriptor$f -> Linker$F.downcallHandle(
+              SymbolLookup$F.findOrThrow("printf"),
+              descriptor$f,
+              java.lang.foreign.Linker.Option.firstVariadicArg(1)));
+
+  public int printf(
+      java.lang.String format,
+      java.lang.Object... arguments) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      return (int) MethodHandle$0$F.handle(arguments).invokeExact(
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, format),
+          arguments);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final org.alveolo.ffm.VariadicHandles MethodHandle$1$F =
+      new org.alveolo.ffm.VariadicHandles(
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.JAVA_INT),
+          descriptor$f -> Linker$F.downcallHandle(
+              SymbolLookup$F.findOrThrow("fcntl"),
+              descriptor$f,
+              java.lang.foreign.Linker.Option.firstVariadicArg(2)));
+
+  public int fcntl(
+      int descriptor,
+      int operation,
+      java.lang.Object... arguments) {
+    try {
+      return (int) MethodHandle$1$F.handle(arguments).invokeExact(
+          descriptor,
+          operation,
+          arguments);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final org.alveolo.ffm.VariadicHandles MethodHandle$2$F =
+      new org.alveolo.ffm.VariadicHandles(
+          java.lang.foreign.FunctionDescriptor.of(
+              java.lang.foreign.ValueLayout.JAVA_INT,
+              java.lang.foreign.ValueLayout.ADDRESS,
+              org.alveolo.ffm.CanonicalLayout.SIZE_T,
+              java.lang.foreign.ValueLayout.ADDRESS),
+          descriptor$f -> Linker$F.downcallHandle(
+              SymbolLookup$F.findOrThrow("snprintf"),
+              descriptor$f,
+              java.lang.foreign.Linker.Option.firstVariadicArg(3)));
+
+  public int snprintf(
+      java.lang.foreign.MemorySegment buffer,
+      long size,
+      java.lang.String format,
+      java.lang.Object... arguments) {
+    try (var arena$f = java.lang.foreign.Arena.ofConfined()) {
+      return (int) MethodHandle$2$F.handle(arguments).invokeExact(
+          buffer,
+          size,
+          org.alveolo.ffm.NativeString.allocateFrom(arena$f, format),
+          arguments);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  private static final org.alveolo.ffm.VariadicHandles MethodHandle$3$F =
+      new org.alveolo.ffm.VariadicHandles(
+          java.lang.foreign.FunctionDescriptor.of(
+              org.alveolo.ffm.CanonicalLayout.LONG,
+              org.alveolo.ffm.CanonicalLayout.LONG),
+          descriptor$f -> Linker$F.downcallHandle(
+              SymbolLookup$F.findOrThrow("syscall"),
+              descriptor$f,
+              java.lang.foreign.Linker.Option.firstVariadicArg(1)),
+          handle$f -> org.alveolo.ffm.NativeType.adaptDowncall(
+              handle$f,
+              org.alveolo.ffm.NativeType.SLONG,
+              new org.alveolo.ffm.NativeType[] {
+                  org.alveolo.ffm.NativeType.SLONG,
+                  null
+              }));
+
+  public long syscall(
+      long number,
+      java.lang.Object... arguments) {
+    try {
+      return (long) MethodHandle$3$F.handle(arguments).invokeExact(
+          number,
+          arguments);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static void preload$F() {}
+}
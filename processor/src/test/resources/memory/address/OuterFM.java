@@ -11,10 +11,25 @@ public final class OuterFM {
         pkg.IntBoxFM.MemoryLayout$F.withName("intBox"),
       }));
 
+  public static final long ByteSize$F = MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long box =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("box"));
+
+    public static final long intBox =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("intBox"));
+  }
+
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -27,7 +42,7 @@ public final class OuterFM {
 
   public static Outer reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return fromMemorySegment$F(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return fromMemorySegment$F(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -35,8 +50,8 @@ public final class OuterFM {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -44,8 +59,8 @@ public final class OuterFM {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static Outer at$F(
@@ -53,6 +68,39 @@ public final class OuterFM {
     return fromMemorySegment$F(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<Outer> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(OuterFM::fromMemorySegment$F);
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
   public static void toMemorySegment$F(
       Outer source,
       java.lang.foreign.MemorySegment memorySegment,
@@ -82,7 +130,7 @@ public final class OuterFM {
 
   public static pkg.PairBox box(java.lang.foreign.MemorySegment memorySegment) {
     return pkg.PairBoxFM.fromMemorySegment$F(memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(box$PathElement$F),
+        Offsets$F.box,
         MemoryLayout$F.select(box$PathElement$F).byteSize()));
   }
 
@@ -91,7 +139,7 @@ public final class OuterFM {
     var memoryLayout =
         MemoryLayout$F.select(box$PathElement$F);
     var slice = memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(box$PathElement$F),
+        Offsets$F.box,
         memoryLayout.byteSize());
     pkg.PairBoxFM.toMemorySegment$F(
         value, slice, allocator);
@@ -103,7 +151,7 @@ public final class OuterFM {
 
   public static pkg.IntBox intBox(java.lang.foreign.MemorySegment memorySegment) {
     return pkg.IntBoxFM.fromMemorySegment$F(memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(intBox$PathElement$F),
+        Offsets$F.intBox,
         MemoryLayout$F.select(intBox$PathElement$F).byteSize()));
   }
 
@@ -112,7 +160,7 @@ public final class OuterFM {
     var memoryLayout =
         MemoryLayout$F.select(intBox$PathElement$F);
     var slice = memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(intBox$PathElement$F),
+        Offsets$F.intBox,
         memoryLayout.byteSize());
     pkg.IntBoxFM.toMemorySegment$F(
         value, slice, allocator);
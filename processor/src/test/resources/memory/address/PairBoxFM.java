@@ -3,17 +3,37 @@ package pkg;
 @javax.annotation.processing.Generated(
     "org.alveolo.ffm.processor.ForeignMemoryProcessor")
 public final class PairBoxFM {
+  private static final boolean Is64Bit$F =
+      java.lang.foreign.ValueLayout.ADDRESS.byteSize() == 8L;
+
   public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
-      java.lang.foreign.MemoryLayout.structLayout(
+      Is64Bit$F ? java.lang.foreign.MemoryLayout.structLayout(
+          new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.ADDRESS.withName("pair"),
+      })
+      : java.lang.foreign.MemoryLayout.structLayout(
           org.alveolo.ffm.ForeignUtils.structPad(
               new java.lang.foreign.MemoryLayout [] {
         java.lang.foreign.ValueLayout.ADDRESS.withName("pair"),
       }));
 
+  public static final long ByteSize$F = Is64Bit$F ? 8L
+      : MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = Is64Bit$F ? 8L
+      : MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long pair = Is64Bit$F ? 0L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("pair"));
+  }
+
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -26,7 +46,7 @@ public final class PairBoxFM {
 
   public static PairBox reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return fromMemorySegment$F(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return fromMemorySegment$F(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -34,8 +54,8 @@ public final class PairBoxFM {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -43,8 +63,8 @@ public final class PairBoxFM {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static PairBox at$F(
@@ -52,6 +72,39 @@ public final class PairBoxFM {
     return fromMemorySegment$F(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<PairBox> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(PairBoxFM::fromMemorySegment$F);
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
   public static void toMemorySegment$F(
       PairBox source,
       java.lang.foreign.MemorySegment memorySegment,
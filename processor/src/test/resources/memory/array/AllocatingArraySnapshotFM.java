@@ -11,10 +11,21 @@ public final class AllocatingArraySnapshotFM {
             pkg.ArrayAddressValueFM.MemoryLayout$F).withName("values"),
       }));
 
+  public static final long ByteSize$F = MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long values =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("values"));
+  }
+
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -27,7 +38,7 @@ public final class AllocatingArraySnapshotFM {
 
   public static AllocatingArraySnapshot reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return fromMemorySegment$F(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return fromMemorySegment$F(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -35,8 +46,8 @@ public final class AllocatingArraySnapshotFM {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -44,8 +55,8 @@ public final class AllocatingArraySnapshotFM {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static AllocatingArraySnapshot at$F(
@@ -53,6 +64,39 @@ public final class AllocatingArraySnapshotFM {
     return fromMemorySegment$F(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<AllocatingArraySnapshot> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(AllocatingArraySnapshotFM::fromMemorySegment$F);
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
   public static void toMemorySegment$F(
       AllocatingArraySnapshot source,
       java.lang.foreign.MemorySegment memorySegment,
@@ -98,7 +142,7 @@ public final class AllocatingArraySnapshotFM {
       valuesAsMemorySegment$F(
           java.lang.foreign.MemorySegment memorySegment) {
     return memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(values$PathElement$F),
+        Offsets$F.values,
         values$MemoryLayout$F.byteSize());
   }
 
@@ -24,10 +24,45 @@ public final class ArrayFieldsFM implements ArrayFields {
             java.lang.foreign.ValueLayout.ADDRESS).withName("raw"),
       }));
 
+  public static final long ByteSize$F = MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long flags =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("flags"));
+
+    public static final long matrix =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("matrix"));
+
+    public static final long points =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("points"));
+
+    public static final long pointers =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("pointers"));
+
+    public static final long cells =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("cells"));
+
+    public static final long references =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("references"));
+
+    public static final long raw =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("raw"));
+  }
+
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -40,7 +75,7 @@ public final class ArrayFieldsFM implements ArrayFields {
 
   public static ArrayFieldsFM reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return new ArrayFieldsFM(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return new ArrayFieldsFM(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -48,8 +83,8 @@ public final class ArrayFieldsFM implements ArrayFields {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -57,8 +92,8 @@ public final class ArrayFieldsFM implements ArrayFields {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static ArrayFieldsFM at$F(
@@ -66,6 +101,85 @@ public final class ArrayFieldsFM implements ArrayFields {
     return new ArrayFieldsFM(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<ArrayFieldsFM> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(ArrayFieldsFM::new);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super ArrayFieldsFM> initializer) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      initializer.accept(at$F(array, index), index);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super ArrayFieldsFM> initializer) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> initializer.accept(
+            at$F(array, index), index));
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      ArrayFieldsFM prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    java.lang.foreign.MemorySegment.copy(
+        prototype.MemorySegment$F, 0, target, 0, ByteSize$F);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
   public final java.lang.foreign.MemorySegment MemorySegment$F;
 
   public ArrayFieldsFM(java.lang.foreign.SegmentAllocator allocator) {
@@ -76,6 +190,18 @@ public final class ArrayFieldsFM implements ArrayFields {
     this.MemorySegment$F = memorySegment;
   }
 
+  public ArrayFieldsFM copyFrom$F(ArrayFieldsFM other) {
+    java.lang.foreign.MemorySegment.copy(
+        other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+    return this;
+  }
+
+  public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+    java.lang.foreign.MemorySegment.copy(
+        MemorySegment$F, 0,
+        array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
   public static final java.lang.foreign.MemoryLayout.PathElement
       flags$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
           .groupElement("flags");
@@ -104,7 +230,7 @@ public final class ArrayFieldsFM implements ArrayFields {
   public java.lang.foreign.MemorySegment
       flagsAsMemorySegment$F() {
     return MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(flags$PathElement$F),
+        Offsets$F.flags,
         flags$MemoryLayout$F.byteSize());
   }
 
@@ -193,7 +319,7 @@ public final class ArrayFieldsFM implements ArrayFields {
   public java.lang.foreign.MemorySegment
       matrixAsMemorySegment$F() {
     return MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(matrix$PathElement$F),
+        Offsets$F.matrix,
         matrix$MemoryLayout$F.byteSize());
   }
 
@@ -241,7 +367,7 @@ public final class ArrayFieldsFM implements ArrayFields {
   public java.lang.foreign.MemorySegment
       pointsAsMemorySegment$F() {
     return MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(points$PathElement$F),
+        Offsets$F.points,
         points$MemoryLayout$F.byteSize());
   }
 
@@ -295,7 +421,7 @@ public final class ArrayFieldsFM implements ArrayFields {
   public java.lang.foreign.MemorySegment
       pointersAsMemorySegment$F() {
     return MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(pointers$PathElement$F),
+        Offsets$F.pointers,
         pointers$MemoryLayout$F.byteSize());
   }
 
@@ -362,7 +488,7 @@ public final class ArrayFieldsFM implements ArrayFields {
   public java.lang.foreign.MemorySegment
       cellsAsMemorySegment$F() {
     return MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(cells$PathElement$F),
+        Offsets$F.cells,
         cells$MemoryLayout$F.byteSize());
   }
 
@@ -418,7 +544,7 @@ public final class ArrayFieldsFM implements ArrayFields {
   public java.lang.foreign.MemorySegment
       referencesAsMemorySegment$F() {
     return MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(references$PathElement$F),
+        Offsets$F.references,
         references$MemoryLayout$F.byteSize());
   }
 
@@ -489,7 +615,7 @@ public final class ArrayFieldsFM implements ArrayFields {
   public java.lang.foreign.MemorySegment
       rawAsMemorySegment$F() {
     return MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(raw$PathElement$F),
+        Offsets$F.raw,
         raw$MemoryLayout$F.byteSize());
   }
 
@@ -527,4 +653,47 @@ public final class ArrayFieldsFM implements ArrayFields {
             ? java.lang.foreign.MemorySegment.NULL : value$f);
     return this;
   }
+
+  public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+    return new Cursor$F(array);
+  }
+
+  public static final class Cursor$F {
+    public final java.lang.foreign.MemorySegment MemorySegment$F;
+    public final long Count$F;
+    private long Index$F = -1L;
+    private long Offset$F = -ByteSize$F;
+
+    public Cursor$F(java.lang.foreign.MemorySegment array) {
+      this.MemorySegment$F = array;
+      this.Count$F = array.byteSize() / ByteSize$F;
+    }
+
+    public long index$F() {
+      return Index$F;
+    }
+
+    public Cursor$F moveTo$F(long index) {
+      Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+      Index$F = index;
+      return this;
+    }
+
+    public boolean next$F() {
+      if (Index$F + 1 >= Count$F) return false;
+      Index$F++;
+      Offset$F += ByteSize$F;
+      return true;
+    }
+
+    public Cursor$F reset$F() {
+      Index$F = -1L;
+      Offset$F = -ByteSize$F;
+      return this;
+    }
+
+    public ArrayFieldsFM get$F() {
+      return at$F(MemorySegment$F, Index$F);
+    }
+  }
 }
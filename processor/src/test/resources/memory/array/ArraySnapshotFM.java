@@ -13,10 +13,25 @@ public final class ArraySnapshotFM {
             pkg.ArrayPointFM.MemoryLayout$F).withName("points"),
       }));
 
+  public static final long ByteSize$F = MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long bytes =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("bytes"));
+
+    public static final long points =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("points"));
+  }
+
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -29,7 +44,7 @@ public final class ArraySnapshotFM {
 
   public static ArraySnapshot reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return fromMemorySegment$F(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return fromMemorySegment$F(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -37,8 +52,8 @@ public final class ArraySnapshotFM {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -46,8 +61,8 @@ public final class ArraySnapshotFM {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static ArraySnapshot at$F(
@@ -55,6 +70,115 @@ public final class ArraySnapshotFM {
     return fromMemorySegment$F(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<ArraySnapshot> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(ArraySnapshotFM::fromMemorySegment$F);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.LongFunction<? extends ArraySnapshot> generator) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      toMemorySegment$F(
+          generator.apply(index), elementAt$F(array, index));
+    }
+  }
+
+  public static void transform$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.UnaryOperator<ArraySnapshot> operator) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      var element = elementAt$F(array, index);
+      toMemorySegment$F(
+          operator.apply(fromMemorySegment$F(element)), element);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.LongFunction<? extends ArraySnapshot> generator) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> toMemorySegment$F(
+            generator.apply(index), elementAt$F(array, index)));
+  }
+
+  public static void parallelTransform$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.UnaryOperator<ArraySnapshot> operator) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> {
+          var element = elementAt$F(array, index);
+          toMemorySegment$F(
+              operator.apply(fromMemorySegment$F(element)), element);
+        });
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void setAt$F(
+      java.lang.foreign.MemorySegment array, long index,
+      ArraySnapshot value) {
+    toMemorySegment$F(value, elementAt$F(array, index));
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      ArraySnapshot prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    setAt$F(target, 0, prototype);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
   public static void toMemorySegment$F(
       ArraySnapshot source,
       java.lang.foreign.MemorySegment memorySegment) {
@@ -106,7 +230,7 @@ public final class ArraySnapshotFM {
       bytesAsMemorySegment$F(
           java.lang.foreign.MemorySegment memorySegment) {
     return memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(bytes$PathElement$F),
+        Offsets$F.bytes,
         bytes$MemoryLayout$F.byteSize());
   }
 
@@ -195,7 +319,7 @@ public final class ArraySnapshotFM {
       pointsAsMemorySegment$F(
           java.lang.foreign.MemorySegment memorySegment) {
     return memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(points$PathElement$F),
+        Offsets$F.points,
         points$MemoryLayout$F.byteSize());
   }
 
@@ -5,16 +5,24 @@ package pkg;
 public final class ArrayUnionFM implements ArrayUnion {
   public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
       java.lang.foreign.MemoryLayout.unionLayout(
-          org.alveolo.ffm.ForeignUtils.unionPad(
-              new java.lang.foreign.MemoryLayout [] {
+          new java.lang.foreign.MemoryLayout [] {
         java.lang.foreign.MemoryLayout.sequenceLayout(4L,
             java.lang.foreign.ValueLayout.JAVA_SHORT).withName("words"),
-      }));
+      });
+
+  public static final long ByteSize$F = 8L;
+
+  public static final long ByteAlignment$F = 2L;
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long words = 0L;
+  }
 
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -27,7 +35,7 @@ public final class ArrayUnionFM implements ArrayUnion {
 
   public static ArrayUnionFM reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return new ArrayUnionFM(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return new ArrayUnionFM(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -35,8 +43,8 @@ public final class ArrayUnionFM implements ArrayUnion {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -44,8 +52,8 @@ public final class ArrayUnionFM implements ArrayUnion {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static ArrayUnionFM at$F(
@@ -53,6 +61,85 @@ public final class ArrayUnionFM implements ArrayUnion {
     return new ArrayUnionFM(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<ArrayUnionFM> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(ArrayUnionFM::new);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super ArrayUnionFM> initializer) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      initializer.accept(at$F(array, index), index);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super ArrayUnionFM> initializer) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> initializer.accept(
+            at$F(array, index), index));
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      ArrayUnionFM prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    java.lang.foreign.MemorySegment.copy(
+        prototype.MemorySegment$F, 0, target, 0, ByteSize$F);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
   public final java.lang.foreign.MemorySegment MemorySegment$F;
 
   public ArrayUnionFM(java.lang.foreign.SegmentAllocator allocator) {
@@ -63,6 +150,18 @@ public final class ArrayUnionFM implements ArrayUnion {
     this.MemorySegment$F = memorySegment;
   }
 
+  public ArrayUnionFM copyFrom$F(ArrayUnionFM other) {
+    java.lang.foreign.MemorySegment.copy(
+        other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+    return this;
+  }
+
+  public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+    java.lang.foreign.MemorySegment.copy(
+        MemorySegment$F, 0,
+        array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
   public static final java.lang.foreign.MemoryLayout.PathElement
       words$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
           .groupElement("words");
@@ -91,7 +190,7 @@ public final class ArrayUnionFM implements ArrayUnion {
   public java.lang.foreign.MemorySegment
       wordsAsMemorySegment$F() {
     return MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(words$PathElement$F),
+        Offsets$F.words,
         words$MemoryLayout$F.byteSize());
   }
 
@@ -143,4 +242,47 @@ public final class ArrayUnionFM implements ArrayUnion {
     }
     return this;
   }
+
+  public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+    return new Cursor$F(array);
+  }
+
+  public static final class Cursor$F {
+    public final java.lang.foreign.MemorySegment MemorySegment$F;
+    public final long Count$F;
+    private long Index$F = -1L;
+    private long Offset$F = -ByteSize$F;
+
+    public Cursor$F(java.lang.foreign.MemorySegment array) {
+      this.MemorySegment$F = array;
+      this.Count$F = array.byteSize() / ByteSize$F;
+    }
+
+    public long index$F() {
+      return Index$F;
+    }
+
+    public Cursor$F moveTo$F(long index) {
+      Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+      Index$F = index;
+      return this;
+    }
+
+    public boolean next$F() {
+      if (Index$F + 1 >= Count$F) return false;
+      Index$F++;
+      Offset$F += ByteSize$F;
+      return true;
+    }
+
+    public Cursor$F reset$F() {
+      Index$F = -1L;
+      Offset$F = -ByteSize$F;
+      return this;
+    }
+
+    public ArrayUnionFM get$F() {
+      return at$F(MemorySegment$F, Index$F);
+    }
+  }
 }
@@ -49,4 +49,18 @@ public final class NativeError implements NativeErrorSpec {
   public int error() {
     return (int) error$VarHandle$F.get(MemorySegment$F);
   }
+
+  private static final java.lang.ThreadLocal<NativeError> Current$F =
+      java.lang.ThreadLocal.withInitial(
+          () -> new NativeError(java.lang.foreign.Arena.ofAuto()));
+
+  public static NativeError current$F() {
+    return Current$F.get();
+  }
+
+  public static org.alveolo.ffm.CallStateException exception$F(
+      String call) {
+    return new org.alveolo.ffm.CallStateException(
+        call, StateName$F, current$F().error());
+  }
 }
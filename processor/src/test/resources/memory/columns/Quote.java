@@ -0,0 +1,6 @@
+package pkg;
+
+import org.alveolo.ffm.Struct;
+
+@Struct(columns = true)
+public record Quote(int id, double price, byte flags) {}
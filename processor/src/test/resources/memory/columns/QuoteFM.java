@@ -0,0 +1,405 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignMemoryProcessor")
+public final class QuoteFM {
+  private static final boolean Is64Bit$F =
+      java.lang.foreign.ValueLayout.ADDRESS.byteSize() == 8L;
+
+  public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
+      Is64Bit$F ? java.lang.foreign.MemoryLayout.structLayout(
+          new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.JAVA_INT.withName("id"),
+        java.lang.foreign.MemoryLayout.paddingLayout(4L),
+        java.lang.foreign.ValueLayout.JAVA_DOUBLE.withName("price"),
+        java.lang.foreign.ValueLayout.JAVA_BYTE.withName("flags"),
+        java.lang.foreign.MemoryLayout.paddingLayout(7L),
+      })
+      : java.lang.foreign.MemoryLayout.structLayout(
+          org.alveolo.ffm.ForeignUtils.structPad(
+              new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.JAVA_INT.withName("id"),
+        java.lang.foreign.ValueLayout.JAVA_DOUBLE.withName("price"),
+        java.lang.foreign.ValueLayout.JAVA_BYTE.withName("flags"),
+      }));
+
+  public static final long ByteSize$F = Is64Bit$F ? 24L
+      : MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = Is64Bit$F ? 8L
+      : MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long id = Is64Bit$F ? 0L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("id"));
+
+    public static final long price = Is64Bit$F ? 8L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("price"));
+
+    public static final long flags = Is64Bit$F ? 16L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("flags"));
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator) {
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return allocator.allocate(MemoryLayout$F, count);
+  }
+
+  public static Quote reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment) {
+    return fromMemorySegment$F(memorySegment.reinterpret(ByteSize$F));
+  }
+
+  public static java.lang.foreign.MemorySegment reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
+  }
+
+  private static java.lang.foreign.MemorySegment elementAt$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    if (index < 0) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static Quote at$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    return fromMemorySegment$F(elementAt$F(array, index));
+  }
+
+  public static java.util.stream.Stream<Quote> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(QuoteFM::fromMemorySegment$F);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.LongFunction<? extends Quote> generator) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      toMemorySegment$F(
+          generator.apply(index), elementAt$F(array, index));
+    }
+  }
+
+  public static void transform$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.UnaryOperator<Quote> operator) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      var element = elementAt$F(array, index);
+      toMemorySegment$F(
+          operator.apply(fromMemorySegment$F(element)), element);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.LongFunction<? extends Quote> generator) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> toMemorySegment$F(
+            generator.apply(index), elementAt$F(array, index)));
+  }
+
+  public static void parallelTransform$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.UnaryOperator<Quote> operator) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> {
+          var element = elementAt$F(array, index);
+          toMemorySegment$F(
+              operator.apply(fromMemorySegment$F(element)), element);
+        });
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void setAt$F(
+      java.lang.foreign.MemorySegment array, long index,
+      Quote value) {
+    var offset = Math.multiplyExact(index, ByteSize$F);
+    java.util.Objects.checkFromIndexSize(
+        offset, ByteSize$F, array.byteSize());
+    array.set(java.lang.foreign.ValueLayout.JAVA_INT,
+        offset + Offsets$F.id, value.id());
+    array.set(java.lang.foreign.ValueLayout.JAVA_DOUBLE,
+        offset + Offsets$F.price, value.price());
+    array.set(java.lang.foreign.ValueLayout.JAVA_BYTE,
+        offset + Offsets$F.flags, value.flags());
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      Quote prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    setAt$F(target, 0, prototype);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
+  public static void toMemorySegment$F(
+      Quote source,
+      java.lang.foreign.MemorySegment memorySegment) {
+    id(memorySegment, source.id());
+    price(memorySegment, source.price());
+    flags(memorySegment, source.flags());
+  }
+
+  public static java.lang.foreign.MemorySegment toMemorySegment$F(
+      java.lang.foreign.SegmentAllocator allocator,
+      Quote source) {
+    var memorySegment = allocate$F(allocator);
+    toMemorySegment$F(source, memorySegment);
+    return memorySegment;
+  }
+
+  public static Quote fromMemorySegment$F(
+      java.lang.foreign.MemorySegment memorySegment) {
+    return new Quote(
+        id(memorySegment),
+        price(memorySegment),
+        flags(memorySegment));
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      id$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("id");
+
+  public static final java.lang.invoke.VarHandle id$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(id$PathElement$F), 1, 0L);
+
+  public static int id(java.lang.foreign.MemorySegment memorySegment) {
+    return (int) id$VarHandle$F.get(memorySegment);
+  }
+
+  public static void id(java.lang.foreign.MemorySegment memorySegment, int value) {
+    id$VarHandle$F.set(memorySegment, value);
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      price$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("price");
+
+  public static final java.lang.invoke.VarHandle price$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(price$PathElement$F), 1, 0L);
+
+  public static double price(java.lang.foreign.MemorySegment memorySegment) {
+    return (double) price$VarHandle$F.get(memorySegment);
+  }
+
+  public static void price(java.lang.foreign.MemorySegment memorySegment, double value) {
+    price$VarHandle$F.set(memorySegment, value);
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      flags$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("flags");
+
+  public static final java.lang.invoke.VarHandle flags$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(flags$PathElement$F), 1, 0L);
+
+  public static byte flags(java.lang.foreign.MemorySegment memorySegment) {
+    return (byte) flags$VarHandle$F.get(memorySegment);
+  }
+
+  public static void flags(java.lang.foreign.MemorySegment memorySegment, byte value) {
+    flags$VarHandle$F.set(memorySegment, value);
+  }
+
+  public static final class Columns$F {
+    public final long Count$F;
+    public final java.lang.foreign.MemorySegment id$Column$F;
+    public final java.lang.foreign.MemorySegment price$Column$F;
+    public final java.lang.foreign.MemorySegment flags$Column$F;
+
+    private Columns$F(
+        java.lang.foreign.SegmentAllocator allocator, long count) {
+      this.Count$F = count;
+      this.id$Column$F = allocator.allocate(
+          java.lang.foreign.ValueLayout.JAVA_INT, count);
+      this.price$Column$F = allocator.allocate(
+          java.lang.foreign.ValueLayout.JAVA_DOUBLE, count);
+      this.flags$Column$F = allocator.allocate(
+          java.lang.foreign.ValueLayout.JAVA_BYTE, count);
+    }
+
+    public static Columns$F allocate$F(
+        java.lang.foreign.SegmentAllocator allocator, long count) {
+      if (count < 0) {
+        throw new IllegalArgumentException("count must be non-negative");
+      }
+      return new Columns$F(allocator, count);
+    }
+
+    public static Columns$F fromArray$F(
+        java.lang.foreign.SegmentAllocator allocator,
+        java.lang.foreign.MemorySegment array, long count) {
+      var columns = allocate$F(allocator, count);
+      columns.copyFromArray$F(array);
+      return columns;
+    }
+
+    private void checkArray$F(java.lang.foreign.MemorySegment array) {
+      if (array.byteSize() < Math.multiplyExact(Count$F, ByteSize$F)) {
+        throw new IndexOutOfBoundsException(
+            "Array holds fewer than " + Count$F + " elements");
+      }
+    }
+
+    public void copyFromArray$F(java.lang.foreign.MemorySegment array) {
+      checkArray$F(array);
+      for (long index = 0, offset = Offsets$F.id; index < Count$F;
+          index++, offset += ByteSize$F) {
+        id$Column$F.setAtIndex(
+            java.lang.foreign.ValueLayout.JAVA_INT, index,
+            array.get(java.lang.foreign.ValueLayout.JAVA_INT, offset));
+      }
+      for (long index = 0, offset = Offsets$F.price; index < Count$F;
+          index++, offset += ByteSize$F) {
+        price$Column$F.setAtIndex(
+            java.lang.foreign.ValueLayout.JAVA_DOUBLE, index,
+            array.get(java.lang.foreign.ValueLayout.JAVA_DOUBLE, offset));
+      }
+      for (long index = 0, offset = Offsets$F.flags; index < Count$F;
+          index++, offset += ByteSize$F) {
+        flags$Column$F.setAtIndex(
+            java.lang.foreign.ValueLayout.JAVA_BYTE, index,
+            array.get(java.lang.foreign.ValueLayout.JAVA_BYTE, offset));
+      }
+    }
+
+    public void copyToArray$F(java.lang.foreign.MemorySegment array) {
+      checkArray$F(array);
+      for (long index = 0, offset = Offsets$F.id; index < Count$F;
+          index++, offset += ByteSize$F) {
+        array.set(java.lang.foreign.ValueLayout.JAVA_INT, offset,
+            id$Column$F.getAtIndex(
+                java.lang.foreign.ValueLayout.JAVA_INT, index));
+      }
+      for (long index = 0, offset = Offsets$F.price; index < Count$F;
+          index++, offset += ByteSize$F) {
+        array.set(java.lang.foreign.ValueLayout.JAVA_DOUBLE, offset,
+            price$Column$F.getAtIndex(
+                java.lang.foreign.ValueLayout.JAVA_DOUBLE, index));
+      }
+      for (long index = 0, offset = Offsets$F.flags; index < Count$F;
+          index++, offset += ByteSize$F) {
+        array.set(java.lang.foreign.ValueLayout.JAVA_BYTE, offset,
+            flags$Column$F.getAtIndex(
+                java.lang.foreign.ValueLayout.JAVA_BYTE, index));
+      }
+    }
+
+    public Quote get$F(long index) {
+      return new Quote(
+          id(index),
+          price(index),
+          flags(index));
+    }
+
+    public void set$F(long index, Quote value) {
+      id(index, value.id());
+      price(index, value.price());
+      flags(index, value.flags());
+    }
+
+    public int id(long index) {
+      return id$Column$F.getAtIndex(
+          java.lang.foreign.ValueLayout.JAVA_INT, index);
+    }
+
+    public void id(long index, int value) {
+      id$Column$F.setAtIndex(
+          java.lang.foreign.ValueLayout.JAVA_INT, index, value);
+    }
+
+    public double price(long index) {
+      return price$Column$F.getAtIndex(
+          java.lang.foreign.ValueLayout.JAVA_DOUBLE, index);
+    }
+
+    public void price(long index, double value) {
+      price$Column$F.setAtIndex(
+          java.lang.foreign.ValueLayout.JAVA_DOUBLE, index, value);
+    }
+
+    public byte flags(long index) {
+      return flags$Column$F.getAtIndex(
+          java.lang.foreign.ValueLayout.JAVA_BYTE, index);
+    }
+
+    public void flags(long index, byte value) {
+      flags$Column$F.setAtIndex(
+          java.lang.foreign.ValueLayout.JAVA_BYTE, index, value);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package pkg;
+
+import org.alveolo.ffm.Struct;
+
+@Struct(contentEquality = true)
+public interface Keyed {
+  byte tag();
+
+  long value();
+}
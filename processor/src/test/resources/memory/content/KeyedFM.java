@@ -0,0 +1,305 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignMemoryProcessor")
+public final class KeyedFM implements Keyed, java.lang.Comparable<KeyedFM> {
+  private static final boolean Is64Bit$F =
+      java.lang.foreign.ValueLayout.ADDRESS.byteSize() == 8L;
+
+  public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
+      Is64Bit$F ? java.lang.foreign.MemoryLayout.structLayout(
+          new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.JAVA_BYTE.withName("tag"),
+        java.lang.foreign.MemoryLayout.paddingLayout(7L),
+        java.lang.foreign.ValueLayout.JAVA_LONG.withName("value"),
+      })
+      : java.lang.foreign.MemoryLayout.structLayout(
+          org.alveolo.ffm.ForeignUtils.structPad(
+              new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.JAVA_BYTE.withName("tag"),
+        java.lang.foreign.ValueLayout.JAVA_LONG.withName("value"),
+      }));
+
+  public static final long ByteSize$F = Is64Bit$F ? 16L
+      : MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = Is64Bit$F ? 8L
+      : MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long tag = Is64Bit$F ? 0L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("tag"));
+
+    public static final long value = Is64Bit$F ? 8L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("value"));
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator) {
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return allocator.allocate(MemoryLayout$F, count);
+  }
+
+  public static KeyedFM reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment) {
+    return new KeyedFM(memorySegment.reinterpret(ByteSize$F));
+  }
+
+  public static java.lang.foreign.MemorySegment reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
+  }
+
+  private static java.lang.foreign.MemorySegment elementAt$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    if (index < 0) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static KeyedFM at$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    return new KeyedFM(elementAt$F(array, index));
+  }
+
+  public static java.util.stream.Stream<KeyedFM> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(KeyedFM::new);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super KeyedFM> initializer) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      initializer.accept(at$F(array, index), index);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super KeyedFM> initializer) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> initializer.accept(
+            at$F(array, index), index));
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      KeyedFM prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    java.lang.foreign.MemorySegment.copy(
+        prototype.MemorySegment$F, 0, target, 0, ByteSize$F);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
+  public final java.lang.foreign.MemorySegment MemorySegment$F;
+
+  public KeyedFM(java.lang.foreign.SegmentAllocator allocator) {
+    this(allocate$F(allocator));
+  }
+
+  public KeyedFM(java.lang.foreign.MemorySegment memorySegment) {
+    this.MemorySegment$F = memorySegment;
+  }
+
+  public KeyedFM copyFrom$F(KeyedFM other) {
+    java.lang.foreign.MemorySegment.copy(
+        other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+    return this;
+  }
+
+  public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+    java.lang.foreign.MemorySegment.copy(
+        MemorySegment$F, 0,
+        array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      tag$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("tag");
+
+  public static final java.lang.invoke.VarHandle tag$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(tag$PathElement$F), 1, 0L);
+
+  public byte tag() {
+    return (byte) tag$VarHandle$F.get(MemorySegment$F);
+  }
+
+  public KeyedFM tag(byte value) {
+    tag$VarHandle$F.set(MemorySegment$F, value);
+    return this;
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      value$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("value");
+
+  public static final java.lang.invoke.VarHandle value$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(value$PathElement$F), 1, 0L);
+
+  public long value() {
+    return (long) value$VarHandle$F.get(MemorySegment$F);
+  }
+
+  public KeyedFM value(long value) {
+    value$VarHandle$F.set(MemorySegment$F, value);
+    return this;
+  }
+
+  private static final long[] ContentRanges$F =
+      org.alveolo.ffm.ForeignUtils.contentRanges(MemoryLayout$F);
+
+  public boolean equals(java.lang.Object other) {
+    return this == other
+        || other instanceof KeyedFM that
+            && org.alveolo.ffm.ForeignUtils.contentEquals(
+                MemorySegment$F, that.MemorySegment$F, ContentRanges$F);
+  }
+
+  public int hashCode() {
+    return org.alveolo.ffm.ForeignUtils.contentHashCode(
+        MemorySegment$F, ContentRanges$F);
+  }
+
+  public int compareTo(KeyedFM other) {
+    return org.alveolo.ffm.ForeignUtils.contentCompare(
+        MemorySegment$F, other.MemorySegment$F, ContentRanges$F);
+  }
+
+  public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+    return new Cursor$F(array);
+  }
+
+  public static final class Cursor$F {
+    public final java.lang.foreign.MemorySegment MemorySegment$F;
+    public final long Count$F;
+    private long Index$F = -1L;
+    private long Offset$F = -ByteSize$F;
+
+    public Cursor$F(java.lang.foreign.MemorySegment array) {
+      this.MemorySegment$F = array;
+      this.Count$F = array.byteSize() / ByteSize$F;
+    }
+
+    public long index$F() {
+      return Index$F;
+    }
+
+    public Cursor$F moveTo$F(long index) {
+      Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+      Index$F = index;
+      return this;
+    }
+
+    public boolean next$F() {
+      if (Index$F + 1 >= Count$F) return false;
+      Index$F++;
+      Offset$F += ByteSize$F;
+      return true;
+    }
+
+    public Cursor$F reset$F() {
+      Index$F = -1L;
+      Offset$F = -ByteSize$F;
+      return this;
+    }
+
+    public KeyedFM get$F() {
+      return at$F(MemorySegment$F, Index$F);
+    }
+
+    public byte tag() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_BYTE,
+          Offset$F + Offsets$F.tag);
+    }
+
+    public Cursor$F tag(byte value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_BYTE,
+          Offset$F + Offsets$F.tag, value);
+      return this;
+    }
+
+    public long value() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_LONG,
+          Offset$F + Offsets$F.value);
+    }
+
+    public Cursor$F value(long value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_LONG,
+          Offset$F + Offsets$F.value, value);
+      return this;
+    }
+  }
+}
@@ -5,16 +5,26 @@ package pkg;
 public final class InnerFM implements Inner {
   public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
       java.lang.foreign.MemoryLayout.structLayout(
-          org.alveolo.ffm.ForeignUtils.structPad(
-              new java.lang.foreign.MemoryLayout [] {
+          new java.lang.foreign.MemoryLayout [] {
         java.lang.foreign.ValueLayout.JAVA_INT.withName("a"),
         java.lang.foreign.ValueLayout.JAVA_INT.withName("b"),
-      }));
+      });
+
+  public static final long ByteSize$F = 8L;
+
+  public static final long ByteAlignment$F = 4L;
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long a = 0L;
+
+    public static final long b = 4L;
+  }
 
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -27,7 +37,7 @@ public final class InnerFM implements Inner {
 
   public static InnerFM reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return new InnerFM(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return new InnerFM(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -35,8 +45,8 @@ public final class InnerFM implements Inner {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -44,8 +54,8 @@ public final class InnerFM implements Inner {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static InnerFM at$F(
@@ -53,6 +63,85 @@ public final class InnerFM implements Inner {
     return new InnerFM(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<InnerFM> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(InnerFM::new);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super InnerFM> initializer) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      initializer.accept(at$F(array, index), index);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super InnerFM> initializer) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> initializer.accept(
+            at$F(array, index), index));
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      InnerFM prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    java.lang.foreign.MemorySegment.copy(
+        prototype.MemorySegment$F, 0, target, 0, ByteSize$F);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
   public final java.lang.foreign.MemorySegment MemorySegment$F;
 
   public InnerFM(java.lang.foreign.SegmentAllocator allocator) {
@@ -63,6 +152,18 @@ public final class InnerFM implements Inner {
     this.MemorySegment$F = memorySegment;
   }
 
+  public InnerFM copyFrom$F(InnerFM other) {
+    java.lang.foreign.MemorySegment.copy(
+        other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+    return this;
+  }
+
+  public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+    java.lang.foreign.MemorySegment.copy(
+        MemorySegment$F, 0,
+        array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
   public static final java.lang.foreign.MemoryLayout.PathElement
       a$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
           .groupElement("a");
@@ -96,4 +197,73 @@ public final class InnerFM implements Inner {
     b$VarHandle$F.set(MemorySegment$F, value);
     return this;
   }
+
+  public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+    return new Cursor$F(array);
+  }
+
+  public static final class Cursor$F {
+    public final java.lang.foreign.MemorySegment MemorySegment$F;
+    public final long Count$F;
+    private long Index$F = -1L;
+    private long Offset$F = -ByteSize$F;
+
+    public Cursor$F(java.lang.foreign.MemorySegment array) {
+      this.MemorySegment$F = array;
+      this.Count$F = array.byteSize() / ByteSize$F;
+    }
+
+    public long index$F() {
+      return Index$F;
+    }
+
+    public Cursor$F moveTo$F(long index) {
+      Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+      Index$F = index;
+      return this;
+    }
+
+    public boolean next$F() {
+      if (Index$F + 1 >= Count$F) return false;
+      Index$F++;
+      Offset$F += ByteSize$F;
+      return true;
+    }
+
+    public Cursor$F reset$F() {
+      Index$F = -1L;
+      Offset$F = -ByteSize$F;
+      return this;
+    }
+
+    public InnerFM get$F() {
+      return at$F(MemorySegment$F, Index$F);
+    }
+
+    public int a() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.a);
+    }
+
+    public Cursor$F a(int value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.a, value);
+      return this;
+    }
+
+    public int b() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.b);
+    }
+
+    public Cursor$F b(int value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.b, value);
+      return this;
+    }
+  }
 }
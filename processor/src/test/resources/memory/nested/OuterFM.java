@@ -3,18 +3,44 @@ package pkg;
 @javax.annotation.processing.Generated(
     "org.alveolo.ffm.processor.ForeignMemoryProcessor")
 public final class OuterFM implements Outer {
+  private static final boolean Is64Bit$F =
+      java.lang.foreign.ValueLayout.ADDRESS.byteSize() == 8L;
+
   public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
-      java.lang.foreign.MemoryLayout.structLayout(
+      Is64Bit$F ? java.lang.foreign.MemoryLayout.structLayout(
+          new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.ADDRESS.withName("inner"),
+        java.lang.foreign.ValueLayout.JAVA_INT.withName("tag"),
+        java.lang.foreign.MemoryLayout.paddingLayout(4L),
+      })
+      : java.lang.foreign.MemoryLayout.structLayout(
           org.alveolo.ffm.ForeignUtils.structPad(
               new java.lang.foreign.MemoryLayout [] {
         java.lang.foreign.ValueLayout.ADDRESS.withName("inner"),
         java.lang.foreign.ValueLayout.JAVA_INT.withName("tag"),
       }));
 
+  public static final long ByteSize$F = Is64Bit$F ? 16L
+      : MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = Is64Bit$F ? 8L
+      : MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long inner = Is64Bit$F ? 0L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("inner"));
+
+    public static final long tag = Is64Bit$F ? 8L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("tag"));
+  }
+
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -27,7 +53,7 @@ public final class OuterFM implements Outer {
 
   public static OuterFM reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return new OuterFM(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return new OuterFM(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -35,8 +61,8 @@ public final class OuterFM implements Outer {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -44,8 +70,8 @@ public final class OuterFM implements Outer {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static OuterFM at$F(
@@ -53,6 +79,85 @@ public final class OuterFM implements Outer {
     return new OuterFM(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<OuterFM> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(OuterFM::new);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super OuterFM> initializer) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      initializer.accept(at$F(array, index), index);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super OuterFM> initializer) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> initializer.accept(
+            at$F(array, index), index));
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      OuterFM prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    java.lang.foreign.MemorySegment.copy(
+        prototype.MemorySegment$F, 0, target, 0, ByteSize$F);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
   public final java.lang.foreign.MemorySegment MemorySegment$F;
 
   public OuterFM(java.lang.foreign.SegmentAllocator allocator) {
@@ -63,6 +168,18 @@ public final class OuterFM implements Outer {
     this.MemorySegment$F = memorySegment;
   }
 
+  public OuterFM copyFrom$F(OuterFM other) {
+    java.lang.foreign.MemorySegment.copy(
+        other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+    return this;
+  }
+
+  public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+    java.lang.foreign.MemorySegment.copy(
+        MemorySegment$F, 0,
+        array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
   public static final java.lang.foreign.MemoryLayout.PathElement
       inner$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
           .groupElement("inner");
@@ -96,4 +213,60 @@ public final class OuterFM implements Outer {
     tag$VarHandle$F.set(MemorySegment$F, value);
     return this;
   }
+
+  public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+    return new Cursor$F(array);
+  }
+
+  public static final class Cursor$F {
+    public final java.lang.foreign.MemorySegment MemorySegment$F;
+    public final long Count$F;
+    private long Index$F = -1L;
+    private long Offset$F = -ByteSize$F;
+
+    public Cursor$F(java.lang.foreign.MemorySegment array) {
+      this.MemorySegment$F = array;
+      this.Count$F = array.byteSize() / ByteSize$F;
+    }
+
+    public long index$F() {
+      return Index$F;
+    }
+
+    public Cursor$F moveTo$F(long index) {
+      Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+      Index$F = index;
+      return this;
+    }
+
+    public boolean next$F() {
+      if (Index$F + 1 >= Count$F) return false;
+      Index$F++;
+      Offset$F += ByteSize$F;
+      return true;
+    }
+
+    public Cursor$F reset$F() {
+      Index$F = -1L;
+      Offset$F = -ByteSize$F;
+      return this;
+    }
+
+    public OuterFM get$F() {
+      return at$F(MemorySegment$F, Index$F);
+    }
+
+    public int tag() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.tag);
+    }
+
+    public Cursor$F tag(int value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.tag, value);
+      return this;
+    }
+  }
 }
@@ -0,0 +1,319 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignMemoryProcessor")
+public final class CountersFM implements Counters {
+  public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
+      java.lang.foreign.MemoryLayout.structLayout(
+          org.alveolo.ffm.ForeignUtils.structPad(
+              new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.JAVA_INT.withName("hits"),
+        org.alveolo.ffm.CanonicalLayout.LONG.withName("misses"),
+        java.lang.foreign.ValueLayout.ADDRESS.withName("owner"),
+      }));
+
+  public static final long ByteSize$F = MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long hits =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("hits"));
+
+    public static final long misses =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("misses"));
+
+    public static final long owner =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("owner"));
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator) {
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return allocator.allocate(MemoryLayout$F, count);
+  }
+
+  public static CountersFM reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment) {
+    return new CountersFM(memorySegment.reinterpret(ByteSize$F));
+  }
+
+  public static java.lang.foreign.MemorySegment reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
+  }
+
+  private static java.lang.foreign.MemorySegment elementAt$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    if (index < 0) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static CountersFM at$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    return new CountersFM(elementAt$F(array, index));
+  }
+
+  public static java.util.stream.Stream<CountersFM> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(CountersFM::new);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super CountersFM> initializer) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      initializer.accept(at$F(array, index), index);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super CountersFM> initializer) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> initializer.accept(
+            at$F(array, index), index));
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      CountersFM prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    java.lang.foreign.MemorySegment.copy(
+        prototype.MemorySegment$F, 0, target, 0, ByteSize$F);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
+  public final java.lang.foreign.MemorySegment MemorySegment$F;
+
+  public CountersFM(java.lang.foreign.SegmentAllocator allocator) {
+    this(allocate$F(allocator));
+  }
+
+  public CountersFM(java.lang.foreign.MemorySegment memorySegment) {
+    this.MemorySegment$F = memorySegment;
+  }
+
+  public CountersFM copyFrom$F(CountersFM other) {
+    java.lang.foreign.MemorySegment.copy(
+        other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+    return this;
+  }
+
+  public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+    java.lang.foreign.MemorySegment.copy(
+        MemorySegment$F, 0,
+        array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      hits$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("hits");
+
+  public int hits() {
+    return MemorySegment$F.get(
+        java.lang.foreign.ValueLayout.JAVA_INT, Offsets$F.hits);
+  }
+
+  public CountersFM hits(int value) {
+    MemorySegment$F.set(
+        java.lang.foreign.ValueLayout.JAVA_INT, Offsets$F.hits, value);
+    return this;
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      misses$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("misses");
+
+  public static final java.lang.invoke.VarHandle misses$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(misses$PathElement$F), 1, 0L);
+
+  public static final java.lang.invoke.MethodHandle misses$get$F =
+      org.alveolo.ffm.NativeType.SLONG.adaptGetter(misses$VarHandle$F);
+
+  public static final java.lang.invoke.MethodHandle misses$set$F =
+      org.alveolo.ffm.NativeType.SLONG.adaptSetter(misses$VarHandle$F);
+
+  public long misses() {
+    try {
+      return (long) misses$get$F.invokeExact(MemorySegment$F);
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public CountersFM misses(long value) {
+    try {
+      misses$set$F.invokeExact(MemorySegment$F, value);
+      return this;
+    } catch (RuntimeException|Error exception$f) {
+      throw exception$f;
+    } catch (Throwable throwable$f) {
+      throw new AssertionError(throwable$f);
+    }
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      owner$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("owner");
+
+  public java.lang.foreign.MemorySegment owner() {
+    return MemorySegment$F.get(
+        java.lang.foreign.ValueLayout.ADDRESS, Offsets$F.owner);
+  }
+
+  public CountersFM owner(java.lang.foreign.MemorySegment value) {
+    MemorySegment$F.set(
+        java.lang.foreign.ValueLayout.ADDRESS, Offsets$F.owner, value);
+    return this;
+  }
+
+  public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+    return new Cursor$F(array);
+  }
+
+  public static final class Cursor$F {
+    public final java.lang.foreign.MemorySegment MemorySegment$F;
+    public final long Count$F;
+    private long Index$F = -1L;
+    private long Offset$F = -ByteSize$F;
+
+    public Cursor$F(java.lang.foreign.MemorySegment array) {
+      this.MemorySegment$F = array;
+      this.Count$F = array.byteSize() / ByteSize$F;
+    }
+
+    public long index$F() {
+      return Index$F;
+    }
+
+    public Cursor$F moveTo$F(long index) {
+      Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+      Index$F = index;
+      return this;
+    }
+
+    public boolean next$F() {
+      if (Index$F + 1 >= Count$F) return false;
+      Index$F++;
+      Offset$F += ByteSize$F;
+      return true;
+    }
+
+    public Cursor$F reset$F() {
+      Index$F = -1L;
+      Offset$F = -ByteSize$F;
+      return this;
+    }
+
+    public CountersFM get$F() {
+      return at$F(MemorySegment$F, Index$F);
+    }
+
+    public int hits() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.hits);
+    }
+
+    public Cursor$F hits(int value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.hits, value);
+      return this;
+    }
+
+    public long misses() {
+      return org.alveolo.ffm.NativeType.getSLong(MemorySegment$F, Offset$F + Offsets$F.misses);
+    }
+
+    public Cursor$F misses(long value) {
+      org.alveolo.ffm.NativeType.setSLong(MemorySegment$F, Offset$F + Offsets$F.misses, value);
+      return this;
+    }
+
+    public java.lang.foreign.MemorySegment owner() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.ADDRESS,
+          Offset$F + Offsets$F.owner);
+    }
+
+    public Cursor$F owner(java.lang.foreign.MemorySegment value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.ADDRESS,
+          Offset$F + Offsets$F.owner, value);
+      return this;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package pkg;
+
+import java.lang.foreign.MemorySegment;
+
+import org.alveolo.ffm.SLong;
+import org.alveolo.ffm.Struct;
+
+@Struct(offsetAccessors = true)
+interface Counters {
+  int hits();
+
+  @SLong long misses();
+
+  MemorySegment owner();
+}
+
+@Struct(offsetAccessors = true)
+record Sample(byte kind, double value) {}
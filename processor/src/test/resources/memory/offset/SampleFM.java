@@ -0,0 +1,246 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignMemoryProcessor")
+public final class SampleFM {
+  private static final boolean Is64Bit$F =
+      java.lang.foreign.ValueLayout.ADDRESS.byteSize() == 8L;
+
+  public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
+      Is64Bit$F ? java.lang.foreign.MemoryLayout.structLayout(
+          new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.JAVA_BYTE.withName("kind"),
+        java.lang.foreign.MemoryLayout.paddingLayout(7L),
+        java.lang.foreign.ValueLayout.JAVA_DOUBLE.withName("value"),
+      })
+      : java.lang.foreign.MemoryLayout.structLayout(
+          org.alveolo.ffm.ForeignUtils.structPad(
+              new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.JAVA_BYTE.withName("kind"),
+        java.lang.foreign.ValueLayout.JAVA_DOUBLE.withName("value"),
+      }));
+
+  public static final long ByteSize$F = Is64Bit$F ? 16L
+      : MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = Is64Bit$F ? 8L
+      : MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long kind = Is64Bit$F ? 0L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("kind"));
+
+    public static final long value = Is64Bit$F ? 8L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("value"));
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator) {
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return allocator.allocate(MemoryLayout$F, count);
+  }
+
+  public static Sample reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment) {
+    return fromMemorySegment$F(memorySegment.reinterpret(ByteSize$F));
+  }
+
+  public static java.lang.foreign.MemorySegment reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
+  }
+
+  private static java.lang.foreign.MemorySegment elementAt$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    if (index < 0) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static Sample at$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    return fromMemorySegment$F(elementAt$F(array, index));
+  }
+
+  public static java.util.stream.Stream<Sample> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(SampleFM::fromMemorySegment$F);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.LongFunction<? extends Sample> generator) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      toMemorySegment$F(
+          generator.apply(index), elementAt$F(array, index));
+    }
+  }
+
+  public static void transform$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.UnaryOperator<Sample> operator) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      var element = elementAt$F(array, index);
+      toMemorySegment$F(
+          operator.apply(fromMemorySegment$F(element)), element);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.LongFunction<? extends Sample> generator) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> toMemorySegment$F(
+            generator.apply(index), elementAt$F(array, index)));
+  }
+
+  public static void parallelTransform$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.UnaryOperator<Sample> operator) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> {
+          var element = elementAt$F(array, index);
+          toMemorySegment$F(
+              operator.apply(fromMemorySegment$F(element)), element);
+        });
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void setAt$F(
+      java.lang.foreign.MemorySegment array, long index,
+      Sample value) {
+    var offset = Math.multiplyExact(index, ByteSize$F);
+    java.util.Objects.checkFromIndexSize(
+        offset, ByteSize$F, array.byteSize());
+    array.set(java.lang.foreign.ValueLayout.JAVA_BYTE,
+        offset + Offsets$F.kind, value.kind());
+    array.set(java.lang.foreign.ValueLayout.JAVA_DOUBLE,
+        offset + Offsets$F.value, value.value());
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      Sample prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    setAt$F(target, 0, prototype);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
+  public static void toMemorySegment$F(
+      Sample source,
+      java.lang.foreign.MemorySegment memorySegment) {
+    kind(memorySegment, source.kind());
+    value(memorySegment, source.value());
+  }
+
+  public static java.lang.foreign.MemorySegment toMemorySegment$F(
+      java.lang.foreign.SegmentAllocator allocator,
+      Sample source) {
+    var memorySegment = allocate$F(allocator);
+    toMemorySegment$F(source, memorySegment);
+    return memorySegment;
+  }
+
+  public static Sample fromMemorySegment$F(
+      java.lang.foreign.MemorySegment memorySegment) {
+    return new Sample(
+        kind(memorySegment),
+        value(memorySegment));
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      kind$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("kind");
+
+  public static byte kind(java.lang.foreign.MemorySegment memorySegment) {
+    return memorySegment.get(
+        java.lang.foreign.ValueLayout.JAVA_BYTE, Offsets$F.kind);
+  }
+
+  public static void kind(java.lang.foreign.MemorySegment memorySegment, byte value) {
+    memorySegment.set(
+        java.lang.foreign.ValueLayout.JAVA_BYTE, Offsets$F.kind, value);
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      value$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("value");
+
+  public static double value(java.lang.foreign.MemorySegment memorySegment) {
+    return memorySegment.get(
+        java.lang.foreign.ValueLayout.JAVA_DOUBLE, Offsets$F.value);
+  }
+
+  public static void value(java.lang.foreign.MemorySegment memorySegment, double value) {
+    memorySegment.set(
+        java.lang.foreign.ValueLayout.JAVA_DOUBLE, Offsets$F.value, value);
+  }
+}
@@ -0,0 +1,265 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignMemoryProcessor")
+public final class timevalFM implements timeval {
+  public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
+      java.lang.foreign.MemoryLayout.structLayout(
+          new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.JAVA_INT.withName("tv_sec"),
+        java.lang.foreign.ValueLayout.JAVA_INT.withName("tv_usec"),
+      });
+
+  public static final long ByteSize$F = 8L;
+
+  public static final long ByteAlignment$F = 4L;
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long tv_sec = 0L;
+
+    public static final long tv_usec = 4L;
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator) {
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return allocator.allocate(MemoryLayout$F, count);
+  }
+
+  public static timevalFM reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment) {
+    return new timevalFM(memorySegment.reinterpret(ByteSize$F));
+  }
+
+  public static java.lang.foreign.MemorySegment reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
+  }
+
+  private static java.lang.foreign.MemorySegment elementAt$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    if (index < 0) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static timevalFM at$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    return new timevalFM(elementAt$F(array, index));
+  }
+
+  public static java.util.stream.Stream<timevalFM> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(timevalFM::new);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super timevalFM> initializer) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      initializer.accept(at$F(array, index), index);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super timevalFM> initializer) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> initializer.accept(
+            at$F(array, index), index));
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      timevalFM prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    java.lang.foreign.MemorySegment.copy(
+        prototype.MemorySegment$F, 0, target, 0, ByteSize$F);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
+  public final java.lang.foreign.MemorySegment MemorySegment$F;
+
+  public timevalFM(java.lang.foreign.SegmentAllocator allocator) {
+    this(allocate$F(allocator));
+  }
+
+  public timevalFM(java.lang.foreign.MemorySegment memorySegment) {
+    this.MemorySegment$F = memorySegment;
+  }
+
+  public timevalFM copyFrom$F(timevalFM other) {
+    java.lang.foreign.MemorySegment.copy(
+        other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+    return this;
+  }
+
+  public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+    java.lang.foreign.MemorySegment.copy(
+        MemorySegment$F, 0,
+        array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      tv_sec$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("tv_sec");
+
+  public int tv_sec() {
+    return MemorySegment$F.get(
+        java.lang.foreign.ValueLayout.JAVA_INT, Offsets$F.tv_sec);
+  }
+
+  public timevalFM tv_sec(int value) {
+    MemorySegment$F.set(
+        java.lang.foreign.ValueLayout.JAVA_INT, Offsets$F.tv_sec, value);
+    return this;
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      tv_usec$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("tv_usec");
+
+  public int tv_usec() {
+    return MemorySegment$F.get(
+        java.lang.foreign.ValueLayout.JAVA_INT, Offsets$F.tv_usec);
+  }
+
+  public timevalFM tv_usec(int value) {
+    MemorySegment$F.set(
+        java.lang.foreign.ValueLayout.JAVA_INT, Offsets$F.tv_usec, value);
+    return this;
+  }
+
+  public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+    return new Cursor$F(array);
+  }
+
+  public static final class Cursor$F {
+    public final java.lang.foreign.MemorySegment MemorySegment$F;
+    public final long Count$F;
+    private long Index$F = -1L;
+    private long Offset$F = -ByteSize$F;
+
+    public Cursor$F(java.lang.foreign.MemorySegment array) {
+      this.MemorySegment$F = array;
+      this.Count$F = array.byteSize() / ByteSize$F;
+    }
+
+    public long index$F() {
+      return Index$F;
+    }
+
+    public Cursor$F moveTo$F(long index) {
+      Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+      Index$F = index;
+      return this;
+    }
+
+    public boolean next$F() {
+      if (Index$F + 1 >= Count$F) return false;
+      Index$F++;
+      Offset$F += ByteSize$F;
+      return true;
+    }
+
+    public Cursor$F reset$F() {
+      Index$F = -1L;
+      Offset$F = -ByteSize$F;
+      return this;
+    }
+
+    public timevalFM get$F() {
+      return at$F(MemorySegment$F, Index$F);
+    }
+
+    public int tv_sec() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.tv_sec);
+    }
+
+    public Cursor$F tv_sec(int value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.tv_sec, value);
+      return this;
+    }
+
+    public int tv_usec() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.tv_usec);
+    }
+
+    public Cursor$F tv_usec(int value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.tv_usec, value);
+      return this;
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package pkg;
+
+import org.alveolo.ffm.*;
+
+@Struct
+public interface Padded {
+  byte tag();
+
+  int value();
+
+  short flags();
+
+  int counts(@Sequence(3) long index);
+}
@@ -0,0 +1,389 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignMemoryProcessor")
+public final class PaddedFM implements Padded {
+  public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
+      java.lang.foreign.MemoryLayout.structLayout(
+          new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.JAVA_BYTE.withName("tag"),
+        java.lang.foreign.MemoryLayout.paddingLayout(3L),
+        java.lang.foreign.ValueLayout.JAVA_INT.withName("value"),
+        java.lang.foreign.ValueLayout.JAVA_SHORT.withName("flags"),
+        java.lang.foreign.MemoryLayout.paddingLayout(2L),
+        java.lang.foreign.MemoryLayout.sequenceLayout(3L,
+            java.lang.foreign.ValueLayout.JAVA_INT).withName("counts"),
+      });
+
+  public static final long ByteSize$F = 24L;
+
+  public static final long ByteAlignment$F = 4L;
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long tag = 0L;
+
+    public static final long value = 4L;
+
+    public static final long flags = 8L;
+
+    public static final long counts = 12L;
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator) {
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return allocator.allocate(MemoryLayout$F, count);
+  }
+
+  public static PaddedFM reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment) {
+    return new PaddedFM(memorySegment.reinterpret(ByteSize$F));
+  }
+
+  public static java.lang.foreign.MemorySegment reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
+  }
+
+  private static java.lang.foreign.MemorySegment elementAt$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    if (index < 0) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static PaddedFM at$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    return new PaddedFM(elementAt$F(array, index));
+  }
+
+  public static java.util.stream.Stream<PaddedFM> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(PaddedFM::new);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super PaddedFM> initializer) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      initializer.accept(at$F(array, index), index);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super PaddedFM> initializer) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> initializer.accept(
+            at$F(array, index), index));
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      PaddedFM prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    java.lang.foreign.MemorySegment.copy(
+        prototype.MemorySegment$F, 0, target, 0, ByteSize$F);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
+  public final java.lang.foreign.MemorySegment MemorySegment$F;
+
+  public PaddedFM(java.lang.foreign.SegmentAllocator allocator) {
+    this(allocate$F(allocator));
+  }
+
+  public PaddedFM(java.lang.foreign.MemorySegment memorySegment) {
+    this.MemorySegment$F = memorySegment;
+  }
+
+  public PaddedFM copyFrom$F(PaddedFM other) {
+    java.lang.foreign.MemorySegment.copy(
+        other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+    return this;
+  }
+
+  public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+    java.lang.foreign.MemorySegment.copy(
+        MemorySegment$F, 0,
+        array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      tag$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("tag");
+
+  public static final java.lang.invoke.VarHandle tag$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(tag$PathElement$F), 1, 0L);
+
+  public byte tag() {
+    return (byte) tag$VarHandle$F.get(MemorySegment$F);
+  }
+
+  public PaddedFM tag(byte value) {
+    tag$VarHandle$F.set(MemorySegment$F, value);
+    return this;
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      value$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("value");
+
+  public static final java.lang.invoke.VarHandle value$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(value$PathElement$F), 1, 0L);
+
+  public int value() {
+    return (int) value$VarHandle$F.get(MemorySegment$F);
+  }
+
+  public PaddedFM value(int value) {
+    value$VarHandle$F.set(MemorySegment$F, value);
+    return this;
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      flags$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("flags");
+
+  public static final java.lang.invoke.VarHandle flags$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(flags$PathElement$F), 1, 0L);
+
+  public short flags() {
+    return (short) flags$VarHandle$F.get(MemorySegment$F);
+  }
+
+  public PaddedFM flags(short value) {
+    flags$VarHandle$F.set(MemorySegment$F, value);
+    return this;
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      counts$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("counts");
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      counts$Sequence0PathElement$F =
+          java.lang.foreign.MemoryLayout.PathElement
+              .sequenceElement();
+
+  public static final java.lang.foreign.MemoryLayout
+      counts$MemoryLayout$F =
+          MemoryLayout$F.select(counts$PathElement$F);
+
+  public static final java.lang.foreign.MemoryLayout
+      counts$ElementMemoryLayout$F =
+      java.lang.foreign.ValueLayout.JAVA_INT;
+
+  public static final long counts$Sequence0Dimension$F =
+      3L;
+
+  public static final java.lang.invoke.VarHandle counts$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(
+              counts$PathElement$F, counts$Sequence0PathElement$F), 1, 0L);
+
+  public java.lang.foreign.MemorySegment
+      countsAsMemorySegment$F() {
+    return MemorySegment$F.asSlice(
+        Offsets$F.counts,
+        counts$MemoryLayout$F.byteSize());
+  }
+
+  public java.lang.foreign.MemorySegment
+      countsAsMemorySegment$F(long index0) {
+    return MemorySegment$F.asSlice(
+        MemoryLayout$F.byteOffset(
+            counts$PathElement$F,
+            java.lang.foreign.MemoryLayout.PathElement.sequenceElement(index0)),
+        counts$ElementMemoryLayout$F.byteSize());
+  }
+
+  public int counts(long index0$f) {
+    return (int) counts$VarHandle$F.get(MemorySegment$F, index0$f);
+  }
+
+  public PaddedFM counts(
+      long index0$f,
+      int value$f) {
+    counts$VarHandle$F.set(MemorySegment$F, index0$f, value$f);
+    return this;
+  }
+
+  public java.nio.IntBuffer countsAsBuffer$F() {
+    return countsAsMemorySegment$F().asByteBuffer()
+        .order(java.nio.ByteOrder.nativeOrder()).asIntBuffer();
+  }
+
+  public int[] countsToArray$F() {
+    var result =
+        new int[(int) counts$Sequence0Dimension$F];
+    for (long index = 0;
+        index < result.length; index++) {
+      result[(int) index] = counts(index);
+    }
+    return result;
+  }
+
+  public PaddedFM countsFromArray$F(int[] value) {
+    java.util.Objects.requireNonNull(value, "value");
+    if (value.length != counts$Sequence0Dimension$F) {
+      throw new IllegalArgumentException(
+          "counts length must be "
+              + counts$Sequence0Dimension$F);
+    }
+    for (long index = 0;
+        index < value.length; index++) {
+      counts(index, value[(int) index]);
+    }
+    return this;
+  }
+
+  public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+    return new Cursor$F(array);
+  }
+
+  public static final class Cursor$F {
+    public final java.lang.foreign.MemorySegment MemorySegment$F;
+    public final long Count$F;
+    private long Index$F = -1L;
+    private long Offset$F = -ByteSize$F;
+
+    public Cursor$F(java.lang.foreign.MemorySegment array) {
+      this.MemorySegment$F = array;
+      this.Count$F = array.byteSize() / ByteSize$F;
+    }
+
+    public long index$F() {
+      return Index$F;
+    }
+
+    public Cursor$F moveTo$F(long index) {
+      Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+      Index$F = index;
+      return this;
+    }
+
+    public boolean next$F() {
+      if (Index$F + 1 >= Count$F) return false;
+      Index$F++;
+      Offset$F += ByteSize$F;
+      return true;
+    }
+
+    public Cursor$F reset$F() {
+      Index$F = -1L;
+      Offset$F = -ByteSize$F;
+      return this;
+    }
+
+    public PaddedFM get$F() {
+      return at$F(MemorySegment$F, Index$F);
+    }
+
+    public byte tag() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_BYTE,
+          Offset$F + Offsets$F.tag);
+    }
+
+    public Cursor$F tag(byte value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_BYTE,
+          Offset$F + Offsets$F.tag, value);
+      return this;
+    }
+
+    public int value() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.value);
+    }
+
+    public Cursor$F value(int value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.value, value);
+      return this;
+    }
+
+    public short flags() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_SHORT,
+          Offset$F + Offsets$F.flags);
+    }
+
+    public Cursor$F flags(short value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_SHORT,
+          Offset$F + Offsets$F.flags, value);
+      return this;
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package pkg;
+
+import org.alveolo.ffm.*;
+
+@org.alveolo.ffm.Union
+public interface PaddedUnion {
+  int word();
+
+  byte bytes(@Sequence(5) long index);
+}
@@ -0,0 +1,322 @@
+package pkg;
+
+@javax.annotation.processing.Generated(
+    "org.alveolo.ffm.processor.ForeignMemoryProcessor")
+public final class PaddedUnionFM implements PaddedUnion {
+  public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
+      java.lang.foreign.MemoryLayout.unionLayout(
+          new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.JAVA_INT.withName("word"),
+        java.lang.foreign.MemoryLayout.sequenceLayout(5L,
+            java.lang.foreign.ValueLayout.JAVA_BYTE).withName("bytes"),
+        java.lang.foreign.MemoryLayout.paddingLayout(8L),
+      });
+
+  public static final long ByteSize$F = 8L;
+
+  public static final long ByteAlignment$F = 4L;
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long word = 0L;
+
+    public static final long bytes = 0L;
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator) {
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
+  }
+
+  public static java.lang.foreign.MemorySegment allocate$F(
+      java.lang.foreign.SegmentAllocator allocator, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return allocator.allocate(MemoryLayout$F, count);
+  }
+
+  public static PaddedUnionFM reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment) {
+    return new PaddedUnionFM(memorySegment.reinterpret(ByteSize$F));
+  }
+
+  public static java.lang.foreign.MemorySegment reinterpret$F(
+      java.lang.foreign.MemorySegment memorySegment, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
+  }
+
+  private static java.lang.foreign.MemorySegment elementAt$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    if (index < 0) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static PaddedUnionFM at$F(
+      java.lang.foreign.MemorySegment array, long index) {
+    return new PaddedUnionFM(elementAt$F(array, index));
+  }
+
+  public static java.util.stream.Stream<PaddedUnionFM> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(PaddedUnionFM::new);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super PaddedUnionFM> initializer) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      initializer.accept(at$F(array, index), index);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super PaddedUnionFM> initializer) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> initializer.accept(
+            at$F(array, index), index));
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      PaddedUnionFM prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    java.lang.foreign.MemorySegment.copy(
+        prototype.MemorySegment$F, 0, target, 0, ByteSize$F);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
+  public final java.lang.foreign.MemorySegment MemorySegment$F;
+
+  public PaddedUnionFM(java.lang.foreign.SegmentAllocator allocator) {
+    this(allocate$F(allocator));
+  }
+
+  public PaddedUnionFM(java.lang.foreign.MemorySegment memorySegment) {
+    this.MemorySegment$F = memorySegment;
+  }
+
+  public PaddedUnionFM copyFrom$F(PaddedUnionFM other) {
+    java.lang.foreign.MemorySegment.copy(
+        other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+    return this;
+  }
+
+  public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+    java.lang.foreign.MemorySegment.copy(
+        MemorySegment$F, 0,
+        array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      word$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("word");
+
+  public static final java.lang.invoke.VarHandle word$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(word$PathElement$F), 1, 0L);
+
+  public int word() {
+    return (int) word$VarHandle$F.get(MemorySegment$F);
+  }
+
+  public PaddedUnionFM word(int value) {
+    word$VarHandle$F.set(MemorySegment$F, value);
+    return this;
+  }
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      bytes$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
+          .groupElement("bytes");
+
+  public static final java.lang.foreign.MemoryLayout.PathElement
+      bytes$Sequence0PathElement$F =
+          java.lang.foreign.MemoryLayout.PathElement
+              .sequenceElement();
+
+  public static final java.lang.foreign.MemoryLayout
+      bytes$MemoryLayout$F =
+          MemoryLayout$F.select(bytes$PathElement$F);
+
+  public static final java.lang.foreign.MemoryLayout
+      bytes$ElementMemoryLayout$F =
+      java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+  public static final long bytes$Sequence0Dimension$F =
+      5L;
+
+  public static final java.lang.invoke.VarHandle bytes$VarHandle$F =
+      java.lang.invoke.MethodHandles.insertCoordinates(
+          MemoryLayout$F.varHandle(
+              bytes$PathElement$F, bytes$Sequence0PathElement$F), 1, 0L);
+
+  public java.lang.foreign.MemorySegment
+      bytesAsMemorySegment$F() {
+    return MemorySegment$F.asSlice(
+        Offsets$F.bytes,
+        bytes$MemoryLayout$F.byteSize());
+  }
+
+  public java.lang.foreign.MemorySegment
+      bytesAsMemorySegment$F(long index0) {
+    return MemorySegment$F.asSlice(
+        MemoryLayout$F.byteOffset(
+            bytes$PathElement$F,
+            java.lang.foreign.MemoryLayout.PathElement.sequenceElement(index0)),
+        bytes$ElementMemoryLayout$F.byteSize());
+  }
+
+  public byte bytes(long index0$f) {
+    return (byte) bytes$VarHandle$F.get(MemorySegment$F, index0$f);
+  }
+
+  public PaddedUnionFM bytes(
+      long index0$f,
+      byte value$f) {
+    bytes$VarHandle$F.set(MemorySegment$F, index0$f, value$f);
+    return this;
+  }
+
+  public java.nio.ByteBuffer bytesAsBuffer$F() {
+    return bytesAsMemorySegment$F().asByteBuffer()
+        .order(java.nio.ByteOrder.nativeOrder());
+  }
+
+  public byte[] bytesToArray$F() {
+    var result =
+        new byte[(int) bytes$Sequence0Dimension$F];
+    for (long index = 0;
+        index < result.length; index++) {
+      result[(int) index] = bytes(index);
+    }
+    return result;
+  }
+
+  public PaddedUnionFM bytesFromArray$F(byte[] value) {
+    java.util.Objects.requireNonNull(value, "value");
+    if (value.length != bytes$Sequence0Dimension$F) {
+      throw new IllegalArgumentException(
+          "bytes length must be "
+              + bytes$Sequence0Dimension$F);
+    }
+    for (long index = 0;
+        index < value.length; index++) {
+      bytes(index, value[(int) index]);
+    }
+    return this;
+  }
+
+  public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+    return new Cursor$F(array);
+  }
+
+  public static final class Cursor$F {
+    public final java.lang.foreign.MemorySegment MemorySegment$F;
+    public final long Count$F;
+    private long Index$F = -1L;
+    private long Offset$F = -ByteSize$F;
+
+    public Cursor$F(java.lang.foreign.MemorySegment array) {
+      this.MemorySegment$F = array;
+      this.Count$F = array.byteSize() / ByteSize$F;
+    }
+
+    public long index$F() {
+      return Index$F;
+    }
+
+    public Cursor$F moveTo$F(long index) {
+      Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+      Index$F = index;
+      return this;
+    }
+
+    public boolean next$F() {
+      if (Index$F + 1 >= Count$F) return false;
+      Index$F++;
+      Offset$F += ByteSize$F;
+      return true;
+    }
+
+    public Cursor$F reset$F() {
+      Index$F = -1L;
+      Offset$F = -ByteSize$F;
+      return this;
+    }
+
+    public PaddedUnionFM get$F() {
+      return at$F(MemorySegment$F, Index$F);
+    }
+
+    public int word() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.word);
+    }
+
+    public Cursor$F word(int value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.word, value);
+      return this;
+    }
+  }
+}
@@ -3,8 +3,25 @@ package pkg;
 @javax.annotation.processing.Generated(
     "org.alveolo.ffm.processor.ForeignMemoryProcessor")
 public final class StructBFM implements StructB {
+  private static final boolean Is64Bit$F =
+      java.lang.foreign.ValueLayout.ADDRESS.byteSize() == 8L;
+
   public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
-      java.lang.foreign.MemoryLayout.structLayout(
+      Is64Bit$F ? java.lang.foreign.MemoryLayout.structLayout(
+          new java.lang.foreign.MemoryLayout [] {
+        java.lang.foreign.ValueLayout.JAVA_BOOLEAN.withName("b"),
+        java.lang.foreign.MemoryLayout.paddingLayout(1L),
+        java.lang.foreign.ValueLayout.JAVA_CHAR.withName("c"),
+        java.lang.foreign.ValueLayout.JAVA_SHORT.withName("s"),
+        java.lang.foreign.MemoryLayout.paddingLayout(2L),
+        java.lang.foreign.ValueLayout.JAVA_INT.withName("i"),
+        java.lang.foreign.MemoryLayout.paddingLayout(4L),
+        java.lang.foreign.ValueLayout.JAVA_LONG.withName("l"),
+        java.lang.foreign.ValueLayout.JAVA_FLOAT.withName("f"),
+        java.lang.foreign.MemoryLayout.paddingLayout(4L),
+        java.lang.foreign.ValueLayout.JAVA_DOUBLE.withName("d"),
+      })
+      : java.lang.foreign.MemoryLayout.structLayout(
           org.alveolo.ffm.ForeignUtils.structPad(
               new java.lang.foreign.MemoryLayout [] {
         java.lang.foreign.ValueLayout.JAVA_BOOLEAN.withName("b"),
@@ -16,10 +33,47 @@ public final class StructBFM implements StructB {
         java.lang.foreign.ValueLayout.JAVA_DOUBLE.withName("d"),
       }));
 
+  public static final long ByteSize$F = Is64Bit$F ? 40L
+      : MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = Is64Bit$F ? 8L
+      : MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long b = Is64Bit$F ? 0L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("b"));
+
+    public static final long c = Is64Bit$F ? 2L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("c"));
+
+    public static final long s = Is64Bit$F ? 4L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("s"));
+
+    public static final long i = Is64Bit$F ? 8L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("i"));
+
+    public static final long l = Is64Bit$F ? 16L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("l"));
+
+    public static final long f = Is64Bit$F ? 24L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("f"));
+
+    public static final long d = Is64Bit$F ? 32L
+        : MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("d"));
+  }
+
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -32,7 +86,7 @@ public final class StructBFM implements StructB {
 
   public static StructBFM reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return new StructBFM(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return new StructBFM(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -40,8 +94,8 @@ public final class StructBFM implements StructB {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -49,8 +103,8 @@ public final class StructBFM implements StructB {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static StructBFM at$F(
@@ -58,6 +112,85 @@ public final class StructBFM implements StructB {
     return new StructBFM(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<StructBFM> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(StructBFM::new);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super StructBFM> initializer) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      initializer.accept(at$F(array, index), index);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super StructBFM> initializer) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> initializer.accept(
+            at$F(array, index), index));
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      StructBFM prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    java.lang.foreign.MemorySegment.copy(
+        prototype.MemorySegment$F, 0, target, 0, ByteSize$F);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
   public final java.lang.foreign.MemorySegment MemorySegment$F;
 
   public StructBFM(java.lang.foreign.SegmentAllocator allocator) {
@@ -68,6 +201,18 @@ public final class StructBFM implements StructB {
     this.MemorySegment$F = memorySegment;
   }
 
+  public StructBFM copyFrom$F(StructBFM other) {
+    java.lang.foreign.MemorySegment.copy(
+        other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+    return this;
+  }
+
+  public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+    java.lang.foreign.MemorySegment.copy(
+        MemorySegment$F, 0,
+        array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
   public static final java.lang.foreign.MemoryLayout.PathElement
       b$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
           .groupElement("b");
@@ -186,4 +331,138 @@ public final class StructBFM implements StructB {
     d$VarHandle$F.set(MemorySegment$F, value);
     return this;
   }
+
+  public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+    return new Cursor$F(array);
+  }
+
+  public static final class Cursor$F {
+    public final java.lang.foreign.MemorySegment MemorySegment$F;
+    public final long Count$F;
+    private long Index$F = -1L;
+    private long Offset$F = -ByteSize$F;
+
+    public Cursor$F(java.lang.foreign.MemorySegment array) {
+      this.MemorySegment$F = array;
+      this.Count$F = array.byteSize() / ByteSize$F;
+    }
+
+    public long index$F() {
+      return Index$F;
+    }
+
+    public Cursor$F moveTo$F(long index) {
+      Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+      Index$F = index;
+      return this;
+    }
+
+    public boolean next$F() {
+      if (Index$F + 1 >= Count$F) return false;
+      Index$F++;
+      Offset$F += ByteSize$F;
+      return true;
+    }
+
+    public Cursor$F reset$F() {
+      Index$F = -1L;
+      Offset$F = -ByteSize$F;
+      return this;
+    }
+
+    public StructBFM get$F() {
+      return at$F(MemorySegment$F, Index$F);
+    }
+
+    public boolean b() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_BOOLEAN,
+          Offset$F + Offsets$F.b);
+    }
+
+    public Cursor$F b(boolean value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_BOOLEAN,
+          Offset$F + Offsets$F.b, value);
+      return this;
+    }
+
+    public char c() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_CHAR,
+          Offset$F + Offsets$F.c);
+    }
+
+    public Cursor$F c(char value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_CHAR,
+          Offset$F + Offsets$F.c, value);
+      return this;
+    }
+
+    public short s() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_SHORT,
+          Offset$F + Offsets$F.s);
+    }
+
+    public Cursor$F s(short value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_SHORT,
+          Offset$F + Offsets$F.s, value);
+      return this;
+    }
+
+    public int i() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.i);
+    }
+
+    public Cursor$F i(int value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_INT,
+          Offset$F + Offsets$F.i, value);
+      return this;
+    }
+
+    public long l() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_LONG,
+          Offset$F + Offsets$F.l);
+    }
+
+    public Cursor$F l(long value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_LONG,
+          Offset$F + Offsets$F.l, value);
+      return this;
+    }
+
+    public float f() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_FLOAT,
+          Offset$F + Offsets$F.f);
+    }
+
+    public Cursor$F f(float value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_FLOAT,
+          Offset$F + Offsets$F.f, value);
+      return this;
+    }
+
+    public double d() {
+      return MemorySegment$F.get(
+          java.lang.foreign.ValueLayout.JAVA_DOUBLE,
+          Offset$F + Offsets$F.d);
+    }
+
+    public Cursor$F d(double value) {
+      MemorySegment$F.set(
+          java.lang.foreign.ValueLayout.JAVA_DOUBLE,
+          Offset$F + Offsets$F.d, value);
+      return this;
+    }
+  }
 }
@@ -14,10 +14,37 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
         java.lang.foreign.ValueLayout.ADDRESS.withName("fieldOverridesTypeValue"),
       }));
 
+  public static final long ByteSize$F = MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long recordDefault =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("recordDefault"));
+
+    public static final long interfaceDefault =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("interfaceDefault"));
+
+    public static final long interfaceTypeUseValue =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("interfaceTypeUseValue"));
+
+    public static final long fieldOverridesTypeAddress =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("fieldOverridesTypeAddress"));
+
+    public static final long fieldOverridesTypeValue =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("fieldOverridesTypeValue"));
+  }
+
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -30,7 +57,7 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
 
   public static FieldModeAccessorsFM reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return new FieldModeAccessorsFM(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return new FieldModeAccessorsFM(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -38,8 +65,8 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -47,8 +74,8 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static FieldModeAccessorsFM at$F(
@@ -56,6 +83,85 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
     return new FieldModeAccessorsFM(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<FieldModeAccessorsFM> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(FieldModeAccessorsFM::new);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super FieldModeAccessorsFM> initializer) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      initializer.accept(at$F(array, index), index);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.ObjLongConsumer<? super FieldModeAccessorsFM> initializer) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> initializer.accept(
+            at$F(array, index), index));
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      FieldModeAccessorsFM prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    java.lang.foreign.MemorySegment.copy(
+        prototype.MemorySegment$F, 0, target, 0, ByteSize$F);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
   public final java.lang.foreign.MemorySegment MemorySegment$F;
 
   public FieldModeAccessorsFM(java.lang.foreign.SegmentAllocator allocator) {
@@ -66,13 +172,25 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
     this.MemorySegment$F = memorySegment;
   }
 
+  public FieldModeAccessorsFM copyFrom$F(FieldModeAccessorsFM other) {
+    java.lang.foreign.MemorySegment.copy(
+        other.MemorySegment$F, 0, MemorySegment$F, 0, ByteSize$F);
+    return this;
+  }
+
+  public void copyTo$F(java.lang.foreign.MemorySegment array, long index) {
+    java.lang.foreign.MemorySegment.copy(
+        MemorySegment$F, 0,
+        array, Math.multiplyExact(index, ByteSize$F), ByteSize$F);
+  }
+
   public static final java.lang.foreign.MemoryLayout.PathElement
       recordDefault$PathElement$F = java.lang.foreign.MemoryLayout.PathElement
           .groupElement("recordDefault");
 
   public passmode.InnerRecord recordDefault() {
     return passmode.InnerRecordFM.fromMemorySegment$F(MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(recordDefault$PathElement$F),
+        Offsets$F.recordDefault,
         MemoryLayout$F.select(recordDefault$PathElement$F).byteSize()));
   }
 
@@ -80,7 +198,7 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
     var memoryLayout =
         MemoryLayout$F.select(recordDefault$PathElement$F);
     var slice = MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(recordDefault$PathElement$F),
+        Offsets$F.recordDefault,
         memoryLayout.byteSize());
     passmode.InnerRecordFM.toMemorySegment$F(
         value, slice);
@@ -110,7 +228,7 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
 
   public passmode.InnerInterface interfaceTypeUseValue() {
     return new passmode.InnerInterfaceFM(MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(interfaceTypeUseValue$PathElement$F),
+        Offsets$F.interfaceTypeUseValue,
         MemoryLayout$F.select(interfaceTypeUseValue$PathElement$F).byteSize()));
   }
 
@@ -118,7 +236,7 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
     var memoryLayout =
         MemoryLayout$F.select(interfaceTypeUseValue$PathElement$F);
     var slice = MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(interfaceTypeUseValue$PathElement$F),
+        Offsets$F.interfaceTypeUseValue,
         memoryLayout.byteSize());
     java.lang.foreign.MemorySegment.copy(
         ((passmode.InnerInterfaceFM) value).MemorySegment$F, 0,
@@ -132,7 +250,7 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
 
   public passmode.TypeAddressRecord fieldOverridesTypeAddress() {
     return passmode.TypeAddressRecordFM.fromMemorySegment$F(MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(fieldOverridesTypeAddress$PathElement$F),
+        Offsets$F.fieldOverridesTypeAddress,
         MemoryLayout$F.select(fieldOverridesTypeAddress$PathElement$F).byteSize()));
   }
 
@@ -140,7 +258,7 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
     var memoryLayout =
         MemoryLayout$F.select(fieldOverridesTypeAddress$PathElement$F);
     var slice = MemorySegment$F.asSlice(
-        MemoryLayout$F.byteOffset(fieldOverridesTypeAddress$PathElement$F),
+        Offsets$F.fieldOverridesTypeAddress,
         memoryLayout.byteSize());
     passmode.TypeAddressRecordFM.toMemorySegment$F(
         value, slice);
@@ -163,4 +281,47 @@ public final class FieldModeAccessorsFM implements FieldModeAccessors {
     fieldOverridesTypeValue$VarHandle$F.set(MemorySegment$F, ((passmode.TypeValueInterfaceFM) value).MemorySegment$F);
     return this;
   }
+
+  public static Cursor$F cursor$F(java.lang.foreign.MemorySegment array) {
+    return new Cursor$F(array);
+  }
+
+  public static final class Cursor$F {
+    public final java.lang.foreign.MemorySegment MemorySegment$F;
+    public final long Count$F;
+    private long Index$F = -1L;
+    private long Offset$F = -ByteSize$F;
+
+    public Cursor$F(java.lang.foreign.MemorySegment array) {
+      this.MemorySegment$F = array;
+      this.Count$F = array.byteSize() / ByteSize$F;
+    }
+
+    public long index$F() {
+      return Index$F;
+    }
+
+    public Cursor$F moveTo$F(long index) {
+      Offset$F = java.util.Objects.checkIndex(index, Count$F) * ByteSize$F;
+      Index$F = index;
+      return this;
+    }
+
+    public boolean next$F() {
+      if (Index$F + 1 >= Count$F) return false;
+      Index$F++;
+      Offset$F += ByteSize$F;
+      return true;
+    }
+
+    public Cursor$F reset$F() {
+      Index$F = -1L;
+      Offset$F = -ByteSize$F;
+      return this;
+    }
+
+    public FieldModeAccessorsFM get$F() {
+      return at$F(MemorySegment$F, Index$F);
+    }
+  }
 }
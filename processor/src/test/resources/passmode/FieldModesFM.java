@@ -15,10 +15,41 @@ public final class FieldModesFM {
         java.lang.foreign.ValueLayout.ADDRESS.withName("fieldOverridesTypeValue"),
       }));
 
+  public static final long ByteSize$F = MemoryLayout$F.byteSize();
+
+  public static final long ByteAlignment$F = MemoryLayout$F.byteAlignment();
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long recordDefault =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("recordDefault"));
+
+    public static final long interfaceDefault =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("interfaceDefault"));
+
+    public static final long recordTypeUseAddress =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("recordTypeUseAddress"));
+
+    public static final long interfaceTypeUseValue =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("interfaceTypeUseValue"));
+
+    public static final long fieldOverridesTypeAddress =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("fieldOverridesTypeAddress"));
+
+    public static final long fieldOverridesTypeValue =
+        MemoryLayout$F.byteOffset(java.lang.foreign.MemoryLayout.PathElement
+            .groupElement("fieldOverridesTypeValue"));
+  }
+
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -31,7 +62,7 @@ public final class FieldModesFM {
 
   public static FieldModes reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return fromMemorySegment$F(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return fromMemorySegment$F(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -39,8 +70,8 @@ public final class FieldModesFM {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -48,8 +79,8 @@ public final class FieldModesFM {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static FieldModes at$F(
@@ -57,6 +88,39 @@ public final class FieldModesFM {
     return fromMemorySegment$F(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<FieldModes> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(FieldModesFM::fromMemorySegment$F);
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
   public static void toMemorySegment$F(
       FieldModes source,
       java.lang.foreign.MemorySegment memorySegment,
@@ -94,7 +158,7 @@ public final class FieldModesFM {
 
   public static passmode.InnerRecord recordDefault(java.lang.foreign.MemorySegment memorySegment) {
     return passmode.InnerRecordFM.fromMemorySegment$F(memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(recordDefault$PathElement$F),
+        Offsets$F.recordDefault,
         MemoryLayout$F.select(recordDefault$PathElement$F).byteSize()));
   }
 
@@ -102,7 +166,7 @@ public final class FieldModesFM {
     var memoryLayout =
         MemoryLayout$F.select(recordDefault$PathElement$F);
     var slice = memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(recordDefault$PathElement$F),
+        Offsets$F.recordDefault,
         memoryLayout.byteSize());
     passmode.InnerRecordFM.toMemorySegment$F(
         value, slice);
@@ -148,7 +212,7 @@ public final class FieldModesFM {
 
   public static passmode.InnerInterface interfaceTypeUseValue(java.lang.foreign.MemorySegment memorySegment) {
     return new passmode.InnerInterfaceFM(memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(interfaceTypeUseValue$PathElement$F),
+        Offsets$F.interfaceTypeUseValue,
         MemoryLayout$F.select(interfaceTypeUseValue$PathElement$F).byteSize()));
   }
 
@@ -156,7 +220,7 @@ public final class FieldModesFM {
     var memoryLayout =
         MemoryLayout$F.select(interfaceTypeUseValue$PathElement$F);
     var slice = memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(interfaceTypeUseValue$PathElement$F),
+        Offsets$F.interfaceTypeUseValue,
         memoryLayout.byteSize());
     java.lang.foreign.MemorySegment.copy(
         ((passmode.InnerInterfaceFM) value).MemorySegment$F, 0,
@@ -169,7 +233,7 @@ public final class FieldModesFM {
 
   public static passmode.TypeAddressRecord fieldOverridesTypeAddress(java.lang.foreign.MemorySegment memorySegment) {
     return passmode.TypeAddressRecordFM.fromMemorySegment$F(memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(fieldOverridesTypeAddress$PathElement$F),
+        Offsets$F.fieldOverridesTypeAddress,
         MemoryLayout$F.select(fieldOverridesTypeAddress$PathElement$F).byteSize()));
   }
 
@@ -177,7 +241,7 @@ public final class FieldModesFM {
     var memoryLayout =
         MemoryLayout$F.select(fieldOverridesTypeAddress$PathElement$F);
     var slice = memorySegment.asSlice(
-        MemoryLayout$F.byteOffset(fieldOverridesTypeAddress$PathElement$F),
+        Offsets$F.fieldOverridesTypeAddress,
         memoryLayout.byteSize());
     passmode.TypeAddressRecordFM.toMemorySegment$F(
         value, slice);
@@ -431,4 +431,6 @@ public final class PassModeFFM implements PassMode {
       throw new AssertionError(throwable$f);
     }
   }
+
+  public static void preload$F() {}
 }
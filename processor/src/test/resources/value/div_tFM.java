@@ -5,16 +5,26 @@ package pkg;
 public final class div_tFM {
   public static final java.lang.foreign.MemoryLayout MemoryLayout$F =
       java.lang.foreign.MemoryLayout.structLayout(
-          org.alveolo.ffm.ForeignUtils.structPad(
-              new java.lang.foreign.MemoryLayout [] {
+          new java.lang.foreign.MemoryLayout [] {
         java.lang.foreign.ValueLayout.JAVA_INT.withName("quot"),
         java.lang.foreign.ValueLayout.JAVA_INT.withName("rem"),
-      }));
+      });
+
+  public static final long ByteSize$F = 8L;
+
+  public static final long ByteAlignment$F = 4L;
+
+  public static final class Offsets$F {
+    private Offsets$F() {}
+
+    public static final long quot = 0L;
+
+    public static final long rem = 4L;
+  }
 
   public static java.lang.foreign.MemorySegment allocate$F(
       java.lang.foreign.SegmentAllocator allocator) {
-    return allocator.allocate(
-      MemoryLayout$F.byteSize(), MemoryLayout$F.byteAlignment());
+    return allocator.allocate(ByteSize$F, ByteAlignment$F);
   }
 
   public static java.lang.foreign.MemorySegment allocate$F(
@@ -27,7 +37,7 @@ public final class div_tFM {
 
   public static div_t reinterpret$F(
       java.lang.foreign.MemorySegment memorySegment) {
-    return fromMemorySegment$F(memorySegment.reinterpret(MemoryLayout$F.byteSize()));
+    return fromMemorySegment$F(memorySegment.reinterpret(ByteSize$F));
   }
 
   public static java.lang.foreign.MemorySegment reinterpret$F(
@@ -35,8 +45,8 @@ public final class div_tFM {
     if (count < 0) {
       throw new IllegalArgumentException("count must be non-negative");
     }
-    return memorySegment.reinterpret(Math.multiplyExact(
-        MemoryLayout$F.byteSize(), count));
+    return memorySegment.reinterpret(
+        Math.multiplyExact(ByteSize$F, count));
   }
 
   private static java.lang.foreign.MemorySegment elementAt$F(
@@ -44,8 +54,8 @@ public final class div_tFM {
     if (index < 0) {
       throw new IndexOutOfBoundsException(index);
     }
-    return array.asSlice(Math.multiplyExact(
-        index, MemoryLayout$F.byteSize()), MemoryLayout$F.byteSize());
+    return array.asSlice(
+        Math.multiplyExact(index, ByteSize$F), ByteSize$F);
   }
 
   public static div_t at$F(
@@ -53,6 +63,121 @@ public final class div_tFM {
     return fromMemorySegment$F(elementAt$F(array, index));
   }
 
+  public static java.util.stream.Stream<div_t> stream$F(
+      java.lang.foreign.MemorySegment array) {
+    return array.elements(MemoryLayout$F)
+        .map(div_tFM::fromMemorySegment$F);
+  }
+
+  private static long elementCount$F(
+      java.lang.foreign.MemorySegment array) {
+    if (array.byteSize() % ByteSize$F != 0) {
+      throw new IllegalArgumentException("Segment size "
+          + array.byteSize() + " is not a multiple of " + ByteSize$F);
+    }
+    return array.byteSize() / ByteSize$F;
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.LongFunction<? extends div_t> generator) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      toMemorySegment$F(
+          generator.apply(index), elementAt$F(array, index));
+    }
+  }
+
+  public static void transform$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.UnaryOperator<div_t> operator) {
+    for (long index = 0, count = elementCount$F(array);
+        index < count; index++) {
+      var element = elementAt$F(array, index);
+      toMemorySegment$F(
+          operator.apply(fromMemorySegment$F(element)), element);
+    }
+  }
+
+  public static void parallelFill$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.LongFunction<? extends div_t> generator) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> toMemorySegment$F(
+            generator.apply(index), elementAt$F(array, index)));
+  }
+
+  public static void parallelTransform$F(
+      java.lang.foreign.MemorySegment array,
+      java.util.function.UnaryOperator<div_t> operator) {
+    org.alveolo.ffm.ForeignUtils.checkSharedAccess(array);
+    java.util.stream.LongStream.range(0, elementCount$F(array))
+        .parallel()
+        .forEach(index -> {
+          var element = elementAt$F(array, index);
+          toMemorySegment$F(
+              operator.apply(fromMemorySegment$F(element)), element);
+        });
+  }
+
+  public static void copy$F(
+      java.lang.foreign.MemorySegment source, long sourceIndex,
+      java.lang.foreign.MemorySegment target, long targetIndex,
+      long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    java.lang.foreign.MemorySegment.copy(
+        source, Math.multiplyExact(sourceIndex, ByteSize$F),
+        target, Math.multiplyExact(targetIndex, ByteSize$F),
+        Math.multiplyExact(count, ByteSize$F));
+  }
+
+  public static void swap$F(
+      java.lang.foreign.MemorySegment array, long index, long otherIndex) {
+    var element = elementAt$F(array, index);
+    var other = elementAt$F(array, otherIndex);
+    var temporary = java.lang.foreign.MemorySegment.ofArray(
+        new byte[Math.toIntExact(ByteSize$F)]);
+    java.lang.foreign.MemorySegment.copy(
+        element, 0, temporary, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        other, 0, element, 0, ByteSize$F);
+    java.lang.foreign.MemorySegment.copy(
+        temporary, 0, other, 0, ByteSize$F);
+  }
+
+  public static void setAt$F(
+      java.lang.foreign.MemorySegment array, long index,
+      div_t value) {
+    var offset = Math.multiplyExact(index, ByteSize$F);
+    java.util.Objects.checkFromIndexSize(
+        offset, ByteSize$F, array.byteSize());
+    array.set(java.lang.foreign.ValueLayout.JAVA_INT,
+        offset + Offsets$F.quot, value.quot());
+    array.set(java.lang.foreign.ValueLayout.JAVA_INT,
+        offset + Offsets$F.rem, value.rem());
+  }
+
+  public static void fill$F(
+      java.lang.foreign.MemorySegment array, long count,
+      div_t prototype) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative");
+    }
+    if (count == 0) return;
+
+    var size = Math.multiplyExact(count, ByteSize$F);
+    var target = array.asSlice(0, size);
+    setAt$F(target, 0, prototype);
+    for (long filled = ByteSize$F; filled < size; filled += filled) {
+      java.lang.foreign.MemorySegment.copy(
+          target, 0, target, filled, Math.min(filled, size - filled));
+    }
+  }
+
   public static void toMemorySegment$F(
       div_t source,
       java.lang.foreign.MemorySegment memorySegment) {